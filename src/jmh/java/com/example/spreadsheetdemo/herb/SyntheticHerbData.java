@@ -0,0 +1,138 @@
+package com.example.spreadsheetdemo.herb;
+
+import com.example.spreadsheetdemo.common.SheetsInfo;
+import com.example.spreadsheetdemo.herb.dto.HerbDTO;
+import com.example.spreadsheetdemo.herb.dto.HerbLogDTO;
+import com.google.api.services.sheets.v4.model.ValueRange;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 벤치마크용 가상 시트 데이터 생성기.<br/>
+ * 실제 Google Sheets API 응답과 같은 형태(모든 셀이 서식이 적용된 문자열)로 생성하며, 시드가 고정되어 실행마다 동일한 데이터를 만든다.
+ */
+public final class SyntheticHerbData {
+
+    private static final String[] HERB_NAMES = {
+            "당귀", "천궁", "작약", "숙지황", "황기", "인삼", "백출", "복령", "감초", "진피",
+            "반하", "생강", "대추", "계지", "마황", "시호", "황금", "황련", "치자", "지실"
+    };
+
+    private static final LocalDateTime FIRST_LOGGED_DATETIME = LocalDateTime.of(2020, 1, 1, 9, 0);
+
+    private SyntheticHerbData() {
+    }
+
+    /**
+     * 약재 이름. 기본 약재 이름에 일련번호를 붙여 {@code rowCount} 가 커져도 이름이 고르게 분포하도록 한다.
+     */
+    public static String herbName(int index) {
+        return HERB_NAMES[index % HERB_NAMES.length] + (index / HERB_NAMES.length);
+    }
+
+    /**
+     * 약재 시트 조회 결과. 2행부터 시작하며 모든 열에 값이 있다.
+     */
+    public static ValueRange herbValueRange(int rowCount) {
+        Random random = new Random(rowCount);
+        List<List<Object>> values = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            LocalDate lastStoredDate = FIRST_LOGGED_DATETIME.toLocalDate().plusDays(random.nextInt(1500));
+            values.add(List.of(
+                    herbName(i),
+                    Long.toString(random.nextInt(10_000)),
+                    formatDate(lastStoredDate),
+                    "메모 " + i
+            ));
+        }
+        return new ValueRange()
+                .setRange(SheetsInfo.HERB.getSpecificRowRange(2, rowCount + 1))
+                .setValues(values);
+    }
+
+    /**
+     * 로그 시트 조회 결과. 2행부터 시작하며 기록 시각 오름차순이다.
+     */
+    public static ValueRange herbLogValueRange(int rowCount) {
+        Random random = new Random(rowCount);
+        List<List<Object>> values = new ArrayList<>(rowCount);
+        LocalDateTime loggedDatetime = FIRST_LOGGED_DATETIME;
+        for (int i = 0; i < rowCount; i++) {
+            loggedDatetime = loggedDatetime.plusMinutes(1 + random.nextInt(180));
+            long before = random.nextInt(10_000);
+            values.add(List.of(
+                    formatDateTime(loggedDatetime),
+                    herbName(random.nextInt(Math.max(1, rowCount / 50))),
+                    Long.toString(before),
+                    Long.toString(before + random.nextInt(200) - 100)
+            ));
+        }
+        return new ValueRange()
+                .setRange(SheetsInfo.HERB_LOG.getSpecificRowRange(2, rowCount + 1))
+                .setValues(values);
+    }
+
+    /**
+     * 로그 시트 기록 시각 열만 조회한 결과.
+     */
+    public static ValueRange herbLogDateValueRange(int rowCount) {
+        List<List<Object>> values = new ArrayList<>(rowCount);
+        for (List<Object> row : herbLogValueRange(rowCount).getValues()) {
+            values.add(List.of(row.get(0)));
+        }
+        return new ValueRange()
+                .setRange(String.format("%s!A2:A%d", SheetsInfo.HERB_LOG.getSheetName(), rowCount + 1))
+                .setValues(values);
+    }
+
+    /**
+     * 약재 목록.
+     */
+    public static List<HerbDTO> herbList(int rowCount) {
+        Random random = new Random(rowCount);
+        List<HerbDTO> herbList = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            herbList.add(HerbDTO.builder()
+                    .rowNum(i + 2)
+                    .name(herbName(i))
+                    .amount((long) random.nextInt(10_000))
+                    .lastStoredDate(FIRST_LOGGED_DATETIME.toLocalDate().plusDays(random.nextInt(1500)))
+                    .memo("메모 " + i)
+                    .build());
+        }
+        return herbList;
+    }
+
+    /**
+     * 로그 목록. 기록 시각 오름차순이다.
+     */
+    public static List<HerbLogDTO> herbLogList(int rowCount) {
+        Random random = new Random(rowCount);
+        List<HerbLogDTO> logList = new ArrayList<>(rowCount);
+        LocalDateTime loggedDatetime = FIRST_LOGGED_DATETIME;
+        for (int i = 0; i < rowCount; i++) {
+            loggedDatetime = loggedDatetime.plusMinutes(1 + random.nextInt(180));
+            long before = random.nextInt(10_000);
+            logList.add(HerbLogDTO.builder()
+                    .loggedDatetime(loggedDatetime)
+                    .name(herbName(random.nextInt(Math.max(1, rowCount / 50))))
+                    .beforeAmount(before)
+                    .afterAmount(before + random.nextInt(200) - 100)
+                    .build());
+        }
+        return logList;
+    }
+
+    // Google Sheets 한국어 로캘의 날짜 서식 (예: "2024. 1. 5")
+    private static String formatDate(LocalDate date) {
+        return date.getYear() + ". " + date.getMonthValue() + ". " + date.getDayOfMonth();
+    }
+
+    private static String formatDateTime(LocalDateTime datetime) {
+        return formatDate(datetime.toLocalDate()) + " " + datetime.getHour() + ":" + datetime.getMinute() + ":" + datetime.getSecond();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.spreadsheetdemo.herb.controller;
+
+import com.example.spreadsheetdemo.herb.SyntheticHerbData;
+import com.example.spreadsheetdemo.herb.dto.HerbDTO;
+import com.example.spreadsheetdemo.herb.index.HerbNameIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 약재 재고 페이지의 검색어 필터링 벤치마크.<br/>
+ * 기존 방식인 전체 목록 순회({@code String.contains}) 와 {@link HerbNameIndex} 검색을 비교한다.
+ * 초성 검색어는 순회 방식으로는 일치하는 약재가 없다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HerbKeywordFilterBenchmark {
+
+    // 자동 완성 결과 수
+    private static final int SUGGEST_LIMIT = 10;
+
+    @Param({"100", "10000", "1000000"})
+    private int rowCount;
+
+    /**
+     * 일부 약재와 일치하는 검색어, 일련번호까지 일치하는 검색어, 일치하는 약재가 없는 검색어, 초성 검색어
+     */
+    @Param({"당귀", "당귀1", "없는약재", "ㄷㄱ"})
+    private String keyword;
+
+    private List<HerbDTO> herbList;
+    private HerbNameIndex nameIndex;
+
+    @Setup
+    public void setUp() {
+        herbList = SyntheticHerbData.herbList(rowCount);
+        nameIndex = HerbNameIndex.of(herbList);
+    }
+
+    @Benchmark
+    public List<HerbDTO> filterByKeyword() {
+        return herbList.stream()
+                .filter(h -> h.getName().contains(keyword))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<HerbDTO> searchByNameIndex() {
+        return nameIndex.search(keyword, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<HerbDTO> suggestByNameIndex() {
+        return nameIndex.search(keyword, SUGGEST_LIMIT);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.spreadsheetdemo.herb.dto;
+
+import com.example.spreadsheetdemo.herb.SyntheticHerbData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HerbLogViewDTO#from(List)} 의 일자/약재 별 그룹화 벤치마크.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HerbLogViewDTOBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    private int rowCount;
+
+    private List<HerbLogDTO> logList;
+
+    @Setup
+    public void setUp() {
+        logList = SyntheticHerbData.herbLogList(rowCount);
+    }
+
+    @Benchmark
+    public List<HerbLogViewDTO> from() {
+        return HerbLogViewDTO.from(logList);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.spreadsheetdemo.herb.mapper;
+
+import com.example.spreadsheetdemo.herb.SyntheticHerbData;
+import com.example.spreadsheetdemo.herb.dto.HerbDTO;
+import com.example.spreadsheetdemo.herb.dto.HerbLogDTO;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HerbMapper} 의 시트 데이터 변환 벤치마크.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HerbMapperBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    private int rowCount;
+
+    private HerbMapper herbMapper;
+    private ValueRange herbValueRange;
+    private ValueRange herbLogValueRange;
+    private ValueRange herbLogDateValueRange;
+
+    @Setup
+    public void setUp() {
+        herbMapper = new HerbMapper();
+        herbValueRange = SyntheticHerbData.herbValueRange(rowCount);
+        herbLogValueRange = SyntheticHerbData.herbLogValueRange(rowCount);
+        herbLogDateValueRange = SyntheticHerbData.herbLogDateValueRange(rowCount);
+    }
+
+    @Benchmark
+    public List<HerbDTO> toHerbDTOList() {
+        return herbMapper.toHerbDTOList(herbValueRange);
+    }
+
+    @Benchmark
+    public List<HerbLogDTO> toHerbLogDTOList() {
+        return herbMapper.toHerbLogDTOList(herbLogValueRange);
+    }
+
+    @Benchmark
+    public List<LocalDate> fromLoggedDateValueRange() {
+        return herbMapper.fromLoggedDateValueRange(herbLogDateValueRange);
+    }
+}
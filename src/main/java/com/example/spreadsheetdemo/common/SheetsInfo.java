@@ -11,7 +11,9 @@ import lombok.RequiredArgsConstructor;
 public enum SheetsInfo {
 
     HERB("herb", "A", "D"),
-    HERB_LOG("herb_log", "A", "D");
+    HERB_LOG("herb_log", "A", "D"),
+    // 약재 별 재고 부족 기준 수량 (A: 약재 이름, B: 최소 수량)
+    HERB_THRESHOLD("herb_threshold", "A", "B");
 
     private final String sheetName;
     private final String startColumn;
@@ -32,4 +34,22 @@ public enum SheetsInfo {
     public String getSpecificRowRange(int startRowNum, int endRowNum) {
         return String.format("%s!%s%d:%s%d", sheetName, startColumn, startRowNum, endColumn, endRowNum);
     }
+
+    /**
+     * 특정 행부터 마지막 행까지의 범위를 {@code 시트이름!시작열시작행:끝열} 형식으로 반환.
+     * @param startRowNum 시작 행 번호
+     * @return 데이터 범위 문자열 (예: "herb_log!A10:D")
+     */
+    public String getRowRangeFrom(int startRowNum) {
+        return String.format("%s!%s%d:%s", sheetName, startColumn, startRowNum, endColumn);
+    }
+
+    /**
+     * 시작 열의 특정 행부터 마지막 행까지의 범위를 {@code 시트이름!시작열시작행:시작열} 형식으로 반환.
+     * @param startRowNum 시작 행 번호
+     * @return 데이터 범위 문자열 (예: "herb_log!A10:A")
+     */
+    public String getStartColumnRangeFrom(int startRowNum) {
+        return String.format("%s!%s%d:%s", sheetName, startColumn, startRowNum, startColumn);
+    }
 }
@@ -0,0 +1,94 @@
+package com.example.spreadsheetdemo.common.config;
+
+import com.example.spreadsheetdemo.common.gateway.InMemorySpreadsheetGateway;
+import com.google.api.client.http.HttpRequestInitializer;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.apache.v2.ApacheHttpTransport;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.services.sheets.v4.Sheets;
+import com.google.auth.http.HttpCredentialsAdapter;
+import com.google.auth.oauth2.GoogleCredentials;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Google Spreadsheet API 클라이언트 설정.<br/>
+ * 인증 정보와 HTTP 커넥션 풀을 애플리케이션 시작 시 한 번만 생성하고, 모든 Repository 가 하나의 {@link Sheets} 클라이언트를 공유한다.<br/>
+ * {@code in-memory-sheets} 프로필에서는 인증 정보 없이 실행할 수 있도록 생성하지 않는다.
+ */
+@Slf4j
+@Configuration
+@Profile("!" + InMemorySpreadsheetGateway.PROFILE)
+public class GoogleSheetsConfig {
+
+    private static final JacksonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
+    private static final String SPREADSHEETS_SCOPE = "https://www.googleapis.com/auth/spreadsheets";
+
+    /**
+     * 클래스패스의 서비스 계정 인증 정보.
+     */
+    @Bean
+    public GoogleCredentials googleCredentials(
+            @Value("${google.sheets.credentials-path:/spreadsheet-test.json}") String credentialsPath
+    ) throws IOException {
+        try (InputStream in = new ClassPathResource(credentialsPath).getInputStream()) {
+            return GoogleCredentials.fromStream(in).createScoped(SPREADSHEETS_SCOPE);
+        } catch (IOException e) {
+            log.error("Credential Error occurred while reading Google Sheets credentials: {}", credentialsPath);
+            throw e;
+        }
+    }
+
+    /**
+     * 커넥션 풀을 사용하는 keep-alive HTTP 전송 계층.<br/>
+     * 동시 요청이 TLS 연결을 재사용하도록 최대 커넥션 수와 유휴 커넥션 정리 주기를 설정한다.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public HttpTransport sheetsHttpTransport(
+            @Value("${google.sheets.http.max-connections:50}") int maxConnections,
+            @Value("${google.sheets.http.max-connections-per-route:50}") int maxConnectionsPerRoute,
+            @Value("${google.sheets.http.idle-timeout:PT1M}") Duration idleTimeout
+    ) {
+        return new ApacheHttpTransport(
+                ApacheHttpTransport.newDefaultHttpClientBuilder()
+                        .setMaxConnTotal(maxConnections)
+                        .setMaxConnPerRoute(maxConnectionsPerRoute)
+                        .evictExpiredConnections()
+                        .evictIdleConnections(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                        .build()
+        );
+    }
+
+    /**
+     * 모든 Repository 가 공유하는 Google Spreadsheet API 클라이언트.
+     */
+    @Bean
+    public Sheets sheets(
+            HttpTransport sheetsHttpTransport,
+            GoogleCredentials googleCredentials,
+            @Value("${google.sheets.application-name:uniflee}") String applicationName,
+            @Value("${google.sheets.http.connect-timeout:PT5S}") Duration connectTimeout,
+            @Value("${google.sheets.http.read-timeout:PT30S}") Duration readTimeout
+    ) {
+        HttpCredentialsAdapter credentialsAdapter = new HttpCredentialsAdapter(googleCredentials);
+        HttpRequestInitializer requestInitializer = request -> {
+            credentialsAdapter.initialize(request);
+            request.setConnectTimeout((int) connectTimeout.toMillis());
+            request.setReadTimeout((int) readTimeout.toMillis());
+        };
+
+        return new Sheets
+                .Builder(sheetsHttpTransport, JSON_FACTORY, requestInitializer)
+                .setApplicationName(applicationName)
+                .build();
+    }
+}
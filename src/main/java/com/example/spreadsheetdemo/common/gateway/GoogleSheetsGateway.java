@@ -0,0 +1,97 @@
+package com.example.spreadsheetdemo.common.gateway;
+
+import com.google.api.services.sheets.v4.Sheets;
+import com.google.api.services.sheets.v4.model.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Google Spreadsheet API 클라이언트를 사용하는 {@link SpreadsheetGateway}.
+ */
+@Component
+@Profile("!" + InMemorySpreadsheetGateway.PROFILE)
+@RequiredArgsConstructor
+public class GoogleSheetsGateway implements SpreadsheetGateway {
+
+    private static final String VALUE_INPUT_OPTION = "USER_ENTERED";
+
+    @Value("${google.spreadsheet.id}")
+    private String SPREADSHEET_ID;
+
+    private final Sheets sheetsService;
+
+    @Override
+    public ValueRange get(String range) throws IOException {
+        return sheetsService.spreadsheets()
+                .values()
+                .get(SPREADSHEET_ID, range)
+                .execute();
+    }
+
+    @Override
+    public List<ValueRange> batchGet(List<String> ranges) throws IOException {
+        BatchGetValuesResponse result = sheetsService.spreadsheets()
+                .values()
+                .batchGet(SPREADSHEET_ID)
+                .setRanges(ranges)
+                .execute();
+        return result.getValueRanges();
+    }
+
+    @Override
+    public String append(String range, List<List<Object>> values) throws IOException {
+        AppendValuesResponse result = sheetsService.spreadsheets()
+                .values()
+                // 데이터 범위를 명시할 경우 자동으로 표의 마지막에 데이터 삽입됨
+                .append(SPREADSHEET_ID, range, new ValueRange().setValues(values))
+                .setValueInputOption(VALUE_INPUT_OPTION)
+                .setInsertDataOption("INSERT_ROWS")     // 필요 시 행 삽입
+                .execute();
+        return result.getUpdates().getUpdatedRange();
+    }
+
+    @Override
+    public String update(String range, List<List<Object>> values) throws IOException {
+        UpdateValuesResponse result = sheetsService.spreadsheets()
+                .values()
+                .update(SPREADSHEET_ID, range, new ValueRange().setValues(values))
+                .setValueInputOption(VALUE_INPUT_OPTION)
+                .execute();
+        return result.getUpdatedRange();
+    }
+
+    @Override
+    public List<String> batchUpdate(Map<String, List<List<Object>>> valuesMapByRange) throws IOException {
+        List<ValueRange> data = new ArrayList<>(valuesMapByRange.size());
+        for (Map.Entry<String, List<List<Object>>> entry : valuesMapByRange.entrySet()) {
+            data.add(new ValueRange().setRange(entry.getKey()).setValues(entry.getValue()));
+        }
+        BatchUpdateValuesRequest request = new BatchUpdateValuesRequest()
+                .setValueInputOption(VALUE_INPUT_OPTION)
+                .setData(data);
+
+        BatchUpdateValuesResponse result = sheetsService.spreadsheets()
+                .values()
+                .batchUpdate(SPREADSHEET_ID, request)
+                .execute();
+        return result.getResponses().stream()
+                .map(UpdateValuesResponse::getUpdatedRange)
+                .toList();
+    }
+
+    @Override
+    public String clear(String range) throws IOException {
+        ClearValuesResponse result = sheetsService.spreadsheets()
+                .values()
+                .clear(SPREADSHEET_ID, range, new ClearValuesRequest())
+                .execute();
+        return result.getClearedRange();
+    }
+}
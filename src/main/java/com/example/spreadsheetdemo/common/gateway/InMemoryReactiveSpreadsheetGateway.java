@@ -0,0 +1,35 @@
+package com.example.spreadsheetdemo.common.gateway;
+
+import com.google.api.services.sheets.v4.model.ValueRange;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * {@link InMemorySpreadsheetGateway} 를 사용하는 {@link ReactiveSpreadsheetGateway}. {@code in-memory-sheets} 프로필에서만 사용한다.<br/>
+ * 메모리 시트는 지연 시간을 {@link Thread#sleep(long)} 으로 주입하므로 별도 스레드에서 호출한다.
+ */
+@Component
+@Profile(InMemorySpreadsheetGateway.PROFILE)
+@RequiredArgsConstructor
+public class InMemoryReactiveSpreadsheetGateway implements ReactiveSpreadsheetGateway {
+
+    // 할당량 제어는 ScheduledReactiveSpreadsheetGateway 에서 수행하므로 Scheduled 가 아닌 메모리 시트를 직접 사용
+    private final InMemorySpreadsheetGateway inMemorySpreadsheetGateway;
+
+    @Override
+    public Mono<ValueRange> get(String range) {
+        return Mono.fromCallable(() -> inMemorySpreadsheetGateway.get(range))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<List<ValueRange>> batchGet(List<String> ranges) {
+        return Mono.fromCallable(() -> inMemorySpreadsheetGateway.batchGet(ranges))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
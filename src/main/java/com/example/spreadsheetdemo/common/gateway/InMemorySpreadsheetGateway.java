@@ -0,0 +1,398 @@
+package com.example.spreadsheetdemo.common.gateway;
+
+import com.example.spreadsheetdemo.common.SheetsInfo;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 메모리에 시트를 보관하는 {@link SpreadsheetGateway}. {@code in-memory-sheets} 프로필에서만 사용한다.<br/>
+ * Google Spreadsheet API 없이 서비스 계층의 처리량을 측정하기 위한 용도로, 호출마다 설정된 지연 시간을 주입하고
+ * 설정된 비율로 I/O 실패와 할당량 초과(429) 응답을 발생시킨다. 실패는 값을 반영하기 전에 발생한다.<br/>
+ * <br/>
+ * 값은 한국어 로캘 스프레드시트와 같이 서식이 적용된 문자열로 저장된다.
+ * ISO 형식의 일자/일시 문자열은 {@code USER_ENTERED} 해석과 같이 {@code "2024. 1. 5"}, {@code "2024. 1. 5 13:04:05"} 형식으로 바뀐다.
+ */
+@Slf4j
+@Component
+@Profile(InMemorySpreadsheetGateway.PROFILE)
+public class InMemorySpreadsheetGateway implements SpreadsheetGateway {
+
+    public static final String PROFILE = "in-memory-sheets";
+
+    // 시트이름!시작열[시작행][:끝열[끝행]]
+    private static final Pattern A1_RANGE_PATTERN = Pattern.compile("^([^!]+)!([A-Z]+)(\\d+)?(?::([A-Z]+)(\\d+)?)?$");
+    private static final Pattern ISO_DATE_PATTERN = Pattern.compile("^\\d{4}-\\d{2}-\\d{2}$");
+    private static final Pattern ISO_DATETIME_PATTERN = Pattern.compile("^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}(:\\d{2}(\\.\\d+)?)?$");
+
+    private final Duration latency;
+    private final Duration latencyJitter;
+    private final double failureRate;
+    private final double rateLimitRate;
+    private final Random random;
+
+    // 시트 이름 별 행 목록. 행 번호 1 이 인덱스 0
+    private final Map<String, List<List<String>>> rowsMapBySheetName = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public InMemorySpreadsheetGateway(
+            @Value("${google.sheets.in-memory.latency:PT0S}") Duration latency,
+            @Value("${google.sheets.in-memory.latency-jitter:PT0S}") Duration latencyJitter,
+            @Value("${google.sheets.in-memory.failure-rate:0}") double failureRate,
+            @Value("${google.sheets.in-memory.rate-limit-rate:0}") double rateLimitRate,
+            @Value("${google.sheets.in-memory.random-seed:42}") long randomSeed,
+            @Value("${google.sheets.in-memory.seed-herb-count:100}") int seedHerbCount
+    ) {
+        this.latency = latency;
+        this.latencyJitter = latencyJitter;
+        this.failureRate = failureRate;
+        this.rateLimitRate = rateLimitRate;
+        this.random = new Random(randomSeed);
+        seed(seedHerbCount);
+        log.info("In-memory spreadsheet initialized with {} herbs. latency={}, jitter={}, failureRate={}, rateLimitRate={}",
+                seedHerbCount, latency, latencyJitter, failureRate, rateLimitRate);
+    }
+
+    @Override
+    public ValueRange get(String range) throws IOException {
+        simulateCall();
+        lock.readLock().lock();
+        try {
+            return read(parse(range));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ValueRange> batchGet(List<String> ranges) throws IOException {
+        simulateCall();
+        List<GridRange> gridRanges = new ArrayList<>(ranges.size());
+        for (String range : ranges) {
+            gridRanges.add(parse(range));
+        }
+        lock.readLock().lock();
+        try {
+            List<ValueRange> result = new ArrayList<>(gridRanges.size());
+            for (GridRange gridRange : gridRanges) {
+                result.add(read(gridRange));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public String append(String range, List<List<Object>> values) throws IOException {
+        simulateCall();
+        GridRange gridRange = parse(range);
+        lock.writeLock().lock();
+        try {
+            List<List<String>> rows = rowsOf(gridRange.sheetName);
+            // 표의 마지막 값이 있는 행 다음부터 추가
+            int startRowNum = lastNonEmptyRowNum(rows) + 1;
+            return write(new GridRange(gridRange.sheetName, gridRange.startColumn, startRowNum, gridRange.endColumn, null), values);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public String update(String range, List<List<Object>> values) throws IOException {
+        simulateCall();
+        GridRange gridRange = parse(range);
+        lock.writeLock().lock();
+        try {
+            return write(gridRange, values);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<String> batchUpdate(Map<String, List<List<Object>>> valuesMapByRange) throws IOException {
+        simulateCall();
+        Map<GridRange, List<List<Object>>> valuesMapByGridRange = new LinkedHashMap<>();
+        for (Map.Entry<String, List<List<Object>>> entry : valuesMapByRange.entrySet()) {
+            valuesMapByGridRange.put(parse(entry.getKey()), entry.getValue());
+        }
+        // 모든 범위를 한 번에 반영
+        lock.writeLock().lock();
+        try {
+            List<String> updatedRanges = new ArrayList<>(valuesMapByGridRange.size());
+            for (Map.Entry<GridRange, List<List<Object>>> entry : valuesMapByGridRange.entrySet()) {
+                updatedRanges.add(write(entry.getKey(), entry.getValue()));
+            }
+            return updatedRanges;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public String clear(String range) throws IOException {
+        simulateCall();
+        GridRange gridRange = parse(range);
+        lock.writeLock().lock();
+        try {
+            List<List<String>> rows = rowsOf(gridRange.sheetName);
+            int endRowNum = gridRange.endRowNum != null ? Math.min(gridRange.endRowNum, rows.size()) : rows.size();
+            for (int rowNum = gridRange.startRowNum; rowNum <= endRowNum; rowNum++) {
+                List<String> row = rows.get(rowNum - 1);
+                for (int column = gridRange.startColumn; column <= gridRange.endColumn && column < row.size(); column++) {
+                    row.set(column, "");
+                }
+            }
+            return gridRange.toA1(gridRange.startRowNum, gridRange.endRowNum != null ? gridRange.endRowNum : Math.max(rows.size(), gridRange.startRowNum));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 지연 시간 주입 후 설정된 비율로 실패 발생.
+     */
+    private void simulateCall() throws IOException {
+        long delayMillis = latency.toMillis();
+        if (!latencyJitter.isZero()) {
+            delayMillis += (long) (random.nextDouble() * latencyJitter.toMillis());
+        }
+        if (delayMillis > 0) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("In-memory spreadsheet call interrupted.");
+            }
+        }
+
+        double roll = random.nextDouble();
+        if (roll < rateLimitRate) {
+            throw rateLimitExceeded();
+        }
+        if (roll < rateLimitRate + failureRate) {
+            throw new IOException("Injected I/O failure from in-memory spreadsheet.");
+        }
+    }
+
+    private static GoogleJsonResponseException rateLimitExceeded() {
+        GoogleJsonError error = new GoogleJsonError();
+        error.setCode(429);
+        error.setMessage("Quota exceeded (injected by in-memory spreadsheet).");
+        return new GoogleJsonResponseException(
+                new HttpResponseException.Builder(429, "Too Many Requests", new HttpHeaders()).setMessage(error.getMessage()),
+                error
+        );
+    }
+
+    private static GoogleJsonResponseException badRequest(String message) {
+        GoogleJsonError error = new GoogleJsonError();
+        error.setCode(400);
+        error.setMessage(message);
+        return new GoogleJsonResponseException(
+                new HttpResponseException.Builder(400, "Bad Request", new HttpHeaders()).setMessage(message),
+                error
+        );
+    }
+
+    /**
+     * 범위 조회. 실제 API 와 같이 각 행의 뒤쪽 빈 셀과 뒤쪽 빈 행은 제외한다.
+     */
+    private ValueRange read(GridRange gridRange) throws IOException {
+        List<List<String>> rows = rowsOf(gridRange.sheetName);
+        int lastRowNum = gridRange.endRowNum != null ? Math.min(gridRange.endRowNum, rows.size()) : rows.size();
+
+        List<List<Object>> values = new ArrayList<>();
+        int lastNonEmptyIndex = -1;
+        for (int rowNum = gridRange.startRowNum; rowNum <= lastRowNum; rowNum++) {
+            List<String> row = rows.get(rowNum - 1);
+            int end = Math.min(gridRange.endColumn + 1, row.size());
+            while (end > gridRange.startColumn && row.get(end - 1).isEmpty()) {
+                end--;
+            }
+            // 조회 결과는 호출자가 수정할 수 있으므로 복사
+            List<Object> value = end > gridRange.startColumn ? new ArrayList<>(row.subList(gridRange.startColumn, end)) : new ArrayList<>();
+            values.add(value);
+            if (!value.isEmpty()) {
+                lastNonEmptyIndex = values.size() - 1;
+            }
+        }
+        values = new ArrayList<>(values.subList(0, lastNonEmptyIndex + 1));
+
+        int endRowNum = gridRange.endRowNum != null ? gridRange.endRowNum : Math.max(rows.size(), gridRange.startRowNum);
+        ValueRange result = new ValueRange()
+                .setRange(gridRange.toA1(gridRange.startRowNum, endRowNum))
+                .setMajorDimension("ROWS");
+        return values.isEmpty() ? result : result.setValues(values);
+    }
+
+    /**
+     * 범위의 시작 셀부터 값 기록. 필요한 경우 행과 열을 늘린다.
+     */
+    private String write(GridRange gridRange, List<List<Object>> values) throws IOException {
+        List<List<String>> rows = rowsOf(gridRange.sheetName);
+        int width = 0;
+        for (int i = 0; i < values.size(); i++) {
+            List<Object> value = values.get(i);
+            int rowNum = gridRange.startRowNum + i;
+            while (rows.size() < rowNum) {
+                rows.add(new ArrayList<>());
+            }
+            List<String> row = rows.get(rowNum - 1);
+            for (int j = 0; j < value.size(); j++) {
+                int column = gridRange.startColumn + j;
+                while (row.size() <= column) {
+                    row.add("");
+                }
+                row.set(column, format(value.get(j)));
+            }
+            width = Math.max(width, value.size());
+        }
+
+        int endRowNum = gridRange.startRowNum + Math.max(values.size(), 1) - 1;
+        int endColumn = gridRange.startColumn + Math.max(width, 1) - 1;
+        return String.format("%s!%s%d:%s%d",
+                gridRange.sheetName, columnLetters(gridRange.startColumn), gridRange.startRowNum, columnLetters(endColumn), endRowNum);
+    }
+
+    private List<List<String>> rowsOf(String sheetName) throws IOException {
+        List<List<String>> rows = rowsMapBySheetName.get(sheetName);
+        if (rows == null) {
+            throw badRequest("Unable to parse range: " + sheetName);
+        }
+        return rows;
+    }
+
+    private static int lastNonEmptyRowNum(List<List<String>> rows) {
+        for (int i = rows.size() - 1; i >= 0; i--) {
+            for (String cell : rows.get(i)) {
+                if (!cell.isEmpty()) {
+                    return i + 1;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * {@code USER_ENTERED} 해석 후 서식이 적용된 문자열로 변환.
+     */
+    private static String format(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (ISO_DATE_PATTERN.matcher(text).matches()) {
+            return formatDate(LocalDate.parse(text));
+        }
+        if (ISO_DATETIME_PATTERN.matcher(text).matches()) {
+            LocalDateTime datetime = LocalDateTime.parse(text);
+            return String.format("%s %d:%02d:%02d", formatDate(datetime.toLocalDate()), datetime.getHour(), datetime.getMinute(), datetime.getSecond());
+        }
+        return text;
+    }
+
+    private static String formatDate(LocalDate date) {
+        return date.getYear() + ". " + date.getMonthValue() + ". " + date.getDayOfMonth();
+    }
+
+    private GridRange parse(String range) throws IOException {
+        Matcher matcher = A1_RANGE_PATTERN.matcher(range);
+        if (!matcher.matches()) {
+            throw badRequest("Unable to parse range: " + range);
+        }
+        String sheetName = matcher.group(1);
+        int startColumn = columnIndex(matcher.group(2));
+        int startRowNum = matcher.group(3) != null ? Integer.parseInt(matcher.group(3)) : 1;
+        int endColumn;
+        Integer endRowNum;
+        if (matcher.group(4) == null) {
+            // 단일 셀 또는 단일 열
+            endColumn = startColumn;
+            endRowNum = matcher.group(3) != null ? startRowNum : null;
+        } else {
+            endColumn = columnIndex(matcher.group(4));
+            endRowNum = matcher.group(5) != null ? Integer.valueOf(matcher.group(5)) : null;
+        }
+        return new GridRange(sheetName, startColumn, startRowNum, endColumn, endRowNum);
+    }
+
+    private static int columnIndex(String letters) {
+        int index = 0;
+        for (int i = 0; i < letters.length(); i++) {
+            index = index * 26 + (letters.charAt(i) - 'A' + 1);
+        }
+        return index - 1;
+    }
+
+    private static String columnLetters(int index) {
+        StringBuilder sb = new StringBuilder();
+        for (int n = index + 1; n > 0; n = (n - 1) / 26) {
+            sb.insert(0, (char) ('A' + (n - 1) % 26));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 헤더 행과 약재, 약재 별 최초 입고 로그로 시트 초기화. 기준 수량 시트는 헤더 행만 생성한다.
+     */
+    private void seed(int herbCount) {
+        List<List<String>> herbRows = new ArrayList<>();
+        List<List<String>> logRows = new ArrayList<>();
+        herbRows.add(new ArrayList<>(List.of("약재명", "수량", "최종 입고일", "메모")));
+        logRows.add(new ArrayList<>(List.of("일시", "약재명", "변경 전 수량", "변경 후 수량")));
+
+        Random seedRandom = new Random(herbCount);
+        LocalDateTime loggedDatetime = LocalDate.now().minusDays(herbCount).atTime(9, 0);
+        for (int i = 0; i < herbCount; i++) {
+            String name = "약재" + (i + 1);
+            String amount = Integer.toString(100 + seedRandom.nextInt(9_900));
+            loggedDatetime = loggedDatetime.plusDays(1);
+            herbRows.add(new ArrayList<>(List.of(name, amount, format(loggedDatetime.toLocalDate().toString()), "")));
+            logRows.add(new ArrayList<>(List.of(format(loggedDatetime.toString()), name, "0", amount)));
+        }
+        rowsMapBySheetName.put(SheetsInfo.HERB.getSheetName(), herbRows);
+        rowsMapBySheetName.put(SheetsInfo.HERB_LOG.getSheetName(), logRows);
+        rowsMapBySheetName.put(SheetsInfo.HERB_THRESHOLD.getSheetName(), new ArrayList<>(List.of(new ArrayList<>(List.of("약재명", "최소 수량")))));
+    }
+
+    /**
+     * 파싱된 A1 범위. 열은 0 부터, 행은 1 부터 시작한다.
+     */
+    @RequiredArgsConstructor
+    private static class GridRange {
+        private final String sheetName;
+        private final int startColumn;
+        private final int startRowNum;
+        private final int endColumn;
+        // 끝 행이 없는 범위 (예: "herb!A:D") 인 경우 null
+        private final Integer endRowNum;
+
+        private String toA1(int fromRowNum, int toRowNum) {
+            return String.format("%s!%s%d:%s%d", sheetName, columnLetters(startColumn), fromRowNum, columnLetters(endColumn), toRowNum);
+        }
+    }
+}
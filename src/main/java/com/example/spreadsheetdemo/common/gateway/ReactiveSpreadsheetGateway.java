@@ -0,0 +1,33 @@
+package com.example.spreadsheetdemo.common.gateway;
+
+import com.google.api.services.sheets.v4.model.ValueRange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * 스레드를 점유하지 않는 스프레드시트 값 조회 연산.<br/>
+ * {@link SpreadsheetGateway} 의 조회 연산과 같은 의미이며, 오류 응답은 {@link com.google.api.client.googleapis.json.GoogleJsonResponseException} 으로 전달된다.<br/>
+ * 수정 연산은 트랜잭션의 보상 처리가 순서대로 수행되어야 하므로 {@link SpreadsheetGateway} 만 제공한다.
+ *
+ * @see WebClientSheetsGateway
+ * @see InMemoryReactiveSpreadsheetGateway
+ */
+public interface ReactiveSpreadsheetGateway {
+
+    /**
+     * 범위 조회.
+     *
+     * @param range 조회할 범위 (예: "herb!A2:D10")
+     * @return 조회 결과. 범위에 값이 없는 경우 {@link ValueRange#getValues()} 는 {@code null}.
+     */
+    Mono<ValueRange> get(String range);
+
+    /**
+     * 여러 범위를 한 번의 요청으로 조회.
+     *
+     * @param ranges 조회할 범위 목록
+     * @return 요청한 범위 순서대로 정렬된 조회 결과 목록
+     */
+    Mono<List<ValueRange>> batchGet(List<String> ranges);
+}
@@ -0,0 +1,34 @@
+package com.example.spreadsheetdemo.common.gateway;
+
+import com.example.spreadsheetdemo.common.gateway.SheetsRequestScheduler.Priority;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * 모든 호출을 {@link SheetsRequestScheduler} 를 통해 수행하는 {@link ReactiveSpreadsheetGateway}.<br/>
+ * {@link ScheduledSpreadsheetGateway} 와 같은 할당량 버킷을 공유하므로, 비동기 조회도 트랜잭션의 쓰기보다 먼저 수행되지 않는다.
+ */
+@Primary
+@Component
+@RequiredArgsConstructor
+public class ScheduledReactiveSpreadsheetGateway implements ReactiveSpreadsheetGateway {
+
+    // 프로필에 따라 등록된 실제 Gateway (WebClientSheetsGateway 또는 InMemoryReactiveSpreadsheetGateway)
+    private final ReactiveSpreadsheetGateway delegate;
+    private final SheetsRequestScheduler scheduler;
+
+    @Override
+    public Mono<ValueRange> get(String range) {
+        return scheduler.executeAsync(Priority.READ, true, () -> delegate.get(range));
+    }
+
+    @Override
+    public Mono<List<ValueRange>> batchGet(List<String> ranges) {
+        return scheduler.executeAsync(Priority.READ, true, () -> delegate.batchGet(ranges));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.spreadsheetdemo.common.gateway;
+
+import com.example.spreadsheetdemo.common.gateway.SheetsRequestScheduler.Priority;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 모든 호출을 {@link SheetsRequestScheduler} 를 통해 수행하는 {@link SpreadsheetGateway}.<br/>
+ * Repository 는 이 Gateway 를 주입받으므로 별도의 처리 없이 할당량 제어와 재시도가 적용된다.
+ * 조회는 {@link Priority#READ}, 수정과 수정 직전의 확인용 조회는 {@link Priority#WRITE} 우선순위로 수행하며,
+ * 행 추가({@link #append(String, List)})는 이미 반영되었을 수 있으므로 서버 오류 시 재시도하지 않는다.
+ */
+@Primary
+@Component
+@RequiredArgsConstructor
+public class ScheduledSpreadsheetGateway implements SpreadsheetGateway {
+
+    // 프로필에 따라 등록된 실제 Gateway (GoogleSheetsGateway 또는 InMemorySpreadsheetGateway)
+    private final SpreadsheetGateway delegate;
+    private final SheetsRequestScheduler scheduler;
+
+    @Override
+    public ValueRange get(String range) throws IOException {
+        return scheduler.execute(Priority.READ, true, () -> delegate.get(range));
+    }
+
+    @Override
+    public List<ValueRange> batchGet(List<String> ranges) throws IOException {
+        return scheduler.execute(Priority.READ, true, () -> delegate.batchGet(ranges));
+    }
+
+    @Override
+    public ValueRange getForUpdate(String range) throws IOException {
+        return scheduler.execute(Priority.WRITE, true, () -> delegate.get(range));
+    }
+
+    @Override
+    public List<ValueRange> batchGetForUpdate(List<String> ranges) throws IOException {
+        return scheduler.execute(Priority.WRITE, true, () -> delegate.batchGet(ranges));
+    }
+
+    @Override
+    public String append(String range, List<List<Object>> values) throws IOException {
+        return scheduler.execute(Priority.WRITE, false, () -> delegate.append(range, values));
+    }
+
+    @Override
+    public String update(String range, List<List<Object>> values) throws IOException {
+        return scheduler.execute(Priority.WRITE, true, () -> delegate.update(range, values));
+    }
+
+    @Override
+    public List<String> batchUpdate(Map<String, List<List<Object>>> valuesMapByRange) throws IOException {
+        return scheduler.execute(Priority.WRITE, true, () -> delegate.batchUpdate(valuesMapByRange));
+    }
+
+    @Override
+    public String clear(String range) throws IOException {
+        return scheduler.execute(Priority.WRITE, true, () -> delegate.clear(range));
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.spreadsheetdemo.common.gateway;
+
+import com.example.spreadsheetdemo.common.SheetsInfo;
+import com.example.spreadsheetdemo.common.metrics.SheetsMetrics;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 동일한 범위에 대한 동시 조회 병합. (single-flight)<br/>
+ * 같은 범위를 조회하는 요청이 동시에 들어오면 처음 요청만 Google Spreadsheet API 를 호출하고, 나머지 요청은 그 결과를 함께 사용한다.
+ * 호출이 끝난 뒤에도 {@link #window} 동안은 같은 결과를 재사용하여, 짧은 시간에 몰리는 페이지 요청을 한 번의 호출로 처리한다.<br/>
+ * 결과 {@link ValueRange} 는 여러 요청이 공유하므로 호출하는 쪽에서 수정하면 안 된다.
+ * 시트에 쓰기를 수행한 경우 {@link #invalidate(SheetsInfo)} 로 해당 시트의 결과를 버려, 이후 조회가 쓰기 이전 결과를 받지 않도록 한다.<br/>
+ * 시트마다 세대 번호를 두고 호출을 등록할 때의 세대를 기록한다. 호출 도중 쓰기로 세대가 바뀐 경우,
+ * 그 결과는 이미 기다리던 요청에만 전달하고 이후 요청과는 공유하지 않는다.
+ */
+@Component
+public class SheetsReadCoalescer {
+
+    private final Counter coalescedCounter;
+
+    /**
+     * 호출 완료 후 결과를 재사용하는 시간. {@code 0} 인 경우 진행 중인 호출만 병합한다.
+     */
+    private final Duration window;
+
+    private final ConcurrentHashMap<String, Flight> flightMap = new ConcurrentHashMap<>();
+    // 시트 이름 별 세대 번호. 쓰기를 수행할 때마다 증가
+    private final ConcurrentHashMap<String, AtomicLong> generationMap = new ConcurrentHashMap<>();
+
+    public SheetsReadCoalescer(
+            MeterRegistry meterRegistry,
+            @Value("${google.sheets.read-coalescing.window:PT0.2S}") Duration window
+    ) {
+        this.window = window;
+        this.coalescedCounter = Counter.builder("sheets.read.coalesced")
+                .description("진행 중이거나 직전에 완료된 조회 결과를 공유하여 생략된 Google Spreadsheet API 호출 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 범위 조회. 같은 범위의 호출이 진행 중이거나 {@link #window} 이내에 완료된 경우 그 결과를 반환한다.
+     *
+     * @param range 조회할 범위 (예: "herb!A:D")
+     * @param call 실제 조회 호출
+     * @return 조회 결과
+     * @throws GeneralSecurityException on security exception.
+     * @throws IOException on Google Spreadsheet API call exception.
+     */
+    public ValueRange read(String range, SheetsMetrics.SheetsCall<ValueRange> call) throws GeneralSecurityException, IOException {
+        AtomicLong generation = generationOf(sheetNameOf(range));
+        while (true) {
+            Flight current = flightMap.get(range);
+            if (current != null && !current.isStale(window, generation.get())) {
+                coalescedCounter.increment();
+                return await(current);
+            }
+
+            Flight flight = new Flight(generation.get());
+            boolean leader = current == null
+                    ? flightMap.putIfAbsent(range, flight) == null
+                    : flightMap.replace(range, current, flight);
+            if (leader) {
+                return fly(range, flight, generation, call);
+            }
+            // 다른 요청이 먼저 새 호출을 등록한 경우 그 호출을 다시 확인
+        }
+    }
+
+    /**
+     * 시트의 진행 중이거나 완료된 조회 결과를 모두 버림. 이미 결과를 기다리는 요청은 영향을 받지 않는다.
+     *
+     * @param sheetsInfo 쓰기를 수행한 시트
+     */
+    public void invalidate(SheetsInfo sheetsInfo) {
+        // 세대를 먼저 올려, 진행 중인 호출이 제거된 뒤 다시 등록되더라도 공유되지 않도록 함
+        generationOf(sheetsInfo.getSheetName()).incrementAndGet();
+        String prefix = sheetsInfo.getSheetName() + "!";
+        flightMap.keySet().removeIf(range -> range.startsWith(prefix));
+    }
+
+    private ValueRange fly(String range, Flight flight, AtomicLong generation, SheetsMetrics.SheetsCall<ValueRange> call) throws GeneralSecurityException, IOException {
+        try {
+            ValueRange result = call.execute();
+            flight.complete(result);
+            if (window.isZero() || flight.generation != generation.get()) {
+                // 호출 도중 쓰기가 수행된 경우 쓰기 이전 결과일 수 있으므로 재사용하지 않음
+                flightMap.remove(range, flight);
+            } else {
+                // 재사용 시간이 지나면 제거하여 한 번만 조회된 범위가 쌓이지 않도록 함
+                CompletableFuture.delayedExecutor(window.toNanos(), TimeUnit.NANOSECONDS)
+                        .execute(() -> flightMap.remove(range, flight));
+            }
+            return result;
+        } catch (GeneralSecurityException | IOException | RuntimeException | Error e) {
+            // 실패한 결과는 재사용하지 않음. 이미 기다리던 요청에는 같은 예외를 전달
+            flightMap.remove(range, flight);
+            flight.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private AtomicLong generationOf(String sheetName) {
+        return generationMap.computeIfAbsent(sheetName, key -> new AtomicLong());
+    }
+
+    /**
+     * 범위 문자열의 시트 이름. (예: "herb!A2:D2" → "herb")
+     */
+    private static String sheetNameOf(String range) {
+        int separatorIndex = range.indexOf('!');
+        return separatorIndex < 0 ? range : range.substring(0, separatorIndex);
+    }
+
+    private static ValueRange await(Flight flight) throws GeneralSecurityException, IOException {
+        try {
+            return flight.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for coalesced Google Sheets read");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof GeneralSecurityException securityException) {
+                throw securityException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * 하나의 범위에 대한 조회 호출
+     */
+    private static final class Flight {
+
+        private final CompletableFuture<ValueRange> future = new CompletableFuture<>();
+        // 호출을 등록할 때의 시트 세대 번호
+        private final long generation;
+        private volatile long completedNanos;
+
+        private Flight(long generation) {
+            this.generation = generation;
+        }
+
+        private void complete(ValueRange result) {
+            completedNanos = System.nanoTime();
+            future.complete(result);
+        }
+
+        /**
+         * 등록 이후 시트에 쓰기가 수행되었거나, 성공적으로 완료된 후 재사용 시간이 지난 경우 {@code true}.
+         * 그 외의 진행 중인 호출은 항상 재사용한다.
+         */
+        private boolean isStale(Duration window, long currentGeneration) {
+            if (generation != currentGeneration) {
+                return true;
+            }
+            if (!future.isDone()) {
+                return false;
+            }
+            return future.isCompletedExceptionally() || System.nanoTime() - completedNanos > window.toNanos();
+        }
+    }
+}
@@ -0,0 +1,543 @@
+package com.example.spreadsheetdemo.common.gateway;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Google Spreadsheet API 호출 스케줄러.<br/>
+ * 모든 호출은 분당 할당량에 맞춘 토큰 버킷에서 토큰을 하나 얻은 뒤 수행한다.
+ * 토큰을 기다리는 호출은 우선순위 순, 같은 우선순위에서는 도착 순으로 토큰을 얻으므로
+ * 조회 호출이 많이 몰리더라도 트랜잭션의 쓰기와 롤백 호출이 먼저 수행된다.
+ * 쓰기 호출은 조회보다 긴 최대 대기 시간을 적용하여, 할당량이 부족한 동안에도 롤백이 대기 시간 초과로 실패하지 않도록 한다.
+ * 단, 요청 처리 스레드에서 수행하는 동기 호출은 토큰 대기와 재시도 대기를 합쳐 {@code request-max-wait} 까지만 기다리고 실패하여,
+ * 할당량이 부족한 동안 요청 처리 스레드가 모두 묶이지 않도록 한다. 백그라운드 스레드의 호출에는 적용하지 않는다.<br/>
+ * 할당량 초과(429) 응답을 받으면 버킷을 비워 다른 호출도 함께 속도를 늦추고, 지수 백오프(full jitter) 후 다시 시도한다.
+ * 서버 오류(5xx)는 다시 수행해도 결과가 같은 호출만 재시도한다.<br/>
+ * 비동기 호출({@link #executeAsync(Priority, boolean, Supplier)})도 같은 버킷과 대기열을 사용하며,
+ * 대기열의 맨 앞이 된 비동기 호출에는 타이머가 토큰을 넘겨주므로 토큰을 기다리는 동안 스레드를 점유하지 않는다.
+ *
+ * @see ScheduledSpreadsheetGateway
+ * @see ScheduledReactiveSpreadsheetGateway
+ */
+@Slf4j
+@Component
+public class SheetsRequestScheduler {
+
+    /**
+     * 호출 우선순위. 선언 순서가 앞일수록 먼저 수행된다.
+     */
+    public enum Priority {
+        /**
+         * 시트 수정 (트랜잭션의 쓰기와 롤백 포함) 및 수정 직전의 확인용 조회
+         */
+        WRITE,
+        /**
+         * 시트 조회
+         */
+        READ
+    }
+
+    /**
+     * 스케줄러를 통해 수행할 호출.
+     *
+     * @param <T> 호출 결과 타입
+     */
+    @FunctionalInterface
+    public interface GatewayCall<T> {
+        T execute() throws IOException;
+    }
+
+    private final double tokensPerNano;
+    private final double burst;
+    private final Map<Priority, Long> maxWaitNanosMap = new EnumMap<>(Priority.class);
+    // 요청 처리 스레드의 동기 호출이 토큰 대기와 재시도 대기에 쓸 수 있는 최대 시간
+    private final long requestMaxWaitNanos;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    // 토큰을 기다리는 호출. 우선순위, 도착 순으로 정렬
+    private final PriorityQueue<Ticket> waitingQueue = new PriorityQueue<>(
+            Comparator.comparing((Ticket ticket) -> ticket.priority).thenComparingLong(ticket -> ticket.sequence)
+    );
+    private final Map<Priority, Integer> waitingCountMap = new EnumMap<>(Priority.class);
+    private long nextSequence;
+    private double tokens;
+    private long refilledNanos;
+    // 비동기 호출에 토큰을 넘겨줄 타이머. 대기열 맨 앞의 비동기 호출이 토큰을 기다리는 동안에만 예약되어 있음
+    private final Scheduler timer = Schedulers.parallel();
+    private Disposable grantTask;
+
+    private final Map<Priority, Timer> waitTimerMap = new EnumMap<>(Priority.class);
+    private final Map<Priority, Counter> throttledCounterMap = new EnumMap<>(Priority.class);
+    private final Map<Priority, Counter> rateLimitedRetryCounterMap = new EnumMap<>(Priority.class);
+    private final Map<Priority, Counter> serverErrorRetryCounterMap = new EnumMap<>(Priority.class);
+
+    public SheetsRequestScheduler(
+            MeterRegistry meterRegistry,
+            @Value("${google.sheets.quota.requests-per-minute:60}") int requestsPerMinute,
+            @Value("${google.sheets.quota.burst:10}") int burst,
+            @Value("${google.sheets.quota.max-wait:PT30S}") Duration maxWait,
+            @Value("${google.sheets.quota.write-max-wait:PT5M}") Duration writeMaxWait,
+            @Value("${google.sheets.quota.request-max-wait:PT5S}") Duration requestMaxWait,
+            @Value("${google.sheets.retry.max-attempts:5}") int maxAttempts,
+            @Value("${google.sheets.retry.initial-backoff:PT1S}") Duration initialBackoff,
+            @Value("${google.sheets.retry.max-backoff:PT32S}") Duration maxBackoff
+    ) {
+        if (requestsPerMinute < 1 || burst < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("Google Sheets quota and retry settings must be positive.");
+        }
+        this.tokensPerNano = requestsPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.burst = burst;
+        this.maxWaitNanosMap.put(Priority.WRITE, writeMaxWait.toNanos());
+        this.maxWaitNanosMap.put(Priority.READ, maxWait.toNanos());
+        this.requestMaxWaitNanos = requestMaxWait.toNanos();
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+        this.tokens = burst;
+        this.refilledNanos = System.nanoTime();
+
+        for (Priority priority : Priority.values()) {
+            String tag = priority.name().toLowerCase();
+            waitingCountMap.put(priority, 0);
+            Gauge.builder("sheets.scheduler.queue.size", this, scheduler -> scheduler.getWaitingCount(priority))
+                    .description("할당량 토큰을 기다리는 Google Spreadsheet API 호출 수")
+                    .tag("priority", tag)
+                    .register(meterRegistry);
+            waitTimerMap.put(priority, Timer.builder("sheets.scheduler.wait")
+                    .description("Google Spreadsheet API 호출이 할당량 토큰을 얻기까지 기다린 시간")
+                    .tag("priority", tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            throttledCounterMap.put(priority, Counter.builder("sheets.scheduler.throttled")
+                    .description("할당량 토큰이 없어 대기한 Google Spreadsheet API 호출 수")
+                    .tag("priority", tag)
+                    .register(meterRegistry));
+            rateLimitedRetryCounterMap.put(priority, retryCounter(meterRegistry, tag, "rate_limited"));
+            serverErrorRetryCounterMap.put(priority, retryCounter(meterRegistry, tag, "server_error"));
+        }
+        Gauge.builder("sheets.scheduler.tokens", this, SheetsRequestScheduler::getAvailableTokens)
+                .description("즉시 사용할 수 있는 할당량 토큰 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 할당량 토큰을 얻은 뒤 호출 수행. 할당량 초과(429) 응답은 항상, 서버 오류(5xx)는 {@code idempotent} 인 경우에만 재시도한다.<br/>
+     * 요청 처리 스레드에서 호출한 경우, 토큰 대기와 재시도 대기가 합쳐서 {@code request-max-wait} 를 넘게 되면 더 기다리지 않고 실패한다.
+     *
+     * @param priority 호출 우선순위
+     * @param idempotent 다시 수행해도 결과가 같은 호출인지 여부. 서버 오류 응답 시 호출이 이미 반영되었을 수 있으므로, 행 추가와 같은 호출은 재시도하지 않는다.
+     * @param call 수행할 호출
+     * @return 호출 결과
+     * @throws IOException on Google Spreadsheet API call exception, 또는 재시도 횟수를 초과하거나 토큰 대기 시간을 초과한 경우.
+     */
+    public <T> T execute(Priority priority, boolean idempotent, GatewayCall<T> call) throws IOException {
+        long startNanos = System.nanoTime();
+        long budgetNanos = RequestContextHolder.getRequestAttributes() != null ? requestMaxWaitNanos : Long.MAX_VALUE;
+        for (int attempt = 1; ; attempt++) {
+            acquire(priority, budgetNanos - (System.nanoTime() - startNanos));
+            try {
+                return call.execute();
+            } catch (GoogleJsonResponseException e) {
+                if (!isRetryable(e, idempotent) || attempt >= maxAttempts) {
+                    throw e;
+                }
+                long backoffMillis = backoffMillis(attempt);
+                if (TimeUnit.MILLISECONDS.toNanos(backoffMillis) > budgetNanos - (System.nanoTime() - startNanos)) {
+                    // 요청 처리 스레드를 더 붙잡지 않고 실패. 할당량 초과인 경우 다른 호출은 계속 속도를 늦추도록 버킷은 비움
+                    if (e.getStatusCode() == 429) {
+                        drain();
+                    }
+                    log.warn("Google Sheets call failed with status {} (attempt {}/{}). giving up to release the request thread",
+                            e.getStatusCode(), attempt, maxAttempts);
+                    throw e;
+                }
+                beforeRetry(priority, e, attempt, backoffMillis);
+                sleep(backoffMillis);
+            }
+        }
+    }
+
+    /**
+     * {@link #execute(Priority, boolean, GatewayCall)} 의 비동기 버전.<br/>
+     * 토큰이 바로 있는 경우 구독한 스레드에서 토큰을 얻고, 그렇지 않은 경우 대기열에서 차례를 기다린다.
+     * 토큰 대기와 재시도 대기 모두 스레드를 점유하지 않으며, 토큰을 얻기 전에 구독이 취소되면 대기열에서 제거되어 토큰을 소비하지 않는다.
+     *
+     * @param priority 호출 우선순위
+     * @param idempotent 다시 수행해도 결과가 같은 호출인지 여부
+     * @param call 구독 시 호출을 수행하는 {@link Mono} 생성
+     * @return 호출 결과
+     */
+    public <T> Mono<T> executeAsync(Priority priority, boolean idempotent, Supplier<Mono<T>> call) {
+        return acquireAsync(priority)
+                .then(Mono.defer(call))
+                .retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+                    Throwable failure = signal.failure();
+                    int attempt = (int) signal.totalRetries() + 1;
+                    if (!(failure instanceof GoogleJsonResponseException e) || !isRetryable(e, idempotent) || attempt >= maxAttempts) {
+                        return Mono.<Long>error(failure);
+                    }
+                    long backoffMillis = backoffMillis(attempt);
+                    beforeRetry(priority, e, attempt, backoffMillis);
+                    return Mono.delay(Duration.ofMillis(backoffMillis));
+                })));
+    }
+
+    /**
+     * 우선순위 별 토큰 대기 호출 수 조회.
+     *
+     * @param priority 호출 우선순위
+     * @return 대기 중인 호출 수
+     */
+    public int getWaitingCount(Priority priority) {
+        lock.lock();
+        try {
+            return waitingCountMap.get(priority);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 즉시 사용할 수 있는 토큰 수 조회.
+     *
+     * @return 토큰 수
+     */
+    public double getAvailableTokens() {
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            return tokens;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 할당량 초과 응답은 항상, 서버 오류 응답은 {@code idempotent} 인 경우에만 재시도
+     */
+    private static boolean isRetryable(GoogleJsonResponseException e, boolean idempotent) {
+        int statusCode = e.getStatusCode();
+        return statusCode == 429 || (statusCode >= 500 && idempotent);
+    }
+
+    /**
+     * 재시도 전 지표 기록 및 할당량 초과 시 버킷 비우기.
+     *
+     * @param backoffMillis 재시도 전 대기 시간 (ms)
+     */
+    private void beforeRetry(Priority priority, GoogleJsonResponseException e, int attempt, long backoffMillis) {
+        if (e.getStatusCode() == 429) {
+            drain();
+            rateLimitedRetryCounterMap.get(priority).increment();
+        } else {
+            serverErrorRetryCounterMap.get(priority).increment();
+        }
+        log.warn("Google Sheets call failed with status {} (attempt {}/{}). retry after {}ms",
+                e.getStatusCode(), attempt, maxAttempts, backoffMillis);
+    }
+
+    /**
+     * 비동기 토큰 획득. 대기 중인 호출이 없고 토큰이 있는 경우 바로 얻고, 그 외에는 대기열에 추가한다.
+     * 대기열에 추가된 호출은 {@link #dispatch()} 가 토큰을 넘겨줄 때 완료되며, 최대 대기 시간을 넘기면 오류로 끝난다.
+     */
+    private Mono<Void> acquireAsync(Priority priority) {
+        return Mono.create(sink -> {
+            long startNanos = System.nanoTime();
+            Ticket ticket = null;
+            List<Ticket> grantedList = List.of();
+            lock.lock();
+            try {
+                if (!waitingQueue.isEmpty() || !tryTakeToken(startNanos)) {
+                    ticket = new Ticket(priority, nextSequence++, startNanos, sink);
+                    enqueue(ticket);
+                    Ticket expiring = ticket;
+                    ticket.timeout = timer.schedule(() -> expire(expiring), maxWaitNanosMap.get(priority), TimeUnit.NANOSECONDS);
+                    grantedList = dispatch();
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (ticket == null) {
+                waitTimerMap.get(priority).record(0, TimeUnit.NANOSECONDS);
+                sink.success();
+                return;
+            }
+            Ticket cancelling = ticket;
+            sink.onCancel(() -> cancel(cancelling));
+            complete(grantedList);
+        });
+    }
+
+    /**
+     * 최대 대기 시간을 넘긴 비동기 호출을 대기열에서 제거하고 오류로 완료.
+     */
+    private void expire(Ticket ticket) {
+        List<Ticket> grantedList;
+        lock.lock();
+        try {
+            if (!dequeue(ticket)) {
+                // 이미 토큰을 얻었거나 취소됨
+                return;
+            }
+            grantedList = dispatch();
+        } finally {
+            lock.unlock();
+        }
+        recordWait(ticket);
+        ticket.sink.error(new IOException("Timed out waiting for Google Sheets quota (" + ticket.priority + ")."));
+        complete(grantedList);
+    }
+
+    /**
+     * 토큰을 얻기 전에 구독이 취소된 비동기 호출을 대기열에서 제거.
+     */
+    private void cancel(Ticket ticket) {
+        List<Ticket> grantedList;
+        lock.lock();
+        try {
+            if (!dequeue(ticket)) {
+                return;
+            }
+            grantedList = dispatch();
+        } finally {
+            lock.unlock();
+        }
+        ticket.timeout.dispose();
+        recordWait(ticket);
+        complete(grantedList);
+    }
+
+    private void onGrantTimer() {
+        List<Ticket> grantedList;
+        lock.lock();
+        try {
+            grantTask = null;
+            grantedList = dispatch();
+        } finally {
+            lock.unlock();
+        }
+        complete(grantedList);
+    }
+
+    /**
+     * 대기열 맨 앞의 비동기 호출에 차례대로 토큰을 넘겨줌. 토큰이 부족한 경우 다음 토큰이 채워지는 시각에 다시 시도하도록 타이머를 예약한다.
+     * 맨 앞이 동기 호출인 경우에는 기다리는 스레드가 직접 토큰을 얻는다.<br/>
+     * 대기열이 바뀌었을 수 있으므로 기다리는 스레드를 모두 깨운다. 잠금을 잡은 상태에서 호출해야 한다.
+     *
+     * @return 토큰을 얻은 비동기 호출. 잠금을 해제한 뒤 {@link #complete(List)} 로 완료한다.
+     */
+    private List<Ticket> dispatch() {
+        List<Ticket> grantedList = new ArrayList<>();
+        Ticket head;
+        while ((head = waitingQueue.peek()) != null && head.sink != null) {
+            if (!tryTakeToken(System.nanoTime())) {
+                if (grantTask == null) {
+                    long delayNanos = Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+                    grantTask = timer.schedule(this::onGrantTimer, delayNanos, TimeUnit.NANOSECONDS);
+                }
+                break;
+            }
+            dequeue(head);
+            grantedList.add(head);
+        }
+        changed.signalAll();
+        return grantedList;
+    }
+
+    /**
+     * 토큰을 얻은 비동기 호출 완료. 완료 시 이어지는 호출이 잠금 안에서 수행되지 않도록 잠금 밖에서 호출한다.
+     */
+    private void complete(List<Ticket> grantedList) {
+        for (Ticket ticket : grantedList) {
+            ticket.timeout.dispose();
+            recordWait(ticket);
+            ticket.sink.success();
+        }
+    }
+
+    /**
+     * 토큰 하나 획득. 대기열의 맨 앞 호출만 토큰을 얻을 수 있으며, 토큰이 없는 경우 다음 토큰이 채워질 때까지 기다린다.
+     *
+     * @param budgetNanos 호출에 남은 대기 시간. 우선순위 별 최대 대기 시간보다 짧은 경우 이 시간까지만 기다린다.
+     */
+    private void acquire(Priority priority, long budgetNanos) throws IOException {
+        long startNanos = System.nanoTime();
+        long maxWaitNanos = Math.min(maxWaitNanosMap.get(priority), budgetNanos);
+        boolean throttled = false;
+        List<Ticket> grantedList = List.of();
+        lock.lock();
+        Ticket ticket = new Ticket(priority, nextSequence++, startNanos, null);
+        enqueue(ticket);
+        try {
+            while (true) {
+                long nowNanos = System.nanoTime();
+                long remainingNanos = maxWaitNanos - (nowNanos - startNanos);
+                if (waitingQueue.peek() == ticket && tryTakeToken(nowNanos)) {
+                    return;
+                }
+                if (remainingNanos <= 0) {
+                    throw new IOException("Timed out waiting for Google Sheets quota (" + priority + ").");
+                }
+                throttled = true;
+                long waitNanos = waitingQueue.peek() == ticket
+                        ? Math.min(remainingNanos, (long) Math.ceil((1 - tokens) / tokensPerNano))
+                        : remainingNanos;
+                changed.awaitNanos(waitNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for Google Sheets quota.");
+        } finally {
+            // 토큰을 얻었거나 포기한 경우 모두 대기열에서 제거하고, 다음 호출이 맨 앞이 되었음을 알림
+            dequeue(ticket);
+            try {
+                grantedList = dispatch();
+            } finally {
+                lock.unlock();
+            }
+            waitTimerMap.get(priority).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            if (throttled) {
+                throttledCounterMap.get(priority).increment();
+            }
+            complete(grantedList);
+        }
+    }
+
+    /**
+     * 토큰이 있는 경우 하나 사용. 잠금을 잡은 상태에서 호출해야 한다.
+     *
+     * @return 토큰을 사용한 경우 {@code true}
+     */
+    private boolean tryTakeToken(long nowNanos) {
+        refill(nowNanos);
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    private void enqueue(Ticket ticket) {
+        waitingQueue.add(ticket);
+        waitingCountMap.merge(ticket.priority, 1, Integer::sum);
+    }
+
+    /**
+     * @return 대기열에 있던 호출을 제거한 경우 {@code true}
+     */
+    private boolean dequeue(Ticket ticket) {
+        if (!waitingQueue.remove(ticket)) {
+            return false;
+        }
+        waitingCountMap.merge(ticket.priority, -1, Integer::sum);
+        return true;
+    }
+
+    /**
+     * 대기열에서 기다린 비동기 호출의 대기 시간 기록
+     */
+    private void recordWait(Ticket ticket) {
+        waitTimerMap.get(ticket.priority).record(System.nanoTime() - ticket.startNanos, TimeUnit.NANOSECONDS);
+        throttledCounterMap.get(ticket.priority).increment();
+    }
+
+    /**
+     * 할당량 초과 응답을 받은 경우 남은 토큰을 모두 버려, 다른 호출도 토큰이 다시 채워질 때까지 기다리도록 함.
+     */
+    private void drain() {
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            tokens = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(long nowNanos) {
+        tokens = Math.min(burst, tokens + (nowNanos - refilledNanos) * tokensPerNano);
+        refilledNanos = nowNanos;
+    }
+
+    /**
+     * 재시도 대기 시간. [0, min(최대 대기 시간, 초기 대기 시간 * 2^(attempt-1))) 범위의 임의 값. (full jitter)
+     */
+    private long backoffMillis(int attempt) {
+        long ceiling = initialBackoffMillis << Math.min(attempt - 1, 30);
+        if (ceiling <= 0 || ceiling > maxBackoffMillis) {
+            ceiling = maxBackoffMillis;
+        }
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling);
+    }
+
+    private static void sleep(long millis) throws InterruptedIOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while backing off Google Sheets call.");
+        }
+    }
+
+    private static Counter retryCounter(MeterRegistry meterRegistry, String priority, String reason) {
+        return Counter.builder("sheets.scheduler.retries")
+                .description("할당량 초과 또는 서버 오류로 재시도한 Google Spreadsheet API 호출 수")
+                .tag("priority", priority)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 토큰 대기열의 호출 하나
+     */
+    private static final class Ticket {
+
+        private final Priority priority;
+        private final long sequence;
+        private final long startNanos;
+        // 비동기 호출인 경우 토큰을 얻었을 때 완료할 sink. 동기 호출인 경우 null
+        private final MonoSink<Void> sink;
+        // 비동기 호출의 최대 대기 시간 타이머
+        private Disposable timeout;
+
+        private Ticket(Priority priority, long sequence, long startNanos, MonoSink<Void> sink) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.startNanos = startNanos;
+            this.sink = sink;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.spreadsheetdemo.common.gateway;
+
+import com.google.api.services.sheets.v4.model.ValueRange;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 스프레드시트 값 조회/수정 연산.<br/>
+ * Repository 는 Google Spreadsheet API 클라이언트 대신 이 인터페이스를 사용하며, 모든 범위는 {@code 시트이름!A1} 표기법을 따른다.
+ * 쓰기 연산의 값은 {@code USER_ENTERED} 로 해석된다.
+ *
+ * @see GoogleSheetsGateway
+ * @see InMemorySpreadsheetGateway
+ */
+public interface SpreadsheetGateway {
+
+    /**
+     * 범위 조회.
+     *
+     * @param range 조회할 범위 (예: "herb!A2:D10")
+     * @return 조회 결과. 범위에 값이 없는 경우 {@link ValueRange#getValues()} 는 {@code null}.
+     * @throws IOException on Google Spreadsheet API call exception.
+     */
+    ValueRange get(String range) throws IOException;
+
+    /**
+     * 여러 범위를 한 번의 요청으로 조회.
+     *
+     * @param ranges 조회할 범위 목록
+     * @return 요청한 범위 순서대로 정렬된 조회 결과 목록
+     * @throws IOException on Google Spreadsheet API call exception.
+     */
+    List<ValueRange> batchGet(List<String> ranges) throws IOException;
+
+    /**
+     * 수정 직전의 확인용 범위 조회 (낙관적 잠금 확인, 트랜잭션 복구 등).<br/>
+     * 결과에 따라 바로 수정 또는 롤백이 이어지므로, 할당량 제어 시 수정과 같은 우선순위로 수행할 수 있도록 {@link #get(String)} 과 구분한다.
+     *
+     * @param range 조회할 범위 (예: "herb!A2:D2")
+     * @return 조회 결과. 범위에 값이 없는 경우 {@link ValueRange#getValues()} 는 {@code null}.
+     * @throws IOException on Google Spreadsheet API call exception.
+     */
+    default ValueRange getForUpdate(String range) throws IOException {
+        return get(range);
+    }
+
+    /**
+     * 수정 직전의 확인용으로 여러 범위를 한 번의 요청으로 조회.
+     *
+     * @param ranges 조회할 범위 목록
+     * @return 요청한 범위 순서대로 정렬된 조회 결과 목록
+     * @throws IOException on Google Spreadsheet API call exception.
+     * @see #getForUpdate(String)
+     */
+    default List<ValueRange> batchGetForUpdate(List<String> ranges) throws IOException {
+        return batchGet(ranges);
+    }
+
+    /**
+     * 범위에 해당하는 표의 마지막 행 다음에 행을 삽입하여 값 추가.
+     *
+     * @param range 값을 추가할 표의 범위 (예: "herb!A:D")
+     * @param values 추가할 값
+     * @return 값이 추가된 범위 문자열
+     * @throws IOException on Google Spreadsheet API call exception.
+     */
+    String append(String range, List<List<Object>> values) throws IOException;
+
+    /**
+     * 범위의 값 수정.
+     *
+     * @param range 수정할 범위
+     * @param values 수정할 값
+     * @return 수정된 범위 문자열
+     * @throws IOException on Google Spreadsheet API call exception.
+     */
+    String update(String range, List<List<Object>> values) throws IOException;
+
+    /**
+     * 여러 범위의 값을 한 번의 요청으로 수정.
+     *
+     * @param valuesMapByRange 수정할 범위 별 값
+     * @return 수정된 범위 문자열 목록
+     * @throws IOException on Google Spreadsheet API call exception.
+     */
+    List<String> batchUpdate(Map<String, List<List<Object>>> valuesMapByRange) throws IOException;
+
+    /**
+     * 범위의 값 삭제. 행은 그대로 남는다.
+     *
+     * @param range 삭제할 범위
+     * @return 삭제된 범위 문자열
+     * @throws IOException on Google Spreadsheet API call exception.
+     */
+    String clear(String range) throws IOException;
+}
@@ -0,0 +1,150 @@
+package com.example.spreadsheetdemo.common.gateway;
+
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.json.GoogleJsonErrorContainer;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.services.sheets.v4.model.BatchGetValuesResponse;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@link WebClient} 로 Google Spreadsheet API (v4 REST) 를 호출하는 {@link ReactiveSpreadsheetGateway}.<br/>
+ * 응답을 기다리는 동안 스레드를 점유하지 않으므로, 동시에 진행 중인 호출 수가 스레드 수에 제한되지 않는다.<br/>
+ * 인증은 {@link GoogleSheetsGateway} 와 같은 {@link GoogleCredentials} 의 액세스 토큰을 사용하며,
+ * 토큰 갱신이 필요한 경우에만 별도 스레드에서 갱신한다.
+ */
+@Slf4j
+@Component
+@Profile("!" + InMemorySpreadsheetGateway.PROFILE)
+public class WebClientSheetsGateway implements ReactiveSpreadsheetGateway {
+
+    private static final String BASE_URL = "https://sheets.googleapis.com/v4/spreadsheets";
+    private static final JacksonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
+    // 만료까지 남은 시간이 이보다 짧은 토큰은 갱신 후 사용
+    private static final long TOKEN_REFRESH_MARGIN_MILLIS = Duration.ofMinutes(5).toMillis();
+
+    @Value("${google.spreadsheet.id}")
+    private String SPREADSHEET_ID;
+
+    private final GoogleCredentials googleCredentials;
+    private final WebClient webClient;
+
+    public WebClientSheetsGateway(
+            GoogleCredentials googleCredentials,
+            @Value("${google.sheets.http.max-connections:50}") int maxConnections,
+            @Value("${google.sheets.http.idle-timeout:PT1M}") Duration idleTimeout,
+            @Value("${google.sheets.http.connect-timeout:PT5S}") Duration connectTimeout,
+            @Value("${google.sheets.http.read-timeout:PT30S}") Duration readTimeout
+    ) {
+        this.googleCredentials = googleCredentials;
+
+        // 커넥션을 기다리는 호출 수는 제한하지 않음. 동시에 수행되는 호출 수는 SheetsRequestScheduler 가 제한한다.
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("google-sheets")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(-1)
+                .maxIdleTime(idleTimeout)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+        this.webClient = WebClient.builder()
+                .baseUrl(BASE_URL)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    @Override
+    public Mono<ValueRange> get(String range) {
+        return accessToken().flatMap(token -> webClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/{spreadsheetId}/values/{range}").build(SPREADSHEET_ID, range))
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchangeToMono(response -> toBody(response, ValueRange.class)));
+    }
+
+    @Override
+    public Mono<List<ValueRange>> batchGet(List<String> ranges) {
+        return accessToken().flatMap(token -> webClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/{spreadsheetId}/values:batchGet")
+                        .queryParam("ranges", ranges.toArray())
+                        .build(SPREADSHEET_ID))
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchangeToMono(response -> toBody(response, BatchGetValuesResponse.class))
+                .map(BatchGetValuesResponse::getValueRanges));
+    }
+
+    /**
+     * 유효한 액세스 토큰 조회. 토큰이 없거나 곧 만료되는 경우에만 별도 스레드에서 갱신한다.
+     */
+    private Mono<String> accessToken() {
+        AccessToken token = googleCredentials.getAccessToken();
+        if (token != null && (token.getExpirationTime() == null
+                || token.getExpirationTime().getTime() - System.currentTimeMillis() > TOKEN_REFRESH_MARGIN_MILLIS)) {
+            return Mono.just(token.getTokenValue());
+        }
+        return Mono.fromCallable(() -> {
+                    googleCredentials.refreshIfExpired();
+                    return googleCredentials.getAccessToken().getTokenValue();
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * 응답 본문을 Google API 모델로 변환. 오류 응답은 {@link GoogleSheetsGateway} 와 같이 {@link GoogleJsonResponseException} 으로 전달한다.
+     */
+    private static <T> Mono<T> toBody(ClientResponse response, Class<T> type) {
+        HttpStatusCode status = response.statusCode();
+        return response.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .handle((body, sink) -> {
+                    try {
+                        if (status.isError()) {
+                            sink.error(toException(status, body));
+                        } else {
+                            sink.next(JSON_FACTORY.fromString(body, type));
+                        }
+                    } catch (IOException e) {
+                        sink.error(e);
+                    }
+                });
+    }
+
+    private static GoogleJsonResponseException toException(HttpStatusCode status, String body) {
+        GoogleJsonError error = null;
+        try {
+            GoogleJsonErrorContainer container = JSON_FACTORY.fromString(body, GoogleJsonErrorContainer.class);
+            error = container.getError();
+        } catch (IOException | IllegalArgumentException e) {
+            log.debug("Unable to parse Google Sheets error response: {}", e.getMessage());
+        }
+        if (error == null) {
+            error = new GoogleJsonError();
+            error.setCode(status.value());
+            error.setMessage(body);
+        }
+        return new GoogleJsonResponseException(
+                new HttpResponseException.Builder(status.value(), null, new HttpHeaders()).setMessage(error.getMessage()),
+                error
+        );
+    }
+}
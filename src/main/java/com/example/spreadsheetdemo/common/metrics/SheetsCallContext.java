@@ -0,0 +1,89 @@
+package com.example.spreadsheetdemo.common.metrics;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 현재 HTTP 요청이 수행한 Google Spreadsheet API 호출 수.<br/>
+ * 요청을 처리하는 스레드에 보관되며, 다른 스레드에서 요청의 작업을 수행하는 경우 {@link #propagate(Runnable)} 로 전달해야 집계된다.
+ * 비동기 호출({@link reactor.core.publisher.Mono})은 다른 스레드에서 구독되고 완료되므로, {@link #captureContext()} 로 Reactor {@link Context} 에 전달한다.
+ *
+ * @see SheetsCallsPerRequestFilter
+ */
+public final class SheetsCallContext {
+
+    private static final ThreadLocal<AtomicInteger> CURRENT = new ThreadLocal<>();
+    private static final String CONTEXT_KEY = SheetsCallContext.class.getName();
+
+    private SheetsCallContext() {
+    }
+
+    static AtomicInteger open() {
+        AtomicInteger counter = new AtomicInteger();
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    static void increment() {
+        AtomicInteger counter = CURRENT.get();
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+    }
+
+    /**
+     * Reactor {@link Context} 에 전달된 집계 대상의 호출 수 증가. 전달된 집계 대상이 없는 경우 현재 스레드의 집계 대상을 사용한다.
+     */
+    static void increment(ContextView contextView) {
+        AtomicInteger counter = contextView.getOrDefault(CONTEXT_KEY, null);
+        if (counter == null) {
+            increment();
+        } else {
+            counter.incrementAndGet();
+        }
+    }
+
+    /**
+     * 현재 스레드의 호출 수 집계 대상을 Reactor {@link Context} 로 전달.<br/>
+     * 요청을 처리하는 스레드에서 {@link reactor.core.publisher.Mono#contextWrite(Function)} 에 사용한다. (예: {@code mono.contextWrite(SheetsCallContext.captureContext())})
+     *
+     * @return 현재 요청의 집계 대상을 추가하는 함수. 집계 중인 요청이 없는 경우 Context 를 그대로 반환한다.
+     */
+    public static Function<Context, Context> captureContext() {
+        AtomicInteger counter = CURRENT.get();
+        return context -> counter == null ? context : context.put(CONTEXT_KEY, counter);
+    }
+
+    /**
+     * 현재 스레드의 호출 수 집계 대상을 작업을 실행할 스레드로 전달.
+     *
+     * @param task 다른 스레드에서 실행할 작업
+     * @return 실행 중에 현재 요청의 호출 수를 집계하는 작업. 집계 중인 요청이 없는 경우 {@code task} 그대로 반환.
+     */
+    public static Runnable propagate(Runnable task) {
+        AtomicInteger counter = CURRENT.get();
+        if (counter == null) {
+            return task;
+        }
+        return () -> {
+            AtomicInteger previous = CURRENT.get();
+            CURRENT.set(counter);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+}
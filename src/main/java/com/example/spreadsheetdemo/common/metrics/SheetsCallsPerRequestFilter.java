@@ -0,0 +1,74 @@
+package com.example.spreadsheetdemo.common.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP 요청 하나가 수행한 Google Spreadsheet API 호출 수를 {@code sheets.calls.per.request} 분포로 기록.<br/>
+ * 요청 경로 패턴 별로 집계되므로 페이지 하나를 여는 데 여러 번 호출하는 경로를 찾을 수 있다.<br/>
+ * 비동기 요청({@code Mono}, SSE, 스트리밍 응답)은 요청 스레드가 반환된 뒤에도 호출이 이어지므로, 응답이 완료된 시점에 기록한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SheetsCallsPerRequestFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AtomicInteger counter = SheetsCallContext.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SheetsCallContext.close();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request.getMethod(), uri, counter.get());
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(request.getMethod(), uri, counter.get());
+            }
+        }
+    }
+
+    private void record(String method, String uri, int calls) {
+        DistributionSummary.builder("sheets.calls.per.request")
+                .description("HTTP 요청 하나가 수행한 Google Spreadsheet API 호출 수")
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(calls);
+    }
+}
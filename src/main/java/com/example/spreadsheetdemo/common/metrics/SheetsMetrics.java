@@ -0,0 +1,122 @@
+package com.example.spreadsheetdemo.common.metrics;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository 의 Google Spreadsheet API 호출 지표 기록.<br/>
+ * 호출마다 {@code sheets.call} 타이머에 repository, operation, outcome 태그로 소요 시간을 기록하고,
+ * 현재 HTTP 요청의 호출 수를 {@link SheetsCallContext} 에 집계한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SheetsMetrics {
+
+    public static final String CALL_TIMER_NAME = "sheets.call";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Google Spreadsheet API 호출.
+     *
+     * @param <T> 호출 결과 타입
+     */
+    @FunctionalInterface
+    public interface SheetsCall<T> {
+        T execute() throws GeneralSecurityException, IOException;
+    }
+
+    /**
+     * 호출 수행 후 소요 시간과 결과 기록.
+     *
+     * @param repository 호출한 Repository (예: "herb")
+     * @param operation 호출한 Repository 메서드 (예: "selectAll")
+     * @param call 수행할 호출
+     * @return 호출 결과
+     * @throws GeneralSecurityException on security exception.
+     * @throws IOException on Google Spreadsheet API call exception.
+     */
+    public <T> T record(String repository, String operation, SheetsCall<T> call) throws GeneralSecurityException, IOException {
+        SheetsCallContext.increment();
+        long startNanos = System.nanoTime();
+        String outcome = "success";
+        try {
+            return call.execute();
+        } catch (GoogleJsonResponseException e) {
+            outcome = outcomeOf(e.getStatusCode());
+            throw e;
+        } catch (IOException e) {
+            outcome = "io_error";
+            throw e;
+        } catch (GeneralSecurityException e) {
+            outcome = "security_error";
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            recordTimer(repository, operation, outcome, startNanos);
+        }
+    }
+
+    /**
+     * {@link #record(String, String, SheetsCall)} 의 비동기 버전. 구독 시점부터 완료(또는 실패)까지의 소요 시간을 기록한다.<br/>
+     * 호출 수는 Reactor Context 로 전달된 요청({@link SheetsCallContext#captureContext()})에 집계되며, 전달된 요청이 없는 경우 구독하는 스레드의 요청에 집계된다.
+     *
+     * @param repository 호출한 Repository (예: "herb")
+     * @param operation 호출한 Repository 메서드 (예: "selectAll")
+     * @param call 수행할 호출
+     * @return 호출 결과
+     */
+    public <T> Mono<T> recordAsync(String repository, String operation, Mono<T> call) {
+        return Mono.deferContextual(contextView -> {
+            SheetsCallContext.increment(contextView);
+            long startNanos = System.nanoTime();
+            return call
+                    .doOnSuccess(result -> recordTimer(repository, operation, "success", startNanos))
+                    .doOnError(e -> recordTimer(repository, operation, outcomeOf(e), startNanos));
+        });
+    }
+
+    private void recordTimer(String repository, String operation, String outcome, long startNanos) {
+        Timer.builder(CALL_TIMER_NAME)
+                .description("Google Spreadsheet API 호출 소요 시간")
+                .tag("repository", repository)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String outcomeOf(Throwable e) {
+        if (e instanceof GoogleJsonResponseException responseException) {
+            return outcomeOf(responseException.getStatusCode());
+        }
+        if (e instanceof IOException) {
+            return "io_error";
+        }
+        if (e instanceof GeneralSecurityException) {
+            return "security_error";
+        }
+        return "error";
+    }
+
+    private static String outcomeOf(int statusCode) {
+        if (statusCode == 429) {
+            return "rate_limited";
+        }
+        if (statusCode >= 500) {
+            return "server_error";
+        }
+        return "client_error";
+    }
+}
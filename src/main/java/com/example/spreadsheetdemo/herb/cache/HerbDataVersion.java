@@ -0,0 +1,66 @@
+package com.example.spreadsheetdemo.herb.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 약재 및 약재 로그 데이터의 버전. 조건부 조회({@code If-None-Match})의 ETag 로 사용한다.<br/>
+ * 약재와 약재 로그는 {@link Resource} 별로 버전을 따로 관리하므로, 로그가 추가되더라도 약재 목록의 ETag 는 바뀌지 않는다.<br/>
+ * 약재 스냅샷, 검색 색인, 로그 복제본, 로그 일자 색인이 다른 경로의 변경 사항을 반영한 <b>직후</b>,
+ * 그리고 이 애플리케이션의 쓰기가 완료되어 변경 이벤트가 반영된 <b>직후</b> 버전을 올리므로,
+ * 응답을 만들기 전에 읽은 버전은 항상 응답 내용과 같거나 더 오래된 버전이다.
+ * 따라서 버전이 같다는 것은 마지막 응답 이후 변경된 데이터가 없다는 뜻이다.<br/>
+ * 재시작 후 같은 버전 번호가 다른 데이터를 가리키지 않도록, ETag 에는 프로세스 시작 시각을 함께 포함한다.
+ */
+@Component
+public class HerbDataVersion {
+
+    /**
+     * 버전을 관리하는 데이터 종류
+     */
+    public enum Resource {
+        // 약재 시트 (목록, 검색)
+        HERB,
+        // 약재 로그 시트
+        HERB_LOG
+    }
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final Map<Resource, AtomicLong> versionMap = new EnumMap<>(Resource.class);
+
+    public HerbDataVersion() {
+        for (Resource resource : Resource.values()) {
+            versionMap.put(resource, new AtomicLong());
+        }
+    }
+
+    /**
+     * @param resource 데이터 종류
+     * @return 현재 데이터 버전
+     */
+    public long get(Resource resource) {
+        return versionMap.get(resource).get();
+    }
+
+    /**
+     * 데이터 변경 사항이 조회 결과에 반영된 뒤 호출.
+     *
+     * @param resource 변경된 데이터 종류
+     */
+    public void increment(Resource resource) {
+        versionMap.get(resource).incrementAndGet();
+    }
+
+    /**
+     * 데이터 버전의 강한(strong) ETag.
+     *
+     * @param version {@link #get(Resource)} 으로 조회한 데이터 버전
+     * @return 따옴표를 포함한 ETag 값
+     */
+    public String toETag(long version) {
+        return "\"" + epoch + "-" + version + "\"";
+    }
+}
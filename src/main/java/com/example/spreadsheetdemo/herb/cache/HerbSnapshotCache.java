@@ -0,0 +1,179 @@
+package com.example.spreadsheetdemo.herb.cache;
+
+import com.example.spreadsheetdemo.herb.domain.HerbSnapshot;
+import com.example.spreadsheetdemo.herb.domain.HerbSortedView;
+import com.example.spreadsheetdemo.herb.dto.HerbDTO;
+import com.example.spreadsheetdemo.herb.event.HerbsChangedEvent;
+import com.example.spreadsheetdemo.herb.mapper.HerbMapper;
+import com.example.spreadsheetdemo.herb.repository.HerbRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 약재 시트 전체 데이터의 인메모리 스냅샷 캐시.<br/>
+ * 조회는 메모리의 스냅샷으로 처리하고, 스프레드시트는 TTL 만료 또는 주기적인 백그라운드 갱신 시에만 조회한다.<br/>
+ * 약재 등록/수정 완료 시 {@link HerbsChangedEvent} 를 통해 변경된 행만 스냅샷에 반영한다. (write-through)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HerbSnapshotCache {
+
+    private final HerbRepository herbRepository;
+    private final HerbMapper herbMapper;
+    private final HerbDataVersion herbDataVersion;
+
+    @Value("${herb.cache.ttl:PT5M}")
+    private Duration ttl;
+
+    private final AtomicReference<HerbSnapshot> snapshotRef = new AtomicReference<>();
+    // 가장 최근에 생성한 정렬 목록. 스냅샷 버전이 같으면 재사용
+    private final AtomicReference<HerbSortedView> sortedViewRef = new AtomicReference<>();
+    private final AtomicLong versionSequence = new AtomicLong();
+    // 동시에 여러 요청이 만료된 스냅샷을 발견하더라도 스프레드시트 조회는 한 번만 수행
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    /**
+     * 현재 스냅샷 조회.<br/>
+     * 스냅샷이 없거나 TTL 이 만료된 경우에만 스프레드시트에서 다시 불러온다.
+     *
+     * @return 약재 시트 스냅샷
+     * @throws GeneralSecurityException on security exception.
+     * @throws IOException on Credentials file read exception.
+     */
+    public HerbSnapshot getSnapshot() throws GeneralSecurityException, IOException {
+        HerbSnapshot snapshot = snapshotRef.get();
+        if (snapshot != null && !snapshot.isExpired(ttl)) {
+            return snapshot;
+        }
+
+        loadLock.lock();
+        try {
+            // 대기하는 동안 다른 스레드가 갱신했을 수 있으므로 재확인
+            snapshot = snapshotRef.get();
+            if (snapshot != null && !snapshot.isExpired(ttl)) {
+                return snapshot;
+            }
+            return reload();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * 현재 스냅샷의 정렬 목록 조회.<br/>
+     * 스냅샷 버전이 바뀐 경우에만 새로 정렬하며, 동시에 생성된 경우 어느 쪽을 사용하더라도 내용은 같다.
+     *
+     * @return 현재 스냅샷 버전의 정렬 목록
+     * @throws GeneralSecurityException on security exception.
+     * @throws IOException on Credentials file read exception.
+     */
+    public HerbSortedView getSortedView() throws GeneralSecurityException, IOException {
+        HerbSnapshot snapshot = getSnapshot();
+        HerbSortedView sortedView = sortedViewRef.get();
+        if (sortedView != null && sortedView.getVersion() == snapshot.getVersion()) {
+            return sortedView;
+        }
+        sortedView = HerbSortedView.of(snapshot);
+        sortedViewRef.set(sortedView);
+        return sortedView;
+    }
+
+    /**
+     * 현재 스냅샷 버전 조회. 스냅샷이 없는 경우 스프레드시트를 조회하지 않고 {@code -1} 반환.
+     *
+     * @return 스냅샷 버전
+     */
+    public long getVersion() {
+        HerbSnapshot snapshot = snapshotRef.get();
+        return snapshot == null ? -1 : snapshot.getVersion();
+    }
+
+    /**
+     * 백그라운드 주기 갱신.<br/>
+     * 실패하더라도 기존 스냅샷은 유지하며, 다음 주기 또는 TTL 만료 시 다시 시도한다.
+     */
+    @Scheduled(
+            initialDelayString = "${herb.cache.refresh-interval:PT1M}",
+            fixedDelayString = "${herb.cache.refresh-interval:PT1M}"
+    )
+    public void refresh() {
+        loadLock.lock();
+        try {
+            reload();
+        } catch (GeneralSecurityException | IOException | RuntimeException e) {
+            log.warn("Background refresh of herb snapshot failed: {}", e.getMessage());
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * 약재 등록/수정 완료 시 변경된 행을 스냅샷에 반영.
+     *
+     * @param event 약재 변경 이벤트
+     */
+    @EventListener
+    public void onHerbsChanged(HerbsChangedEvent event) {
+        List<HerbDTO> changedHerbList = event.getChangedHerbList();
+        if (changedHerbList.isEmpty()) {
+            return;
+        }
+        HerbSnapshot updated = snapshotRef.updateAndGet(
+                snapshot -> snapshot == null ? null : snapshot.withChanges(versionSequence.incrementAndGet(), changedHerbList)
+        );
+        if (updated != null) {
+            log.debug("Herb snapshot updated to version {} with {} changed rows", updated.getVersion(), changedHerbList.size());
+        }
+    }
+
+    /**
+     * 스냅샷 무효화. 다음 조회 시 스프레드시트에서 다시 불러온다.
+     */
+    public void invalidate() {
+        snapshotRef.set(null);
+        herbDataVersion.increment(HerbDataVersion.Resource.HERB);
+    }
+
+    /**
+     * 스프레드시트에서 전체 데이터를 불러와 스냅샷 교체.<br/>
+     * {@link #loadLock} 을 획득한 상태에서만 호출해야 한다.
+     */
+    private HerbSnapshot reload() throws GeneralSecurityException, IOException {
+        HerbSnapshot before = snapshotRef.get();
+
+        List<HerbDTO> herbList = herbMapper.toHerbDTOList(herbRepository.selectAll());
+        if (herbList == null) {
+            herbList = List.of();
+        }
+
+        HerbSnapshot loaded = before != null && before.getHerbList().equals(herbList)
+                // 내용이 동일하면 버전 유지
+                ? before.refreshed()
+                : HerbSnapshot.of(versionSequence.incrementAndGet(), herbList);
+
+        // 조회하는 동안 쓰기 이벤트가 반영되었다면 조회 결과가 더 오래된 데이터일 수 있으므로 교체하지 않음
+        if (!snapshotRef.compareAndSet(before, loaded)) {
+            HerbSnapshot current = snapshotRef.get();
+            log.debug("Herb snapshot changed while reloading. keep version {}", current == null ? null : current.getVersion());
+            return current != null ? current : loaded;
+        }
+        if (before == null || loaded.getVersion() != before.getVersion()) {
+            herbDataVersion.increment(HerbDataVersion.Resource.HERB);
+        }
+        log.info("Herb snapshot loaded: version {}, {} rows", loaded.getVersion(), herbList.size());
+        return loaded;
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.spreadsheetdemo.herb.controller;
 
+import com.example.spreadsheetdemo.herb.cache.HerbDataVersion;
 import com.example.spreadsheetdemo.herb.domain.HerbLogPagination;
-import com.example.spreadsheetdemo.herb.dto.HerbDTO;
+import com.example.spreadsheetdemo.herb.domain.HerbPage;
+import com.example.spreadsheetdemo.herb.domain.HerbPageRequest;
 import com.example.spreadsheetdemo.herb.dto.HerbLogViewDTO;
 import com.example.spreadsheetdemo.herb.dto.HerbRegisterDTO;
 import com.example.spreadsheetdemo.herb.dto.HerbUpdateDTO;
@@ -11,9 +13,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Controller
@@ -22,23 +24,47 @@ import java.util.stream.Collectors;
 public class HerbController {
 
     private final HerbService herbService;
+    private final HerbDataVersion herbDataVersion;
 
+    /**
+     * 약재 재고 페이지.<br/>
+     * 데이터 버전을 ETag 로 전송하며, {@code If-None-Match} 가 현재 버전과 같으면 조회와 렌더링 없이 304 로 응답한다.
+     *
+     * @param keyword 검색어. 있는 경우 검색 순위 순으로 조회
+     * @param page 페이지 번호 (1부터 시작)
+     * @param size 페이지 크기
+     * @param sort 정렬 기준 (name, amount, lastStoredDate)
+     * @param direction 정렬 방향 (asc, desc)
+     * @param minAmount 최소 수량 (포함)
+     * @param maxAmount 최대 수량 (포함)
+     */
     @GetMapping("")
-    public String herb(Model model, @RequestParam(required = false) String keyword) {
-
-        List<HerbDTO> allHerbList = herbService.getAllHerbs();
-
-        // 2. 검색어 필터링
-        List<HerbDTO> filteredHerbs = allHerbList;
-        if (keyword != null && !keyword.isBlank()) {
-            filteredHerbs = allHerbList.stream()
-                    .filter(h -> h.getName().contains(keyword))
-                    .collect(Collectors.toList());
+    public String herb(
+            Model model,
+            WebRequest webRequest,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) Long minAmount,
+            @RequestParam(required = false) Long maxAmount
+    ) {
+        // 조회 전에 읽은 버전이므로, 조회 중 데이터가 변경되더라도 다음 요청은 304 가 아닌 새 응답을 받는다
+        if (webRequest.checkNotModified(herbDataVersion.toETag(herbService.getHerbDataVersion()))) {
+            return null;
         }
 
-        model.addAttribute("herbList", filteredHerbs);
-        // 검색어 유지
+        HerbPage herbPage = herbService.getHerbPage(keyword, HerbPageRequest.of(page, size, sort, direction, minAmount, maxAmount));
+
+        model.addAttribute("herbList", herbPage.getContent());
+        model.addAttribute("herbPage", herbPage);
+        // 검색 조건 유지
         model.addAttribute("keyword", keyword);
+        model.addAttribute("sort", sort);
+        model.addAttribute("direction", direction);
+        model.addAttribute("minAmount", minAmount);
+        model.addAttribute("maxAmount", maxAmount);
         return "herb/inventory";
     }
 
@@ -58,7 +84,7 @@ public class HerbController {
     public String herbLog(Model model) {
         HerbLogPagination pagination = herbService.getHerbLogs(null);
 
-        System.out.println(pagination);
+        log.debug("Herb log pagination: {}", pagination);
 
         model.addAttribute("pagination", pagination);
 
@@ -0,0 +1,25 @@
+package com.example.spreadsheetdemo.herb.controller;
+
+import com.example.spreadsheetdemo.herb.dashboard.HerbDashboardAggregator;
+import com.example.spreadsheetdemo.herb.dto.HerbDashboardDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/herb/dashboard")
+public class HerbDashboardRestController {
+
+    private final HerbDashboardAggregator herbDashboardAggregator;
+
+    /**
+     * 대시보드 통계 조회. 집계된 값을 그대로 반환하며 스프레드시트를 조회하지 않는다.
+     */
+    @GetMapping("")
+    public ResponseEntity<HerbDashboardDTO> getStats() {
+        return ResponseEntity.ok(herbDashboardAggregator.getStats());
+    }
+}
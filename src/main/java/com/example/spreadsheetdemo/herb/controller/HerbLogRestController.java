@@ -1,14 +1,26 @@
 package com.example.spreadsheetdemo.herb.controller;
 
+import com.example.spreadsheetdemo.common.metrics.SheetsCallContext;
+import com.example.spreadsheetdemo.herb.cache.HerbDataVersion;
 import com.example.spreadsheetdemo.herb.domain.HerbLogPagination;
+import com.example.spreadsheetdemo.herb.index.HerbLogDateIndex;
+import com.example.spreadsheetdemo.herb.service.HerbLogExportFormat;
+import com.example.spreadsheetdemo.herb.service.HerbLogExporter;
 import com.example.spreadsheetdemo.herb.service.HerbService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
+import java.util.Optional;
 
 @Slf4j
 @RestController
@@ -17,11 +29,82 @@ import java.time.LocalDate;
 public class HerbLogRestController {
 
     private final HerbService herbService;
+    private final HerbLogExporter herbLogExporter;
+    private final HerbDataVersion herbDataVersion;
 
+    /**
+     * 기준 일자로부터 한 달 동안의 로그 조회.<br/>
+     * 데이터 버전을 ETag 로 전송하며, {@code If-None-Match} 가 현재 버전과 같으면 스프레드시트 조회 없이 304 로 응답한다.
+     *
+     * @param date 조회 기준 일자 (포함)
+     */
     @GetMapping("/{date}")
     public ResponseEntity<HerbLogPagination> getLogs(
+            WebRequest webRequest,
             @PathVariable(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
     ) {
+        if (webRequest.checkNotModified(herbDataVersion.toETag(herbService.getHerbLogDataVersion()))) {
+            return null;
+        }
         return ResponseEntity.ok(herbService.getHerbLogs(date));
     }
+
+    /**
+     * 커서 기반 로그 페이지 조회.
+     *
+     * @param cursor 이전 응답의 nextCursor. 없는 경우 가장 최근 로그부터 조회.
+     * @param rows 페이지 크기 (행 수)
+     * @param days 페이지 크기 (일 수). rows 와 함께 지정할 수 없다.
+     */
+    @GetMapping("")
+    public ResponseEntity<HerbLogPagination> getLogPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer rows,
+            @RequestParam(required = false) Integer days
+    ) {
+        return ResponseEntity.ok(herbService.getHerbLogs(cursor, rows, days));
+    }
+
+    /**
+     * 커서 기반 로그 페이지를 스프레드시트에서 직접 조회.<br/>
+     * 조회하는 동안 요청 스레드를 반환하며, 응답은 조회가 끝난 뒤 전송된다.
+     *
+     * @param cursor 이전 응답의 nextCursor. 없는 경우 가장 최근 로그부터 조회.
+     * @param rows 페이지 크기 (행 수)
+     */
+    @GetMapping("/live")
+    public Mono<ResponseEntity<HerbLogPagination>> getLiveLogPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer rows
+    ) {
+        return herbService.getHerbLogsFromSheet(cursor, rows)
+                .map(ResponseEntity::ok)
+                // 조회는 다른 스레드에서 완료되므로 현재 요청의 호출 수 집계 대상을 전달
+                .contextWrite(SheetsCallContext.captureContext());
+    }
+
+    /**
+     * 기간의 로그를 파일로 내보내기.<br/>
+     * 로그를 묶음 단위로 읽어 바로 전송하므로, 로그 크기와 관계없이 응답이 즉시 시작된다.
+     *
+     * @param from 시작 일자 (포함)
+     * @param to 종료 일자 (포함)
+     * @param format 내보내기 형식 (ndjson, csv). 없는 경우 ndjson.
+     * @see HerbLogExporter
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportLogs(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String format
+    ) {
+        HerbLogExportFormat exportFormat = HerbLogExportFormat.from(format);
+        Optional<HerbLogDateIndex.RowRange> rowRange = herbLogExporter.findRowRange(from, to);
+        String fileName = String.format("herb_log_%s_%s.%s", from, to, exportFormat.getParameter());
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(outputStream -> herbLogExporter.write(rowRange.orElse(null), exportFormat, outputStream));
+    }
 }
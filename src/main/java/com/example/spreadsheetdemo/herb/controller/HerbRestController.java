@@ -0,0 +1,80 @@
+package com.example.spreadsheetdemo.herb.controller;
+
+import com.example.spreadsheetdemo.herb.cache.HerbDataVersion;
+import com.example.spreadsheetdemo.herb.domain.HerbLogHistory;
+import com.example.spreadsheetdemo.herb.domain.HerbPage;
+import com.example.spreadsheetdemo.herb.domain.HerbPageRequest;
+import com.example.spreadsheetdemo.herb.service.HerbService;
+import com.example.spreadsheetdemo.herb.stream.HerbChangeBroadcaster;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/herb")
+public class HerbRestController {
+
+    private final HerbService herbService;
+    private final HerbChangeBroadcaster herbChangeBroadcaster;
+    private final HerbDataVersion herbDataVersion;
+
+    /**
+     * 약재 목록 페이지 조회. {@code GET /herb} 와 같은 조건과 조건부 조회({@code If-None-Match})를 지원한다.
+     *
+     * @param keyword 검색어. 있는 경우 검색 순위 순으로 조회
+     * @param page 페이지 번호 (1부터 시작)
+     * @param size 페이지 크기
+     * @param sort 정렬 기준 (name, amount, lastStoredDate)
+     * @param direction 정렬 방향 (asc, desc)
+     * @param minAmount 최소 수량 (포함)
+     * @param maxAmount 최대 수량 (포함)
+     */
+    @GetMapping("")
+    public ResponseEntity<HerbPage> getHerbPage(
+            WebRequest webRequest,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) Long minAmount,
+            @RequestParam(required = false) Long maxAmount
+    ) {
+        if (webRequest.checkNotModified(herbDataVersion.toETag(herbService.getHerbDataVersion()))) {
+            return null;
+        }
+        return ResponseEntity.ok(herbService.getHerbPage(keyword, HerbPageRequest.of(page, size, sort, direction, minAmount, maxAmount)));
+    }
+
+    /**
+     * 약재 한 종류의 로그 이력 조회.
+     *
+     * @param name 약재 이름
+     * @param cursor 이전 응답의 nextCursor. 없는 경우 가장 최근 로그부터 조회.
+     * @param size 페이지 크기
+     */
+    @GetMapping("/{name}/log")
+    public ResponseEntity<HerbLogHistory> getHerbLogHistory(
+            @PathVariable String name,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(herbService.getHerbLogHistory(name, cursor, size));
+    }
+
+    /**
+     * 약재 변경 알림 구독 (Server-Sent Events).
+     *
+     * @param lastEventId 재연결 시 브라우저가 전달하는 마지막 이벤트 ID
+     * @see HerbChangeBroadcaster
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return herbChangeBroadcaster.subscribe(lastEventId);
+    }
+}
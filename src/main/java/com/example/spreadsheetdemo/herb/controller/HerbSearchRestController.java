@@ -0,0 +1,31 @@
+package com.example.spreadsheetdemo.herb.controller;
+
+import com.example.spreadsheetdemo.herb.dto.HerbDTO;
+import com.example.spreadsheetdemo.herb.service.HerbService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/herb/search")
+public class HerbSearchRestController {
+
+    private final HerbService herbService;
+
+    /**
+     * 약재 이름 자동 완성 검색.
+     *
+     * @param keyword 검색어. 이름의 접두어, 부분 문자열 또는 초성(예: "ㄷㄱ")
+     * @param limit 최대 결과 수
+     */
+    @GetMapping("")
+    public ResponseEntity<List<HerbDTO>> suggest(
+            @RequestParam(name = "q", required = false) String keyword,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(herbService.suggestHerbs(keyword, limit));
+    }
+}
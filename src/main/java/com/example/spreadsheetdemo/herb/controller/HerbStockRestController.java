@@ -0,0 +1,43 @@
+package com.example.spreadsheetdemo.herb.controller;
+
+import com.example.spreadsheetdemo.herb.dto.HerbLowStockDTO;
+import com.example.spreadsheetdemo.herb.dto.HerbThresholdDTO;
+import com.example.spreadsheetdemo.herb.dto.HerbThresholdUpdateDTO;
+import com.example.spreadsheetdemo.herb.service.HerbStockService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/herb")
+public class HerbStockRestController {
+
+    private final HerbStockService herbStockService;
+
+    /**
+     * 재고 부족 약재 목록 조회.
+     */
+    @GetMapping("/low-stock")
+    public ResponseEntity<List<HerbLowStockDTO>> getLowStockHerbs() {
+        return ResponseEntity.ok(herbStockService.getLowStockHerbs());
+    }
+
+    /**
+     * 약재 별 최소 수량 목록 조회.
+     */
+    @GetMapping("/threshold")
+    public ResponseEntity<List<HerbThresholdDTO>> getThresholds() {
+        return ResponseEntity.ok(herbStockService.getThresholds());
+    }
+
+    /**
+     * 약재 별 최소 수량 저장.
+     */
+    @PutMapping("/threshold")
+    public ResponseEntity<HerbThresholdDTO> updateThreshold(@RequestBody HerbThresholdUpdateDTO dto) {
+        return ResponseEntity.ok(herbStockService.updateThreshold(dto));
+    }
+}
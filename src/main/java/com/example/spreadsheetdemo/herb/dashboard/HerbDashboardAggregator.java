@@ -0,0 +1,155 @@
+package com.example.spreadsheetdemo.herb.dashboard;
+
+import com.example.spreadsheetdemo.herb.dto.HerbDashboardDTO;
+import com.example.spreadsheetdemo.herb.dto.HerbLogDTO;
+import com.example.spreadsheetdemo.herb.event.HerbLogsAppendedEvent;
+import com.example.spreadsheetdemo.herb.replica.HerbLogReplica;
+import com.example.spreadsheetdemo.herb.stock.HerbLowStockMonitor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 대시보드 통계 집계.<br/>
+ * 약재 수와 재고 부족 약재 수는 {@link HerbLowStockMonitor} 에서 조회하고,
+ * 금일 로그 통계는 시작 시 로그 복제본에서 한 번 집계한 뒤 {@link HerbLogsAppendedEvent} 로 추가된 행만 반영하므로
+ * 통계 조회는 O(1) 이며 스프레드시트를 조회하지 않는다.<br/>
+ * 다른 경로로 추가된 로그는 주기적인 재집계 시 반영된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HerbDashboardAggregator {
+
+    private final HerbLowStockMonitor herbLowStockMonitor;
+    private final HerbLogReplica herbLogReplica;
+
+    private TodayLogStats todayLogStats = new TodayLogStats(LocalDate.now());
+    // 로그 집계에 반영된 마지막 행 번호. 이벤트와 재집계에서 같은 로그를 중복 집계하지 않도록 함
+    private int countedLastRowNum;
+
+    /**
+     * 현재 통계 조회.
+     *
+     * @return 대시보드 통계
+     */
+    public synchronized HerbDashboardDTO getStats() {
+        rollOver(LocalDate.now());
+        return HerbDashboardDTO.builder()
+                .date(todayLogStats.date)
+                .totalItemCount(herbLowStockMonitor.getItemCount())
+                .lowStockItemCount(herbLowStockMonitor.getLowStockCount())
+                .todayInboundCount(todayLogStats.inboundCount)
+                .todayInboundAmount(todayLogStats.inboundAmount)
+                .todayUsageCount(todayLogStats.usageCount)
+                .todayUsageAmount(todayLogStats.usageAmount)
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reseed();
+    }
+
+    /**
+     * 로그 복제본에서 금일 로그 전체 재집계.<br/>
+     * 실패하더라도 기존 집계는 유지하며, 다음 주기에 다시 시도한다.
+     */
+    @Scheduled(
+            initialDelayString = "${herb.dashboard.reseed-interval:PT10M}",
+            fixedDelayString = "${herb.dashboard.reseed-interval:PT10M}"
+    )
+    public void reseed() {
+        try {
+            reseedTodayLogs();
+        } catch (GeneralSecurityException | IOException | RuntimeException e) {
+            log.warn("Failed to seed dashboard stats: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 로그 추가 시 금일 로그 집계에 반영.
+     *
+     * @param event 로그 추가 이벤트
+     */
+    @EventListener
+    public synchronized void onHerbLogsAppended(HerbLogsAppendedEvent event) {
+        rollOver(LocalDate.now());
+        List<HerbLogDTO> logList = event.getLogList();
+        for (int i = 0; i < logList.size(); i++) {
+            int rowNum = event.getStartRowNum() + i;
+            if (rowNum <= countedLastRowNum) {
+                continue;
+            }
+            HerbLogDTO logDTO = logList.get(i);
+            if (logDTO.getLoggedDatetime() != null && logDTO.getLoggedDatetime().toLocalDate().equals(todayLogStats.date)) {
+                todayLogStats.count(logDTO.getBeforeAmount(), logDTO.getAfterAmount());
+            }
+            countedLastRowNum = rowNum;
+        }
+    }
+
+    /**
+     * 로그 복제본에서 금일 로그 재집계.<br/>
+     * 복제본 조회와 집계 교체 사이에 이벤트가 반영되지 않도록 잠금을 획득한 상태에서 조회한다.
+     */
+    private synchronized void reseedTodayLogs() throws GeneralSecurityException, IOException {
+        LocalDate today = LocalDate.now();
+        TodayLogStats seeded = new TodayLogStats(today);
+        herbLogReplica.scan(
+                today.atStartOfDay(), today.plusDays(1).atStartOfDay(),
+                (rowNum, loggedEpochSecond, name, beforeAmount, afterAmount) -> seeded.count(beforeAmount, afterAmount)
+        );
+        todayLogStats = seeded;
+        // 복제본의 모든 행이 반영되었으므로 이후 이벤트는 그 다음 행부터 집계
+        countedLastRowNum = herbLogReplica.getLastRowNum();
+        log.info("Dashboard log stats seeded for {}: {} inbound, {} usage", today, seeded.inboundCount, seeded.usageCount);
+    }
+
+    /**
+     * 날짜가 바뀐 경우 금일 로그 집계 초기화.
+     */
+    private void rollOver(LocalDate today) {
+        if (!today.equals(todayLogStats.date)) {
+            todayLogStats = new TodayLogStats(today);
+        }
+    }
+
+    /**
+     * 하루 동안의 입고/사용 로그 집계
+     */
+    private static final class TodayLogStats {
+
+        private final LocalDate date;
+        private int inboundCount;
+        private long inboundAmount;
+        private int usageCount;
+        private long usageAmount;
+
+        private TodayLogStats(LocalDate date) {
+            this.date = date;
+        }
+
+        private void count(Long beforeAmount, Long afterAmount) {
+            if (beforeAmount == null || afterAmount == null) {
+                return;
+            }
+            long diff = afterAmount - beforeAmount;
+            if (diff > 0) {
+                inboundCount++;
+                inboundAmount += diff;
+            } else if (diff < 0) {
+                usageCount++;
+                usageAmount -= diff;
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.spreadsheetdemo.herb.domain;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 약재 로그 다음 페이지 위치.<br/>
+ * 다음 페이지의 마지막 행 번호와, 이를 계산할 당시 로그 시트의 마지막 행 번호를 담는다.
+ * 로그 시트는 뒤에만 추가되므로, 시트가 그 사이 길어졌더라도 행 번호는 그대로 유효하다.
+ * 클라이언트에는 내용을 알 수 없는 문자열({@link #encode()})로 전달한다.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class HerbLogCursor {
+
+    private static final String VERSION = "v1";
+
+    /**
+     * 다음 페이지의 마지막 행 번호 (포함)
+     */
+    private final int endRowNum;
+
+    /**
+     * 커서 생성 당시 로그 시트의 마지막 행 번호
+     */
+    private final int sheetLength;
+
+    public static HerbLogCursor of(int endRowNum, int sheetLength) {
+        if (endRowNum < 2 || endRowNum > sheetLength) {
+            throw new IllegalArgumentException("유효하지 않은 로그 위치입니다.");
+        }
+        return new HerbLogCursor(endRowNum, sheetLength);
+    }
+
+    /**
+     * 커서 문자열 해석.
+     *
+     * @param token {@link #encode()} 로 생성된 문자열
+     * @return 커서
+     * @throws IllegalArgumentException 형식이 올바르지 않은 경우
+     */
+    public static HerbLogCursor decode(String token) {
+        String[] fields;
+        try {
+            fields = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("유효하지 않은 로그 커서입니다.", e);
+        }
+        if (fields.length != 3 || !fields[0].equals(VERSION)) {
+            throw new IllegalArgumentException("유효하지 않은 로그 커서입니다.");
+        }
+        try {
+            return of(Integer.parseInt(fields[1]), Integer.parseInt(fields[2]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("유효하지 않은 로그 커서입니다.", e);
+        }
+    }
+
+    /**
+     * 현재 로그 시트에서 커서의 행 번호를 사용할 수 있는지 확인.<br/>
+     * 로그 시트는 뒤에만 추가되므로, 커서 생성 이후 시트가 줄어든 경우 커서의 행 번호를 더 이상 신뢰할 수 없다.
+     *
+     * @param currentSheetLength 현재 로그 시트의 마지막 행 번호
+     * @throws IllegalArgumentException 로그 시트가 커서 생성 이후 줄어든 경우
+     */
+    public void checkSheetNotShrunk(int currentSheetLength) {
+        if (currentSheetLength < sheetLength) {
+            throw new IllegalArgumentException("로그 정보가 변경되었습니다. 처음부터 다시 조회해주세요.");
+        }
+    }
+
+    public String encode() {
+        String raw = VERSION + ":" + endRowNum + ":" + sheetLength;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.spreadsheetdemo.herb.domain;
+
+import com.example.spreadsheetdemo.herb.dto.HerbLogDTO;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 약재 한 종류의 로그 이력 페이지.
+ */
+@Getter
+@Builder(access = lombok.AccessLevel.PRIVATE)
+@ToString
+public class HerbLogHistory {
+
+    private String name;
+
+    /**
+     * 최근 로그부터 정렬된 로그 목록
+     */
+    private List<HerbLogDTO> data;
+
+    private boolean hasNextPage;
+
+    /**
+     * 다음 페이지 조회 시 전달할 커서. 다음 페이지가 없는 경우 {@code null}.
+     *
+     * @see HerbLogCursor#encode()
+     */
+    private String nextCursor;
+
+    /**
+     * 조회된 로그 이력 페이지 생성.
+     *
+     * @param name 약재 이름
+     * @param data 최근 로그부터 정렬된 로그 목록
+     * @param nextEndRowNum 다음 페이지의 마지막 행 번호. 다음 페이지가 없는 경우 {@code null}.
+     * @param sheetLength 조회 당시 로그 시트의 마지막 행 번호
+     */
+    public static HerbLogHistory of(String name, List<HerbLogDTO> data, Integer nextEndRowNum, int sheetLength) {
+        return HerbLogHistory.builder()
+                .name(name)
+                .data(data)
+                .hasNextPage(nextEndRowNum != null)
+                .nextCursor(nextEndRowNum != null ? HerbLogCursor.of(nextEndRowNum, sheetLength).encode() : null)
+                .build();
+    }
+}
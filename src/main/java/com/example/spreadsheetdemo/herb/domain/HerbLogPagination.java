@@ -21,19 +21,56 @@ public class HerbLogPagination {
     private int startRowNum;
     private int endRowNum;
 
+    /**
+     * 조회 기간의 가장 이른 일자 (포함)
+     */
     private LocalDate startDate;
+    /**
+     * 조회 기간의 가장 늦은 일자 (포함)
+     */
     private LocalDate endDate;
 
     private boolean hasNextPage;
 
-    public static HerbLogPagination of(List<HerbLogViewDTO> data, int startRowNum, int endRowNum, LocalDate startDate, LocalDate endDate) {
+    /**
+     * 다음 페이지 조회 시 전달할 커서. 다음 페이지가 없는 경우 {@code null}.
+     *
+     * @see HerbLogCursor#encode()
+     */
+    private String nextCursor;
+
+    /**
+     * 조회된 로그 페이지 생성.
+     *
+     * @param data 로그 목록
+     * @param startRowNum 조회한 첫 번째 행 번호
+     * @param endRowNum 조회한 마지막 행 번호
+     * @param startDate 조회 기간의 가장 이른 일자 (포함)
+     * @param endDate 조회 기간의 가장 늦은 일자 (포함)
+     * @param sheetLength 조회 당시 로그 시트의 마지막 행 번호
+     */
+    public static HerbLogPagination of(List<HerbLogViewDTO> data, int startRowNum, int endRowNum, LocalDate startDate, LocalDate endDate, int sheetLength) {
+        boolean hasNextPage = startRowNum > 2;
         return HerbLogPagination.builder()
                 .data(data)
                 .startRowNum(startRowNum)
                 .endRowNum(endRowNum)
                 .startDate(startDate)
                 .endDate(endDate)
-                .hasNextPage(startRowNum > 2)
+                .hasNextPage(hasNextPage)
+                .nextCursor(hasNextPage ? HerbLogCursor.of(startRowNum - 1, sheetLength).encode() : null)
+                .build();
+    }
+
+    /**
+     * 조회된 로그가 없는 페이지 생성. 다음 페이지는 존재하지 않는다.
+     */
+    public static HerbLogPagination empty(LocalDate startDate, LocalDate endDate) {
+        return HerbLogPagination.builder()
+                .data(List.of())
+                .startDate(startDate)
+                .endDate(endDate)
+                .hasNextPage(false)
                 .build();
     }
 
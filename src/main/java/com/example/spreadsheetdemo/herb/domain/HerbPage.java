@@ -0,0 +1,73 @@
+package com.example.spreadsheetdemo.herb.domain;
+
+import com.example.spreadsheetdemo.herb.dto.HerbDTO;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 약재 목록 페이지.
+ */
+@Getter
+@Builder(access = lombok.AccessLevel.PRIVATE)
+@ToString(exclude = "content")
+public class HerbPage {
+
+    private List<HerbDTO> content;
+
+    /**
+     * 페이지 번호 (1부터 시작)
+     */
+    private int page;
+    private int size;
+    /**
+     * 조건을 만족하는 전체 약재 수
+     */
+    private long totalElements;
+    private int totalPages;
+
+    private boolean hasNextPage;
+
+    /**
+     * 조회된 약재 페이지 생성.
+     *
+     * @param content 현재 페이지의 약재 목록
+     * @param request 조회 조건
+     * @param totalElements 조건을 만족하는 전체 약재 수
+     */
+    public static HerbPage of(List<HerbDTO> content, HerbPageRequest request, long totalElements) {
+        int totalPages = (int) ((totalElements + request.getSize() - 1) / request.getSize());
+        return HerbPage.builder()
+                .content(content)
+                .page(request.getPage())
+                .size(request.getSize())
+                .totalElements(totalElements)
+                .totalPages(totalPages)
+                .hasNextPage(request.getPage() < totalPages)
+                .build();
+    }
+
+    /**
+     * 정렬되지 않은 전체 약재 목록에서 조회 조건에 따라 필터링, 정렬한 페이지 생성.<br/>
+     * 정렬 기준이 없는 경우 목록의 순서를 유지한다.
+     *
+     * @param herbList 전체 약재 목록
+     * @param request 조회 조건
+     * @return 약재 페이지
+     */
+    public static HerbPage from(List<HerbDTO> herbList, HerbPageRequest request) {
+        List<HerbDTO> filtered = herbList.stream().filter(request::matchesAmount).toList();
+        if (request.getSortKey() != null) {
+            filtered = filtered.stream()
+                    .sorted(request.getSortKey().getComparator(request.isDescending()))
+                    .toList();
+        }
+        List<HerbDTO> content = filtered.stream()
+                .skip(request.getOffset())
+                .limit(request.getSize())
+                .toList();
+        return of(content, request, filtered.size());
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.spreadsheetdemo.herb.domain;
+
+import com.example.spreadsheetdemo.herb.dto.HerbDTO;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 약재 목록 페이지 조회 조건.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class HerbPageRequest {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    /**
+     * 페이지 번호 (1부터 시작)
+     */
+    private final int page;
+    private final int size;
+    /**
+     * 정렬 기준. {@code null} 인 경우 조회 방식의 기본 순서 (전체 조회: 행 번호, 검색: 검색 순위)
+     */
+    private final HerbSortKey sortKey;
+    private final boolean descending;
+    /**
+     * 최소 수량 (포함). 수량 조건이 있는 경우 수량이 없는 약재는 제외한다.
+     */
+    private final Long minAmount;
+    /**
+     * 최대 수량 (포함)
+     */
+    private final Long maxAmount;
+
+    /**
+     * 요청 파라미터로 조회 조건 생성.
+     *
+     * @param page 페이지 번호 (1부터 시작). 없는 경우 1.
+     * @param size 페이지 크기. 없는 경우 {@value DEFAULT_PAGE_SIZE}, 최대 {@value MAX_PAGE_SIZE}.
+     * @param sort 정렬 기준 ({@link HerbSortKey#getParameter()})
+     * @param direction 정렬 방향 ("asc", "desc"). 없는 경우 오름차순.
+     * @param minAmount 최소 수량 (포함)
+     * @param maxAmount 최대 수량 (포함)
+     * @return 조회 조건
+     * @throws IllegalArgumentException 조회 조건이 올바르지 않은 경우
+     */
+    public static HerbPageRequest of(Integer page, Integer size, String sort, String direction, Long minAmount, Long maxAmount) {
+        if (page != null && page < 1) {
+            throw new IllegalArgumentException("페이지 번호는 1 이상이어야 합니다.");
+        }
+        if (size != null && (size < 1 || size > MAX_PAGE_SIZE)) {
+            throw new IllegalArgumentException(String.format("페이지 크기는 1 이상 %d 이하여야 합니다.", MAX_PAGE_SIZE));
+        }
+        if (direction != null && !direction.isBlank() && !direction.equals("asc") && !direction.equals("desc")) {
+            throw new IllegalArgumentException(String.format("지원하지 않는 정렬 방향입니다: %s", direction));
+        }
+        if (minAmount != null && maxAmount != null && minAmount > maxAmount) {
+            throw new IllegalArgumentException("최소 수량은 최대 수량보다 클 수 없습니다.");
+        }
+        return new HerbPageRequest(
+                page == null ? 1 : page,
+                size == null ? DEFAULT_PAGE_SIZE : size,
+                HerbSortKey.from(sort),
+                "desc".equals(direction),
+                minAmount,
+                maxAmount
+        );
+    }
+
+    /**
+     * 첫 번째 항목의 위치 (0부터 시작)
+     */
+    public long getOffset() {
+        return (long) (page - 1) * size;
+    }
+
+    public boolean hasAmountFilter() {
+        return minAmount != null || maxAmount != null;
+    }
+
+    /**
+     * 수량 조건을 만족하는지 확인.
+     */
+    public boolean matchesAmount(HerbDTO herb) {
+        if (!hasAmountFilter()) {
+            return true;
+        }
+        Long amount = herb.getAmount();
+        return amount != null
+                && (minAmount == null || amount >= minAmount)
+                && (maxAmount == null || amount <= maxAmount);
+    }
+}
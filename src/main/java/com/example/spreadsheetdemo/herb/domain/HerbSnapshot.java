@@ -0,0 +1,82 @@
+package com.example.spreadsheetdemo.herb.domain;
+
+import com.example.spreadsheetdemo.herb.dto.HerbDTO;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 약재 시트의 특정 시점 스냅샷.<br/>
+ * 불변 객체이며, 약재 정보 변경 시 {@link #withChanges(long, List)} 를 통해 새 버전의 스냅샷을 생성한다.
+ */
+@Getter
+@ToString(exclude = "herbList")
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class HerbSnapshot {
+
+    /**
+     * 스냅샷 버전. 내용이 변경될 때마다 증가한다.
+     */
+    private final long version;
+
+    /**
+     * 행 번호 오름차순으로 정렬된 약재 정보 목록
+     */
+    private final List<HerbDTO> herbList;
+
+    /**
+     * 스프레드시트에서 전체 데이터를 마지막으로 불러온 시각
+     */
+    private final Instant loadedAt;
+
+    public static HerbSnapshot of(long version, List<HerbDTO> herbList) {
+        return new HerbSnapshot(version, List.copyOf(herbList), Instant.now());
+    }
+
+    /**
+     * 마지막 전체 조회 이후 ttl 이 경과했는지 확인.
+     *
+     * @param ttl 스냅샷 유효 기간
+     * @return 만료된 경우 {@code true}
+     */
+    public boolean isExpired(Duration ttl) {
+        return loadedAt.plus(ttl).isBefore(Instant.now());
+    }
+
+    /**
+     * 내용은 그대로 두고 조회 시각만 갱신한 스냅샷 반환.
+     * 재조회 결과가 기존 스냅샷과 동일할 경우 버전을 유지하기 위해 사용.
+     *
+     * @return 조회 시각이 갱신된 스냅샷
+     */
+    public HerbSnapshot refreshed() {
+        return new HerbSnapshot(version, herbList, Instant.now());
+    }
+
+    /**
+     * 변경된 약재 정보를 반영한 새 버전의 스냅샷 반환.<br/>
+     * 행 번호가 같은 약재는 교체하고, 존재하지 않는 행 번호의 약재는 추가한다.
+     *
+     * @param newVersion 새 스냅샷 버전
+     * @param changedHerbList 변경된 약재 정보 목록
+     * @return 변경 사항이 반영된 스냅샷
+     */
+    public HerbSnapshot withChanges(long newVersion, List<HerbDTO> changedHerbList) {
+        Map<Integer, HerbDTO> herbMapByRowNum = new TreeMap<>();
+        for (HerbDTO herb : herbList) {
+            herbMapByRowNum.put(herb.getRowNum(), herb);
+        }
+        for (HerbDTO herb : changedHerbList) {
+            herbMapByRowNum.put(herb.getRowNum(), herb);
+        }
+        // 전체 조회 시각은 유지하여 TTL 기준이 변하지 않도록 함
+        return new HerbSnapshot(newVersion, List.copyOf(herbMapByRowNum.values()), loadedAt);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.spreadsheetdemo.herb.domain;
+
+import com.example.spreadsheetdemo.herb.dto.HerbDTO;
+import lombok.Getter;
+
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * 약재 목록 정렬 기준.<br/>
+ * 값이 같은 경우 행 번호 순(내림차순인 경우 행 번호 역순)으로 정렬하며, 값이 없는 약재는 정렬 방향과 관계없이 뒤에 위치한다.
+ */
+@Getter
+public enum HerbSortKey {
+
+    // 스프레드시트에 입력된 순서
+    ROW_NUM("rowNum", HerbDTO::getRowNum),
+    NAME("name", HerbDTO::getName),
+    AMOUNT("amount", HerbDTO::getAmount),
+    LAST_STORED_DATE("lastStoredDate", HerbDTO::getLastStoredDate);
+
+    /**
+     * 요청 파라미터 값
+     */
+    private final String parameter;
+    private final Function<HerbDTO, ? extends Comparable<?>> valueGetter;
+    /**
+     * 오름차순 비교. 값이 없는 약재는 뒤에 위치한다.
+     */
+    private final Comparator<HerbDTO> comparator;
+    /**
+     * 내림차순 비교. 오름차순 중 값이 있는 구간만 뒤집은 순서와 같다.
+     */
+    private final Comparator<HerbDTO> descendingComparator;
+
+    <T extends Comparable<? super T>> HerbSortKey(String parameter, Function<HerbDTO, T> valueGetter) {
+        this.parameter = parameter;
+        this.valueGetter = valueGetter;
+        this.comparator = Comparator.comparing(valueGetter, Comparator.nullsLast(Comparator.<T>naturalOrder()))
+                .thenComparing(HerbDTO::getRowNum, Comparator.nullsLast(Comparator.naturalOrder()));
+        Comparator<HerbDTO> ascending = this.comparator;
+        this.descendingComparator = (a, b) -> {
+            boolean aIsNull = valueGetter.apply(a) == null;
+            boolean bIsNull = valueGetter.apply(b) == null;
+            if (aIsNull || bIsNull) {
+                // 값이 없는 약재끼리는 오름차순과 같은 순서 유지
+                return aIsNull && bIsNull ? ascending.compare(a, b) : aIsNull ? 1 : -1;
+            }
+            return ascending.compare(b, a);
+        };
+    }
+
+    /**
+     * 요청 파라미터 값으로 정렬 기준 조회.
+     *
+     * @param parameter 요청 파라미터 값 (예: "lastStoredDate")
+     * @return 정렬 기준. 비어있는 경우 {@code null}.
+     * @throws IllegalArgumentException 지원하지 않는 정렬 기준인 경우
+     */
+    public static HerbSortKey from(String parameter) {
+        if (parameter == null || parameter.isBlank()) {
+            return null;
+        }
+        for (HerbSortKey sortKey : values()) {
+            if (sortKey.parameter.equals(parameter)) {
+                return sortKey;
+            }
+        }
+        throw new IllegalArgumentException(String.format("지원하지 않는 정렬 기준입니다: %s", parameter));
+    }
+
+    public Comparator<HerbDTO> getComparator(boolean descending) {
+        return descending ? descendingComparator : comparator;
+    }
+
+    /**
+     * 정렬 기준 값이 없는 약재인지 확인.
+     */
+    public boolean isNullValue(HerbDTO herb) {
+        return valueGetter.apply(herb) == null;
+    }
+}
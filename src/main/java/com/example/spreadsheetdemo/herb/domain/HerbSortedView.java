@@ -0,0 +1,148 @@
+package com.example.spreadsheetdemo.herb.domain;
+
+import com.example.spreadsheetdemo.herb.dto.HerbDTO;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.*;
+
+/**
+ * 약재 스냅샷의 정렬 기준 별 정렬 목록.<br/>
+ * 스냅샷 버전마다 한 번 생성하며, 이후 페이지 조회는 정렬 없이 필요한 범위만 읽는다.<br/>
+ * 수량 조건은 수량 오름차순 목록에서 이진 탐색으로 범위를 계산하므로, 수량 정렬 페이지는 O(log n + 페이지 크기) 로 조회된다.
+ * 다른 정렬 기준의 수량 조건 페이지는 해당 페이지를 채울 때까지만 순회한다.
+ */
+@ToString(of = "version")
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class HerbSortedView {
+
+    /**
+     * 정렬 목록을 생성한 스냅샷 버전
+     */
+    @Getter
+    private final long version;
+
+    // 정렬 기준 별 오름차순 목록. 값이 없는 약재는 뒤에 위치
+    private final Map<HerbSortKey, List<HerbDTO>> sortedListMap;
+    // 정렬 기준 별 값이 있는 약재 수
+    private final Map<HerbSortKey, Integer> valueCountMap;
+    // 수량 오름차순 목록의 수량 값 (수량이 있는 약재만)
+    private final long[] sortedAmounts;
+
+    public static HerbSortedView of(HerbSnapshot snapshot) {
+        Map<HerbSortKey, List<HerbDTO>> sortedListMap = new EnumMap<>(HerbSortKey.class);
+        Map<HerbSortKey, Integer> valueCountMap = new EnumMap<>(HerbSortKey.class);
+        for (HerbSortKey sortKey : HerbSortKey.values()) {
+            List<HerbDTO> sorted = snapshot.getHerbList().stream().sorted(sortKey.getComparator()).toList();
+            sortedListMap.put(sortKey, sorted);
+            valueCountMap.put(sortKey, (int) sorted.stream().filter(herb -> !sortKey.isNullValue(herb)).count());
+        }
+
+        List<HerbDTO> sortedByAmount = sortedListMap.get(HerbSortKey.AMOUNT);
+        long[] sortedAmounts = new long[valueCountMap.get(HerbSortKey.AMOUNT)];
+        for (int i = 0; i < sortedAmounts.length; i++) {
+            sortedAmounts[i] = sortedByAmount.get(i).getAmount();
+        }
+        return new HerbSortedView(snapshot.getVersion(), sortedListMap, valueCountMap, sortedAmounts);
+    }
+
+    /**
+     * 조회 조건에 해당하는 페이지 조회.
+     *
+     * @param request 조회 조건. 정렬 기준이 없는 경우 행 번호 순.
+     * @return 약재 페이지
+     */
+    public HerbPage page(HerbPageRequest request) {
+        HerbSortKey sortKey = request.getSortKey() == null ? HerbSortKey.ROW_NUM : request.getSortKey();
+        List<HerbDTO> sorted = sortedListMap.get(sortKey);
+        int valueCount = valueCountMap.get(sortKey);
+
+        if (!request.hasAmountFilter()) {
+            return slice(sorted, valueCount, request);
+        }
+
+        // 수량 조건을 만족하는 약재는 수량 오름차순 목록의 [from, to) 범위
+        int from = request.getMinAmount() == null ? 0 : lowerBound(request.getMinAmount());
+        int to = request.getMaxAmount() == null ? sortedAmounts.length : upperBound(request.getMaxAmount());
+        int total = Math.max(0, to - from);
+
+        if (sortKey == HerbSortKey.AMOUNT) {
+            // 범위 안의 약재는 모두 수량이 있으므로 범위 전체를 값이 있는 구간으로 취급
+            return slice(sorted.subList(from, from + total), total, request);
+        }
+
+        List<HerbDTO> content = new ArrayList<>(request.getSize());
+        long skip = request.getOffset();
+        for (int i = 0; i < sorted.size() && content.size() < request.getSize(); i++) {
+            HerbDTO herb = get(sorted, valueCount, i, request.isDescending());
+            if (!request.matchesAmount(herb)) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            content.add(herb);
+        }
+        return HerbPage.of(content, request, total);
+    }
+
+    /**
+     * 정렬 목록에서 현재 페이지에 해당하는 약재 조회.
+     */
+    private HerbPage slice(List<HerbDTO> sorted, int valueCount, HerbPageRequest request) {
+        int total = sorted.size();
+        List<HerbDTO> content = new ArrayList<>(request.getSize());
+        for (long i = request.getOffset(); i < total && content.size() < request.getSize(); i++) {
+            content.add(get(sorted, valueCount, (int) i, request.isDescending()));
+        }
+        return HerbPage.of(content, request, total);
+    }
+
+    /**
+     * 정렬 방향을 적용한 위치의 약재 조회.
+     * 내림차순인 경우 값이 있는 구간만 뒤집어, 값이 없는 약재는 그대로 뒤에 위치하도록 한다.
+     */
+    private static HerbDTO get(List<HerbDTO> sorted, int valueCount, int index, boolean descending) {
+        if (descending && index < valueCount) {
+            return sorted.get(valueCount - 1 - index);
+        }
+        return sorted.get(index);
+    }
+
+    /**
+     * 수량이 amount 이상인 첫 번째 위치
+     */
+    private int lowerBound(long amount) {
+        int low = 0;
+        int high = sortedAmounts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedAmounts[mid] < amount) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 수량이 amount 보다 큰 첫 번째 위치
+     */
+    private int upperBound(long amount) {
+        int low = 0;
+        int high = sortedAmounts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedAmounts[mid] <= amount) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
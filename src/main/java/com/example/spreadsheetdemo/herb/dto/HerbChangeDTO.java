@@ -0,0 +1,36 @@
+package com.example.spreadsheetdemo.herb.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * 약재 변경 알림용 DTO
+ */
+@Getter
+@Builder
+@ToString
+@EqualsAndHashCode
+public class HerbChangeDTO {
+
+    private final Integer rowNum;
+    private final String name;
+    private final Long amount;
+    private final LocalDate lastStoredDate;
+    private final String memo;
+    /**
+     * 변경 알림 순번. 알림마다 1씩 증가하며, 같은 행에 대해 더 작은 순번의 알림은 이미 반영된 변경보다 이전 변경이다.
+     */
+    private final long version;
+
+    public static HerbChangeDTO of(HerbDTO herb, long version) {
+        return HerbChangeDTO.builder()
+                .rowNum(herb.getRowNum())
+                .name(herb.getName())
+                .amount(herb.getAmount())
+                .lastStoredDate(herb.getLastStoredDate())
+                .memo(herb.getMemo())
+                .version(version)
+                .build();
+    }
+}
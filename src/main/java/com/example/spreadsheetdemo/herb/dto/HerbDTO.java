@@ -32,4 +32,45 @@ public class HerbDTO {
                 .memo(dto.getOriginalMemo())
                 .build();
     }
+
+    /**
+     * 수정 후 값으로 HerbDTO 생성.
+     *
+     * @param dto 수정된 약재 정보
+     * @return {@link HerbUpdateDTO} 의 new* 필드 값을 가진 HerbDTO
+     */
+    public static HerbDTO fromUpdated(HerbUpdateDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+
+        return HerbDTO.builder()
+                .rowNum(dto.getRowNum())
+                .name(dto.getName())
+                .amount(dto.getNewAmount())
+                .lastStoredDate(dto.getNewLastStoredDate())
+                .memo(dto.getNewMemo())
+                .build();
+    }
+
+    /**
+     * 신규 등록된 약재 정보로 HerbDTO 생성.
+     *
+     * @param rowNum 등록된 행 번호
+     * @param dto 등록된 약재 정보
+     * @return 등록된 행 번호를 가진 HerbDTO
+     */
+    public static HerbDTO of(Integer rowNum, HerbRegisterDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+
+        return HerbDTO.builder()
+                .rowNum(rowNum)
+                .name(dto.getName())
+                .amount(dto.getAmount())
+                .lastStoredDate(dto.getLastStoredDate())
+                .memo(dto.getMemo())
+                .build();
+    }
 }
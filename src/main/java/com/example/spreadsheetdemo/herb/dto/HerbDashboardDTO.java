@@ -0,0 +1,36 @@
+package com.example.spreadsheetdemo.herb.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * 대시보드 통계 조회용 DTO
+ */
+@Getter
+@Builder
+@ToString
+public class HerbDashboardDTO {
+
+    /**
+     * 집계 기준 일자 (금일)
+     */
+    private final LocalDate date;
+
+    private final int totalItemCount;
+    private final int lowStockItemCount;
+
+    /**
+     * 금일 입고(수량 증가) 로그 수 및 증가한 수량 합계
+     */
+    private final int todayInboundCount;
+    private final long todayInboundAmount;
+
+    /**
+     * 금일 사용(수량 감소) 로그 수 및 감소한 수량 합계
+     */
+    private final int todayUsageCount;
+    private final long todayUsageAmount;
+}
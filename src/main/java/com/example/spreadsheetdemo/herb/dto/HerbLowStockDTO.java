@@ -0,0 +1,21 @@
+package com.example.spreadsheetdemo.herb.dto;
+
+import lombok.*;
+
+/**
+ * 재고 부족 약재 조회용 DTO
+ */
+@Getter
+@Builder
+@ToString
+@EqualsAndHashCode
+public class HerbLowStockDTO {
+
+    private final Integer rowNum;
+    private final String name;
+    private final Long amount;
+    /**
+     * 적용된 최소 수량. 약재 별 기준이 없는 경우 기본 기준 수량.
+     */
+    private final Long minAmount;
+}
@@ -0,0 +1,20 @@
+package com.example.spreadsheetdemo.herb.dto;
+
+import lombok.*;
+
+/**
+ * 약재 별 재고 부족 기준 수량 조회용 DTO
+ */
+@Getter
+@Builder
+@ToString
+@EqualsAndHashCode
+public class HerbThresholdDTO {
+
+    private final Integer rowNum;
+    private final String name;
+    /**
+     * 최소 수량. 수량이 이 값보다 적으면 재고 부족으로 판단한다.
+     */
+    private final Long minAmount;
+}
@@ -0,0 +1,17 @@
+package com.example.spreadsheetdemo.herb.dto;
+
+import lombok.*;
+
+/**
+ * 약재 별 재고 부족 기준 수량 설정용 DTO
+ */
+@Getter
+@Builder
+@RequiredArgsConstructor // Controller 의 @RequestBody 바인딩 목적
+@ToString
+@EqualsAndHashCode
+public class HerbThresholdUpdateDTO {
+
+    private final String name;
+    private final Long minAmount;
+}
@@ -0,0 +1,20 @@
+package com.example.spreadsheetdemo.herb.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 약재 로그 복제본이 스프레드시트와 동기화하여 다른 경로로 추가/수정된 로그를 반영한 후 발행되는 이벤트.<br/>
+ * 이 애플리케이션이 추가한 로그는 {@link HerbLogsAppendedEvent} 로 반영되므로 이 이벤트를 발행하지 않는다.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class HerbLogReplicaSyncedEvent {
+
+    /**
+     * 동기화 후 복제본의 마지막 행 번호
+     */
+    private final int lastRowNum;
+}
@@ -0,0 +1,27 @@
+package com.example.spreadsheetdemo.herb.event;
+
+import com.example.spreadsheetdemo.herb.dto.HerbLogDTO;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 약재 로그 시트에 로그 행이 추가된 후 발행되는 이벤트.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class HerbLogsAppendedEvent {
+
+    /**
+     * 추가된 첫 번째 로그의 행 번호. 이후 로그는 연속된 행에 추가된다.
+     */
+    private final int startRowNum;
+
+    /**
+     * 추가된 순서대로 정렬된 로그 목록
+     */
+    private final List<HerbLogDTO> logList;
+}
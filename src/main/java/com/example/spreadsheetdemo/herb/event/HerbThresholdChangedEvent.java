@@ -0,0 +1,20 @@
+package com.example.spreadsheetdemo.herb.event;
+
+import com.example.spreadsheetdemo.herb.dto.HerbThresholdDTO;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 약재 별 재고 부족 기준 수량이 저장된 후 발행되는 이벤트.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class HerbThresholdChangedEvent {
+
+    /**
+     * 저장된 기준 수량
+     */
+    private final HerbThresholdDTO threshold;
+}
@@ -0,0 +1,23 @@
+package com.example.spreadsheetdemo.herb.event;
+
+import com.example.spreadsheetdemo.herb.dto.HerbDTO;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 약재 등록 또는 수정 트랜잭션이 완료된 후 발행되는 이벤트.<br/>
+ * 롤백된 변경 사항에 대해서는 발행되지 않는다.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class HerbsChangedEvent {
+
+    /**
+     * 변경 후 약재 정보 목록. 각 요소의 행 번호로 변경된 행을 식별한다.
+     */
+    private final List<HerbDTO> changedHerbList;
+}
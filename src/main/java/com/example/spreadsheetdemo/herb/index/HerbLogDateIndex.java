@@ -0,0 +1,393 @@
+package com.example.spreadsheetdemo.herb.index;
+
+import com.example.spreadsheetdemo.common.SheetsInfo;
+import com.example.spreadsheetdemo.herb.cache.HerbDataVersion;
+import com.example.spreadsheetdemo.herb.dto.HerbLogDTO;
+import com.example.spreadsheetdemo.herb.event.HerbLogReplicaSyncedEvent;
+import com.example.spreadsheetdemo.herb.event.HerbLogsAppendedEvent;
+import com.example.spreadsheetdemo.herb.mapper.HerbMapper;
+import com.example.spreadsheetdemo.herb.repository.HerbLogRepository;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 약재 로그 시트의 일자 별 행 범위 색인.<br/>
+ * 로그 일자마다 해당 일자의 첫 번째 행과 마지막 행 번호를 기억하여,
+ * 임의의 기간에 해당하는 행 범위를 스프레드시트 조회 없이 O(log n) 으로 계산한다.<br/>
+ * <br/>
+ * 최초 사용 시 로컬 파일에 저장된 색인을 불러온 뒤, 마지막으로 색인된 행 이후의 데이터만 한 번 조회하여 보충한다.
+ * 이후에는 {@link HerbLogsAppendedEvent} 를 통해 추가된 로그만 반영하고 로컬 파일에 저장한다.
+ * 다른 경로로 추가된 로그는 로그 복제본의 주기 동기화가 발행하는 {@link HerbLogReplicaSyncedEvent} 로 알게 되며,
+ * 다음 조회 시 보충 조회하여 복제본과 같은 행까지 색인한다.<br/>
+ * 로그 시트는 시간 순서대로 추가된다는 전제(append-only)를 따른다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HerbLogDateIndex {
+
+    private final HerbLogRepository herbLogRepository;
+    private final HerbMapper herbMapper;
+    private final HerbDataVersion herbDataVersion;
+
+    @Value("${google.spreadsheet.id}")
+    private String SPREADSHEET_ID;
+
+    @Value("${herb.log-index.path:data/herb_log_date_index.tsv}")
+    private String indexFilePath;
+
+    // 헤더 행 번호. 색인된 행이 없는 경우의 마지막 행 번호로 사용
+    private static final int HEADER_ROW_NUM = 1;
+
+    private final NavigableMap<LocalDate, RowRange> rowRangeMapByDate = new TreeMap<>();
+    // 행 번호로 로그 일자를 찾기 위한 일자 별 첫 번째 행 번호 역색인
+    private final NavigableMap<Integer, LocalDate> loggedDateMapByFirstRowNum = new TreeMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int lastIndexedRowNum = HEADER_ROW_NUM;
+    // 로컬 파일 로드 및 보충 조회 완료 여부
+    private boolean initialized = false;
+    // 색인에 반영되지 않은 행이 존재할 수 있는지 여부
+    private boolean stale = false;
+
+    /**
+     * 로그 일자 구간 (fromExclude, toInclude] 에 해당하는 행 범위 조회.
+     *
+     * @param fromExclude 조회 시작 일자 (미포함)
+     * @param toInclude 조회 종료 일자 (포함)
+     * @return 해당 기간의 첫 번째 로그 행부터 마지막 로그 행까지의 범위. 해당 기간에 로그가 없는 경우 빈 Optional.
+     * @throws GeneralSecurityException on security exception.
+     * @throws IOException on Credentials file read exception.
+     */
+    public Optional<RowRange> findRowRange(LocalDate fromExclude, LocalDate toInclude) throws GeneralSecurityException, IOException {
+        ensureCurrent();
+
+        lock.readLock().lock();
+        try {
+            NavigableMap<LocalDate, RowRange> window = rowRangeMapByDate.subMap(fromExclude, false, toInclude, true);
+            if (window.isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.of(
+                    new RowRange(window.firstEntry().getValue().getFirstRowNum(), window.lastEntry().getValue().getLastRowNum())
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 기준 일자 이전(포함)의 가장 최근 로그 일자 조회.
+     *
+     * @param toInclude 기준 일자 (포함)
+     * @return 가장 최근 로그 일자. 없는 경우 빈 Optional.
+     * @throws GeneralSecurityException on security exception.
+     * @throws IOException on Credentials file read exception.
+     */
+    public Optional<LocalDate> findLatestLoggedDate(LocalDate toInclude) throws GeneralSecurityException, IOException {
+        ensureCurrent();
+
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(rowRangeMapByDate.floorKey(toInclude));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 특정 행의 로그 일자 조회.
+     *
+     * @param rowNum 행 번호
+     * @return 해당 행의 로그 일자. 색인된 범위를 벗어난 경우 빈 Optional.
+     * @throws GeneralSecurityException on security exception.
+     * @throws IOException on Credentials file read exception.
+     */
+    public Optional<LocalDate> findLoggedDate(int rowNum) throws GeneralSecurityException, IOException {
+        ensureCurrent();
+
+        lock.readLock().lock();
+        try {
+            if (rowNum > lastIndexedRowNum) {
+                return Optional.empty();
+            }
+            Map.Entry<Integer, LocalDate> entry = loggedDateMapByFirstRowNum.floorEntry(rowNum);
+            return entry == null ? Optional.empty() : Optional.of(entry.getValue());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 특정 일자의 행 범위 조회.
+     *
+     * @param loggedDate 로그 일자
+     * @return 해당 일자의 첫 번째 로그 행부터 마지막 로그 행까지의 범위. 해당 일자에 로그가 없는 경우 빈 Optional.
+     * @throws GeneralSecurityException on security exception.
+     * @throws IOException on Credentials file read exception.
+     */
+    public Optional<RowRange> findRowRangeOf(LocalDate loggedDate) throws GeneralSecurityException, IOException {
+        ensureCurrent();
+
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(rowRangeMapByDate.get(loggedDate));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 색인된 마지막 행 번호 조회. 로그가 없는 경우 헤더 행 번호(1) 반환.
+     *
+     * @return 마지막 행 번호
+     * @throws GeneralSecurityException on security exception.
+     * @throws IOException on Credentials file read exception.
+     */
+    public int getLastRowNum() throws GeneralSecurityException, IOException {
+        ensureCurrent();
+
+        lock.readLock().lock();
+        try {
+            return lastIndexedRowNum;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 로그 추가 시 색인 확장.<br/>
+     * 추가된 행이 마지막으로 색인된 행 바로 다음이 아닌 경우, 다른 경로로 추가된 행이 있다고 판단하여 다음 조회 시 보충 조회를 수행한다.
+     *
+     * @param event 로그 추가 이벤트
+     */
+    @EventListener
+    public void onHerbLogsAppended(HerbLogsAppendedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!initialized) {
+                // 최초 사용 시 보충 조회에서 함께 반영됨
+                return;
+            }
+            if (event.getStartRowNum() != lastIndexedRowNum + 1) {
+                log.warn("Herb log appended at row {} but last indexed row is {}. index will be caught up on next lookup.",
+                        event.getStartRowNum(), lastIndexedRowNum);
+                stale = true;
+                herbDataVersion.increment(HerbDataVersion.Resource.HERB_LOG);
+                return;
+            }
+
+            List<HerbLogDTO> logList = event.getLogList();
+            for (int i = 0; i < logList.size(); i++) {
+                indexRow(event.getStartRowNum() + i, logList.get(i).getLoggedDatetime().toLocalDate());
+            }
+            persist();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 로그 복제본이 다른 경로로 추가/수정된 로그를 반영한 경우, 다음 조회 시 보충 조회하도록 표시.<br/>
+     * 마지막 행이 같더라도 로그가 수정되어 복제본을 다시 불러온 경우일 수 있으므로 보충 조회에서 마지막 색인 행의 일자를 다시 확인한다.
+     *
+     * @param event 복제본 동기화 완료 이벤트
+     */
+    @EventListener
+    public void onHerbLogReplicaSynced(HerbLogReplicaSyncedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!initialized || stale) {
+                return;
+            }
+            log.debug("Herb log replica synced up to row {} (last indexed row {}). index will be caught up on next lookup.",
+                    event.getLastRowNum(), lastIndexedRowNum);
+            stale = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 색인이 최신 상태가 아닌 경우 로컬 파일 로드 및 보충 조회 수행.
+     */
+    private void ensureCurrent() throws GeneralSecurityException, IOException {
+        lock.readLock().lock();
+        try {
+            if (initialized && !stale) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (!initialized) {
+                load();
+            }
+            if (!initialized || stale) {
+                catchUp();
+                initialized = true;
+                stale = false;
+                herbDataVersion.increment(HerbDataVersion.Resource.HERB_LOG);
+                persist();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 마지막으로 색인된 행부터 시트 끝까지 로그 일자 열을 한 번 조회하여 색인 보충.<br/>
+     * 마지막으로 색인된 행의 일자가 시트와 다를 경우 행이 삭제 또는 수정된 것으로 판단하여 전체 색인을 다시 생성한다.
+     */
+    private void catchUp() throws GeneralSecurityException, IOException {
+        int fromRowNum = lastIndexedRowNum;
+        ValueRange value = herbLogRepository.selectByRange(SheetsInfo.HERB_LOG.getStartColumnRangeFrom(fromRowNum));
+        List<LocalDate> loggedDateList = herbMapper.fromLoggedDateValueRangeByRow(value);
+
+        if (fromRowNum > HEADER_ROW_NUM) {
+            LocalDate expected = rowRangeMapByDate.isEmpty() ? null : rowRangeMapByDate.lastKey();
+            LocalDate actual = loggedDateList.isEmpty() ? null : loggedDateList.get(0);
+            if (expected == null || !expected.equals(actual)) {
+                log.warn("Herb log date index does not match the sheet at row {}. rebuilding index.", fromRowNum);
+                rowRangeMapByDate.clear();
+                loggedDateMapByFirstRowNum.clear();
+                lastIndexedRowNum = HEADER_ROW_NUM;
+                catchUp();
+                return;
+            }
+        }
+
+        // 첫 번째 요소는 이미 색인된 행(또는 헤더 행)
+        for (int i = 1; i < loggedDateList.size(); i++) {
+            indexRow(fromRowNum + i, loggedDateList.get(i));
+        }
+        log.info("Herb log date index caught up to row {} ({} dates)", lastIndexedRowNum, rowRangeMapByDate.size());
+    }
+
+    private void indexRow(int rowNum, LocalDate loggedDate) {
+        if (loggedDate != null) {
+            RowRange rowRange = rowRangeMapByDate.get(loggedDate);
+            if (rowRange == null) {
+                if (!rowRangeMapByDate.isEmpty() && rowRangeMapByDate.lastKey().isAfter(loggedDate)) {
+                    log.warn("Herb log at row {} is older than the latest indexed date {}", rowNum, rowRangeMapByDate.lastKey());
+                }
+                rowRangeMapByDate.put(loggedDate, new RowRange(rowNum, rowNum));
+                loggedDateMapByFirstRowNum.put(rowNum, loggedDate);
+            } else {
+                RowRange extended = rowRange.extendTo(rowNum);
+                if (extended.getFirstRowNum() != rowRange.getFirstRowNum()) {
+                    loggedDateMapByFirstRowNum.remove(rowRange.getFirstRowNum(), loggedDate);
+                    loggedDateMapByFirstRowNum.put(extended.getFirstRowNum(), loggedDate);
+                }
+                rowRangeMapByDate.put(loggedDate, extended);
+            }
+        }
+        lastIndexedRowNum = Math.max(lastIndexedRowNum, rowNum);
+    }
+
+    /**
+     * 로컬 파일에서 색인 로드. 파일이 없거나 다른 스프레드시트의 색인인 경우 무시한다.
+     */
+    private void load() {
+        Path path = Path.of(indexFilePath);
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        try {
+            List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+            if (lines.size() < 2 || !lines.get(0).equals("spreadsheetId\t" + SPREADSHEET_ID)) {
+                log.warn("Ignoring herb log date index file for another spreadsheet: {}", path);
+                return;
+            }
+
+            NavigableMap<LocalDate, RowRange> loaded = new TreeMap<>();
+            int loadedLastRowNum = Integer.parseInt(lines.get(1).split("\t")[1]);
+            for (String line : lines.subList(2, lines.size())) {
+                String[] fields = line.split("\t");
+                loaded.put(LocalDate.parse(fields[0]), new RowRange(Integer.parseInt(fields[1]), Integer.parseInt(fields[2])));
+            }
+
+            rowRangeMapByDate.clear();
+            rowRangeMapByDate.putAll(loaded);
+            loggedDateMapByFirstRowNum.clear();
+            loaded.forEach((loggedDate, rowRange) -> loggedDateMapByFirstRowNum.put(rowRange.getFirstRowNum(), loggedDate));
+            lastIndexedRowNum = loadedLastRowNum;
+            log.info("Herb log date index loaded from {}: last row {}", path, lastIndexedRowNum);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to load herb log date index file {}: {}", path, e.getMessage());
+            rowRangeMapByDate.clear();
+            loggedDateMapByFirstRowNum.clear();
+            lastIndexedRowNum = HEADER_ROW_NUM;
+        }
+    }
+
+    /**
+     * 색인을 로컬 파일에 저장. 실패하더라도 메모리의 색인은 유지한다.
+     */
+    private void persist() {
+        Path path = Path.of(indexFilePath);
+
+        List<String> lines = new ArrayList<>(rowRangeMapByDate.size() + 2);
+        lines.add("spreadsheetId\t" + SPREADSHEET_ID);
+        lines.add("lastRowNum\t" + lastIndexedRowNum);
+        for (Map.Entry<LocalDate, RowRange> entry : rowRangeMapByDate.entrySet()) {
+            lines.add(entry.getKey() + "\t" + entry.getValue().getFirstRowNum() + "\t" + entry.getValue().getLastRowNum());
+        }
+
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            // 저장 도중 종료되더라도 기존 파일이 손상되지 않도록 임시 파일에 기록 후 교체
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.write(tmp, lines, StandardCharsets.UTF_8);
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("Failed to persist herb log date index to {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * 특정 일자의 첫 번째 행과 마지막 행 번호.
+     */
+    @Getter
+    @ToString
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    public static class RowRange {
+
+        private final int firstRowNum;
+        private final int lastRowNum;
+
+        private RowRange extendTo(int rowNum) {
+            return new RowRange(Math.min(firstRowNum, rowNum), Math.max(lastRowNum, rowNum));
+        }
+    }
+}
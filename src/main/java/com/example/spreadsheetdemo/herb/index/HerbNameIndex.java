@@ -0,0 +1,298 @@
+package com.example.spreadsheetdemo.herb.index;
+
+import com.example.spreadsheetdemo.herb.dto.HerbDTO;
+
+import java.util.*;
+
+/**
+ * 약재 이름 검색용 n-gram 역색인.<br/>
+ * 이름의 글자 단위(1-gram)와 두 글자 단위(2-gram) 색인, 그리고 초성 문자열의 같은 색인을 유지하여
+ * 접두어, 부분 문자열, 초성(예: "ㄷㄱ" -> 당귀) 검색을 전체 약재를 순회하지 않고 처리한다.<br/>
+ * 검색어에 초성과 완성된 글자가 섞여 있는 경우(예: "당ㄱ")도 지원한다.<br/>
+ * <br/>
+ * 검색 결과는 다음 순서로 정렬된다.
+ * <ol>
+ *     <li>이름 전체 일치</li>
+ *     <li>접두어 일치</li>
+ *     <li>부분 문자열 일치 (일치 위치가 앞일수록 우선)</li>
+ * </ol>
+ * 순위가 같은 경우 이름이 짧은 약재, 이름, 행 번호 순으로 정렬한다.<br/>
+ * 동기화하지 않으므로 여러 스레드에서 사용하는 경우 호출하는 쪽에서 잠금을 관리해야 한다.
+ */
+public class HerbNameIndex {
+
+    // 완성형 한글 음절 범위와 초성 하나에 해당하는 음절 수 (중성 21 * 종성 28)
+    private static final char HANGUL_SYLLABLE_BEGIN = '가';
+    private static final char HANGUL_SYLLABLE_END = '힣';
+    private static final int SYLLABLES_PER_CHOSUNG = 21 * 28;
+    private static final char[] CHOSUNG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ', 'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    // 순위 (작을수록 우선)
+    private static final int RANK_EXACT = 0;
+    private static final int RANK_PREFIX = 1;
+    private static final int RANK_SUBSTRING = 2;
+
+    private final Map<Integer, Entry> entryMapByRowNum = new HashMap<>();
+    // 정규화된 이름의 n-gram -> 행 번호 집합
+    private final Map<String, Set<Integer>> rowNumSetByNameGram = new HashMap<>();
+    // 초성 문자열의 n-gram -> 행 번호 집합
+    private final Map<String, Set<Integer>> rowNumSetByChosungGram = new HashMap<>();
+
+    /**
+     * 약재 목록으로 색인 생성.
+     *
+     * @param herbList 색인할 약재 목록
+     * @return 생성된 색인
+     */
+    public static HerbNameIndex of(Collection<HerbDTO> herbList) {
+        HerbNameIndex index = new HerbNameIndex();
+        herbList.forEach(index::put);
+        return index;
+    }
+
+    public int size() {
+        return entryMapByRowNum.size();
+    }
+
+    /**
+     * 약재 추가 또는 교체. 행 번호가 같은 약재가 이미 있는 경우 기존 이름의 색인을 제거한 뒤 다시 색인한다.
+     *
+     * @param herb 색인할 약재. 행 번호가 없는 경우 무시한다.
+     */
+    public void put(HerbDTO herb) {
+        if (herb == null || herb.getRowNum() == null) {
+            return;
+        }
+        Entry previous = entryMapByRowNum.get(herb.getRowNum());
+        String normalizedName = normalize(herb.getName());
+        if (previous != null && previous.normalizedName.equals(normalizedName)) {
+            // 이름이 같으면 색인은 그대로 두고 약재 정보만 교체
+            entryMapByRowNum.put(herb.getRowNum(), new Entry(herb, previous.normalizedName, previous.chosungName));
+            return;
+        }
+        if (previous != null) {
+            remove(herb.getRowNum());
+        }
+        Entry entry = new Entry(herb, normalizedName, toChosung(normalizedName));
+        entryMapByRowNum.put(herb.getRowNum(), entry);
+        for (String gram : grams(entry.normalizedName)) {
+            rowNumSetByNameGram.computeIfAbsent(gram, key -> new HashSet<>()).add(herb.getRowNum());
+        }
+        for (String gram : grams(entry.chosungName)) {
+            rowNumSetByChosungGram.computeIfAbsent(gram, key -> new HashSet<>()).add(herb.getRowNum());
+        }
+    }
+
+    /**
+     * 약재 제거.
+     *
+     * @param rowNum 제거할 약재의 행 번호
+     */
+    public void remove(Integer rowNum) {
+        Entry entry = entryMapByRowNum.remove(rowNum);
+        if (entry == null) {
+            return;
+        }
+        removePostings(rowNumSetByNameGram, grams(entry.normalizedName), rowNum);
+        removePostings(rowNumSetByChosungGram, grams(entry.chosungName), rowNum);
+    }
+
+    /**
+     * 약재 이름 검색.
+     *
+     * @param keyword 검색어. 공백과 대소문자는 구분하지 않는다.
+     * @param limit 최대 결과 수
+     * @return 순위 순으로 정렬된 약재 목록. 검색어가 비어있는 경우 빈 리스트.
+     */
+    public List<HerbDTO> search(String keyword, int limit) {
+        String query = normalize(keyword);
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        // 초성이 포함된 검색어는 초성 문자열 색인으로 후보를 찾고, 그렇지 않은 경우 이름 색인 사용
+        boolean hasChosung = query.chars().anyMatch(c -> isChosung((char) c));
+        Set<Integer> candidates = hasChosung
+                ? findCandidates(rowNumSetByChosungGram, toChosung(query))
+                : findCandidates(rowNumSetByNameGram, query);
+
+        List<Match> matchList = new ArrayList<>();
+        for (Integer rowNum : candidates) {
+            Entry entry = entryMapByRowNum.get(rowNum);
+            int position = indexOf(entry.normalizedName, query);
+            if (position < 0) {
+                continue;
+            }
+            int rank = position > 0 ? RANK_SUBSTRING : entry.normalizedName.length() == query.length() ? RANK_EXACT : RANK_PREFIX;
+            matchList.add(new Match(entry, rank, position));
+        }
+
+        return matchList.stream()
+                .sorted(Comparator.comparingInt((Match match) -> match.rank)
+                        .thenComparingInt(match -> match.position)
+                        .thenComparingInt(match -> match.entry.normalizedName.length())
+                        .thenComparing(match -> match.entry.normalizedName)
+                        .thenComparing(match -> match.entry.herb.getRowNum()))
+                .limit(limit)
+                .map(match -> match.entry.herb)
+                .toList();
+    }
+
+    /**
+     * 검색어의 n-gram 이 모두 포함된 행 번호 집합 조회.<br/>
+     * 한 글자 검색어는 1-gram, 그 외에는 2-gram 색인을 사용하며, 가장 작은 집합부터 교집합을 계산한다.
+     */
+    private Set<Integer> findCandidates(Map<String, Set<Integer>> rowNumSetByGram, String query) {
+        List<Set<Integer>> postingList = new ArrayList<>();
+        for (String gram : queryGrams(query)) {
+            Set<Integer> posting = rowNumSetByGram.get(gram);
+            if (posting == null) {
+                return Set.of();
+            }
+            postingList.add(posting);
+        }
+        postingList.sort(Comparator.comparingInt(Set::size));
+
+        Set<Integer> candidates = new HashSet<>(postingList.get(0));
+        for (int i = 1; i < postingList.size() && !candidates.isEmpty(); i++) {
+            candidates.retainAll(postingList.get(i));
+        }
+        return candidates;
+    }
+
+    /**
+     * 이름에서 검색어가 처음 일치하는 위치 조회.
+     * 검색어의 초성은 이름의 같은 위치 음절의 초성과 일치하면 일치하는 것으로 본다.
+     *
+     * @return 일치하는 위치. 일치하지 않는 경우 -1.
+     */
+    private static int indexOf(String name, String query) {
+        for (int start = 0; start + query.length() <= name.length(); start++) {
+            int i = 0;
+            while (i < query.length() && matches(name.charAt(start + i), query.charAt(i))) {
+                i++;
+            }
+            if (i == query.length()) {
+                return start;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean matches(char nameChar, char queryChar) {
+        return nameChar == queryChar || (isChosung(queryChar) && toChosung(nameChar) == queryChar);
+    }
+
+    private static void removePostings(Map<String, Set<Integer>> rowNumSetByGram, Set<String> grams, Integer rowNum) {
+        for (String gram : grams) {
+            Set<Integer> posting = rowNumSetByGram.get(gram);
+            if (posting != null) {
+                posting.remove(rowNum);
+                if (posting.isEmpty()) {
+                    rowNumSetByGram.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * 색인할 1-gram, 2-gram 목록
+     */
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i < value.length(); i++) {
+            grams.add(value.substring(i, i + 1));
+            if (i + 2 <= value.length()) {
+                grams.add(value.substring(i, i + 2));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * 검색어의 후보 조회에 사용할 n-gram 목록
+     */
+    private static Set<String> queryGrams(String query) {
+        if (query.length() == 1) {
+            return Set.of(query);
+        }
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 2 <= query.length(); i++) {
+            grams.add(query.substring(i, i + 2));
+        }
+        return grams;
+    }
+
+    /**
+     * 공백 제거 및 소문자 변환
+     */
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                builder.append(Character.toLowerCase(c));
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 문자열의 완성형 한글 음절을 초성으로 변환. 그 외 문자는 그대로 유지하여 위치가 일치하도록 한다.
+     */
+    private static String toChosung(String value) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = toChosung(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    private static char toChosung(char c) {
+        if (c < HANGUL_SYLLABLE_BEGIN || c > HANGUL_SYLLABLE_END) {
+            return c;
+        }
+        return CHOSUNG[(c - HANGUL_SYLLABLE_BEGIN) / SYLLABLES_PER_CHOSUNG];
+    }
+
+    private static boolean isChosung(char c) {
+        for (char chosung : CHOSUNG) {
+            if (chosung == c) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Entry {
+
+        private final HerbDTO herb;
+        private final String normalizedName;
+        // 정규화된 이름의 초성 문자열
+        private final String chosungName;
+
+        private Entry(HerbDTO herb, String normalizedName, String chosungName) {
+            this.herb = herb;
+            this.normalizedName = normalizedName;
+            this.chosungName = chosungName;
+        }
+    }
+
+    private static final class Match {
+
+        private final Entry entry;
+        private final int rank;
+        private final int position;
+
+        private Match(Entry entry, int rank, int position) {
+            this.entry = entry;
+            this.rank = rank;
+            this.position = position;
+        }
+    }
+}
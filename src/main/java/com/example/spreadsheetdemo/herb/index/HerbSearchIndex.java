@@ -0,0 +1,139 @@
+package com.example.spreadsheetdemo.herb.index;
+
+import com.example.spreadsheetdemo.herb.cache.HerbDataVersion;
+import com.example.spreadsheetdemo.herb.cache.HerbSnapshotCache;
+import com.example.spreadsheetdemo.herb.domain.HerbSnapshot;
+import com.example.spreadsheetdemo.herb.dto.HerbDTO;
+import com.example.spreadsheetdemo.herb.event.HerbsChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 약재 이름 검색 색인.<br/>
+ * 최초 검색 시 약재 스냅샷으로 {@link HerbNameIndex} 를 생성하고, 이후에는 {@link HerbsChangedEvent} 로 변경된 행만 다시 색인한다.<br/>
+ * 다른 경로로 수정되어 스냅샷 버전이 바뀐 경우 주기적인 동기화 시 전체를 다시 색인한다.<br/>
+ * 스냅샷과 별도로 색인을 교체하는 경우 검색 결과가 바뀔 수 있으므로 교체 직후 {@link HerbDataVersion} 을 올린다.
+ * 변경 이벤트로 갱신한 경우에는 이벤트를 발행한 쪽에서 올린다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HerbSearchIndex {
+
+    private final HerbSnapshotCache herbSnapshotCache;
+    private final HerbDataVersion herbDataVersion;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private HerbNameIndex nameIndex = new HerbNameIndex();
+    // 색인에 반영된 스냅샷 버전. 색인되지 않은 경우 null
+    private Long indexedVersion;
+
+    /**
+     * 약재 이름 검색.
+     *
+     * @param keyword 검색어. 이름의 접두어, 부분 문자열 또는 초성(예: "ㄷㄱ")
+     * @param limit 최대 결과 수
+     * @return 순위 순으로 정렬된 약재 목록
+     * @throws GeneralSecurityException on security exception.
+     * @throws IOException on Credentials file read exception.
+     * @see HerbNameIndex#search(String, int)
+     */
+    public List<HerbDTO> search(String keyword, int limit) throws GeneralSecurityException, IOException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return nameIndex.search(keyword, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 약재 등록/수정 완료 시 변경된 행만 다시 색인.
+     *
+     * @param event 약재 변경 이벤트
+     */
+    @EventListener
+    public void onHerbsChanged(HerbsChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (indexedVersion == null) {
+                // 아직 색인되지 않은 경우 최초 검색 시 스냅샷으로 생성
+                return;
+            }
+            event.getChangedHerbList().forEach(nameIndex::put);
+            // 스냅샷 캐시도 같은 이벤트로 갱신되므로 현재 버전을 반영된 버전으로 기록.
+            // 리스너 실행 순서에 따라 이전 버전이 기록될 수 있으며, 이 경우 다음 동기화 시 한 번 재색인된다.
+            indexedVersion = herbSnapshotCache.getVersion();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 스냅샷 버전이 색인된 버전과 다른 경우 전체 재색인.<br/>
+     * 실패하더라도 기존 색인은 유지하며, 다음 주기에 다시 시도한다.
+     */
+    @Scheduled(
+            initialDelayString = "${herb.search.sync-interval:PT1M}",
+            fixedDelayString = "${herb.search.sync-interval:PT1M}"
+    )
+    public void sync() {
+        try {
+            HerbSnapshot snapshot = herbSnapshotCache.getSnapshot();
+            lock.readLock().lock();
+            try {
+                if (indexedVersion != null && indexedVersion == snapshot.getVersion()) {
+                    return;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            rebuild(snapshot);
+        } catch (GeneralSecurityException | IOException | RuntimeException e) {
+            log.warn("Failed to sync herb search index: {}", e.getMessage());
+        }
+    }
+
+    private void ensureLoaded() throws GeneralSecurityException, IOException {
+        lock.readLock().lock();
+        try {
+            if (indexedVersion != null) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        rebuild(herbSnapshotCache.getSnapshot());
+    }
+
+    /**
+     * 스냅샷으로 색인을 새로 생성하여 교체.<br/>
+     * 색인은 잠금 밖에서 생성하며, 그 사이 이벤트로 스냅샷이 갱신된 경우 이미 반영된 변경 사항을 덮어쓰지 않도록 교체하지 않는다.
+     */
+    private void rebuild(HerbSnapshot snapshot) {
+        HerbNameIndex rebuilt = HerbNameIndex.of(snapshot.getHerbList());
+        lock.writeLock().lock();
+        try {
+            if (herbSnapshotCache.getVersion() != snapshot.getVersion() && indexedVersion != null) {
+                log.debug("Herb snapshot changed while rebuilding search index. keep version {}", indexedVersion);
+                return;
+            }
+            nameIndex = rebuilt;
+            indexedVersion = snapshot.getVersion();
+            herbDataVersion.increment(HerbDataVersion.Resource.HERB);
+            log.info("Herb search index built from snapshot version {}: {} items", snapshot.getVersion(), rebuilt.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
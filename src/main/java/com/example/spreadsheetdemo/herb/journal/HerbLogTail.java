@@ -0,0 +1,74 @@
+package com.example.spreadsheetdemo.herb.journal;
+
+import com.example.spreadsheetdemo.common.SheetsInfo;
+import com.example.spreadsheetdemo.herb.dto.HerbLogDTO;
+import com.example.spreadsheetdemo.herb.mapper.HerbMapper;
+import com.example.spreadsheetdemo.herb.repository.HerbLogRepository;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 로그 시트의 마지막 행에서 이미 기록된 로그 확인.<br/>
+ * 행 추가(append)는 응답을 받지 못했더라도 시트에 반영되었을 수 있으므로, 로그를 다시 기록하기 전에 누락된 로그만 골라낸다.<br/>
+ * 응답 없이 반영된 행은 로그 추가 이벤트가 발행되지 않아 색인에 없을 수 있으므로, 마지막 행 번호는 시트에서 직접 조회한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class HerbLogTail {
+
+    private static final int HEADER_ROW_NUM = 1;
+
+    private final HerbLogRepository herbLogRepository;
+    private final HerbMapper herbMapper;
+
+    /**
+     * 이미 기록된 로그를 찾기 위해 조회할 로그 시트의 마지막 행 수
+     */
+    @Value("${herb.journal.recovery.log-tail-rows:500}")
+    private int logTailRows;
+
+    /**
+     * 로그 시트의 마지막 {@link #logTailRows} 개 행에서 찾을 수 없는 로그만 반환.
+     *
+     * @param logDTOList 기록해야 하는 로그 목록
+     * @return 아직 기록되지 않은 로그 목록
+     * @throws GeneralSecurityException on security exception.
+     * @throws IOException on Credentials file read exception.
+     */
+    public List<HerbLogDTO> findMissingLogs(List<HerbLogDTO> logDTOList) throws GeneralSecurityException, IOException {
+        if (logDTOList.isEmpty()) {
+            return logDTOList;
+        }
+        int lastRowNum = herbLogRepository.getLastRowNumber();
+        if (lastRowNum <= HEADER_ROW_NUM) {
+            return logDTOList;
+        }
+
+        int startRowNum = Math.max(HEADER_ROW_NUM + 1, lastRowNum - logTailRows + 1);
+        ValueRange tail = herbLogRepository.selectByRange(SheetsInfo.HERB_LOG.getSpecificRowRange(startRowNum, lastRowNum));
+        List<HerbLogDTO> tailLogList = tail == null || tail.getValues() == null ? List.of() : herbMapper.toHerbLogDTOList(tail);
+
+        return logDTOList.stream()
+                .filter(expected -> tailLogList.stream().noneMatch(actual -> isSameLog(expected, actual)))
+                .toList();
+    }
+
+    /**
+     * 로그 비교. 시트에 기록된 시각은 초 단위까지만 비교한다.
+     */
+    private static boolean isSameLog(HerbLogDTO expected, HerbLogDTO actual) {
+        return actual.getLoggedDatetime() != null
+                && expected.getLoggedDatetime().truncatedTo(ChronoUnit.SECONDS).equals(actual.getLoggedDatetime().truncatedTo(ChronoUnit.SECONDS))
+                && Objects.equals(expected.getName(), actual.getName())
+                && Objects.equals(expected.getBeforeAmount(), actual.getBeforeAmount())
+                && Objects.equals(expected.getAfterAmount(), actual.getAfterAmount());
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.spreadsheetdemo.herb.journal;
+
+import com.example.spreadsheetdemo.herb.dto.HerbLogDTO;
+import com.example.spreadsheetdemo.herb.dto.HerbRegisterDTO;
+import com.example.spreadsheetdemo.herb.dto.HerbUpdateDTO;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 저널에 기록된 약재 등록/수정 트랜잭션 하나의 정보와 진행 상태.
+ *
+ * @see HerbSagaJournal
+ */
+@Getter
+@ToString
+public class HerbSagaEntry {
+
+    public enum Type {
+        INSERT, UPDATE
+    }
+
+    private final String sagaId;
+    private final Type type;
+
+    /**
+     * 트랜잭션 시작 시각. 이 트랜잭션이 기록하는 로그의 기록 시각으로 사용한다.
+     */
+    private final LocalDateTime loggedDatetime;
+
+    /**
+     * 등록할 약재 정보. {@link Type#INSERT} 인 경우에만 존재.
+     */
+    private final HerbRegisterDTO registerDTO;
+
+    /**
+     * 수정할 약재 정보 목록. {@link Type#UPDATE} 인 경우에만 존재.
+     */
+    private final List<HerbUpdateDTO> updateDTOList;
+
+    /**
+     * 약재 시트 쓰기 완료 여부
+     */
+    private boolean herbWritten;
+
+    /**
+     * 약재 시트 쓰기 완료 후 반환된 범위. 약재 등록 롤백 시 사용.
+     */
+    private String herbWrittenRange;
+
+    /**
+     * 로그를 write-behind 대기열에 넣었는지 여부
+     */
+    private boolean logQueued;
+
+    private HerbSagaEntry(String sagaId, Type type, LocalDateTime loggedDatetime, HerbRegisterDTO registerDTO, List<HerbUpdateDTO> updateDTOList) {
+        this.sagaId = sagaId;
+        this.type = type;
+        this.loggedDatetime = loggedDatetime;
+        this.registerDTO = registerDTO;
+        this.updateDTOList = updateDTOList;
+    }
+
+    static HerbSagaEntry ofInsert(String sagaId, LocalDateTime loggedDatetime, HerbRegisterDTO registerDTO) {
+        return new HerbSagaEntry(sagaId, Type.INSERT, loggedDatetime, registerDTO, List.of());
+    }
+
+    static HerbSagaEntry ofUpdate(String sagaId, LocalDateTime loggedDatetime, List<HerbUpdateDTO> updateDTOList) {
+        return new HerbSagaEntry(sagaId, Type.UPDATE, loggedDatetime, null, new ArrayList<>(updateDTOList));
+    }
+
+    /**
+     * 이 트랜잭션이 로그 시트에 기록해야 하는 로그 목록.<br/>
+     * 약재 등록은 0 에서 등록 수량으로의 변화를, 약재 수정은 수량이 변경된 약재의 변화만 기록한다.
+     *
+     * @return 기록할 로그 목록. 기록할 로그가 없는 경우 빈 리스트.
+     */
+    public List<HerbLogDTO> toLogDTOList() {
+        if (type == Type.INSERT) {
+            return List.of(
+                    HerbLogDTO.builder()
+                            .loggedDatetime(loggedDatetime)
+                            .name(registerDTO.getName())
+                            .beforeAmount(0L)
+                            .afterAmount(registerDTO.getAmount())
+                            .build()
+            );
+        }
+
+        return updateDTOList.stream()
+                .filter(HerbUpdateDTO::isAmountChanged)
+                .map(dto -> HerbLogDTO.builder()
+                        .loggedDatetime(loggedDatetime)
+                        .name(dto.getName())
+                        .beforeAmount(dto.getOriginalAmount())
+                        .afterAmount(dto.getNewAmount())
+                        .build())
+                .toList();
+    }
+
+    void addUpdateDTO(HerbUpdateDTO dto) {
+        updateDTOList.add(dto);
+    }
+
+    void markHerbWritten(String range) {
+        this.herbWritten = true;
+        this.herbWrittenRange = range;
+    }
+
+    void markLogQueued() {
+        this.logQueued = true;
+    }
+}
@@ -0,0 +1,420 @@
+package com.example.spreadsheetdemo.herb.journal;
+
+import com.example.spreadsheetdemo.herb.dto.HerbRegisterDTO;
+import com.example.spreadsheetdemo.herb.dto.HerbUpdateDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 약재 등록/수정 트랜잭션의 로컬 선기록(write-ahead) 저널.<br/>
+ * 각 단계를 실행하기 전에 append-only 파일에 기록하여, 단계 사이에 JVM 이 종료되더라도 재시작 시
+ * {@link HerbSagaRecovery} 가 완료되지 않은 트랜잭션을 이어서 처리하거나 보상할 수 있게 한다.<br/>
+ * <br/>
+ * 기록 형식 (한 줄에 한 레코드, 각 필드는 URL 인코딩, {@code null} 은 {@code ~}):
+ * <pre>
+ * B  sagaId INSERT loggedDatetime name amount lastStoredDate memo
+ * B  sagaId UPDATE loggedDatetime rowNum name originalAmount newAmount originalLastStoredDate newLastStoredDate originalMemo newMemo
+ * S  sagaId HERB_WRITTEN range
+ * S  sagaId LOG_QUEUED
+ * E  sagaId COMMITTED | ABORTED | COMPENSATED
+ * </pre>
+ * 다음 단계 진행 여부를 결정하는 레코드(B, S)는 fsync 완료까지 기다리고, 종료 레코드(E)는 기다리지 않는다.<br/>
+ * 모든 레코드는 전용 스레드가 모아서 한 번에 쓰고 fsync 하므로(group commit), 동시 요청이 많을수록 fsync 한 번당 처리량이 늘어난다.
+ * 진행 중인 트랜잭션이 없고 파일 크기가 {@code herb.journal.compact-threshold-bytes} 를 넘으면 파일을 비운다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HerbSagaJournal {
+
+    public enum EndState {
+        COMMITTED, ABORTED, COMPENSATED
+    }
+
+    @Value("${herb.journal.path:data/herb_saga.journal}")
+    private String journalFilePath;
+
+    @Value("${herb.journal.sync-timeout:PT5S}")
+    private Duration syncTimeout;
+
+    @Value("${herb.journal.compact-threshold-bytes:1048576}")
+    private long compactThresholdBytes;
+
+    private static final String NULL_FIELD = "~";
+    private static final String FIELD_SEPARATOR = "\t";
+
+    private final BlockingQueue<PendingRecord> queue = new LinkedBlockingQueue<>();
+    // 기록 스레드에서만 접근
+    private final Set<String> openSagaIds = new HashSet<>();
+
+    private List<HerbSagaEntry> incompleteSagaList = List.of();
+    private FileChannel channel;
+    private Thread writerThread;
+    private volatile boolean running = false;
+
+    /**
+     * 기존 저널 파일에서 완료되지 않은 트랜잭션을 읽어두고 기록 스레드를 시작한다.
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        Path path = Path.of(journalFilePath);
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        // 마지막 줄바꿈까지의 길이. 그 이후는 기록 도중 종료되어 잘린 레코드
+        int completeLength = 0;
+        if (Files.exists(path)) {
+            byte[] content = Files.readAllBytes(path);
+            completeLength = lastLineEnd(content);
+            incompleteSagaList = readIncompleteSagas(new String(content, 0, completeLength, StandardCharsets.UTF_8).lines().toList());
+            incompleteSagaList.forEach(saga -> openSagaIds.add(saga.getSagaId()));
+            if (!incompleteSagaList.isEmpty()) {
+                log.warn("Found {} incomplete herb sagas in journal {}", incompleteSagaList.size(), path);
+            }
+        }
+
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (channel.size() > completeLength) {
+            // 잘린 레코드 뒤에 새 레코드를 이어 쓰면 새 레코드까지 해석할 수 없게 되므로 잘라냄
+            log.warn("Discarding {} bytes of truncated herb saga journal record", channel.size() - completeLength);
+            channel.truncate(completeLength);
+            channel.force(true);
+        }
+        channel.position(channel.size());
+
+        running = true;
+        writerThread = new Thread(this::writeLoop, "herb-saga-journal");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * 애플리케이션 시작 시 저널에서 발견된, 완료되지 않은 트랜잭션 목록.
+     *
+     * @return 완료되지 않은 트랜잭션 목록
+     */
+    public List<HerbSagaEntry> getIncompleteSagaList() {
+        return incompleteSagaList;
+    }
+
+    /**
+     * 약재 등록 트랜잭션 시작 기록. fsync 완료 후 반환한다.
+     *
+     * @param registerDTO 등록할 약재 정보
+     * @return 시작된 트랜잭션
+     * @throws IOException 저널 기록에 실패한 경우
+     */
+    public HerbSagaEntry beginInsert(HerbRegisterDTO registerDTO) throws IOException {
+        HerbSagaEntry saga = HerbSagaEntry.ofInsert(UUID.randomUUID().toString(), LocalDateTime.now(), registerDTO);
+        appendSync(saga.getSagaId(), "B", line(
+                "B", saga.getSagaId(), HerbSagaEntry.Type.INSERT.name(), saga.getLoggedDatetime(),
+                registerDTO.getName(), registerDTO.getAmount(), registerDTO.getLastStoredDate(), registerDTO.getMemo()
+        ));
+        return saga;
+    }
+
+    /**
+     * 약재 수정 트랜잭션 시작 기록. fsync 완료 후 반환한다.
+     *
+     * @param updateDTOList 수정할 약재 정보 목록
+     * @return 시작된 트랜잭션
+     * @throws IOException 저널 기록에 실패한 경우
+     */
+    public HerbSagaEntry beginUpdate(List<HerbUpdateDTO> updateDTOList) throws IOException {
+        HerbSagaEntry saga = HerbSagaEntry.ofUpdate(UUID.randomUUID().toString(), LocalDateTime.now(), updateDTOList);
+
+        // 여러 행도 한 번의 쓰기로 기록
+        StringBuilder record = new StringBuilder();
+        for (HerbUpdateDTO dto : updateDTOList) {
+            record.append(line(
+                    "B", saga.getSagaId(), HerbSagaEntry.Type.UPDATE.name(), saga.getLoggedDatetime(),
+                    dto.getRowNum(), dto.getName(),
+                    dto.getOriginalAmount(), dto.getNewAmount(),
+                    dto.getOriginalLastStoredDate(), dto.getNewLastStoredDate(),
+                    dto.getOriginalMemo(), dto.getNewMemo()
+            ));
+        }
+        appendSync(saga.getSagaId(), "B", record.toString());
+        return saga;
+    }
+
+    /**
+     * 약재 시트 쓰기 완료 기록. 로그 기록 단계 전에 호출하며, fsync 완료 후 반환한다.
+     *
+     * @param sagaId 트랜잭션 ID
+     * @param range 쓰기 완료된 범위
+     * @throws IOException 저널 기록에 실패한 경우
+     */
+    public void herbWritten(String sagaId, String range) throws IOException {
+        appendSync(sagaId, "S", line("S", sagaId, "HERB_WRITTEN", range));
+    }
+
+    /**
+     * 로그를 write-behind 대기열에 넣기 직전에 호출하며, fsync 완료 후 반환한다.<br/>
+     * 이 기록이 있는 트랜잭션은 재시작 시 약재 시트가 수정된 상태라면 보상하지 않고 누락된 로그를 마저 기록한다.
+     *
+     * @param sagaId 트랜잭션 ID
+     * @throws IOException 저널 기록에 실패한 경우
+     */
+    public void logQueued(String sagaId) throws IOException {
+        appendSync(sagaId, "S", line("S", sagaId, "LOG_QUEUED"));
+    }
+
+    /**
+     * 트랜잭션 종료 기록. fsync 를 기다리지 않는다.<br/>
+     * 종료 기록이 유실되더라도 재시작 시 {@link HerbSagaRecovery} 가 시트 상태를 확인하여 다시 종료 처리한다.
+     *
+     * @param sagaId 트랜잭션 ID
+     * @param endState 종료 상태
+     */
+    public void end(String sagaId, EndState endState) {
+        queue.add(new PendingRecord(sagaId, "E", line("E", sagaId, endState.name()), null));
+    }
+
+    private void appendSync(String sagaId, String recordType, String record) throws IOException {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        if (!running) {
+            throw new IOException("약재 트랜잭션 저널이 종료되었습니다.");
+        }
+        queue.add(new PendingRecord(sagaId, recordType, record, done));
+        try {
+            done.get(syncTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("약재 트랜잭션 저널 기록이 중단되었습니다.");
+        } catch (ExecutionException e) {
+            throw new IOException("약재 트랜잭션 저널 기록에 실패했습니다.", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IOException("약재 트랜잭션 저널 기록 시간이 초과되었습니다.", e);
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingRecord> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingRecord first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // 기다리는 동안 쌓인 레코드를 모두 모아 한 번에 기록
+                queue.drainTo(batch);
+
+                writeAndForce(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                running = false;
+            }
+        }
+    }
+
+    private void writeAndForce(List<PendingRecord> batch) {
+        StringBuilder content = new StringBuilder();
+        for (PendingRecord record : batch) {
+            content.append(record.content);
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            log.error("[CRITICAL] Failed to write herb saga journal: {}", e.getMessage());
+            for (PendingRecord record : batch) {
+                if (record.done != null) {
+                    record.done.completeExceptionally(e);
+                }
+            }
+            return;
+        }
+
+        for (PendingRecord record : batch) {
+            if (record.recordType.equals("B")) {
+                openSagaIds.add(record.sagaId);
+            } else if (record.recordType.equals("E")) {
+                openSagaIds.remove(record.sagaId);
+            }
+            if (record.done != null) {
+                record.done.complete(null);
+            }
+        }
+
+        compactIfIdle();
+    }
+
+    /**
+     * 진행 중인 트랜잭션이 없고 파일이 임계 크기를 넘으면 파일을 비운다.
+     */
+    private void compactIfIdle() {
+        try {
+            if (openSagaIds.isEmpty() && channel.size() > compactThresholdBytes) {
+                channel.truncate(0);
+                channel.force(true);
+                log.info("Herb saga journal compacted: {}", journalFilePath);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to compact herb saga journal: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException, IOException {
+        running = false;
+        if (writerThread != null) {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * 저널 레코드를 읽어 종료 레코드가 없는 트랜잭션만 반환.
+     * 해석할 수 없는 줄은 무시한다. (기록 도중 종료되어 잘린 마지막 레코드는 호출 전에 제외된다)
+     */
+    private List<HerbSagaEntry> readIncompleteSagas(List<String> lines) {
+        Map<String, HerbSagaEntry> sagaMapById = new LinkedHashMap<>();
+        for (String line : lines) {
+            try {
+                String[] fields = line.split(FIELD_SEPARATOR, -1);
+                String sagaId = decode(fields[1]);
+                switch (fields[0]) {
+                    case "B":
+                        readBeginRecord(sagaMapById, sagaId, fields);
+                        break;
+                    case "S":
+                        HerbSagaEntry saga = sagaMapById.get(sagaId);
+                        if (saga == null) {
+                            break;
+                        }
+                        if (fields[2].equals("HERB_WRITTEN")) {
+                            saga.markHerbWritten(decode(fields[3]));
+                        } else if (fields[2].equals("LOG_QUEUED")) {
+                            saga.markLogQueued();
+                        }
+                        break;
+                    case "E":
+                        sagaMapById.remove(sagaId);
+                        break;
+                    default:
+                        log.warn("Unknown herb saga journal record: {}", line);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Skipping unreadable herb saga journal record: {}", line);
+            }
+        }
+        return new ArrayList<>(sagaMapById.values());
+    }
+
+    private void readBeginRecord(Map<String, HerbSagaEntry> sagaMapById, String sagaId, String[] fields) {
+        HerbSagaEntry.Type type = HerbSagaEntry.Type.valueOf(fields[2]);
+        LocalDateTime loggedDatetime = LocalDateTime.parse(decode(fields[3]));
+
+        if (type == HerbSagaEntry.Type.INSERT) {
+            HerbRegisterDTO registerDTO = HerbRegisterDTO.builder()
+                    .name(decode(fields[4]))
+                    .amount(decodeLong(fields[5]))
+                    .lastStoredDate(decodeDate(fields[6]))
+                    .memo(decode(fields[7]))
+                    .build();
+            sagaMapById.put(sagaId, HerbSagaEntry.ofInsert(sagaId, loggedDatetime, registerDTO));
+            return;
+        }
+
+        HerbUpdateDTO updateDTO = HerbUpdateDTO.builder()
+                .rowNum(Integer.valueOf(decode(fields[4])))
+                .name(decode(fields[5]))
+                .originalAmount(decodeLong(fields[6]))
+                .newAmount(decodeLong(fields[7]))
+                .originalLastStoredDate(decodeDate(fields[8]))
+                .newLastStoredDate(decodeDate(fields[9]))
+                .originalMemo(decode(fields[10]))
+                .newMemo(decode(fields[11]))
+                .build();
+        HerbSagaEntry saga = sagaMapById.get(sagaId);
+        if (saga == null) {
+            sagaMapById.put(sagaId, HerbSagaEntry.ofUpdate(sagaId, loggedDatetime, List.of(updateDTO)));
+        } else {
+            saga.addUpdateDTO(updateDTO);
+        }
+    }
+
+    private static int lastLineEnd(byte[] content) {
+        for (int i = content.length - 1; i >= 0; i--) {
+            if (content[i] == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private static String line(Object... fields) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                sb.append(FIELD_SEPARATOR);
+            }
+            sb.append(fields[i] == null ? NULL_FIELD : URLEncoder.encode(fields[i].toString(), StandardCharsets.UTF_8));
+        }
+        return sb.append('\n').toString();
+    }
+
+    private static String decode(String field) {
+        return NULL_FIELD.equals(field) ? null : URLDecoder.decode(field, StandardCharsets.UTF_8);
+    }
+
+    private static Long decodeLong(String field) {
+        String value = decode(field);
+        return value == null ? null : Long.valueOf(value);
+    }
+
+    private static LocalDate decodeDate(String field) {
+        String value = decode(field);
+        return value == null ? null : LocalDate.parse(value);
+    }
+
+    @RequiredArgsConstructor
+    private static class PendingRecord {
+        private final String sagaId;
+        private final String recordType;
+        private final String content;
+        // fsync 완료를 기다리지 않는 레코드는 null
+        private final CompletableFuture<Void> done;
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.spreadsheetdemo.herb.journal;
+
+import com.example.spreadsheetdemo.common.SheetsInfo;
+import com.example.spreadsheetdemo.herb.cache.HerbSnapshotCache;
+import com.example.spreadsheetdemo.herb.dto.HerbDTO;
+import com.example.spreadsheetdemo.herb.dto.HerbLogDTO;
+import com.example.spreadsheetdemo.herb.dto.HerbUpdateDTO;
+import com.example.spreadsheetdemo.herb.mapper.HerbMapper;
+import com.example.spreadsheetdemo.herb.repository.HerbRepository;
+import com.example.spreadsheetdemo.herb.service.HerbLogAppender;
+import com.example.spreadsheetdemo.herb.service.HerbRowLocks;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 애플리케이션 시작 시 {@link HerbSagaJournal} 에 남아있는, 완료되지 않은 약재 등록/수정 트랜잭션 복구.<br/>
+ * 저널의 진행 기록만으로는 마지막 단계의 반영 여부를 알 수 없으므로, 스프레드시트의 실제 상태를 확인하여 처리한다.
+ * <ul>
+ *     <li>약재 시트에 수정 사항이 반영되지 않은 경우: 아무것도 하지 않고 중단 처리.</li>
+ *     <li>약재 등록 중 삽입된 행이 저널에 기록되지 않은 경우: 같은 내용의 기존 약재와 구분할 수 없으므로 시트는 건드리지 않고 중단 처리하며, 직접 확인하도록 로그를 남긴다.</li>
+ *     <li>로그를 대기열에 넣었거나 로그 일부가 이미 기록된 경우: 누락된 로그만 마저 기록. (roll forward)</li>
+ *     <li>그 외: 약재 시트의 수정 사항을 되돌림. (보상)</li>
+ * </ul>
+ * 복구에 실패한 트랜잭션은 저널에 그대로 남아 다음 시작 시 다시 시도한다.<br/>
+ * 복구는 요청 처리와 동시에 수행될 수 있으므로, 복구하는 행의 잠금({@link HerbRowLocks})을 획득한 상태에서 확인하고 수정한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HerbSagaRecovery implements ApplicationRunner {
+
+    private final HerbSagaJournal herbSagaJournal;
+    private final HerbRepository herbRepository;
+    private final HerbMapper herbMapper;
+    private final HerbLogTail herbLogTail;
+    private final HerbLogAppender herbLogAppender;
+    private final HerbRowLocks herbRowLocks;
+    private final HerbSnapshotCache herbSnapshotCache;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<HerbSagaEntry> incompleteSagaList = herbSagaJournal.getIncompleteSagaList();
+        if (incompleteSagaList.isEmpty()) {
+            return;
+        }
+
+        for (HerbSagaEntry saga : incompleteSagaList) {
+            try {
+                recover(saga);
+            } catch (GeneralSecurityException | IOException | RuntimeException e) {
+                log.error("[CRITICAL] Failed to recover herb saga {}: {}", saga, e.getMessage());
+            }
+        }
+        // 복구 과정에서 약재 시트가 수정되었을 수 있으므로 스냅샷을 다시 불러오도록 함
+        herbSnapshotCache.invalidate();
+    }
+
+    private void recover(HerbSagaEntry saga) throws GeneralSecurityException, IOException {
+        log.warn("Recovering incomplete herb saga: {}", saga);
+        if (saga.getType() == HerbSagaEntry.Type.INSERT) {
+            if (saga.getHerbWrittenRange() == null) {
+                // 삽입 응답을 받기 전에 종료된 경우. 내용이 같은 행을 찾아 지우면 기존 약재를 지울 수 있으므로 보상하지 않음
+                herbSagaJournal.end(saga.getSagaId(), HerbSagaJournal.EndState.ABORTED);
+                log.error("[CRITICAL] Herb insert saga {} ended before the inserted row was journaled. marked as aborted. "
+                        + "check the herb sheet manually for a row registered as {}", saga.getSagaId(), saga.getRegisterDTO());
+                return;
+            }
+            int insertedRowNum = herbMapper.extractRowNumFromRange(saga.getHerbWrittenRange());
+            List<ReentrantLock> acquired = herbRowLocks.lock(insertedRowNum);
+            try {
+                recoverInsert(saga, insertedRowNum);
+            } finally {
+                herbRowLocks.unlockAll(acquired);
+            }
+            return;
+        }
+
+        List<ReentrantLock> acquired = herbRowLocks.lockAll(saga.getUpdateDTOList().stream().map(HerbUpdateDTO::getRowNum).toList());
+        try {
+            recoverUpdate(saga);
+        } finally {
+            herbRowLocks.unlockAll(acquired);
+        }
+    }
+
+    /**
+     * 약재 등록 트랜잭션 복구.<br/>
+     * 저널에 기록된 삽입 행이 등록 정보와 일치하는 경우에만 반영된 것으로 본다.
+     */
+    private void recoverInsert(HerbSagaEntry saga, int insertedRowNum) throws GeneralSecurityException, IOException {
+        HerbDTO actual = toSingleHerbDTO(herbRepository.selectByRangeForUpdate(SheetsInfo.HERB.getSpecificRowNum(insertedRowNum)));
+        if (!isSameContent(HerbDTO.of(insertedRowNum, saga.getRegisterDTO()), actual)) {
+            herbSagaJournal.end(saga.getSagaId(), HerbSagaJournal.EndState.ABORTED);
+            log.info("Herb insert saga {} was not applied. marked as aborted", saga.getSagaId());
+            return;
+        }
+
+        List<HerbLogDTO> missingLogList = herbLogTail.findMissingLogs(saga.toLogDTOList());
+        if (saga.isLogQueued() || missingLogList.isEmpty()) {
+            rollForward(saga, missingLogList);
+            return;
+        }
+
+        herbRepository.deleteByRange(SheetsInfo.HERB.getSpecificRowNum(insertedRowNum));
+        herbSagaJournal.end(saga.getSagaId(), HerbSagaJournal.EndState.COMPENSATED);
+        log.info("Herb insert saga {} compensated. cleared row {}", saga.getSagaId(), insertedRowNum);
+    }
+
+    /**
+     * 약재 수정 트랜잭션 복구.<br/>
+     * 보상 시에는 수정 후 값과 일치하는 행만 되돌리며, 그 사이 다른 요청으로 수정된 행은 건드리지 않는다.
+     */
+    private void recoverUpdate(HerbSagaEntry saga) throws GeneralSecurityException, IOException {
+        List<HerbUpdateDTO> updateDTOList = saga.getUpdateDTOList();
+        List<String> ranges = updateDTOList.stream().map(dto -> SheetsInfo.HERB.getSpecificRowNum(dto.getRowNum())).toList();
+        List<ValueRange> actualValueList = herbRepository.batchSelectByRanges(ranges);
+
+        List<HerbUpdateDTO> appliedList = new ArrayList<>();
+        for (int i = 0; i < updateDTOList.size(); i++) {
+            if (isSameContent(HerbDTO.fromUpdated(updateDTOList.get(i)), toSingleHerbDTO(actualValueList.get(i)))) {
+                appliedList.add(updateDTOList.get(i));
+            }
+        }
+
+        if (appliedList.isEmpty()) {
+            herbSagaJournal.end(saga.getSagaId(), HerbSagaJournal.EndState.ABORTED);
+            log.info("Herb update saga {} was not applied. marked as aborted", saga.getSagaId());
+            return;
+        }
+
+        List<HerbLogDTO> logDTOList = saga.toLogDTOList(), missingLogList = herbLogTail.findMissingLogs(logDTOList);
+        if (saga.isLogQueued() || missingLogList.size() < logDTOList.size() || logDTOList.isEmpty()) {
+            rollForward(saga, missingLogList);
+            return;
+        }
+
+        Map<String, List<List<Object>>> contentMapByRange = new LinkedHashMap<>();
+        for (HerbUpdateDTO dto : appliedList) {
+            contentMapByRange.put(SheetsInfo.HERB.getSpecificRowNum(dto.getRowNum()), herbMapper.fromHerbUpdateDTOForRollback(dto));
+        }
+        herbRepository.batchUpdateByRanges(contentMapByRange);
+        herbSagaJournal.end(saga.getSagaId(), HerbSagaJournal.EndState.COMPENSATED);
+        log.info("Herb update saga {} compensated. restored {} rows", saga.getSagaId(), appliedList.size());
+    }
+
+    /**
+     * 누락된 로그를 기록하여 트랜잭션 완료. 완료 기록은 {@link HerbLogAppender} 가 로그 기록 후 남긴다.
+     */
+    private void rollForward(HerbSagaEntry saga, List<HerbLogDTO> missingLogList) throws GeneralSecurityException, IOException {
+        herbLogAppender.append(saga.getSagaId(), missingLogList);
+        log.info("Herb saga {} rolled forward with {} missing logs", saga.getSagaId(), missingLogList.size());
+    }
+
+    private List<HerbDTO> toHerbDTOList(ValueRange value) {
+        if (value == null || value.getValues() == null) {
+            return List.of();
+        }
+        return herbMapper.toHerbDTOList(value);
+    }
+
+    private HerbDTO toSingleHerbDTO(ValueRange value) {
+        List<HerbDTO> herbDTOList = toHerbDTOList(value);
+        return herbDTOList.isEmpty() ? null : herbDTOList.get(0);
+    }
+
+    /**
+     * 약재 정보 비교. 빈 메모 셀은 조회 시 {@code null} 로 읽히므로 {@code null} 과 빈 문자열은 같은 값으로 본다.
+     */
+    private static boolean isSameContent(HerbDTO expected, HerbDTO actual) {
+        return actual != null
+                && Objects.equals(expected.getName(), actual.getName())
+                && Objects.equals(expected.getAmount(), actual.getAmount())
+                && Objects.equals(expected.getLastStoredDate(), actual.getLastStoredDate())
+                && Objects.equals(normalizeMemo(expected.getMemo()), normalizeMemo(actual.getMemo()));
+    }
+
+    private static String normalizeMemo(String memo) {
+        return memo == null ? "" : memo;
+    }
+}
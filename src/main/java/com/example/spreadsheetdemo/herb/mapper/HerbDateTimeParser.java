@@ -0,0 +1,191 @@
+package com.example.spreadsheetdemo.herb.mapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+
+/**
+ * 스프레드시트의 일자/일시 문자열 파서.<br/>
+ * 아래 {@link java.time.format.DateTimeFormatter} 패턴(기본 설정: STRICT 파싱, SMART 해석)을 순서대로 시도한 결과와 동일한 값을 반환하되,
+ * 포맷터나 예외를 생성하지 않고 문자열을 한 번만 훑어 처리한다.
+ * <ul>
+ *     <li>{@code yyyy.M.d}, {@code yyyy. M. d}, {@code yyyy-M-d}, {@code yyyy/M/d}, {@code yyyyMd}</li>
+ *     <li>위 패턴 뒤에 {@code " H:m:s"} 가 붙은 일시 패턴</li>
+ * </ul>
+ * 기존 패턴의 해석 규칙을 그대로 따른다.
+ * <ul>
+ *     <li>연도는 숫자 4자리이며, 4자리를 넘는 경우에만 {@code +} 부호와 함께 19자리까지 허용한다.
+ *     {@code yyyyMd} 는 연도가 뒤의 숫자까지 모두 읽으므로 어떤 입력도 해석하지 못한다.</li>
+ *     <li>월/일/시/분/초는 1~19자리 숫자이며, 앞자리 0 을 허용한다.</li>
+ *     <li>일자가 해당 월의 마지막 날을 넘는 경우(31일 이하) 마지막 날로 조정한다.</li>
+ *     <li>{@code 24:0:0} 은 다음 날 0시로 해석한다.</li>
+ * </ul>
+ */
+final class HerbDateTimeParser {
+
+    private static final int YEAR_WIDTH = 4;
+    private static final int MAX_FIELD_WIDTH = 19;
+    // 모든 필드의 허용 범위보다 큰 값. 자릿수가 많아도 overflow 되지 않도록 이 값에서 멈춘다.
+    private static final long VALUE_CAP = 10_000_000_000L;
+
+    private HerbDateTimeParser() {
+    }
+
+    /**
+     * 일자 문자열 해석.
+     *
+     * @param text 일자 문자열 (예: "2024. 1. 5")
+     * @return 해석된 일자. 지원하지 않는 형식이거나 유효하지 않은 일자인 경우 {@code null}.
+     */
+    static LocalDate parseDate(String text) {
+        if (text == null) {
+            return null;
+        }
+        return parseDate(text, text.length());
+    }
+
+    /**
+     * 일시 문자열 해석.
+     *
+     * @param text 일시 문자열 (예: "2024. 1. 5 13:04:05")
+     * @return 해석된 일시. 지원하지 않는 형식이거나 유효하지 않은 일시인 경우 {@code null}.
+     */
+    static LocalDateTime parseDateTime(String text) {
+        if (text == null) {
+            return null;
+        }
+        // 시각에는 공백이 없으므로 마지막 공백이 일자와 시각의 구분자
+        int separator = text.lastIndexOf(' ');
+        if (separator < 0) {
+            return null;
+        }
+        LocalDate date = parseDate(text, separator);
+        if (date == null) {
+            return null;
+        }
+
+        int end = text.length(), pos = separator + 1;
+
+        int hourEnd = digitsEnd(text, pos, end);
+        if (!isFieldWidth(hourEnd - pos) || hourEnd >= end || text.charAt(hourEnd) != ':') {
+            return null;
+        }
+        long hour = valueOf(text, pos, hourEnd);
+        pos = hourEnd + 1;
+
+        int minuteEnd = digitsEnd(text, pos, end);
+        if (!isFieldWidth(minuteEnd - pos) || minuteEnd >= end || text.charAt(minuteEnd) != ':') {
+            return null;
+        }
+        long minute = valueOf(text, pos, minuteEnd);
+        pos = minuteEnd + 1;
+
+        int secondEnd = digitsEnd(text, pos, end);
+        if (!isFieldWidth(secondEnd - pos) || secondEnd != end) {
+            return null;
+        }
+        long second = valueOf(text, pos, secondEnd);
+
+        if (minute > 59 || second > 59) {
+            return null;
+        }
+        if (hour == 24 && minute == 0 && second == 0) {
+            // 다음 날 0시. 표현 가능한 마지막 일자인 경우 다음 날이 없음
+            return date.equals(LocalDate.MAX) ? null : date.plusDays(1).atStartOfDay();
+        }
+        if (hour > 23) {
+            return null;
+        }
+        return date.atTime((int) hour, (int) minute, (int) second);
+    }
+
+    /**
+     * {@code text} 의 처음부터 {@code end} 직전까지를 일자로 해석.
+     */
+    private static LocalDate parseDate(String text, int end) {
+        int pos = 0;
+
+        // 연도
+        boolean signed = pos < end && text.charAt(pos) == '+';
+        if (signed) {
+            pos++;
+        }
+        int yearEnd = digitsEnd(text, pos, end);
+        int yearWidth = yearEnd - pos;
+        if (signed ? yearWidth <= YEAR_WIDTH || yearWidth > MAX_FIELD_WIDTH : yearWidth != YEAR_WIDTH) {
+            return null;
+        }
+        long year = valueOf(text, pos, yearEnd);
+        pos = yearEnd;
+
+        // 구분자. "yyyy. M. d" 는 구분자 뒤에 공백이 하나 붙음
+        if (pos >= end) {
+            return null;
+        }
+        char delimiter = text.charAt(pos++);
+        if (delimiter != '.' && delimiter != '-' && delimiter != '/') {
+            return null;
+        }
+        boolean spaced = delimiter == '.' && pos < end && text.charAt(pos) == ' ';
+        if (spaced) {
+            pos++;
+        }
+
+        // 월
+        int monthEnd = digitsEnd(text, pos, end);
+        if (!isFieldWidth(monthEnd - pos)) {
+            return null;
+        }
+        long month = valueOf(text, pos, monthEnd);
+        pos = monthEnd;
+
+        if (pos >= end || text.charAt(pos++) != delimiter) {
+            return null;
+        }
+        if (spaced && (pos >= end || text.charAt(pos++) != ' ')) {
+            return null;
+        }
+
+        // 일
+        int dayEnd = digitsEnd(text, pos, end);
+        if (!isFieldWidth(dayEnd - pos) || dayEnd != end) {
+            return null;
+        }
+        long day = valueOf(text, pos, dayEnd);
+
+        if (year < 1 || year > Year.MAX_VALUE || month < 1 || month > 12 || day < 1 || day > 31) {
+            return null;
+        }
+        // 해당 월의 마지막 날을 넘는 일자는 마지막 날로 조정 (ResolverStyle.SMART)
+        int lastDayOfMonth = Month.of((int) month).length(Year.isLeap(year));
+        return LocalDate.of((int) year, (int) month, (int) Math.min(day, lastDayOfMonth));
+    }
+
+    private static boolean isFieldWidth(int width) {
+        return width >= 1 && width <= MAX_FIELD_WIDTH;
+    }
+
+    /**
+     * {@code from} 부터 이어지는 ASCII 숫자의 끝 위치
+     */
+    private static int digitsEnd(String text, int from, int end) {
+        int pos = from;
+        while (pos < end && isDigit(text.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static long valueOf(String text, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            value = Math.min(value * 10 + (text.charAt(i) - '0'), VALUE_CAP);
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -4,6 +4,7 @@ import com.example.spreadsheetdemo.common.SheetsInfo;
 import com.example.spreadsheetdemo.herb.dto.HerbDTO;
 import com.example.spreadsheetdemo.herb.dto.HerbLogDTO;
 import com.example.spreadsheetdemo.herb.dto.HerbRegisterDTO;
+import com.example.spreadsheetdemo.herb.dto.HerbThresholdDTO;
 import com.example.spreadsheetdemo.herb.dto.HerbUpdateDTO;
 import com.google.api.services.sheets.v4.model.ValueRange;
 import lombok.extern.slf4j.Slf4j;
@@ -11,7 +12,6 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -25,6 +25,9 @@ import java.util.regex.Pattern;
 @Component
 public class HerbMapper {
 
+    // 범위 문자열의 시트 이름 뒤 첫 번째 숫자 그룹 (예: "herb!A2:D10" -> 2)
+    private static final Pattern RANGE_START_ROW_PATTERN = Pattern.compile("![A-Za-z]+(\\d+)");
+
     /**
      * GoogleSpreadSheetAPI 에서 조회한 약재 데이터를 {@code List<HerbDTO>} 로 변환.
      *
@@ -189,12 +192,9 @@ public class HerbMapper {
 
                 if (!values.isEmpty()) {
                     // 데이터 매핑
-                    if (startRowNum == 1) {
-                        // 첫 번째 행은 헤더이므로 제외
-                        values.remove(0);
-                    }
-
-                    for (List<Object> row : values) {
+                    // startRowNum 이 1인 경우 첫 번째 행은 헤더이므로 제외.
+                    // 조회 결과는 동시 조회 병합으로 공유될 수 있으므로 values 를 수정하지 않음
+                    for (List<Object> row : values.subList(startRowNum == 1 ? 1 : 0, values.size())) {
                         herbLogDTOList.add(
                                 HerbLogDTO.builder()
                                         .loggedDatetime(parseDateTime(row.get(0).toString()))
@@ -229,6 +229,58 @@ public class HerbMapper {
                 .toList();
     }
 
+    /**
+     * GoogleSpreadSheetAPI 에서 조회한 로그 일자 열 데이터를 행 단위로 변환.<br/>
+     * {@link #fromLoggedDateValueRange(ValueRange)} 와 달리 비어있거나 해석할 수 없는 행은 {@code null} 로 유지하여,
+     * 반환 리스트의 인덱스와 조회 범위의 행 위치가 항상 일치한다.
+     *
+     * @param value GoogleSpreadSheetAPI 조회 반환값 {@link ValueRange}.
+     * @return 행 순서대로 정렬된 로그 일자 리스트.
+     */
+    public List<LocalDate> fromLoggedDateValueRangeByRow(ValueRange value) {
+        if (value == null || value.getValues() == null) {
+            return List.of();
+        }
+
+        List<LocalDate> loggedDateList = new ArrayList<>(value.getValues().size());
+        for (List<Object> row : value.getValues()) {
+            LocalDateTime loggedDatetime = row.isEmpty() ? null : parseDateTime(row.get(0).toString());
+            loggedDateList.add(loggedDatetime == null ? null : loggedDatetime.toLocalDate());
+        }
+        return loggedDateList;
+    }
+
+    /**
+     * GoogleSpreadSheetAPI 에서 조회한 약재 수정 로그 데이터를 행 단위로 변환.<br/>
+     * {@link #toHerbLogDTOList(ValueRange)} 와 달리 조회 범위의 첫 행을 헤더로 취급하지 않으며,
+     * 비어있거나 열이 부족한 행은 {@code null} 로 유지하여 반환 리스트의 인덱스와 조회 범위의 행 위치가 항상 일치한다.
+     *
+     * @param value GoogleSpreadSheetAPI 조회 반환값 {@link ValueRange}.
+     * @return 행 순서대로 정렬된 HerbLogDTO 리스트.
+     */
+    public List<HerbLogDTO> toHerbLogDTOListByRow(ValueRange value) {
+        if (value == null || value.getValues() == null) {
+            return List.of();
+        }
+
+        List<HerbLogDTO> herbLogDTOList = new ArrayList<>(value.getValues().size());
+        for (List<Object> row : value.getValues()) {
+            if (row.size() < 4) {
+                herbLogDTOList.add(null);
+                continue;
+            }
+            herbLogDTOList.add(
+                    HerbLogDTO.builder()
+                            .loggedDatetime(parseDateTime(row.get(0).toString()))
+                            .name(row.get(1).toString())
+                            .beforeAmount(parseLong(row.get(2).toString()))
+                            .afterAmount(parseLong(row.get(3).toString()))
+                            .build()
+            );
+        }
+        return herbLogDTOList;
+    }
+
     /**
      * 로그 삽입 목적으로 HerbLogDTO 를 GoogleSpreadSheetAPI 에서 요구하는 형식으로 변환.
      *
@@ -246,44 +298,85 @@ public class HerbMapper {
         return Collections.singletonList(row);
     }
 
-    private LocalDate parseDate(String dateStr) {
+    /**
+     * GoogleSpreadSheetAPI 에서 조회한 약재 별 재고 부족 기준 수량 데이터를 {@code List<HerbThresholdDTO>} 로 변환.<br/>
+     * 이름 또는 최소 수량이 비어있거나 해석할 수 없는 행은 제외한다.
+     *
+     * @param value GoogleSpreadSheetAPI 조회 반환값 {@link ValueRange}.
+     * @return 매핑된 HerbThresholdDTO 리스트.
+     * @throws IllegalArgumentException 시트 이름이 일치하지 않을 경우.
+     */
+    public List<HerbThresholdDTO> toHerbThresholdDTOList(ValueRange value) {
+        if (value == null || value.getValues() == null) {
+            return List.of();
+        }
+
+        String range = value.getRange();
+        String sheetName = range == null ? null : range.split("!")[0];
+        Integer startRowNum = extractRowNumFromRange(range);
+        if (!SheetsInfo.HERB_THRESHOLD.getSheetName().equals(sheetName) || startRowNum == null) {
+            log.error("Sheet name does not match for HerbThresholdMapper: {}", sheetName);
+            throw new IllegalArgumentException(String.format("잘못된 시트의 데이터 매핑을 시도했습니다: %s", sheetName));
+        }
 
-        DateTimeFormatter[] CANDIDATES = new DateTimeFormatter[] {
-                DateTimeFormatter.ofPattern("yyyy.M.d"),
-                DateTimeFormatter.ofPattern("yyyy. M. d"),
-                DateTimeFormatter.ofPattern("yyyy-M-d"),
-                DateTimeFormatter.ofPattern("yyyy/M/d"),
-                DateTimeFormatter.ofPattern("yyyyMd")
-        };
-
-        for (DateTimeFormatter f : CANDIDATES) {
-            try {
-                return LocalDate.parse(dateStr, f);
-            } catch (Exception ignored) {
+        List<HerbThresholdDTO> thresholdDTOList = new ArrayList<>();
+        List<List<Object>> values = value.getValues();
+        // startRowNum 이 1인 경우 첫 번째 행은 헤더이므로 제외
+        for (int i = startRowNum == 1 ? 1 : 0; i < values.size(); i++) {
+            List<Object> row = values.get(i);
+            if (row.size() < 2 || row.get(0).toString().isBlank()) {
+                continue;
             }
+            Long minAmount = parseLong(row.get(1).toString());
+            if (minAmount == null) {
+                continue;
+            }
+            thresholdDTOList.add(
+                    HerbThresholdDTO.builder()
+                            .rowNum(i + startRowNum)
+                            .name(row.get(0).toString())
+                            .minAmount(minAmount)
+                            .build()
+            );
         }
-        log.error("Unavailable to parse date: {}", dateStr);
-        return null;
+        return thresholdDTOList;
     }
 
-    private LocalDateTime parseDateTime(String datetimeStr) {
+    /**
+     * 기준 수량 저장 목적으로 약재 이름과 최소 수량을 GoogleSpreadSheetAPI 에서 요구하는 형식으로 변환.
+     *
+     * @param name 약재 이름
+     * @param minAmount 최소 수량
+     * @return 변환된 데이터 리스트.
+     */
+    public List<List<Object>> fromHerbThreshold(String name, Long minAmount) {
+        return Collections.singletonList(List.of(name, minAmount));
+    }
 
-        DateTimeFormatter[] CANDIDATES = new DateTimeFormatter[] {
-                DateTimeFormatter.ofPattern("yyyy.M.d H:m:s"),
-                DateTimeFormatter.ofPattern("yyyy. M. d H:m:s"),
-                DateTimeFormatter.ofPattern("yyyy-M-d H:m:s"),
-                DateTimeFormatter.ofPattern("yyyy/M/d H:m:s"),
-                DateTimeFormatter.ofPattern("yyyyMd H:m:s")
-        };
-
-        for (DateTimeFormatter f : CANDIDATES) {
-            try {
-                return LocalDateTime.parse(datetimeStr, f);
-            } catch (Exception ignored) {
-            }
+    /**
+     * 일자 문자열 해석.
+     *
+     * @see HerbDateTimeParser
+     */
+    private LocalDate parseDate(String dateStr) {
+        LocalDate date = HerbDateTimeParser.parseDate(dateStr);
+        if (date == null) {
+            log.error("Unavailable to parse date: {}", dateStr);
         }
-        log.error("Unavailable to parse datetime: {}", datetimeStr);
-        return null;
+        return date;
+    }
+
+    /**
+     * 일시 문자열 해석.
+     *
+     * @see HerbDateTimeParser
+     */
+    private LocalDateTime parseDateTime(String datetimeStr) {
+        LocalDateTime datetime = HerbDateTimeParser.parseDateTime(datetimeStr);
+        if (datetime == null) {
+            log.error("Unavailable to parse datetime: {}", datetimeStr);
+        }
+        return datetime;
     }
 
     private Long parseLong(String longStr) {
@@ -295,10 +388,16 @@ public class HerbMapper {
         }
     }
 
-    private Integer extractRowNumFromRange(String range) {
+    /**
+     * 범위 문자열에서 시작 행 번호 추출.
+     *
+     * @param range 범위 문자열 (예: "herb!A2:D10")
+     * @return 시작 행 번호 (예: 2). 추출할 수 없는 경우 {@code null}.
+     */
+    public Integer extractRowNumFromRange(String range) {
         if (range == null) return null;
         // 시트 이름 뒤의 첫 번째 숫자 그룹을 찾음
-        Matcher matcher = Pattern.compile("![A-Za-z]+(\\d+)").matcher(range);
+        Matcher matcher = RANGE_START_ROW_PATTERN.matcher(range);
         return matcher.find() ? Integer.parseInt(matcher.group(1)) : null;
     }
 }
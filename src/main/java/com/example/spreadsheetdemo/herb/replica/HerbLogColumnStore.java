@@ -0,0 +1,503 @@
+package com.example.spreadsheetdemo.herb.replica;
+
+import com.example.spreadsheetdemo.herb.dto.HerbLogDTO;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 약재 로그의 열 단위 파일 저장소.<br/>
+ * 로그 시트의 각 행을 아래 열 파일의 같은 위치에 고정 길이로 저장하고, {@link MappedByteBuffer} 로 읽고 쓴다.
+ * 로그 데이터는 힙에 객체로 올라가지 않으며, 요청한 범위만 {@link HerbLogDTO} 로 변환한다.
+ * <ul>
+ *     <li>{@code logged_at.col}: 로그 일시 (epoch second, {@code long}). 시각대 변환 없이 {@link ZoneOffset#UTC} 기준으로 기록한다.</li>
+ *     <li>{@code name.col}: 약재 이름 사전 번호 ({@code int}). 이름은 {@code name.dict} 에 한 번만 기록한다.</li>
+ *     <li>{@code before.col}, {@code after.col}: 변경 전/후 수량 ({@code long})</li>
+ * </ul>
+ * 기록한 행은 {@link #commit()} 시 디스크에 반영된 뒤 {@code store.meta} 의 행 수와 이름 사전 길이를 갱신하므로, 도중에 종료되더라도 마지막 커밋 상태로 복구된다.
+ * 이름 사전의 커밋되지 않은 뒷부분(기록 도중 끊긴 항목 포함)은 저장소를 열 때 잘라낸다.<br/>
+ * 로그 일시가 행 순서대로 정렬되어 있는 동안에는 기간 조회를 이진 탐색으로 처리한다.<br/>
+ * 약재 이름 별 행 위치 목록(보조 색인)은 힙에 유지하며, 저장소를 열 때 이름 열로부터 다시 만든다.<br/>
+ * 스레드 안전하지 않으므로 호출하는 쪽에서 동기화해야 한다.
+ */
+@Slf4j
+final class HerbLogColumnStore implements Closeable {
+
+    // 해석할 수 없는 행 또는 값
+    private static final int NULL_NAME_ID = -1;
+    private static final long NULL_VALUE = Long.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private final Path directory;
+    private final String spreadsheetId;
+
+    private Column loggedAtColumn;
+    private Column nameColumn;
+    private Column beforeColumn;
+    private Column afterColumn;
+
+    private final List<String> nameList = new ArrayList<>();
+    private final Map<String, Integer> nameIdMap = new HashMap<>();
+    // 마지막 커밋 이후 사전에 추가된 이름의 시작 위치
+    private int committedNameCount;
+    // 마지막 커밋 시점의 이름 사전 파일 길이 (byte)
+    private long committedNameDictLength;
+    // 이름 사전 번호 별 행 위치 목록 (오름차순)
+    private final List<RowIndexList> rowIndexListByNameId = new ArrayList<>();
+
+    private int size;
+    // 모든 행의 로그 일시가 존재하고 행 순서대로 정렬되어 있는지 여부
+    private boolean sorted = true;
+    private long lastLoggedAt = NULL_VALUE;
+
+    HerbLogColumnStore(Path directory, String spreadsheetId) {
+        this.directory = directory;
+        this.spreadsheetId = spreadsheetId;
+    }
+
+    /**
+     * 저장소 파일 열기. 다른 스프레드시트의 저장소이거나 메타 정보를 읽을 수 없는 경우 비어있는 상태로 시작한다.
+     *
+     * @throws IOException on file access exception.
+     */
+    void open() throws IOException {
+        Files.createDirectories(directory);
+        loggedAtColumn = Column.open(directory.resolve("logged_at.col"), Long.BYTES);
+        nameColumn = Column.open(directory.resolve("name.col"), Integer.BYTES);
+        beforeColumn = Column.open(directory.resolve("before.col"), Long.BYTES);
+        afterColumn = Column.open(directory.resolve("after.col"), Long.BYTES);
+
+        Path metaPath = directory.resolve("store.meta");
+        if (!Files.exists(metaPath)) {
+            clear();
+            return;
+        }
+        try {
+            List<String> lines = Files.readAllLines(metaPath, StandardCharsets.UTF_8);
+            if (lines.size() < 3 || !lines.get(0).equals("spreadsheetId\t" + spreadsheetId)) {
+                log.warn("Ignoring herb log store for another spreadsheet: {}", directory);
+                clear();
+                return;
+            }
+            int committedSize = Integer.parseInt(lines.get(1).split("\t")[1]);
+            boolean committedSorted = Boolean.parseBoolean(lines.get(2).split("\t")[1]);
+            // 이름 사전 길이가 없는 이전 형식인 경우 -1
+            long nameDictLength = lines.size() < 4 ? -1 : Long.parseLong(lines.get(3).split("\t")[1]);
+            if (committedSize > loggedAtColumn.capacity() || committedSize > nameColumn.capacity()
+                    || committedSize > beforeColumn.capacity() || committedSize > afterColumn.capacity()) {
+                throw new IOException("column files are shorter than committed row count " + committedSize);
+            }
+            loadNames(nameDictLength);
+            indexNames(committedSize);
+
+            size = committedSize;
+            sorted = committedSorted;
+            lastLoggedAt = size == 0 ? NULL_VALUE : loggedAtColumn.getLong(size - 1);
+            log.info("Herb log store opened at {}: {} rows, {} names", directory, size, nameList.size());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to open herb log store {}: {}. starting empty.", directory, e.getMessage());
+            clear();
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 행 추가. {@link #commit()} 전까지는 디스크 반영이 보장되지 않는다.
+     *
+     * @param logDTO 추가할 로그. 해석할 수 없는 행인 경우 {@code null}.
+     */
+    void append(HerbLogDTO logDTO) throws IOException {
+        int index = size;
+        ensureCapacity(index + 1);
+
+        if (logDTO == null) {
+            loggedAtColumn.putLong(index, NULL_VALUE);
+            nameColumn.putInt(index, NULL_NAME_ID);
+            beforeColumn.putLong(index, NULL_VALUE);
+            afterColumn.putLong(index, NULL_VALUE);
+            sorted = false;
+        } else {
+            long loggedAt = logDTO.getLoggedDatetime() == null ? NULL_VALUE : logDTO.getLoggedDatetime().toEpochSecond(ZoneOffset.UTC);
+            int nameId = nameIdOf(logDTO.getName());
+            loggedAtColumn.putLong(index, loggedAt);
+            nameColumn.putInt(index, nameId);
+            rowIndexListByNameId.get(nameId).add(index);
+            beforeColumn.putLong(index, logDTO.getBeforeAmount() == null ? NULL_VALUE : logDTO.getBeforeAmount());
+            afterColumn.putLong(index, logDTO.getAfterAmount() == null ? NULL_VALUE : logDTO.getAfterAmount());
+            if (loggedAt == NULL_VALUE || loggedAt < lastLoggedAt) {
+                sorted = false;
+            }
+            lastLoggedAt = loggedAt;
+        }
+        size++;
+    }
+
+    /**
+     * 추가된 행과 이름 사전을 디스크에 반영한 뒤 행 수 기록.
+     */
+    void commit() throws IOException {
+        loggedAtColumn.force();
+        nameColumn.force();
+        beforeColumn.force();
+        afterColumn.force();
+        appendNames();
+        writeMeta();
+    }
+
+    /**
+     * 모든 행 삭제. 파일 크기는 유지하고 행 수만 초기화한다.
+     */
+    void clear() throws IOException {
+        size = 0;
+        sorted = true;
+        lastLoggedAt = NULL_VALUE;
+        nameList.clear();
+        nameIdMap.clear();
+        rowIndexListByNameId.clear();
+        committedNameCount = 0;
+        committedNameDictLength = 0;
+        Files.write(directory.resolve("name.dict"), new byte[0]);
+        writeMeta();
+    }
+
+    /**
+     * 행 조회.
+     *
+     * @param index 행 위치 (0 부터)
+     * @return 로그. 해석할 수 없는 행인 경우 {@code null}.
+     */
+    HerbLogDTO get(int index) {
+        int nameId = nameColumn.getInt(index);
+        if (nameId == NULL_NAME_ID) {
+            return null;
+        }
+        long loggedAt = loggedAtColumn.getLong(index), before = beforeColumn.getLong(index), after = afterColumn.getLong(index);
+        return HerbLogDTO.builder()
+                .loggedDatetime(loggedAt == NULL_VALUE ? null : LocalDateTime.ofEpochSecond(loggedAt, 0, ZoneOffset.UTC))
+                .name(nameList.get(nameId))
+                .beforeAmount(before == NULL_VALUE ? null : before)
+                .afterAmount(after == NULL_VALUE ? null : after)
+                .build();
+    }
+
+    /**
+     * 로그 일시가 [fromInclude, toExclude) 구간인 행 순회. 값이 모두 존재하는 행만 방문한다.<br/>
+     * 정렬되어 있는 경우 이진 탐색으로 시작 위치를 찾고, 그렇지 않은 경우 모든 행을 확인한다.
+     *
+     * @param fromInclude 시작 일시 (포함, epoch second)
+     * @param toExclude 종료 일시 (미포함, epoch second)
+     * @param visitor 방문할 행 처리
+     */
+    void scan(long fromInclude, long toExclude, HerbLogReplica.RowVisitor visitor) {
+        int from = sorted ? lowerBound(fromInclude) : 0;
+        for (int i = from; i < size; i++) {
+            long loggedAt = loggedAtColumn.getLong(i);
+            if (sorted && loggedAt >= toExclude) {
+                return;
+            }
+            int nameId = nameColumn.getInt(i);
+            long before = beforeColumn.getLong(i), after = afterColumn.getLong(i);
+            if (nameId == NULL_NAME_ID || loggedAt == NULL_VALUE || before == NULL_VALUE || after == NULL_VALUE
+                    || loggedAt < fromInclude || loggedAt >= toExclude) {
+                continue;
+            }
+            visitor.visit(i, loggedAt, nameList.get(nameId), before, after);
+        }
+    }
+
+    /**
+     * 약재 이름의 행 위치를 최근 행부터 조회.
+     *
+     * @param name 약재 이름
+     * @param toIndex 조회할 마지막 행 위치 (포함)
+     * @param limit 최대 조회 수
+     * @return 내림차순으로 정렬된 행 위치
+     */
+    int[] findLatestIndexesByName(String name, int toIndex, int limit) {
+        Integer nameId = nameIdMap.get(name);
+        if (nameId == null) {
+            return new int[0];
+        }
+        return rowIndexListByNameId.get(nameId).latest(Math.min(toIndex, size - 1), limit);
+    }
+
+    /**
+     * 로그 일시가 {@code key} 이상인 첫 번째 행 위치. 정렬된 경우에만 사용한다.
+     */
+    private int lowerBound(long key) {
+        int low = 0, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (loggedAtColumn.getLong(mid) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Column column : new Column[]{loggedAtColumn, nameColumn, beforeColumn, afterColumn}) {
+            if (column != null) {
+                column.close();
+            }
+        }
+    }
+
+    private void ensureCapacity(int rows) throws IOException {
+        // 확장 도중 종료된 경우 열 파일의 크기가 서로 다를 수 있음
+        int current = Math.min(Math.min(loggedAtColumn.capacity(), nameColumn.capacity()), Math.min(beforeColumn.capacity(), afterColumn.capacity()));
+        if (rows <= current) {
+            return;
+        }
+        int capacity = Math.max(INITIAL_CAPACITY, current);
+        while (capacity < rows) {
+            capacity *= 2;
+        }
+        loggedAtColumn.grow(capacity);
+        nameColumn.grow(capacity);
+        beforeColumn.grow(capacity);
+        afterColumn.grow(capacity);
+    }
+
+    private int nameIdOf(String name) {
+        Integer nameId = nameIdMap.get(name);
+        if (nameId == null) {
+            nameId = nameList.size();
+            nameList.add(name);
+            nameIdMap.put(name, nameId);
+            rowIndexListByNameId.add(new RowIndexList());
+        }
+        return nameId;
+    }
+
+    /**
+     * 이름 열로 약재 이름 별 행 위치 목록 생성.
+     *
+     * @param rows 색인할 행 수
+     * @throws IOException 사전에 없는 이름 번호가 기록된 경우
+     */
+    private void indexNames(int rows) throws IOException {
+        for (int i = 0; i < rows; i++) {
+            int nameId = nameColumn.getInt(i);
+            if (nameId == NULL_NAME_ID) {
+                continue;
+            }
+            if (nameId < 0 || nameId >= rowIndexListByNameId.size()) {
+                throw new IOException("name id " + nameId + " at row index " + i + " is not in the dictionary");
+            }
+            rowIndexListByNameId.get(nameId).add(i);
+        }
+    }
+
+    /**
+     * 이름 사전 로드. 커밋된 길이까지만 읽고, 그 뒤에 남은 부분은 잘라내어 이후 추가되는 항목이 끊긴 항목 뒤에 기록되지 않도록 한다.
+     *
+     * @param nameDictLength 커밋된 이름 사전 길이. 알 수 없는 경우 -1 이며, 온전히 읽을 수 있는 마지막 항목까지를 커밋된 것으로 본다.
+     * @throws IOException 커밋된 범위의 사전을 읽을 수 없는 경우
+     */
+    private void loadNames(long nameDictLength) throws IOException {
+        nameList.clear();
+        nameIdMap.clear();
+        rowIndexListByNameId.clear();
+        Path dictPath = directory.resolve("name.dict");
+        byte[] bytes = Files.exists(dictPath) ? Files.readAllBytes(dictPath) : new byte[0];
+        if (nameDictLength > bytes.length) {
+            throw new IOException("name dictionary is shorter than committed length " + nameDictLength);
+        }
+
+        int limit = nameDictLength < 0 ? bytes.length : (int) nameDictLength;
+        ByteArrayInputStream in = new ByteArrayInputStream(bytes, 0, limit);
+        DataInputStream dataIn = new DataInputStream(in);
+        int validLength = 0;
+        try {
+            while (in.available() > 0) {
+                nameIdOf(dataIn.readUTF());
+                validLength = limit - in.available();
+            }
+        } catch (EOFException | UTFDataFormatException e) {
+            if (nameDictLength >= 0) {
+                throw new IOException("name dictionary is corrupted at byte " + validLength, e);
+            }
+            // 이전 형식: 기록 도중 끊긴 마지막 항목은 버림
+        }
+
+        if (validLength < bytes.length) {
+            log.warn("Truncating uncommitted herb log name dictionary tail: {} -> {} bytes", bytes.length, validLength);
+            truncateNames(validLength);
+        }
+        committedNameCount = nameList.size();
+        committedNameDictLength = validLength;
+    }
+
+    private void appendNames() throws IOException {
+        if (committedNameCount == nameList.size()) {
+            return;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream dataOut = new DataOutputStream(bytes)) {
+            for (String name : nameList.subList(committedNameCount, nameList.size())) {
+                dataOut.writeUTF(name);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(directory.resolve("name.dict"), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // 이전 기록이 도중에 실패한 경우 남은 부분을 덮어씀
+            channel.truncate(committedNameDictLength);
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            long position = committedNameDictLength;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            channel.force(true);
+            committedNameDictLength = position;
+        }
+        committedNameCount = nameList.size();
+    }
+
+    private void truncateNames(long length) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory.resolve("name.dict"), StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+            channel.force(true);
+        }
+    }
+
+    private void writeMeta() throws IOException {
+        List<String> lines = List.of(
+                "spreadsheetId\t" + spreadsheetId,
+                "rowCount\t" + size,
+                "sorted\t" + sorted,
+                "nameDictLength\t" + committedNameDictLength
+        );
+        // 기록 도중 종료되더라도 기존 파일이 손상되지 않도록 임시 파일에 기록 후 교체
+        Path metaPath = directory.resolve("store.meta"), tmp = directory.resolve("store.meta.tmp");
+        Files.write(tmp, lines, StandardCharsets.UTF_8);
+        Files.move(tmp, metaPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 오름차순으로 추가되는 행 위치 목록
+     */
+    private static final class RowIndexList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int index) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = index;
+        }
+
+        /**
+         * toIndex 이하인 행 위치를 큰 값부터 최대 limit 개 조회
+         */
+        private int[] latest(int toIndex, int limit) {
+            // toIndex 보다 큰 첫 번째 위치
+            int low = 0, high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] <= toIndex) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            int count = Math.min(low, Math.max(0, limit));
+            int[] result = new int[count];
+            for (int i = 0; i < count; i++) {
+                result[i] = values[low - 1 - i];
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 고정 길이 값을 저장하는 열 파일
+     */
+    private static final class Column implements Closeable {
+
+        private final FileChannel channel;
+        private final int width;
+        private MappedByteBuffer buffer;
+
+        private Column(FileChannel channel, int width) {
+            this.channel = channel;
+            this.width = width;
+        }
+
+        private static Column open(Path path, int width) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            Column column = new Column(channel, width);
+            column.map(channel.size());
+            return column;
+        }
+
+        private int capacity() {
+            return buffer.capacity() / width;
+        }
+
+        private void grow(int rows) throws IOException {
+            buffer.force();
+            map((long) rows * width);
+        }
+
+        private void map(long bytes) throws IOException {
+            // 파일 크기보다 크게 매핑하면 파일이 그만큼 늘어남
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+        }
+
+        private long getLong(int index) {
+            return buffer.getLong(index * width);
+        }
+
+        private void putLong(int index, long value) {
+            buffer.putLong(index * width, value);
+        }
+
+        private int getInt(int index) {
+            return buffer.getInt(index * width);
+        }
+
+        private void putInt(int index, int value) {
+            buffer.putInt(index * width, value);
+        }
+
+        private void force() {
+            buffer.force();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,469 @@
+package com.example.spreadsheetdemo.herb.replica;
+
+import com.example.spreadsheetdemo.common.SheetsInfo;
+import com.example.spreadsheetdemo.herb.cache.HerbDataVersion;
+import com.example.spreadsheetdemo.herb.dto.HerbLogDTO;
+import com.example.spreadsheetdemo.herb.event.HerbLogReplicaSyncedEvent;
+import com.example.spreadsheetdemo.herb.event.HerbLogsAppendedEvent;
+import com.example.spreadsheetdemo.herb.mapper.HerbMapper;
+import com.example.spreadsheetdemo.herb.repository.HerbLogRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * 약재 로그 시트의 로컬 복제본.<br/>
+ * 로그 시트는 뒤에만 추가되므로(append-only), 마지막으로 동기화한 행 번호를 기억하고 동기화 시에는 그 이후의 행만 조회한다.
+ * 로그 조회는 스프레드시트 대신 복제본에서 처리하여, 조회 비용이 전체 로그 크기가 아닌 새로 추가된 로그의 양에 비례하도록 한다.<br/>
+ * 로그는 {@link HerbLogColumnStore} 에 열 단위로 저장하므로 힙을 차지하지 않으며, 재시작 후에도 새로 추가된 행만 조회한다.<br/>
+ * <br/>
+ * 동기화 시 마지막 {@link #verifyRows} 개 행을 새 행과 함께 조회하여 행 별 체크섬을 비교하고,
+ * 다를 경우 다른 경로로 로그가 수정/삭제된 것으로 판단하여 전체를 다시 불러온다.
+ * 이 애플리케이션이 추가한 로그는 {@link HerbLogsAppendedEvent} 를 통해 조회 없이 반영한다.<br/>
+ * 동기화로 다른 경로의 변경 사항을 반영한 경우 {@link HerbLogReplicaSyncedEvent} 를 발행하여, 로그 일자 색인 등이 같은 행까지 따라오도록 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HerbLogReplica {
+
+    // 헤더 행 번호. 동기화된 행이 없는 경우의 마지막 행 번호로 사용
+    private static final int HEADER_ROW_NUM = 1;
+
+    private final HerbLogRepository herbLogRepository;
+    private final HerbMapper herbMapper;
+    private final HerbDataVersion herbDataVersion;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${google.spreadsheet.id}")
+    private String SPREADSHEET_ID;
+
+    @Value("${herb.log.store.path:data/herb_log_store}")
+    private String storePath;
+
+    /**
+     * 동기화 시 변경 여부를 확인할 마지막 행 수
+     */
+    @Value("${herb.log.replica.verify-rows:20}")
+    private int verifyRows;
+
+    // 행 번호 - 2 위치에 해당 행의 로그 저장
+    private HerbLogColumnStore store;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // 동시에 여러 조회가 동기화를 요구하더라도 스프레드시트 조회는 한 번만 수행
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    // 스프레드시트와 한 번 이상 동기화했는지 여부
+    private boolean loaded = false;
+    // 복제본에 반영되지 않은 행이 존재할 수 있는지 여부
+    private boolean stale = false;
+
+    /**
+     * 로그 일시 구간의 행 방문자.
+     */
+    @FunctionalInterface
+    public interface RowVisitor {
+
+        /**
+         * @param rowNum 행 번호
+         * @param loggedEpochSecond 로그 일시 ({@link ZoneOffset#UTC} 기준 epoch second)
+         * @param name 약재 이름
+         * @param beforeAmount 변경 전 수량
+         * @param afterAmount 변경 후 수량
+         */
+        void visit(int rowNum, long loggedEpochSecond, String name, long beforeAmount, long afterAmount);
+    }
+
+    /**
+     * 모든 로그 조회. 해석할 수 없는 행은 제외한다.
+     *
+     * @return 행 순서대로 정렬된 로그 목록
+     * @throws GeneralSecurityException on security exception.
+     * @throws IOException on Credentials file read exception.
+     */
+    public List<HerbLogDTO> getAll() throws GeneralSecurityException, IOException {
+        ensureCurrent(HEADER_ROW_NUM);
+
+        lock.readLock().lock();
+        try {
+            return readRows(0, store.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 행 범위의 로그 조회. 해석할 수 없는 행은 제외한다.<br/>
+     * 복제본에 없는 행을 요청한 경우에만 새로 추가된 행을 동기화한다.
+     *
+     * @param startRowNum 시작 행 번호 (포함)
+     * @param endRowNum 마지막 행 번호 (포함)
+     * @return 행 순서대로 정렬된 로그 목록
+     * @throws GeneralSecurityException on security exception.
+     * @throws IOException on Credentials file read exception.
+     */
+    public List<HerbLogDTO> getRange(int startRowNum, int endRowNum) throws GeneralSecurityException, IOException {
+        ensureCurrent(endRowNum);
+
+        lock.readLock().lock();
+        try {
+            return readRows(Math.max(0, startRowNum - 2), Math.min(store.size(), endRowNum - 1));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 로그 일시가 [fromInclude, toExclude) 구간인 행 순회. 값이 모두 존재하는 행만 방문한다.<br/>
+     * 로그를 객체로 변환하지 않으므로 집계 등 대량 조회에 사용한다.
+     *
+     * @param fromInclude 시작 일시 (포함)
+     * @param toExclude 종료 일시 (미포함)
+     * @param visitor 방문할 행 처리. 읽기 잠금을 획득한 상태로 호출되므로 복제본을 다시 호출하면 안 된다.
+     * @throws GeneralSecurityException on security exception.
+     * @throws IOException on Credentials file read exception.
+     */
+    public void scan(LocalDateTime fromInclude, LocalDateTime toExclude, RowVisitor visitor) throws GeneralSecurityException, IOException {
+        ensureCurrent(HEADER_ROW_NUM);
+
+        lock.readLock().lock();
+        try {
+            store.scan(
+                    fromInclude.toEpochSecond(ZoneOffset.UTC), toExclude.toEpochSecond(ZoneOffset.UTC),
+                    (index, loggedEpochSecond, name, beforeAmount, afterAmount) ->
+                            visitor.visit(index + 2, loggedEpochSecond, name, beforeAmount, afterAmount)
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 로그 일시가 [fromInclude, toExclude) 구간인 로그 조회.
+     *
+     * @param fromInclude 시작 일시 (포함)
+     * @param toExclude 종료 일시 (미포함)
+     * @return 행 순서대로 정렬된 로그 목록
+     * @throws GeneralSecurityException on security exception.
+     * @throws IOException on Credentials file read exception.
+     */
+    public List<HerbLogDTO> findByLoggedDatetime(LocalDateTime fromInclude, LocalDateTime toExclude) throws GeneralSecurityException, IOException {
+        List<HerbLogDTO> result = new ArrayList<>();
+        scan(fromInclude, toExclude, (rowNum, loggedEpochSecond, name, beforeAmount, afterAmount) -> result.add(
+                HerbLogDTO.builder()
+                        .loggedDatetime(LocalDateTime.ofEpochSecond(loggedEpochSecond, 0, ZoneOffset.UTC))
+                        .name(name)
+                        .beforeAmount(beforeAmount)
+                        .afterAmount(afterAmount)
+                        .build()
+        ));
+        return result;
+    }
+
+    /**
+     * 약재 이름의 로그를 최근 행부터 조회.<br/>
+     * 이름 별 행 위치 색인으로 해당 약재의 행만 읽으므로, 조회 비용은 전체 로그 크기가 아닌 조회한 행 수에 비례한다.
+     *
+     * @param name 약재 이름
+     * @param endRowNum 조회할 마지막 행 번호 (포함)
+     * @param limit 최대 조회 수
+     * @return 행 번호 내림차순으로 정렬된 행 번호 별 로그
+     * @throws GeneralSecurityException on security exception.
+     * @throws IOException on Credentials file read exception.
+     */
+    public LinkedHashMap<Integer, HerbLogDTO> findLatestByName(String name, int endRowNum, int limit) throws GeneralSecurityException, IOException {
+        ensureCurrent(HEADER_ROW_NUM);
+
+        lock.readLock().lock();
+        try {
+            LinkedHashMap<Integer, HerbLogDTO> result = new LinkedHashMap<>();
+            for (int index : store.findLatestIndexesByName(name, endRowNum - 2, limit)) {
+                result.put(index + 2, store.get(index));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 동기화된 마지막 행 번호 조회. 로그가 없거나 아직 동기화하지 않은 경우 헤더 행 번호(1) 반환.
+     *
+     * @return 마지막 행 번호
+     */
+    public int getLastRowNum() {
+        lock.readLock().lock();
+        try {
+            return store == null ? HEADER_ROW_NUM : store.size() + HEADER_ROW_NUM;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 백그라운드 주기 동기화. 다른 경로로 추가/수정된 로그를 반영한다.<br/>
+     * 실패하더라도 기존 복제본은 유지하며, 다음 주기 또는 조회 시 다시 시도한다.
+     */
+    @Scheduled(
+            initialDelayString = "${herb.log.replica.sync-interval:PT1M}",
+            fixedDelayString = "${herb.log.replica.sync-interval:PT1M}"
+    )
+    public void refresh() {
+        try {
+            sync();
+        } catch (GeneralSecurityException | IOException | RuntimeException e) {
+            log.warn("Background sync of herb log replica failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 새로 추가된 로그 동기화. 저장된 복제본이 없는 경우 전체 로그를 불러온다.
+     *
+     * @throws GeneralSecurityException on security exception.
+     * @throws IOException on Credentials file read exception.
+     */
+    public void sync() throws GeneralSecurityException, IOException {
+        syncLock.lock();
+        try {
+            if (syncTail()) {
+                publishSynced();
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * 로그 추가 시 복제본 확장.<br/>
+     * 추가된 행이 마지막으로 동기화된 행 바로 다음이 아닌 경우, 다른 경로로 추가된 행이 있다고 판단하여 다음 조회 시 동기화한다.
+     *
+     * @param event 로그 추가 이벤트
+     */
+    @EventListener
+    public void onHerbLogsAppended(HerbLogsAppendedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                // 최초 동기화에서 함께 반영됨
+                return;
+            }
+            int lastRowNum = store.size() + HEADER_ROW_NUM;
+            if (event.getStartRowNum() != lastRowNum + 1) {
+                log.warn("Herb log appended at row {} but last replicated row is {}. replica will be synced on next read.",
+                        event.getStartRowNum(), lastRowNum);
+                markStale();
+                return;
+            }
+            for (HerbLogDTO logDTO : event.getLogList()) {
+                store.append(logDTO);
+            }
+            store.commit();
+        } catch (IOException e) {
+            log.warn("Failed to store appended herb logs: {}. replica will be synced on next read.", e.getMessage());
+            markStale();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (store != null) {
+                store.close();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to close herb log store: {}", e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 복제본이 요청한 행까지 최신 상태가 아닌 경우 동기화 수행.
+     */
+    private void ensureCurrent(int requiredRowNum) throws GeneralSecurityException, IOException {
+        lock.readLock().lock();
+        try {
+            if (isCurrent(requiredRowNum)) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        syncLock.lock();
+        try {
+            // 대기하는 동안 다른 스레드가 동기화했을 수 있으므로 재확인
+            lock.readLock().lock();
+            try {
+                if (isCurrent(requiredRowNum)) {
+                    return;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (syncTail()) {
+                publishSynced();
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private boolean isCurrent(int requiredRowNum) {
+        return loaded && !stale && requiredRowNum <= store.size() + HEADER_ROW_NUM;
+    }
+
+    /**
+     * 마지막 {@link #verifyRows} 개 행부터 시트 끝까지 한 번 조회하여, 확인 구간의 체크섬이 일치하면 새 행만 추가.
+     * 일치하지 않거나 행이 줄어든 경우 전체를 다시 불러온다.<br/>
+     * {@link #syncLock} 을 획득한 상태에서만 호출해야 한다.
+     *
+     * @return 새 행을 추가했거나 전체를 다시 불러온 경우 {@code true}
+     */
+    private boolean syncTail() throws GeneralSecurityException, IOException {
+        int fromRowNum, knownRowCount;
+        lock.writeLock().lock();
+        try {
+            if (store == null) {
+                // 최초 동기화 시 로컬 파일에 저장된 복제본을 열고, 저장된 행 이후만 조회
+                HerbLogColumnStore opened = new HerbLogColumnStore(Path.of(storePath), SPREADSHEET_ID);
+                opened.open();
+                store = opened;
+            }
+            int size = store.size();
+            fromRowNum = Math.max(HEADER_ROW_NUM + 1, size + HEADER_ROW_NUM - verifyRows + 1);
+            // 조회 전에 이미 알고 있던 확인 구간의 행 수. 조회 결과가 이보다 적으면 행이 삭제된 것
+            knownRowCount = size + HEADER_ROW_NUM - fromRowNum + 1;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<HerbLogDTO> fetchedList = herbMapper.toHerbLogDTOListByRow(
+                herbLogRepository.selectByRange(SheetsInfo.HERB_LOG.getRowRangeFrom(fromRowNum))
+        );
+
+        lock.writeLock().lock();
+        try {
+            int offset = fromRowNum - 2;
+            // 조회하는 동안 이벤트로 추가된 행 중 조회 결과에 포함된 행도 확인 구간에 포함
+            int verifyCount = Math.min(store.size() - offset, fetchedList.size());
+            if (fetchedList.size() >= knownRowCount && matches(fetchedList, offset, verifyCount)) {
+                for (HerbLogDTO logDTO : fetchedList.subList(verifyCount, fetchedList.size())) {
+                    store.append(logDTO);
+                }
+                store.commit();
+                if (fetchedList.size() > verifyCount) {
+                    herbDataVersion.increment(HerbDataVersion.Resource.HERB_LOG);
+                    log.info("Herb log replica synced {} new rows up to row {}", fetchedList.size() - verifyCount, store.size() + HEADER_ROW_NUM);
+                }
+                loaded = true;
+                stale = false;
+                return fetchedList.size() > verifyCount;
+            }
+
+            log.warn("Herb log replica does not match the sheet from row {}. reloading all logs.", fromRowNum);
+            if (fromRowNum == HEADER_ROW_NUM + 1) {
+                // 이미 전체를 조회했으므로 그대로 교체
+                replaceAll(fetchedList);
+                return true;
+            }
+            markStale();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<HerbLogDTO> allList = herbMapper.toHerbLogDTOListByRow(
+                herbLogRepository.selectByRange(SheetsInfo.HERB_LOG.getRowRangeFrom(HEADER_ROW_NUM + 1))
+        );
+        lock.writeLock().lock();
+        try {
+            replaceAll(allList);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return true;
+    }
+
+    /**
+     * 동기화로 반영한 행까지 따라오도록 동기화 완료 이벤트 발행. 복제본 잠금 밖에서 호출한다.
+     */
+    private void publishSynced() {
+        eventPublisher.publishEvent(new HerbLogReplicaSyncedEvent(getLastRowNum()));
+    }
+
+    private List<HerbLogDTO> readRows(int fromIndex, int toIndex) {
+        List<HerbLogDTO> result = new ArrayList<>(Math.max(0, toIndex - fromIndex));
+        for (int i = fromIndex; i < toIndex; i++) {
+            HerbLogDTO logDTO = store.get(i);
+            if (logDTO != null) {
+                result.add(logDTO);
+            }
+        }
+        return result;
+    }
+
+    private boolean matches(List<HerbLogDTO> fetchedList, int offset, int count) {
+        for (int i = 0; i < count; i++) {
+            if (checksum(store.get(offset + i)) != checksum(fetchedList.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 복제본에 반영되지 않은 행이 존재할 수 있음을 표시. 다음 조회 결과가 달라질 수 있으므로 데이터 버전도 올린다.
+     */
+    private void markStale() {
+        stale = true;
+        herbDataVersion.increment(HerbDataVersion.Resource.HERB_LOG);
+    }
+
+    private void replaceAll(List<HerbLogDTO> logList) throws IOException {
+        store.clear();
+        for (HerbLogDTO logDTO : logList) {
+            store.append(logDTO);
+        }
+        store.commit();
+        loaded = true;
+        stale = false;
+        herbDataVersion.increment(HerbDataVersion.Resource.HERB_LOG);
+        log.info("Herb log replica reloaded: {} rows", store.size());
+    }
+
+    /**
+     * 행 체크섬. 시트에 기록된 시각은 초 단위까지만 비교한다.
+     */
+    private static long checksum(HerbLogDTO logDTO) {
+        if (logDTO == null) {
+            return 0;
+        }
+        String row = (logDTO.getLoggedDatetime() == null ? "" : logDTO.getLoggedDatetime().toEpochSecond(ZoneOffset.UTC))
+                + "\t" + logDTO.getName() + "\t" + logDTO.getBeforeAmount() + "\t" + logDTO.getAfterAmount();
+        CRC32 crc = new CRC32();
+        crc.update(row.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+}
@@ -1,19 +1,14 @@
 package com.example.spreadsheetdemo.herb.repository;
 
 import com.example.spreadsheetdemo.common.SheetsInfo;
-import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.example.spreadsheetdemo.common.gateway.SheetsReadCoalescer;
+import com.example.spreadsheetdemo.common.gateway.SpreadsheetGateway;
+import com.example.spreadsheetdemo.common.metrics.SheetsMetrics;
 import com.google.api.client.googleapis.json.GoogleJsonError;
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
-import com.google.api.client.json.jackson2.JacksonFactory;
-import com.google.api.services.sheets.v4.Sheets;
-import com.google.api.services.sheets.v4.model.AppendValuesResponse;
 import com.google.api.services.sheets.v4.model.ValueRange;
-import com.google.auth.http.HttpCredentialsAdapter;
-import com.google.auth.oauth2.GoogleCredentials;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
@@ -28,29 +23,12 @@ import java.util.List;
 @Component
 public class HerbLogRepository {
 
-    @Value("${google.spreadsheet.id}")
-    private String SPREADSHEET_ID;
-
-    private static final JacksonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
-    private static final String CREDENTIALS_FILE_PATH = "/spreadsheet-test.json";
-    private Sheets sheetsService;
-
-    private Sheets getSheetsService() throws IOException, GeneralSecurityException {
-        if (sheetsService == null) {
-            GoogleCredentials credential = GoogleCredentials
-                    .fromStream(new ClassPathResource(CREDENTIALS_FILE_PATH).getInputStream())
-                    .createScoped("https://www.googleapis.com/auth/spreadsheets");
-            sheetsService = new Sheets
-                    .Builder(
-                    GoogleNetHttpTransport.newTrustedTransport(),
-                    JSON_FACTORY,
-                    new HttpCredentialsAdapter(credential)
-            )
-                    .setApplicationName("uniflee")
-                    .build();
-        }
-        return sheetsService;
-    }
+    // 호출 지표의 repository 태그 값
+    private static final String REPOSITORY_NAME = "herb_log";
+
+    private final SpreadsheetGateway spreadsheetGateway;
+    private final SheetsMetrics sheetsMetrics;
+    private final SheetsReadCoalescer sheetsReadCoalescer;
 
     /**
      * 약재 로그가 담긴 스프레드시트의 모든 행을 조회.
@@ -62,22 +40,18 @@ public class HerbLogRepository {
     public ValueRange selectAll() throws IOException, GeneralSecurityException {
         ValueRange result = null;
         try {
-            // Create the sheets API client
-            Sheets service = getSheetsService();
             // 전체 데이터 조회
-            result = service.spreadsheets()
-                    .values()
-                    .get(SPREADSHEET_ID, SheetsInfo.HERB_LOG.getDataRange())
-                    .execute();
+            String range = SheetsInfo.HERB_LOG.getDataRange();
+            result = sheetsReadCoalescer.read(range, () -> sheetsMetrics.record(REPOSITORY_NAME, "selectAll", () -> spreadsheetGateway.get(range)));
         } catch (GoogleJsonResponseException e) {
             GoogleJsonError error = e.getDetails();
             if (error.getCode() == 404) {
-                log.error("Spreadsheet not found with id {}", SPREADSHEET_ID);
+                log.error("Spreadsheet not found: {}", error.getMessage());
             } else {
                 throw e;
             }
-        } catch (IOException | GeneralSecurityException e) {
-            log.error("Credential Error occurred while accessing Google Sheets API.");
+        } catch (IOException e) {
+            log.error("I/O Error occurred while accessing Google Sheets API.");
             throw e;
         }
         return result;
@@ -86,22 +60,17 @@ public class HerbLogRepository {
     public ValueRange selectByRange(String range) throws IOException, GeneralSecurityException {
         ValueRange result = null;
         try {
-            // Create the sheets API client
-            Sheets service = getSheetsService();
             // 특정 범위 데이터 조회
-            result = service.spreadsheets()
-                    .values()
-                    .get(SPREADSHEET_ID, range)
-                    .execute();
+            result = sheetsReadCoalescer.read(range, () -> sheetsMetrics.record(REPOSITORY_NAME, "selectByRange", () -> spreadsheetGateway.get(range)));
         } catch (GoogleJsonResponseException e) {
             GoogleJsonError error = e.getDetails();
             if (error.getCode() == 404) {
-                log.error("Spreadsheet not found with id {}", SPREADSHEET_ID);
+                log.error("Spreadsheet not found: {}", error.getMessage());
             } else {
                 throw e;
             }
-        } catch (IOException | GeneralSecurityException e) {
-            log.error("Credential Error occurred while accessing Google Sheets API.");
+        } catch (IOException e) {
+            log.error("I/O Error occurred while accessing Google Sheets API.");
             throw e;
         }
         return result;
@@ -111,21 +80,22 @@ public class HerbLogRepository {
      * 약재 로그를 스프레드시트에 삽입.
      *
      * @param content 삽입할 약재 로그 정보 리스트
+     * @return 삽입된 범위 문자열
      * @throws GeneralSecurityException on security exception.
      * @throws IOException on Credentials file read exception.
      */
-    public void insertLog(List<List<Object>> content) throws GeneralSecurityException, IOException {
-        ValueRange value = new ValueRange().setValues(content);
-
-        AppendValuesResponse result = getSheetsService().spreadsheets().values()
-                // 해당 스프레드시트 데이터 범위 명시할 경우 자동으로 마지막에 데이터 삽입됨
-                .append(SPREADSHEET_ID, SheetsInfo.HERB_LOG.getDataRange(), value)
-                .setValueInputOption("USER_ENTERED")
-                .setInsertDataOption("INSERT_ROWS")     // 필요 시 행 삽입
-                .execute();
-
-        String insertedRange = result.getUpdates().getUpdatedRange();  // "Sheet1!A21:C22" 형태로 반환
+    public String insertLog(List<List<Object>> content) throws GeneralSecurityException, IOException {
+        // 해당 스프레드시트 데이터 범위 명시할 경우 자동으로 마지막에 데이터 삽입됨
+        String insertedRange;
+        try {
+            insertedRange = sheetsMetrics.record(REPOSITORY_NAME, "insertLog", () -> spreadsheetGateway.append(SheetsInfo.HERB_LOG.getDataRange(), content));  // "Sheet1!A21:C22" 형태로 반환
+        } finally {
+            // 실패한 경우에도 일부 반영되었을 수 있으므로 항상 무효화
+            sheetsReadCoalescer.invalidate(SheetsInfo.HERB_LOG);
+        }
         log.info("Log inserted at range: {}", insertedRange);
+
+        return insertedRange;
     }
 
     /**
@@ -141,9 +111,7 @@ public class HerbLogRepository {
                 SheetsInfo.HERB_LOG.getSheetName(), SheetsInfo.HERB_LOG.getStartColumn(), SheetsInfo.HERB_LOG.getStartColumn()
         );
 
-        ValueRange response = getSheetsService().spreadsheets().values()
-                .get(SPREADSHEET_ID, range)
-                .execute();
+        ValueRange response = sheetsReadCoalescer.read(range, () -> sheetsMetrics.record(REPOSITORY_NAME, "getLastRowNumber", () -> spreadsheetGateway.get(range)));
 
         List<List<Object>> values = response.getValues();
 
@@ -162,15 +130,10 @@ public class HerbLogRepository {
 
         ValueRange result;
         try {
-            // Create the sheets API client
-            Sheets service = getSheetsService();
             // 특정 범위 데이터 조회
-            result = service.spreadsheets()
-                    .values()
-                    .get(SPREADSHEET_ID, range)
-                    .execute();
-        } catch (IOException | GeneralSecurityException e) {
-            log.error("Credential Error occurred while accessing Google Sheets API.");
+            result = sheetsReadCoalescer.read(range, () -> sheetsMetrics.record(REPOSITORY_NAME, "selectLoggedDateByRange", () -> spreadsheetGateway.get(range)));
+        } catch (IOException e) {
+            log.error("I/O Error occurred while accessing Google Sheets API.");
             throw e;
         }
         return result;
@@ -1,23 +1,20 @@
 package com.example.spreadsheetdemo.herb.repository;
 
 import com.example.spreadsheetdemo.common.SheetsInfo;
-import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.example.spreadsheetdemo.common.gateway.SheetsReadCoalescer;
+import com.example.spreadsheetdemo.common.gateway.SpreadsheetGateway;
+import com.example.spreadsheetdemo.common.metrics.SheetsMetrics;
 import com.google.api.client.googleapis.json.GoogleJsonError;
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
-import com.google.api.client.json.jackson2.JacksonFactory;
-import com.google.api.services.sheets.v4.Sheets;
-import com.google.api.services.sheets.v4.model.*;
-import com.google.auth.http.HttpCredentialsAdapter;
-import com.google.auth.oauth2.GoogleCredentials;
+import com.google.api.services.sheets.v4.model.ValueRange;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 약재 정보가 저장된 Google Spreadsheet API 연동 Repository.
@@ -27,29 +24,12 @@ import java.util.List;
 @Component
 public class HerbRepository {
 
-    @Value("${google.spreadsheet.id}")
-    private String SPREADSHEET_ID;
+    // 호출 지표의 repository 태그 값
+    private static final String REPOSITORY_NAME = "herb";
 
-    private static final JacksonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
-    private static final String CREDENTIALS_FILE_PATH = "/spreadsheet-test.json";
-    private Sheets sheetsService;
-
-    private Sheets getSheetsService() throws IOException, GeneralSecurityException {
-        if (sheetsService == null) {
-            GoogleCredentials credential = GoogleCredentials
-                    .fromStream(new ClassPathResource(CREDENTIALS_FILE_PATH).getInputStream())
-                    .createScoped("https://www.googleapis.com/auth/spreadsheets");
-            sheetsService = new Sheets
-                    .Builder(
-                    GoogleNetHttpTransport.newTrustedTransport(),
-                    JSON_FACTORY,
-                    new HttpCredentialsAdapter(credential)
-            )
-                    .setApplicationName("uniflee")
-                    .build();
-        }
-        return sheetsService;
-    }
+    private final SpreadsheetGateway spreadsheetGateway;
+    private final SheetsMetrics sheetsMetrics;
+    private final SheetsReadCoalescer sheetsReadCoalescer;
 
     /**
      * 약재 정보가 담긴 스프레드시트의 모든 행을 조회.
@@ -61,22 +41,18 @@ public class HerbRepository {
     public ValueRange selectAll() throws IOException, GeneralSecurityException {
         ValueRange result = null;
         try {
-            // Create the sheets API client
-            Sheets service = getSheetsService();
             // 전체 데이터 조회
-            result = service.spreadsheets()
-                    .values()
-                    .get(SPREADSHEET_ID, SheetsInfo.HERB.getDataRange())
-                    .execute();
+            String range = SheetsInfo.HERB.getDataRange();
+            result = sheetsReadCoalescer.read(range, () -> sheetsMetrics.record(REPOSITORY_NAME, "selectAll", () -> spreadsheetGateway.get(range)));
         } catch (GoogleJsonResponseException e) {
             GoogleJsonError error = e.getDetails();
             if (error.getCode() == 404) {
-                log.error("Spreadsheet not found with id {}", SPREADSHEET_ID);
+                log.error("Spreadsheet not found: {}", error.getMessage());
             } else {
                 throw e;
             }
-        } catch (IOException | GeneralSecurityException e) {
-            log.error("Credential Error occurred while accessing Google Sheets API.");
+        } catch (IOException e) {
+            log.error("I/O Error occurred while accessing Google Sheets API.");
             throw e;
         }
         return result;
@@ -85,27 +61,71 @@ public class HerbRepository {
     public ValueRange selectByRange(String range) throws IOException, GeneralSecurityException {
         ValueRange result = null;
         try {
-            // Create the sheets API client
-            Sheets service = getSheetsService();
             // 전체 데이터 조회
-            result = service.spreadsheets()
-                    .values()
-                    .get(SPREADSHEET_ID, range)
-                    .execute();
+            result = sheetsReadCoalescer.read(range, () -> sheetsMetrics.record(REPOSITORY_NAME, "selectByRange", () -> spreadsheetGateway.get(range)));
+        } catch (GoogleJsonResponseException e) {
+            GoogleJsonError error = e.getDetails();
+            if (error.getCode() == 404) {
+                log.error("Spreadsheet not found: {}", error.getMessage());
+            } else {
+                throw e;
+            }
+        } catch (IOException e) {
+            log.error("I/O Error occurred while accessing Google Sheets API.");
+            throw e;
+        }
+        return result;
+    }
+
+    /**
+     * 수정 직전의 확인용으로 약재 정보 조회. 최신 값을 확인해야 하므로 조회 결과를 공유하지 않고,
+     * 수정과 같은 우선순위로 호출한다. ({@link SpreadsheetGateway#getForUpdate(String)})
+     *
+     * @param range 조회할 범위 (예: "herb!A2:D2")
+     * @return 조회 결과. 스프레드시트를 찾을 수 없는 경우 {@code null}.
+     * @throws GeneralSecurityException on security exception.
+     * @throws IOException on Credentials file read exception.
+     */
+    public ValueRange selectByRangeForUpdate(String range) throws IOException, GeneralSecurityException {
+        ValueRange result = null;
+        try {
+            result = sheetsMetrics.record(REPOSITORY_NAME, "selectByRangeForUpdate", () -> spreadsheetGateway.getForUpdate(range));
         } catch (GoogleJsonResponseException e) {
             GoogleJsonError error = e.getDetails();
             if (error.getCode() == 404) {
-                log.error("Spreadsheet not found with id {}", SPREADSHEET_ID);
+                log.error("Spreadsheet not found: {}", error.getMessage());
             } else {
                 throw e;
             }
-        } catch (IOException | GeneralSecurityException e) {
-            log.error("Credential Error occurred while accessing Google Sheets API.");
+        } catch (IOException e) {
+            log.error("I/O Error occurred while accessing Google Sheets API.");
             throw e;
         }
         return result;
     }
 
+    /**
+     * 여러 범위의 약재 정보를 한 번의 요청으로 조회.<br/>
+     * 낙관적 잠금 확인과 트랜잭션 복구에서 수정 직전에 사용하므로, 수정과 같은 우선순위로 호출한다.
+     *
+     * @param ranges 조회할 범위 목록 (예: "herb!A2:D2")
+     * @return 요청한 범위 순서대로 정렬된 조회 결과 목록
+     * @throws GeneralSecurityException on security exception.
+     * @throws IOException on Credentials file read exception.
+     */
+    public List<ValueRange> batchSelectByRanges(List<String> ranges) throws GeneralSecurityException, IOException {
+        try {
+            return sheetsMetrics.record(REPOSITORY_NAME, "batchSelectByRanges", () -> spreadsheetGateway.batchGetForUpdate(ranges));
+        } catch (GoogleJsonResponseException e) {
+            GoogleJsonError error = e.getDetails();
+            log.error("Error batch reading spreadsheet: {} - {}", error.getCode(), error.getMessage());
+            throw e;
+        } catch (IOException e) {
+            log.error("I/O Error occurred while accessing Google Sheets API.");
+            throw e;
+        }
+    }
+
     /**
      * 약재 정보를 스프레드시트에 삽입.
      * 
@@ -115,15 +135,13 @@ public class HerbRepository {
      * @throws IOException on Credentials file read exception.
      */
     public String insertHerb(List<List<Object>> content) throws GeneralSecurityException, IOException {
-        ValueRange value = new ValueRange().setValues(content);
-        
-        AppendValuesResponse result = getSheetsService().spreadsheets().values()
-                .append(SPREADSHEET_ID, SheetsInfo.HERB.getDataRange(), value)
-                .setValueInputOption("USER_ENTERED")
-                .setInsertDataOption("INSERT_ROWS")
-                .execute();
-        
-        String insertedRange = result.getUpdates().getUpdatedRange();
+        String insertedRange;
+        try {
+            insertedRange = sheetsMetrics.record(REPOSITORY_NAME, "insertHerb", () -> spreadsheetGateway.append(SheetsInfo.HERB.getDataRange(), content));
+        } finally {
+            // 실패한 경우에도 일부 반영되었을 수 있으므로 항상 무효화
+            sheetsReadCoalescer.invalidate(SheetsInfo.HERB);
+        }
         log.info("Herb inserted at range: {}", insertedRange);
         
         return insertedRange;
@@ -139,27 +157,44 @@ public class HerbRepository {
      * @throws IOException on Credentials file read exception.
      */
     public String updateByRange(String range, List<List<Object>> content) throws GeneralSecurityException, IOException {
-
-        ValueRange value = new ValueRange().setValues(content);
-
         try {
-            UpdateValuesResponse result = getSheetsService()
-                    .spreadsheets()
-                    .values()
-                    .update(SPREADSHEET_ID, range, value)
-                    .setValueInputOption("USER_ENTERED")
-                    .execute();
-            
-            String updatedRange = result.getUpdatedRange();
+            String updatedRange = sheetsMetrics.record(REPOSITORY_NAME, "updateByRange", () -> spreadsheetGateway.update(range, content));
             log.info("Herb Spreadsheet updated at range: {}", updatedRange);
             return updatedRange;
         } catch (GoogleJsonResponseException e) {
             GoogleJsonError error = e.getDetails();
             log.error("Error updating spreadsheet: {} - {}", error.getCode(), error.getMessage());
             throw e;
-        } catch (IOException | GeneralSecurityException e) {
-            log.error("Credential Error occurred while accessing Google Sheets API.");
+        } catch (IOException e) {
+            log.error("I/O Error occurred while accessing Google Sheets API.");
+            throw e;
+        } finally {
+            sheetsReadCoalescer.invalidate(SheetsInfo.HERB);
+        }
+    }
+
+    /**
+     * 여러 범위의 약재 정보를 한 번의 요청으로 업데이트.
+     *
+     * @param contentMapByRange 업데이트할 범위 별 약재 정보 리스트 (예: "herb!A2:D2" -> 약재 정보)
+     * @return 업데이트된 범위 문자열 목록
+     * @throws GeneralSecurityException on security exception.
+     * @throws IOException on Credentials file read exception.
+     */
+    public List<String> batchUpdateByRanges(Map<String, List<List<Object>>> contentMapByRange) throws GeneralSecurityException, IOException {
+        try {
+            List<String> updatedRanges = sheetsMetrics.record(REPOSITORY_NAME, "batchUpdateByRanges", () -> spreadsheetGateway.batchUpdate(contentMapByRange));
+            log.info("Herb Spreadsheet batch updated at ranges: {}", updatedRanges);
+            return updatedRanges;
+        } catch (GoogleJsonResponseException e) {
+            GoogleJsonError error = e.getDetails();
+            log.error("Error batch updating spreadsheet: {} - {}", error.getCode(), error.getMessage());
+            throw e;
+        } catch (IOException e) {
+            log.error("I/O Error occurred while accessing Google Sheets API.");
             throw e;
+        } finally {
+            sheetsReadCoalescer.invalidate(SheetsInfo.HERB);
         }
     }
 
@@ -172,13 +207,12 @@ public class HerbRepository {
      * @throws IOException on Credentials file read exception.
      */
     public String deleteByRange(String range) throws GeneralSecurityException, IOException {
-        ClearValuesResponse result = getSheetsService()
-                .spreadsheets()
-                .values()
-                .clear(SPREADSHEET_ID, range, new ClearValuesRequest())
-                .execute();
-
-        String deletedRange = result.getClearedRange();
+        String deletedRange;
+        try {
+            deletedRange = sheetsMetrics.record(REPOSITORY_NAME, "deleteByRange", () -> spreadsheetGateway.clear(range));
+        } finally {
+            sheetsReadCoalescer.invalidate(SheetsInfo.HERB);
+        }
         log.info("Herb Spreadsheet cleared at range: {}", deletedRange);
         return deletedRange;
     }
@@ -0,0 +1,109 @@
+package com.example.spreadsheetdemo.herb.repository;
+
+import com.example.spreadsheetdemo.common.SheetsInfo;
+import com.example.spreadsheetdemo.common.gateway.SheetsReadCoalescer;
+import com.example.spreadsheetdemo.common.gateway.SpreadsheetGateway;
+import com.example.spreadsheetdemo.common.metrics.SheetsMetrics;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.List;
+
+/**
+ * 약재 별 재고 부족 기준 수량이 저장된 Google Spreadsheet API 연동 Repository.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class HerbThresholdRepository {
+
+    // 호출 지표의 repository 태그 값
+    private static final String REPOSITORY_NAME = "herb_threshold";
+    // 범위의 시트가 존재하지 않는 경우 400 응답의 오류 메시지
+    private static final String MISSING_SHEET_MESSAGE = "Unable to parse range";
+
+    private final SpreadsheetGateway spreadsheetGateway;
+    private final SheetsMetrics sheetsMetrics;
+    private final SheetsReadCoalescer sheetsReadCoalescer;
+
+    /**
+     * 기준 수량 시트의 모든 행을 조회.<br/>
+     * 기준 수량 시트는 선택 사항이므로, 시트가 없는 경우 기준 수량이 없는 것으로 처리한다.
+     *
+     * @return 스프레드시트의 모든 행 정보 {@link ValueRange}. 스프레드시트 또는 기준 수량 시트가 없는 경우 {@code null}.
+     * @throws GeneralSecurityException on security exception.
+     * @throws IOException on Credentials file read exception.
+     */
+    public ValueRange selectAll() throws GeneralSecurityException, IOException {
+        ValueRange result = null;
+        try {
+            String range = SheetsInfo.HERB_THRESHOLD.getDataRange();
+            result = sheetsReadCoalescer.read(range, () -> sheetsMetrics.record(REPOSITORY_NAME, "selectAll", () -> spreadsheetGateway.get(range)));
+        } catch (GoogleJsonResponseException e) {
+            GoogleJsonError error = e.getDetails();
+            if (error.getCode() == 404) {
+                log.error("Spreadsheet not found: {}", error.getMessage());
+            } else if (error.getCode() == 400 && error.getMessage() != null && error.getMessage().startsWith(MISSING_SHEET_MESSAGE)) {
+                log.warn("Herb threshold sheet not found. using default min amount: {}", error.getMessage());
+            } else {
+                throw e;
+            }
+        } catch (IOException e) {
+            log.error("I/O Error occurred while accessing Google Sheets API.");
+            throw e;
+        }
+        return result;
+    }
+
+    /**
+     * 기준 수량을 스프레드시트에 추가.
+     *
+     * @param content 추가할 기준 수량 리스트
+     * @return 추가된 범위 문자열
+     * @throws GeneralSecurityException on security exception.
+     * @throws IOException on Credentials file read exception.
+     */
+    public String insertThreshold(List<List<Object>> content) throws GeneralSecurityException, IOException {
+        String insertedRange;
+        try {
+            insertedRange = sheetsMetrics.record(REPOSITORY_NAME, "insertThreshold", () -> spreadsheetGateway.append(SheetsInfo.HERB_THRESHOLD.getDataRange(), content));
+        } finally {
+            // 실패한 경우에도 일부 반영되었을 수 있으므로 항상 무효화
+            sheetsReadCoalescer.invalidate(SheetsInfo.HERB_THRESHOLD);
+        }
+        log.info("Herb threshold inserted at range: {}", insertedRange);
+        return insertedRange;
+    }
+
+    /**
+     * 기준 수량을 지정된 범위에 따라 스프레드시트에 업데이트.
+     *
+     * @param range 업데이트할 범위 (예: "herb_threshold!A2:B2")
+     * @param content 업데이트할 기준 수량 리스트
+     * @return 업데이트된 범위 문자열
+     * @throws GeneralSecurityException on security exception.
+     * @throws IOException on Credentials file read exception.
+     */
+    public String updateByRange(String range, List<List<Object>> content) throws GeneralSecurityException, IOException {
+        try {
+            String updatedRange = sheetsMetrics.record(REPOSITORY_NAME, "updateByRange", () -> spreadsheetGateway.update(range, content));
+            log.info("Herb threshold updated at range: {}", updatedRange);
+            return updatedRange;
+        } catch (GoogleJsonResponseException e) {
+            GoogleJsonError error = e.getDetails();
+            log.error("Error updating spreadsheet: {} - {}", error.getCode(), error.getMessage());
+            throw e;
+        } catch (IOException e) {
+            log.error("I/O Error occurred while accessing Google Sheets API.");
+            throw e;
+        } finally {
+            sheetsReadCoalescer.invalidate(SheetsInfo.HERB_THRESHOLD);
+        }
+    }
+}
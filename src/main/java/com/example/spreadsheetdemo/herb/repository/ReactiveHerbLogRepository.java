@@ -0,0 +1,73 @@
+package com.example.spreadsheetdemo.herb.repository;
+
+import com.example.spreadsheetdemo.common.SheetsInfo;
+import com.example.spreadsheetdemo.common.gateway.ReactiveSpreadsheetGateway;
+import com.example.spreadsheetdemo.common.metrics.SheetsMetrics;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * 약재 수량 로그 정보가 저장된 Google Spreadsheet API 연동 비동기 Repository.<br/>
+ * {@link HerbLogRepository} 의 조회 연산과 같은 범위를 조회하며, 응답을 기다리는 동안 스레드를 점유하지 않는다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ReactiveHerbLogRepository {
+
+    // 호출 지표의 repository 태그 값
+    private static final String REPOSITORY_NAME = "herb_log";
+
+    private final ReactiveSpreadsheetGateway reactiveSpreadsheetGateway;
+    private final SheetsMetrics sheetsMetrics;
+
+    /**
+     * 특정 행 범위의 약재 로그 조회.
+     *
+     * @param startRowNum 조회할 첫 번째 행 번호
+     * @param endRowNum 조회할 마지막 행 번호
+     * @return 조회 결과. 스프레드시트를 찾을 수 없는 경우 빈 {@link Mono}.
+     */
+    public Mono<ValueRange> selectByRowRange(int startRowNum, int endRowNum) {
+        String range = SheetsInfo.HERB_LOG.getSpecificRowRange(startRowNum, endRowNum);
+        return select("selectByRowRange", range);
+    }
+
+    /**
+     * 약재 로그가 담긴 스프레드시트의 마지막 행 번호 조회.
+     *
+     * @return 마지막 행 번호. 시트에 값이 없는 경우 {@code 0}, 스프레드시트를 찾을 수 없는 경우 빈 {@link Mono}.
+     */
+    public Mono<Integer> getLastRowNumber() {
+        String range = String.format(
+                "%s!%s:%s",
+                SheetsInfo.HERB_LOG.getSheetName(), SheetsInfo.HERB_LOG.getStartColumn(), SheetsInfo.HERB_LOG.getStartColumn()
+        );
+        return select("getLastRowNumber", range)
+                .map(response -> {
+                    List<List<Object>> values = response.getValues();
+                    return values == null ? 0 : values.size();
+                });
+    }
+
+    /**
+     * 범위 조회. 스프레드시트를 찾을 수 없는 경우(404) 빈 {@link Mono} 로 완료한다.
+     */
+    private Mono<ValueRange> select(String operation, String range) {
+        return sheetsMetrics.recordAsync(REPOSITORY_NAME, operation, reactiveSpreadsheetGateway.get(range))
+                .onErrorResume(GoogleJsonResponseException.class, e -> {
+                    if (e.getStatusCode() == 404) {
+                        log.error("Spreadsheet not found: {}", e.getMessage());
+                        return Mono.empty();
+                    }
+                    return Mono.error(e);
+                })
+                .doOnError(e -> log.error("Error occurred while accessing Google Sheets API: {}", e.getMessage()));
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.spreadsheetdemo.herb.service;
+
+import com.example.spreadsheetdemo.herb.cache.HerbDataVersion;
+import com.example.spreadsheetdemo.herb.dto.HerbLogDTO;
+import com.example.spreadsheetdemo.herb.event.HerbLogsAppendedEvent;
+import com.example.spreadsheetdemo.herb.journal.HerbLogTail;
+import com.example.spreadsheetdemo.herb.journal.HerbSagaJournal;
+import com.example.spreadsheetdemo.herb.mapper.HerbMapper;
+import com.example.spreadsheetdemo.herb.repository.HerbLogRepository;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 약재 로그 기록기.<br/>
+ * {@code herb.log.write-behind.enabled} 가 {@code false} 인 경우 요청 스레드에서 바로 로그 시트에 추가한다.<br/>
+ * {@code true} 인 경우 로그를 대기열에 넣고 즉시 반환하며, 전용 스레드가 일정 개수 또는 일정 시간 단위로 모아 한 번의 append 요청으로 기록한다.
+ * <ul>
+ *     <li>순서 보장: 단일 대기열과 단일 기록 스레드를 사용하므로 대기열에 들어온 순서대로 기록된다.</li>
+ *     <li>배압: 대기열이 가득 찬 경우 {@code enqueue-timeout} 동안 대기하며, 그래도 공간이 없으면 {@link IOException} 을 던진다.</li>
+ *     <li>실패 처리: 일시적인 오류로 기록에 실패한 묶음은 {@code max-attempts} 번까지 지수 백오프로 재시도하며, 그동안 이후 로그는 대기열에서 기다린다.
+ *     행 추가는 응답을 받지 못했더라도 반영되었을 수 있으므로, 재시도 전에 {@link HerbLogTail} 로 이미 기록된 로그를 제외한다.
+ *     재시도해도 같은 결과인 오류이거나 시도 횟수를 초과한 묶음은 포기하고, 해당 트랜잭션은 저널에 열린 채로 남겨 재시작 시 복구한다.</li>
+ *     <li>트랜잭션 종료: 트랜잭션의 마지막 로그까지 기록된 후에 {@link HerbSagaJournal} 에 완료를 기록한다.
+ *     종료 시 기록하지 못한 로그는 재시작 시 {@link com.example.spreadsheetdemo.herb.journal.HerbSagaRecovery} 가 다시 기록한다.</li>
+ * </ul>
+ * 기록 지연(대기열 진입부터 기록 완료까지)은 {@code herb.log.append.lag} 타이머로 기록된다.
+ */
+@Slf4j
+@Component
+public class HerbLogAppender {
+
+    private final HerbLogRepository herbLogRepository;
+    private final HerbMapper herbMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HerbSagaJournal herbSagaJournal;
+    private final HerbLogTail herbLogTail;
+    private final HerbDataVersion herbDataVersion;
+
+    private final boolean writeBehind;
+    private final int maxBatchSize;
+    private final Duration maxBatchDelay;
+    private final Duration enqueueTimeout;
+    private final int maxAttempts;
+
+    private final BlockingQueue<PendingLog> queue;
+    private final Timer appendLagTimer;
+
+    private volatile boolean running = false;
+    private Thread flushThread;
+
+    // 재시도 대기 시간 초기값, 상한
+    private static final long INITIAL_RETRY_BACKOFF_MILLIS = 500;
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 60_000;
+    // 종료 중 묶음 하나의 최대 시도 횟수
+    private static final int SHUTDOWN_MAX_ATTEMPTS = 3;
+    // 대기열 여유 공간 확인 간격
+    private static final long ENQUEUE_WAIT_MILLIS = 10;
+
+    public HerbLogAppender(
+            HerbLogRepository herbLogRepository,
+            HerbMapper herbMapper,
+            ApplicationEventPublisher eventPublisher,
+            HerbSagaJournal herbSagaJournal,
+            HerbLogTail herbLogTail,
+            HerbDataVersion herbDataVersion,
+            MeterRegistry meterRegistry,
+            @Value("${herb.log.write-behind.enabled:false}") boolean writeBehind,
+            @Value("${herb.log.write-behind.queue-capacity:10000}") int queueCapacity,
+            @Value("${herb.log.write-behind.max-batch-size:200}") int maxBatchSize,
+            @Value("${herb.log.write-behind.max-batch-delay:PT1S}") Duration maxBatchDelay,
+            @Value("${herb.log.write-behind.enqueue-timeout:PT5S}") Duration enqueueTimeout,
+            @Value("${herb.log.write-behind.max-attempts:5}") int maxAttempts
+    ) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("herb.log.write-behind.max-attempts must be positive.");
+        }
+        this.herbLogRepository = herbLogRepository;
+        this.herbMapper = herbMapper;
+        this.eventPublisher = eventPublisher;
+        this.herbSagaJournal = herbSagaJournal;
+        this.herbLogTail = herbLogTail;
+        this.herbDataVersion = herbDataVersion;
+        this.writeBehind = writeBehind;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchDelay = maxBatchDelay;
+        this.enqueueTimeout = enqueueTimeout;
+        this.maxAttempts = maxAttempts;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+
+        this.appendLagTimer = Timer.builder("herb.log.append.lag")
+                .description("약재 로그가 대기열에 들어간 시점부터 로그 시트에 기록될 때까지 걸린 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("herb.log.append.queue.size", queue, Collection::size)
+                .description("로그 시트 기록을 기다리는 약재 로그 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!writeBehind) {
+            return;
+        }
+        running = true;
+        flushThread = new Thread(this::flushLoop, "herb-log-appender");
+        flushThread.setDaemon(true);
+        flushThread.start();
+    }
+
+    /**
+     * 약재 로그 기록.<br/>
+     * write-behind 모드에서는 대기열에 넣고 바로 반환하며, 실제 기록 완료 후 {@link HerbLogsAppendedEvent} 가 발행된다.<br/>
+     * 로그 기록이 끝나면 해당 트랜잭션의 완료를 {@link HerbSagaJournal} 에 기록한다.
+     *
+     * @param sagaId 로그를 기록하는 트랜잭션 ID
+     * @param logDTOList 기록할 로그 목록
+     * @throws GeneralSecurityException on security exception.
+     * @throws IOException on Credentials file read exception, 또는 대기열이 가득 차 로그를 넣지 못한 경우.
+     */
+    public void append(String sagaId, List<HerbLogDTO> logDTOList) throws GeneralSecurityException, IOException {
+        if (logDTOList.isEmpty()) {
+            herbSagaJournal.end(sagaId, HerbSagaJournal.EndState.COMMITTED);
+            return;
+        }
+        if (!writeBehind) {
+            long startNanos = System.nanoTime();
+            doAppend(logDTOList);
+            appendLagTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            herbSagaJournal.end(sagaId, HerbSagaJournal.EndState.COMMITTED);
+            return;
+        }
+        herbSagaJournal.logQueued(sagaId);
+        enqueue(sagaId, logDTOList);
+    }
+
+    /**
+     * 대기열에 로그 추가. 여러 요청의 로그가 섞이지 않도록 한 요청의 로그는 연속해서 넣는다.<br/>
+     * 일부만 들어간 채로 실패하면 호출자의 롤백과 어긋나므로, 한 요청의 로그가 모두 들어갈 공간이 생길 때까지 기다린 후 한 번에 넣는다.
+     */
+    private synchronized void enqueue(String sagaId, List<HerbLogDTO> logDTOList) throws IOException {
+        if (!running) {
+            throw new IOException("약재 로그 기록기가 종료되었습니다.");
+        }
+        long enqueuedNanos = System.nanoTime();
+        long deadlineNanos = enqueuedNanos + enqueueTimeout.toNanos();
+
+        // 대기열에 넣는 쪽은 이 메서드뿐이므로, 확인한 여유 공간은 줄어들지 않는다
+        while (queue.remainingCapacity() < logDTOList.size()) {
+            if (System.nanoTime() - deadlineNanos >= 0) {
+                log.error("Herb log queue is full. rejected logs: {}", logDTOList);
+                throw new IOException("약재 로그 기록 대기열이 가득 찼습니다.");
+            }
+            try {
+                Thread.sleep(ENQUEUE_WAIT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("약재 로그 대기열 추가가 중단되었습니다.", e);
+            }
+        }
+
+        for (int i = 0; i < logDTOList.size(); i++) {
+            queue.add(new PendingLog(sagaId, logDTOList.get(i), enqueuedNanos, i == logDTOList.size() - 1));
+        }
+    }
+
+    private void flushLoop() {
+        List<PendingLog> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingLog first = queue.poll(maxBatchDelay.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // 첫 번째 로그 이후 maxBatchDelay 동안 maxBatchSize 까지 모음
+                long deadlineNanos = System.nanoTime() + maxBatchDelay.toNanos();
+                while (batch.size() < maxBatchSize) {
+                    long remainingNanos = deadlineNanos - System.nanoTime();
+                    PendingLog next = remainingNanos > 0 && running
+                            ? queue.poll(remainingNanos, TimeUnit.NANOSECONDS)
+                            : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flushWithRetry(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                // 종료 요청. 남은 로그는 반복문 조건에 따라 모두 기록 후 종료
+                running = false;
+            }
+        }
+    }
+
+    /**
+     * 묶음 기록. 일시적인 오류는 최대 {@link #maxAttempts} 번(종료 중에는 {@value #SHUTDOWN_MAX_ATTEMPTS} 번)까지 지수 백오프로 재시도한다.<br/>
+     * 행 추가는 다시 수행하면 중복 기록될 수 있으므로, 재시도 전에 로그 시트 끝에서 이미 기록된 로그를 확인하여 누락된 로그만 다시 기록한다.
+     * 응답 없이 반영된 로그는 로그 추가 이벤트가 발행되지 않으며, 복제본과 색인은 다음 로그 추가 시 행 번호가 이어지지 않는 것을 보고 보충 조회한다.<br/>
+     * 재시도해도 같은 결과인 오류이거나 시도 횟수를 초과한 경우 묶음을 포기하고 다음 묶음을 기록한다.
+     * 포기한 묶음의 트랜잭션은 완료 처리하지 않으므로 저널에 남아, 재시작 시 {@link com.example.spreadsheetdemo.herb.journal.HerbSagaRecovery} 가 정리한다.
+     */
+    private void flushWithRetry(List<PendingLog> batch) throws InterruptedException {
+        List<HerbLogDTO> remainingList = batch.stream().map(PendingLog::getLogDTO).toList();
+        long backoffMillis = INITIAL_RETRY_BACKOFF_MILLIS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                if (attempt > 1) {
+                    // 이전 시도가 응답 없이 반영되었을 수 있음
+                    remainingList = herbLogTail.findMissingLogs(remainingList);
+                }
+                if (!remainingList.isEmpty()) {
+                    doAppend(remainingList);
+                }
+                long nowNanos = System.nanoTime();
+                for (PendingLog pending : batch) {
+                    appendLagTimer.record(nowNanos - pending.getEnqueuedNanos(), TimeUnit.NANOSECONDS);
+                    // 한 트랜잭션의 로그가 여러 묶음으로 나뉠 수 있으므로 마지막 로그가 기록된 경우에만 완료 처리
+                    if (pending.isLastOfSaga()) {
+                        herbSagaJournal.end(pending.getSagaId(), HerbSagaJournal.EndState.COMMITTED);
+                    }
+                }
+                return;
+            } catch (GeneralSecurityException | IOException | RuntimeException e) {
+                log.error("Failed to append {} herb logs (attempt {}): {}", remainingList.size(), attempt, e.getMessage());
+                int attemptLimit = running ? maxAttempts : Math.min(maxAttempts, SHUTDOWN_MAX_ATTEMPTS);
+                if (!isRetryable(e) || attempt >= attemptLimit) {
+                    // 완료 처리하지 않은 트랜잭션은 재시작 시 저널을 통해 정리된다
+                    log.error("[CRITICAL] Giving up {} herb logs of sagas {}. left open in journal for recovery: {}",
+                            remainingList.size(), batch.stream().map(PendingLog::getSagaId).distinct().toList(), remainingList);
+                    return;
+                }
+                Thread.sleep(backoffMillis);
+                backoffMillis = Math.min(backoffMillis * 2, MAX_RETRY_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * 재시도할 수 있는 오류인지 확인.
+     * 할당량 초과, 서버 오류, 시간 초과 등 일시적인 오류만 재시도하며, 요청 자체가 잘못된 경우(4xx)나 인증 오류, 예상하지 못한 예외는 재시도하지 않는다.
+     */
+    private static boolean isRetryable(Exception e) {
+        if (e instanceof GoogleJsonResponseException responseException) {
+            int statusCode = responseException.getStatusCode();
+            return statusCode == 408 || statusCode == 429 || statusCode >= 500;
+        }
+        return e instanceof IOException;
+    }
+
+    /**
+     * 로그 시트에 한 번의 append 요청으로 로그를 추가한 후 {@link HerbLogsAppendedEvent} 발행.
+     * 복제본과 일자 색인이 이벤트로 새 로그를 반영한 뒤 로그 데이터 버전을 올린다.
+     */
+    private void doAppend(List<HerbLogDTO> logDTOList) throws GeneralSecurityException, IOException {
+        List<List<Object>> value = new ArrayList<>(logDTOList.size());
+        for (HerbLogDTO logDTO : logDTOList) {
+            value.addAll(herbMapper.fromHerbLogDTO(logDTO));
+        }
+
+        String insertedRange = herbLogRepository.insertLog(value);
+        eventPublisher.publishEvent(new HerbLogsAppendedEvent(herbMapper.extractRowNumFromRange(insertedRange), logDTOList));
+        herbDataVersion.increment(HerbDataVersion.Resource.HERB_LOG);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (flushThread == null) {
+            return;
+        }
+        synchronized (this) {
+            running = false;
+        }
+        flushThread.join(TimeUnit.SECONDS.toMillis(30));
+        if (flushThread.isAlive()) {
+            log.error("[CRITICAL] Herb log appender did not finish in time. {} logs remain in queue", queue.size());
+        }
+    }
+
+    /**
+     * 대기열에 들어간 로그와 들어간 시각
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class PendingLog {
+        private final String sagaId;
+        private final HerbLogDTO logDTO;
+        private final long enqueuedNanos;
+        // 트랜잭션의 마지막 로그 여부
+        private final boolean lastOfSaga;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.spreadsheetdemo.herb.service;
+
+import lombok.Getter;
+
+/**
+ * 약재 수정 로그 내보내기 형식.
+ *
+ * @see HerbLogExporter
+ */
+@Getter
+public enum HerbLogExportFormat {
+
+    /**
+     * 한 줄에 로그 하나씩 JSON 객체로 기록 (Newline Delimited JSON)
+     */
+    NDJSON("ndjson", "application/x-ndjson"),
+
+    /**
+     * 헤더 행을 포함한 CSV. 스프레드시트 프로그램에서 한글이 깨지지 않도록 UTF-8 BOM 으로 시작한다.
+     */
+    CSV("csv", "text/csv;charset=UTF-8");
+
+    /**
+     * 요청 파라미터 값. 내보낸 파일의 확장자로도 사용한다.
+     */
+    private final String parameter;
+    private final String mediaType;
+
+    HerbLogExportFormat(String parameter, String mediaType) {
+        this.parameter = parameter;
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * 요청 파라미터 값으로 내보내기 형식 조회.
+     *
+     * @param parameter 요청 파라미터 값 (예: "csv")
+     * @return 내보내기 형식. 비어있는 경우 {@link #NDJSON}.
+     * @throws IllegalArgumentException 지원하지 않는 형식인 경우
+     */
+    public static HerbLogExportFormat from(String parameter) {
+        if (parameter == null || parameter.isBlank()) {
+            return NDJSON;
+        }
+        for (HerbLogExportFormat format : values()) {
+            if (format.parameter.equalsIgnoreCase(parameter)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException(String.format("지원하지 않는 내보내기 형식입니다: %s", parameter));
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.spreadsheetdemo.herb.service;
+
+import com.example.spreadsheetdemo.common.exception.GoogleSpreadsheetsAPIException;
+import com.example.spreadsheetdemo.herb.dto.HerbLogDTO;
+import com.example.spreadsheetdemo.herb.index.HerbLogDateIndex;
+import com.example.spreadsheetdemo.herb.replica.HerbLogReplica;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 약재 수정 로그 내보내기.<br/>
+ * 기간에 해당하는 행 범위를 {@link HerbLogDateIndex} 로 계산한 뒤, {@link HerbLogReplica} 에서 {@link #chunkRows} 행씩 읽어
+ * 읽은 묶음을 응답에 기록한 다음 다음 묶음을 읽는다.
+ * 메모리에는 한 묶음만 유지하므로 로그 크기와 관계없이 사용 메모리가 일정하며, 첫 묶음을 기록하는 즉시 응답이 시작된다.<br/>
+ * 묶음을 기록하는 동안에는 복제본 잠금을 잡고 있지 않으므로, 느린 클라이언트가 로그 추가를 막지 않는다.
+ */
+@Slf4j
+@Component
+public class HerbLogExporter {
+
+    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final String CSV_HEADER = "loggedDatetime,name,beforeAmount,afterAmount\n";
+    // 스프레드시트 프로그램이 수식으로 해석하는 셀의 첫 글자
+    private static final String CSV_FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final HerbLogDateIndex herbLogDateIndex;
+    private final HerbLogReplica herbLogReplica;
+
+    /**
+     * 한 번에 읽어 기록할 최대 행 수
+     */
+    private final int chunkRows;
+
+    public HerbLogExporter(
+            HerbLogDateIndex herbLogDateIndex,
+            HerbLogReplica herbLogReplica,
+            @Value("${herb.log.export.chunk-rows:1000}") int chunkRows
+    ) {
+        if (chunkRows < 1) {
+            throw new IllegalArgumentException("herb.log.export.chunk-rows must be positive.");
+        }
+        this.herbLogDateIndex = herbLogDateIndex;
+        this.herbLogReplica = herbLogReplica;
+        this.chunkRows = chunkRows;
+    }
+
+    /**
+     * 내보낼 기간의 행 범위 조회. 응답을 시작하기 전에 호출하여, 조회에 실패한 경우 오류 응답을 보낼 수 있도록 한다.
+     *
+     * @param fromInclude 시작 일자 (포함)
+     * @param toInclude 종료 일자 (포함)
+     * @return 해당 기간의 첫 번째 로그 행부터 마지막 로그 행까지의 범위. 해당 기간에 로그가 없는 경우 빈 Optional.
+     * @throws IllegalArgumentException 시작 일자가 종료 일자보다 늦은 경우
+     */
+    public Optional<HerbLogDateIndex.RowRange> findRowRange(LocalDate fromInclude, LocalDate toInclude) {
+        if (fromInclude.isAfter(toInclude)) {
+            throw new IllegalArgumentException("시작 일자는 종료 일자보다 늦을 수 없습니다.");
+        }
+        try {
+            return herbLogDateIndex.findRowRange(fromInclude.minusDays(1), toInclude);
+        } catch (GeneralSecurityException | IOException e) {
+            log.error("Error fetching herb log data: {}", e.getMessage());
+            throw new GoogleSpreadsheetsAPIException("약재 재고 로그 정보를 불러오는 데 실패했습니다. 잠시 뒤 다시 시도해주세요.", e);
+        }
+    }
+
+    /**
+     * 행 범위의 로그를 묶음 단위로 읽어 기록. 묶음마다 출력 스트림을 비워 바로 전송되도록 한다.
+     *
+     * @param rowRange {@link #findRowRange} 로 조회한 행 범위. {@code null} 인 경우 헤더만 기록한다.
+     * @param format 내보내기 형식
+     * @param outputStream 응답 출력 스트림
+     * @throws IOException 출력 스트림 기록에 실패한 경우 (클라이언트 연결 종료 등)
+     */
+    public void write(HerbLogDateIndex.RowRange rowRange, HerbLogExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == HerbLogExportFormat.CSV) {
+            writer.write('\uFEFF');
+            writer.write(CSV_HEADER);
+        }
+        writer.flush();
+        if (rowRange == null) {
+            return;
+        }
+
+        int exportedRows = 0;
+        for (int startRowNum = rowRange.getFirstRowNum(); startRowNum <= rowRange.getLastRowNum(); startRowNum += chunkRows) {
+            int endRowNum = Math.min(rowRange.getLastRowNum(), startRowNum + chunkRows - 1);
+            List<HerbLogDTO> chunk = readChunk(startRowNum, endRowNum);
+            for (HerbLogDTO logDTO : chunk) {
+                if (format == HerbLogExportFormat.CSV) {
+                    writeCsvRow(writer, logDTO);
+                } else {
+                    writeJsonLine(writer, logDTO);
+                }
+            }
+            writer.flush();
+            exportedRows += chunk.size();
+        }
+        log.debug("Exported {} herb log rows ({} ~ {}) as {}", exportedRows, rowRange.getFirstRowNum(), rowRange.getLastRowNum(), format);
+    }
+
+    private List<HerbLogDTO> readChunk(int startRowNum, int endRowNum) throws IOException {
+        try {
+            return herbLogReplica.getRange(startRowNum, endRowNum);
+        } catch (GeneralSecurityException e) {
+            log.error("Error fetching herb log data: {}", e.getMessage());
+            throw new GoogleSpreadsheetsAPIException("약재 재고 로그 정보를 불러오는 데 실패했습니다. 잠시 뒤 다시 시도해주세요.", e);
+        }
+    }
+
+    private static void writeJsonLine(Writer writer, HerbLogDTO logDTO) throws IOException {
+        writer.write("{\"loggedDatetime\":");
+        writeJsonString(writer, logDTO.getLoggedDatetime() == null ? null : DATETIME_FORMATTER.format(logDTO.getLoggedDatetime()));
+        writer.write(",\"name\":");
+        writeJsonString(writer, logDTO.getName());
+        writer.write(",\"beforeAmount\":");
+        writer.write(String.valueOf(logDTO.getBeforeAmount()));
+        writer.write(",\"afterAmount\":");
+        writer.write(String.valueOf(logDTO.getAfterAmount()));
+        writer.write("}\n");
+    }
+
+    private static void writeJsonString(Writer writer, String value) throws IOException {
+        if (value == null) {
+            writer.write("null");
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> writer.write("\\\"");
+                case '\\' -> writer.write("\\\\");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                case '\t' -> writer.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+                }
+            }
+        }
+        writer.write('"');
+    }
+
+    private static void writeCsvRow(Writer writer, HerbLogDTO logDTO) throws IOException {
+        writer.write(logDTO.getLoggedDatetime() == null ? "" : DATETIME_FORMATTER.format(logDTO.getLoggedDatetime()));
+        writer.write(',');
+        writeCsvField(writer, logDTO.getName());
+        writer.write(',');
+        writer.write(logDTO.getBeforeAmount() == null ? "" : String.valueOf(logDTO.getBeforeAmount()));
+        writer.write(',');
+        writer.write(logDTO.getAfterAmount() == null ? "" : String.valueOf(logDTO.getAfterAmount()));
+        writer.write('\n');
+    }
+
+    /**
+     * 구분자, 따옴표, 줄바꿈이 포함된 값은 따옴표로 감싸고, 값 안의 따옴표는 두 번 기록한다. (RFC 4180)<br/>
+     * 스프레드시트 프로그램에서 수식으로 실행되지 않도록, {@code =}, {@code +}, {@code -}, {@code @}, 탭, CR 로 시작하는 값은 앞에 {@code '} 를 붙인다.
+     */
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!value.isEmpty() && CSV_FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
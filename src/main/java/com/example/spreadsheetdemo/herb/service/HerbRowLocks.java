@@ -0,0 +1,74 @@
+package com.example.spreadsheetdemo.herb.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 약재 행 번호 기준 스트라이프 잠금.<br/>
+ * 같은 약재 행을 수정하는 요청은 이 JVM 안에서 순서대로 처리되고, 서로 다른 약재 행은 병렬로 처리될 수 있다.<br/>
+ * 행 번호마다 잠금을 만들지 않고 고정된 개수의 잠금을 나누어 사용하므로, 서로 다른 행이 같은 잠금을 공유할 수 있다.
+ */
+@Component
+public class HerbRowLocks {
+
+    private final ReentrantLock[] stripes;
+
+    public HerbRowLocks(@Value("${herb.update.lock-stripes:64}") int stripeCount) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("잠금 개수는 1 이상이어야 합니다.");
+        }
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * 행 번호에 해당하는 잠금을 획득.
+     *
+     * @param rowNum 행 번호
+     * @return 획득한 잠금. 처리 후 {@link #unlockAll(List)} 로 해제해야 한다.
+     */
+    public List<ReentrantLock> lock(int rowNum) {
+        return lockAll(List.of(rowNum));
+    }
+
+    /**
+     * 여러 행 번호에 해당하는 잠금을 모두 획득.<br/>
+     * 교착 상태를 막기 위해 항상 잠금 인덱스 오름차순으로 획득한다.
+     *
+     * @param rowNums 행 번호 목록
+     * @return 획득한 잠금 목록. 처리 후 {@link #unlockAll(List)} 로 해제해야 한다.
+     */
+    public List<ReentrantLock> lockAll(Collection<Integer> rowNums) {
+        TreeSet<Integer> stripeIndexes = new TreeSet<>();
+        for (Integer rowNum : rowNums) {
+            stripeIndexes.add(Math.floorMod(rowNum, stripes.length));
+        }
+
+        List<ReentrantLock> acquired = new ArrayList<>(stripeIndexes.size());
+        for (int stripeIndex : stripeIndexes) {
+            ReentrantLock stripe = stripes[stripeIndex];
+            stripe.lock();
+            acquired.add(stripe);
+        }
+        return acquired;
+    }
+
+    /**
+     * 획득한 잠금을 획득의 역순으로 해제.
+     *
+     * @param acquired {@link #lock(int)} 또는 {@link #lockAll(Collection)} 으로 획득한 잠금 목록
+     */
+    public void unlockAll(List<ReentrantLock> acquired) {
+        for (int i = acquired.size() - 1; i >= 0; i--) {
+            acquired.get(i).unlock();
+        }
+    }
+}
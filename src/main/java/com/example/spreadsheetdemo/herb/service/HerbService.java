@@ -4,24 +4,45 @@ import com.example.spreadsheetdemo.common.SheetsInfo;
 import com.example.spreadsheetdemo.common.exception.GoogleSpreadsheetsAPIException;
 import com.example.spreadsheetdemo.common.exception.OptimisticLockingException;
 import com.example.spreadsheetdemo.common.exception.RollbackFailedException;
+import com.example.spreadsheetdemo.herb.cache.HerbDataVersion;
+import com.example.spreadsheetdemo.herb.cache.HerbSnapshotCache;
+import com.example.spreadsheetdemo.herb.domain.HerbLogCursor;
+import com.example.spreadsheetdemo.herb.domain.HerbLogHistory;
 import com.example.spreadsheetdemo.herb.domain.HerbLogPagination;
+import com.example.spreadsheetdemo.herb.domain.HerbPage;
+import com.example.spreadsheetdemo.herb.domain.HerbPageRequest;
+import com.example.spreadsheetdemo.herb.domain.HerbSortedView;
 import com.example.spreadsheetdemo.herb.dto.*;
+import com.example.spreadsheetdemo.herb.event.HerbsChangedEvent;
+import com.example.spreadsheetdemo.herb.index.HerbLogDateIndex;
+import com.example.spreadsheetdemo.herb.index.HerbSearchIndex;
+import com.example.spreadsheetdemo.herb.journal.HerbSagaEntry;
+import com.example.spreadsheetdemo.herb.journal.HerbSagaJournal;
 import com.example.spreadsheetdemo.herb.mapper.HerbMapper;
-import com.example.spreadsheetdemo.herb.repository.HerbLogRepository;
+import com.example.spreadsheetdemo.herb.replica.HerbLogReplica;
 import com.example.spreadsheetdemo.herb.repository.HerbRepository;
+import com.example.spreadsheetdemo.herb.repository.ReactiveHerbLogRepository;
 import com.google.api.services.sheets.v4.model.ValueRange;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 
 @Slf4j
@@ -30,23 +51,103 @@ import java.util.stream.Collectors;
 public class HerbService {
 
     private final HerbRepository herbRepository;
-    private final HerbLogRepository herbLogRepository;
     private final HerbMapper herbMapper;
+    private final HerbSnapshotCache herbSnapshotCache;
+    private final HerbDataVersion herbDataVersion;
+    private final HerbLogDateIndex herbLogDateIndex;
+    private final HerbSearchIndex herbSearchIndex;
+    private final HerbLogReplica herbLogReplica;
+    private final ReactiveHerbLogRepository reactiveHerbLogRepository;
+    private final HerbLogAppender herbLogAppender;
+    private final HerbSagaJournal herbSagaJournal;
+    private final HerbRowLocks herbRowLocks;
+    private final HerbUpdateExecutor herbUpdateExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 커서 기반 로그 조회의 페이지 크기 (행 수)
+    private static final int DEFAULT_LOG_PAGE_ROWS = 100;
+    private static final int MAX_LOG_PAGE_ROWS = 1000;
+
+    // 약재 별 로그 이력 페이지 크기
+    private static final int DEFAULT_LOG_HISTORY_SIZE = 50;
+    private static final int MAX_LOG_HISTORY_SIZE = 500;
+
+    // 약재 이름 자동 완성 결과 수
+    private static final int DEFAULT_SEARCH_LIMIT = 10;
+    private static final int MAX_SEARCH_LIMIT = 50;
+
+    @Value("${herb.update.mode:BATCH}")
+    private HerbUpdateMode updateMode;
 
     /**
-     * 약재 정보가 담긴 스프레드시트의 모든 행을 조회.
+     * 약재 정보가 담긴 스프레드시트의 모든 행을 조회.<br/>
+     * 인메모리 스냅샷에서 조회하며, 스냅샷이 만료된 경우에만 스프레드시트를 조회한다.
      *
-     * @return 스프레드시트의 모든 행 정보 {@link ValueRange}.
+     * @return 스프레드시트의 모든 행 정보를 담은 HerbDTO 리스트.
+     * @see HerbSnapshotCache
      */
     public List<HerbDTO> getAllHerbs() {
-        ValueRange result;
         try {
-            result = herbRepository.selectAll();
+            return herbSnapshotCache.getSnapshot().getHerbList();
+        } catch (GeneralSecurityException | IOException e) {
+            log.error("Error fetching herb data: {}", e.getMessage());
+            throw new GoogleSpreadsheetsAPIException("약재 재고 정보를 불러오는 데 실패했습니다. 잠시 뒤 다시 시도해주세요.", e);
+        }
+    }
+
+    /**
+     * 약재 목록 페이지 조회.<br/>
+     * 검색어가 없는 경우 스냅샷의 정렬 목록에서 필요한 범위만 읽으며, 검색어가 있는 경우 검색 결과를 조건에 따라 필터링, 정렬한다.
+     *
+     * @param keyword 검색어
+     * @param request 조회 조건. 정렬 기준이 없는 경우 검색어가 없으면 행 번호 순, 있으면 검색 순위 순.
+     * @return 약재 페이지
+     * @see HerbSortedView
+     */
+    public HerbPage getHerbPage(String keyword, HerbPageRequest request) {
+        if (keyword != null && !keyword.isBlank()) {
+            return HerbPage.from(searchByIndex(keyword, Integer.MAX_VALUE), request);
+        }
+        try {
+            return herbSnapshotCache.getSortedView().page(request);
         } catch (GeneralSecurityException | IOException e) {
             log.error("Error fetching herb data: {}", e.getMessage());
             throw new GoogleSpreadsheetsAPIException("약재 재고 정보를 불러오는 데 실패했습니다. 잠시 뒤 다시 시도해주세요.", e);
         }
-        return herbMapper.toHerbDTOList(result);
+    }
+
+    /**
+     * 약재 목록 조건부 조회에 사용할 데이터 버전 조회.<br/>
+     * 스프레드시트를 조회하지 않고 현재 버전만 읽는다. 다른 경로의 변경 사항은 스냅샷의 주기 갱신이 반영하면서 버전을 올린다.
+     *
+     * @return 데이터 버전
+     * @see HerbDataVersion
+     */
+    public long getHerbDataVersion() {
+        return herbDataVersion.get(HerbDataVersion.Resource.HERB);
+    }
+
+    /**
+     * 약재 이름 자동 완성 검색.
+     *
+     * @param keyword 검색어
+     * @param limit 최대 결과 수. 없는 경우 {@value DEFAULT_SEARCH_LIMIT}, 최대 {@value MAX_SEARCH_LIMIT}
+     * @return 순위 순으로 정렬된 약재 목록
+     */
+    public List<HerbDTO> suggestHerbs(String keyword, Integer limit) {
+        if (limit != null && (limit < 1 || limit > MAX_SEARCH_LIMIT)) {
+            throw new IllegalArgumentException(String.format("결과 수는 1 이상 %d 이하여야 합니다.", MAX_SEARCH_LIMIT));
+        }
+        return searchByIndex(keyword, limit == null ? DEFAULT_SEARCH_LIMIT : limit);
+    }
+
+    private List<HerbDTO> searchByIndex(String keyword, int limit) {
+        try {
+            return herbSearchIndex.search(keyword, limit);
+        } catch (GeneralSecurityException | IOException e) {
+            log.error("Error searching herb data: {}", e.getMessage());
+            throw new GoogleSpreadsheetsAPIException("약재 재고 정보를 불러오는 데 실패했습니다. 잠시 뒤 다시 시도해주세요.", e);
+        }
     }
 
     public HerbDTO getHerbByRowNum(Integer rowNum) {
@@ -79,11 +180,23 @@ public class HerbService {
 
     /**
      * 약재 등록 트랜잭션 처리
-     * 약재 등록 -> 로그 생성 순으로 처리하며, 중간에 실패할 경우 롤백 수행.
+     * 약재 등록 -> 로그 생성 순으로 처리하며, 중간에 실패할 경우 롤백 수행.<br/>
+     * 각 단계는 실행 전에 {@link HerbSagaJournal} 에 기록되며, 처리 도중 종료된 경우 재시작 시 이어서 처리하거나 보상한다.
      * 
      * @param herbRegisterDTO 등록할 약재 정보
      */
     private void transactionalInsertHerb(HerbRegisterDTO herbRegisterDTO) {
+        /*
+            0. 트랜잭션 시작을 저널에 기록
+         */
+        HerbSagaEntry saga;
+        try {
+            saga = herbSagaJournal.beginInsert(herbRegisterDTO);
+        } catch (IOException e) {
+            log.error("Error journaling herb insert for {}: {}", herbRegisterDTO.getName(), e.getMessage());
+            throw new GoogleSpreadsheetsAPIException("약재 등록에 실패했습니다. 잠시 뒤 다시 시도해주세요.", e);
+        }
+
         /*
             1. 약재 정보를 스프레드시트에 반영
          */
@@ -92,15 +205,20 @@ public class HerbService {
         try {
             herbInsertedRange = doInsertHerb(herbRegisterDTO);
         } catch (GeneralSecurityException | IOException e) {
+            herbSagaJournal.end(saga.getSagaId(), HerbSagaJournal.EndState.ABORTED);
             log.error("Error inserting herb data for {}: {}", herbRegisterDTO.getName(), e.getMessage());
             throw new GoogleSpreadsheetsAPIException("약재 등록에 실패했습니다. 잠시 뒤 다시 시도해주세요.", e);
+        } catch (RuntimeException e) {
+            herbSagaJournal.end(saga.getSagaId(), HerbSagaJournal.EndState.ABORTED);
+            throw e;
         }
         
         /*
             2. 약재 등록 내역을 로그 시트에 기록
          */
         try {
-            logInsertHerb(herbRegisterDTO);
+            herbSagaJournal.herbWritten(saga.getSagaId(), herbInsertedRange);
+            appendLogs(saga);
         } catch (GeneralSecurityException | IOException e) {
             log.error("Error logging inserted herb data for {}: {}", herbRegisterDTO.getName(), e.getMessage());
             log.warn("Attempting to rollback herb insert for {}", herbRegisterDTO.getName());
@@ -109,7 +227,7 @@ public class HerbService {
             try {
                 rollbackHerbInsert(herbInsertedRange);
             } catch (GeneralSecurityException | IOException e1) {
-                // 롤백 실패
+                // 롤백 실패. 트랜잭션을 종료하지 않고 남겨두어 재시작 시 다시 처리
                 log.error("[CRITICAL] Inserting Rollback failed for {}: {}", herbRegisterDTO.getName(), e1.getMessage());
                 throw new RollbackFailedException(
                         "약재 등록에 실패하여 데이터 자동 복구를 시도하였으나 실패했습니다.\n약재 재고 수량 변화가 정상적으로 등록되지 않았을 수 있습니다.", e1
@@ -117,9 +235,22 @@ public class HerbService {
             }
             
             // 롤백 성공
+            herbSagaJournal.end(saga.getSagaId(), HerbSagaJournal.EndState.COMPENSATED);
             log.info("Inserting Rollback successful for {}", herbRegisterDTO.getName());
             throw new GoogleSpreadsheetsAPIException("약재 등록에 실패했습니다. 잠시 뒤 다시 시도해주세요.", e);
         }
+
+        /*
+            3. 등록 완료 이벤트 발행
+         */
+        Integer insertedRowNum = herbMapper.extractRowNumFromRange(herbInsertedRange);
+        if (insertedRowNum == null) {
+            // 등록된 행 번호를 알 수 없어 스냅샷에 반영할 수 없으므로, 다음 조회 시 스프레드시트에서 다시 불러오도록 함
+            log.warn("Unable to parse inserted herb range {}. invalidating herb snapshot.", herbInsertedRange);
+            herbSnapshotCache.invalidate();
+            return;
+        }
+        publishHerbsChanged(List.of(HerbDTO.of(insertedRowNum, herbRegisterDTO)));
     }
 
     /**
@@ -136,22 +267,15 @@ public class HerbService {
     }
 
     /**
-     * 약재 등록 로그 기록
-     * 
-     * @param dto 등록된 약재 정보
+     * 트랜잭션의 로그를 로그 시트에 기록. 로그 기록이 끝나면 트랜잭션이 완료된다.
+     *
+     * @param saga 로그를 기록할 트랜잭션
      * @throws GeneralSecurityException on security exception.
      * @throws IOException on Credentials file read exception.
+     * @see HerbLogAppender
      */
-    private void logInsertHerb(HerbRegisterDTO dto) throws GeneralSecurityException, IOException {
-        HerbLogDTO logDTO = HerbLogDTO.builder()
-                .loggedDatetime(LocalDateTime.now())
-                .name(dto.getName())
-                .beforeAmount(0L)
-                .afterAmount(dto.getAmount())
-                .build();
-        List<List<Object>> value = herbMapper.fromHerbLogDTO(logDTO);
-
-        herbLogRepository.insertLog(value);
+    private void appendLogs(HerbSagaEntry saga) throws GeneralSecurityException, IOException {
+        herbLogAppender.append(saga.getSagaId(), saga.toLogDTOList());
     }
 
     /**
@@ -166,16 +290,242 @@ public class HerbService {
     }
 
     /**
-     * 약재 재고 및 메모 수정
+     * 약재 재고 및 메모 수정.<br/>
+     * {@code herb.update.mode} 설정에 따라 약재 별로 순차 처리하거나, 전체를 일괄 처리한다.
      *
      * @param updateDTOList 수정할 약재 정보 리스트
+     * @see HerbUpdateMode
      */
     public void updateHerbs(List<HerbUpdateDTO> updateDTOList) {
+        if (updateDTOList == null || updateDTOList.isEmpty()) {
+            return;
+        }
         for (HerbUpdateDTO dto : updateDTOList) {
+            if (dto.getRowNum() == null || dto.getRowNum() < 2) {
+                throw new IllegalArgumentException("유효하지 않은 행 번호입니다.");
+            }
+        }
+
+        switch (updateMode) {
+            case BATCH:
+                lockedUpdateHerbs(updateDTOList);
+                break;
+            case CONCURRENT:
+                concurrentUpdateHerbs(updateDTOList);
+                break;
+            case SEQUENTIAL:
+            default:
+                for (HerbUpdateDTO dto : updateDTOList) {
+                    lockedUpdateHerb(dto);
+                }
+                break;
+        }
+    }
+
+    /**
+     * 약재 별 수정 트랜잭션을 {@link HerbUpdateExecutor} 에서 병렬로 처리.<br/>
+     * 모든 약재의 처리가 끝날 때까지 기다린 후, 실패한 약재가 있다면 요청 순서상 가장 앞선 실패의 예외를 던진다.
+     * 실패하지 않은 약재의 수정 사항은 그대로 반영된다.
+     *
+     * @param updateDTOList 수정할 약재 정보 리스트
+     */
+    private void concurrentUpdateHerbs(List<HerbUpdateDTO> updateDTOList) {
+        List<Future<?>> futureList = new ArrayList<>(updateDTOList.size());
+        for (HerbUpdateDTO dto : updateDTOList) {
+            futureList.add(herbUpdateExecutor.submit(() -> lockedUpdateHerb(dto)));
+        }
+
+        RuntimeException failure = null;
+        for (Future<?> future : futureList) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException cause
+                            ? cause
+                            : new GoogleSpreadsheetsAPIException("재고 또는 메모 수정에 실패했습니다. 잠시 뒤 다시 시도해주세요.", e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new GoogleSpreadsheetsAPIException("재고 또는 메모 수정이 중단되었습니다. 최신 정보를 불러온 후 다시 시도해주세요.", e);
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * 수정할 모든 약재 행 잠금을 획득한 상태에서 약재 일괄 수정 트랜잭션 처리.
+     *
+     * @param updateDTOList 수정할 약재 정보 리스트
+     * @see HerbRowLocks
+     */
+    private void lockedUpdateHerbs(List<HerbUpdateDTO> updateDTOList) {
+        List<ReentrantLock> acquired = herbRowLocks.lockAll(updateDTOList.stream().map(HerbUpdateDTO::getRowNum).toList());
+        try {
+            transactionalUpdateHerbs(updateDTOList);
+        } finally {
+            herbRowLocks.unlockAll(acquired);
+        }
+    }
+
+    /**
+     * 약재 행 잠금을 획득한 상태에서 약재 수정 트랜잭션 처리.
+     *
+     * @param dto 수정할 약재 정보
+     * @see HerbRowLocks
+     */
+    private void lockedUpdateHerb(HerbUpdateDTO dto) {
+        List<ReentrantLock> acquired = herbRowLocks.lock(dto.getRowNum());
+        try {
             transactionalUpdateHerb(dto);
+        } finally {
+            herbRowLocks.unlockAll(acquired);
         }
     }
 
+    /**
+     * 여러 약재 재고 및 메모 수정 일괄 트랜잭션 처리.<br/>
+     * 전체 약재 조회(batchGet) -> 전체 약재 수정(batchUpdate) -> 전체 로그 기록(append) 순으로 처리하며,
+     * 로그 기록에 실패할 경우 전체 약재 수정을 한 번의 요청으로 롤백한다.
+     *
+     * @param updateDTOList 수정할 약재 정보 리스트
+     */
+    private void transactionalUpdateHerbs(List<HerbUpdateDTO> updateDTOList) {
+        /*
+            0. 트랜잭션 시작을 저널에 기록
+         */
+        HerbSagaEntry saga = beginUpdateSaga(updateDTOList);
+
+        /*
+            1. 낙관적 잠금 확인 후 수정 사항을 스프레드시트에 일괄 반영
+         */
+        try {
+            batchUpdateHerbsWithOptimisticLocking(updateDTOList);
+        } catch (GeneralSecurityException | IOException e) {
+            herbSagaJournal.end(saga.getSagaId(), HerbSagaJournal.EndState.ABORTED);
+            log.error("Error batch updating herb data for {} rows: {}", updateDTOList.size(), e.getMessage());
+            throw new GoogleSpreadsheetsAPIException("재고 또는 메모 수정에 실패했습니다. 잠시 뒤 다시 시도해주세요.", e);
+        } catch (RuntimeException e) {
+            herbSagaJournal.end(saga.getSagaId(), HerbSagaJournal.EndState.ABORTED);
+            throw e;
+        }
+
+        /*
+            2. 수량이 변경된 약재의 수정 내역을 로그 시트에 한 번에 기록
+         */
+        if (saga.toLogDTOList().isEmpty()) {
+            // 수량 변경이 없는 경우 로그 기록 생략
+            herbSagaJournal.end(saga.getSagaId(), HerbSagaJournal.EndState.COMMITTED);
+        } else {
+            try {
+                herbSagaJournal.herbWritten(saga.getSagaId(), null);
+                appendLogs(saga);
+            } catch (GeneralSecurityException | IOException e) {
+                log.error("Error logging batch updated herb data for {} rows: {}", updateDTOList.size(), e.getMessage());
+                log.warn("Attempting to rollback batch herb update for {} rows", updateDTOList.size());
+
+                // 약재 재고 일괄 수정 롤백 시도
+                try {
+                    herbRepository.batchUpdateByRanges(toContentMapByRange(updateDTOList, herbMapper::fromHerbUpdateDTOForRollback));
+                } catch (GeneralSecurityException | IOException e1) {
+                    // 롤백 실패. 트랜잭션을 종료하지 않고 남겨두어 재시작 시 다시 처리
+                    log.error("[CRITICAL] Batch Updating Rollback failed for {}: {}", updateDTOList, e1.getMessage());
+                    throw new RollbackFailedException("재고 수정에 실패하여 데이터 자동 복구를 시도하였으나 실패했습니다.\n수동 복구가 필요합니다.", e1);
+                }
+
+                // 롤백 성공
+                herbSagaJournal.end(saga.getSagaId(), HerbSagaJournal.EndState.COMPENSATED);
+                log.info("Batch Updating Rollback successful for {} rows", updateDTOList.size());
+                throw new GoogleSpreadsheetsAPIException("재고 수정에 실패했습니다. 잠시 뒤 다시 시도해주세요.", e);
+            }
+        }
+
+        /*
+            3. 수정 완료 이벤트 발행
+         */
+        publishHerbsChanged(updateDTOList.stream().map(HerbDTO::fromUpdated).toList());
+    }
+
+    /**
+     * 약재 수정 트랜잭션 시작을 저널에 기록.
+     *
+     * @param updateDTOList 수정할 약재 정보 리스트
+     * @return 시작된 트랜잭션
+     */
+    private HerbSagaEntry beginUpdateSaga(List<HerbUpdateDTO> updateDTOList) {
+        try {
+            return herbSagaJournal.beginUpdate(updateDTOList);
+        } catch (IOException e) {
+            log.error("Error journaling herb update for {} rows: {}", updateDTOList.size(), e.getMessage());
+            throw new GoogleSpreadsheetsAPIException("재고 또는 메모 수정에 실패했습니다. 잠시 뒤 다시 시도해주세요.", e);
+        }
+    }
+
+    /**
+     * 낙관적 잠금을 이용한 약재 정보 일괄 수정.<br/>
+     * 수정할 모든 행을 한 번에 조회하여 수정 전 약재 정보와 비교하고, 모두 동일할 경우에만 한 번에 수정 수행.
+     * 하나라도 다를 경우 아무것도 수정하지 않고 {@link OptimisticLockingException} 예외 발생.
+     *
+     * @param updateDTOList 수정할 약재 정보 리스트
+     * @throws GeneralSecurityException on security exception.
+     * @throws IOException on Credentials file read exception.
+     */
+    private void batchUpdateHerbsWithOptimisticLocking(List<HerbUpdateDTO> updateDTOList) throws GeneralSecurityException, IOException {
+        List<String> ranges = new ArrayList<>(updateDTOList.size());
+        for (HerbUpdateDTO dto : updateDTOList) {
+            String range = SheetsInfo.HERB.getSpecificRowNum(dto.getRowNum());
+            if (ranges.contains(range)) {
+                throw new IllegalArgumentException("동일한 약재를 한 번에 여러 번 수정할 수 없습니다.");
+            }
+            ranges.add(range);
+        }
+
+        List<ValueRange> actualValueList = herbRepository.batchSelectByRanges(ranges);
+        for (int i = 0; i < updateDTOList.size(); i++) {
+            HerbDTO expectedHerbDTO = HerbDTO.from(updateDTOList.get(i)),
+                    actualHerbDTO = toSingleHerbDTO(actualValueList.get(i));
+            if (!expectedHerbDTO.equals(actualHerbDTO)) {
+                throw new OptimisticLockingException("재고 수정에 실패했습니다.\n다른 사용자가 해당 약재 정보를 수정했을 수 있습니다. 최신 정보를 불러온 후 다시 시도해주세요.");
+            }
+        }
+
+        herbRepository.batchUpdateByRanges(toContentMapByRange(updateDTOList, herbMapper::fromHerbUpdateDTOForUpdate));
+    }
+
+    /**
+     * 단일 행 조회 결과를 HerbDTO 로 변환.
+     *
+     * @param value 단일 행 조회 결과
+     * @return 변환된 HerbDTO. 해당 행이 비어있는 경우 {@code null}.
+     */
+    private HerbDTO toSingleHerbDTO(ValueRange value) {
+        if (value == null || value.getValues() == null) {
+            return null;
+        }
+        List<HerbDTO> herbDTOList = herbMapper.toHerbDTOList(value);
+        return herbDTOList.isEmpty() ? null : herbDTOList.get(0);
+    }
+
+    /**
+     * 약재 수정 정보를 행 범위 별 스프레드시트 데이터로 변환.
+     *
+     * @param updateDTOList 수정할 약재 정보 리스트
+     * @param converter 약재 수정 정보를 스프레드시트 데이터로 변환하는 함수
+     * @return 행 범위 별 스프레드시트 데이터 (입력 순서 유지)
+     */
+    private Map<String, List<List<Object>>> toContentMapByRange(
+            List<HerbUpdateDTO> updateDTOList, Function<HerbUpdateDTO, List<List<Object>>> converter
+    ) {
+        Map<String, List<List<Object>>> contentMapByRange = new LinkedHashMap<>();
+        for (HerbUpdateDTO dto : updateDTOList) {
+            contentMapByRange.put(SheetsInfo.HERB.getSpecificRowNum(dto.getRowNum()), converter.apply(dto));
+        }
+        return contentMapByRange;
+    }
+
     /**
      * 약재 재고 및 메모 수정 트랜잭션 처리
      * 약재 정보 수정 -> 로그 생성 순으로 처리하며, 중간에 실패할 경우 롤백 수행.
@@ -183,6 +533,11 @@ public class HerbService {
      * @param dto 수정할 약재 정보
      */
     private void transactionalUpdateHerb(HerbUpdateDTO dto) {
+        /*
+            0. 트랜잭션 시작을 저널에 기록
+         */
+        HerbSagaEntry saga = beginUpdateSaga(List.of(dto));
+
         /*
             1. 수정 사항을 스프레드시트에 반영
          */
@@ -191,12 +546,18 @@ public class HerbService {
         try {
             updatedRange = updateHerbWithOptimisticLocking(dto);
         } catch (GeneralSecurityException | IOException e) {
+            herbSagaJournal.end(saga.getSagaId(), HerbSagaJournal.EndState.ABORTED);
             log.error("Error updating herb data for {}: {}", dto.getName(), e.getMessage());
             throw new GoogleSpreadsheetsAPIException("재고 또는 메모 수정에 실패했습니다. 잠시 뒤 다시 시도해주세요.", e);
+        } catch (RuntimeException e) {
+            herbSagaJournal.end(saga.getSagaId(), HerbSagaJournal.EndState.ABORTED);
+            throw e;
         }
 
         if (!dto.isAmountChanged()) {
             // 수량 변경이 없는 경우 로그 기록 생략
+            herbSagaJournal.end(saga.getSagaId(), HerbSagaJournal.EndState.COMMITTED);
+            publishHerbsChanged(List.of(HerbDTO.fromUpdated(dto)));
             return;
         }
 
@@ -204,7 +565,8 @@ public class HerbService {
             2. 수정 내역을 로그 시트에 기록
          */
         try {
-            logUpdateHerb(dto);
+            herbSagaJournal.herbWritten(saga.getSagaId(), updatedRange);
+            appendLogs(saga);
         } catch (GeneralSecurityException | IOException e) {
             log.error("Error logging updated herb data for {}: {}", dto.getName(), e.getMessage());
             log.warn("Attempting to rollback herb update for {}", dto.getName());
@@ -213,15 +575,32 @@ public class HerbService {
             try {
                 rollbackHerbUpdate(updatedRange, dto);
             } catch (GeneralSecurityException | IOException e1) {
-                // 롤백 실패
+                // 롤백 실패. 트랜잭션을 종료하지 않고 남겨두어 재시작 시 다시 처리
                 log.error("[CRITICAL] Updating Rollback failed for {}: {}", dto.getName(), e1.getMessage());
                 throw new RollbackFailedException("재고 수정에 실패하여 데이터 자동 복구를 시도하였으나 실패했습니다.\n수동 복구가 필요합니다.", e1);
             }
 
             // 롤백 성공
+            herbSagaJournal.end(saga.getSagaId(), HerbSagaJournal.EndState.COMPENSATED);
             log.info("Updating Rollback successful for {}", dto.getName());
             throw new GoogleSpreadsheetsAPIException("재고 수정에 실패했습니다. 잠시 뒤 다시 시도해주세요.", e);
         }
+
+        /*
+            3. 수정 완료 이벤트 발행
+         */
+        publishHerbsChanged(List.of(HerbDTO.fromUpdated(dto)));
+    }
+
+    /**
+     * 약재 변경 이벤트 발행 후 약재 데이터 버전 증가.<br/>
+     * 이벤트 리스너가 스냅샷과 검색 색인에 변경 사항을 반영한 뒤 버전을 올리므로, 새 버전으로 조회한 결과에는 항상 변경 사항이 포함된다.
+     *
+     * @param changedHerbList 변경된 약재 목록
+     */
+    private void publishHerbsChanged(List<HerbDTO> changedHerbList) {
+        eventPublisher.publishEvent(new HerbsChangedEvent(changedHerbList));
+        herbDataVersion.increment(HerbDataVersion.Resource.HERB);
     }
 
     /**
@@ -236,7 +615,7 @@ public class HerbService {
      */
     private String updateHerbWithOptimisticLocking(HerbUpdateDTO dto) throws GeneralSecurityException, IOException {
         HerbDTO expectedHerbDTO = HerbDTO.from(dto),
-                actualHerbDTO = getHerbByRowNum(dto.getRowNum());
+                actualHerbDTO = getHerbForUpdate(dto.getRowNum());
         if (expectedHerbDTO != null && expectedHerbDTO.equals(actualHerbDTO)) {
             return doUpdateHerb(dto);
         } else {
@@ -244,6 +623,25 @@ public class HerbService {
         }
     }
 
+    /**
+     * 수정 전 비교에 사용할 약재 정보 조회.<br/>
+     * 동시 조회 병합을 거치지 않고 수정과 같은 우선순위로 조회하여, 다른 요청이 쓰기 전에 조회한 결과와 비교하지 않도록 한다.
+     *
+     * @param rowNum 행 번호
+     * @return 현재 약재 정보
+     */
+    private HerbDTO getHerbForUpdate(Integer rowNum) throws GeneralSecurityException, IOException {
+        if (rowNum == null || rowNum < 2) {
+            throw new IllegalArgumentException("유효하지 않은 행 번호입니다.");
+        }
+        ValueRange result = herbRepository.selectByRangeForUpdate(SheetsInfo.HERB.getSpecificRowNum(rowNum));
+        List<HerbDTO> herbDTOList = herbMapper.toHerbDTOList(result);
+        if (herbDTOList == null || herbDTOList.isEmpty()) {
+            throw new GoogleSpreadsheetsAPIException("해당 행 번호에 약재 정보가 존재하지 않습니다.");
+        }
+        return herbDTOList.get(0);
+    }
+
     /**
      * 약재 정보 수정 수행
      *
@@ -256,23 +654,6 @@ public class HerbService {
         return herbRepository.updateByRange(range, value);
     }
 
-    /**
-     * 약재 정보 수정 로그 기록
-     *
-     * @param dto 수정된 약재 정보
-     */
-    private void logUpdateHerb(HerbUpdateDTO dto) throws GeneralSecurityException, IOException {
-        HerbLogDTO logDTO = HerbLogDTO.builder()
-                .loggedDatetime(LocalDateTime.now())
-                .name(dto.getName())
-                .beforeAmount(dto.getOriginalAmount())
-                .afterAmount(dto.getNewAmount())
-                .build();
-        List<List<Object>> value = herbMapper.fromHerbLogDTO(logDTO);
-
-        herbLogRepository.insertLog(value);
-    }
-
     /**
      * 약재 정보 수정 롤백 수행
      *
@@ -284,26 +665,40 @@ public class HerbService {
     }
 
     /**
-     * 약재 수정 로그 시트의 모든 행을 조회.
+     * 약재 수정 로그 시트의 모든 행을 조회.<br/>
+     * {@link HerbLogReplica} 에서 조회하며, 스프레드시트는 새로 추가된 로그를 동기화할 때만 조회한다.
      *
      * @return 모든 로그 정보를 담은 리스트.
      */
     public List<HerbLogViewDTO> getAllHerbLogs() {
-        ValueRange result;
+        List<HerbLogDTO> herbLogDTOList;
         try {
-            result = herbLogRepository.selectAll();
+            herbLogDTOList = herbLogReplica.getAll();
         } catch (GeneralSecurityException | IOException e) {
             log.error("Error fetching herb data: {}", e.getMessage());
             throw new GoogleSpreadsheetsAPIException("약재 재고 정보를 불러오는 데 실패했습니다. 잠시 뒤 다시 시도해주세요.", e);
         }
-        List<HerbLogDTO> herbLogDTOList = herbMapper.toHerbLogDTOList(result);
 
         return HerbLogViewDTO.from(herbLogDTOList);
     }
 
     /**
-     * 약재 수정 로그 시트의 페이징 처리된 행을 조회.
+     * 약재 수정 로그 조건부 조회에 사용할 데이터 버전 조회.<br/>
+     * 로그 복제본과 일자 색인은 반영되지 않은 행이 있을 수 있는 경우 버전을 올리므로, 스프레드시트를 조회하지 않는다.
      *
+     * @return 데이터 버전
+     * @see HerbDataVersion
+     */
+    public long getHerbLogDataVersion() {
+        return herbDataVersion.get(HerbDataVersion.Resource.HERB_LOG);
+    }
+
+    /**
+     * 약재 수정 로그 시트의 페이징 처리된 행을 조회.<br/>
+     * 기준 일자로부터 한 달 동안의 로그를 조회하며, 조회할 행 범위는 {@link HerbLogDateIndex} 로 계산한다.<br/>
+     * 해당 기간에 로그가 없는 경우 기준 일자 이전의 가장 최근 로그 일자를 기준으로 다시 계산한다.
+     *
+     * @param stdDate 조회 기준 일자 (포함). {@code null} 인 경우 오늘 일자.
      * @return 해당 페이지의 로그 정보를 담은 리스트.
      */
     public HerbLogPagination getHerbLogs(LocalDate stdDate) {
@@ -312,138 +707,234 @@ public class HerbService {
             LocalDate toInclude = stdDate == null ? LocalDate.now() : stdDate, fromExclude = toInclude.minusMonths(1);
 
             /*
-                1. endRowNum 계산
+                1. 색인을 이용하여 행 범위 계산
              */
-            int endRowNum = getEndRowNumForHerbLogPagination(fromExclude, toInclude);
+            Optional<HerbLogDateIndex.RowRange> rowRange = herbLogDateIndex.findRowRange(fromExclude, toInclude);
+            if (rowRange.isEmpty()) {
+                // 기간 내 로그가 없는 경우 이전의 가장 최근 로그 일자를 기준으로 다시 계산
+                Optional<LocalDate> latestLoggedDate = herbLogDateIndex.findLatestLoggedDate(fromExclude);
+                if (latestLoggedDate.isEmpty()) {
+                    return HerbLogPagination.empty(fromExclude.plusDays(1), toInclude);
+                }
+                toInclude = latestLoggedDate.get();
+                fromExclude = toInclude.minusMonths(1);
+                rowRange = herbLogDateIndex.findRowRange(fromExclude, toInclude);
+            }
+            int startRowNum = rowRange.orElseThrow().getFirstRowNum(), endRowNum = rowRange.orElseThrow().getLastRowNum();
 
             /*
-                2. startRowNum 계산
+                2. 해당 범위의 로그 데이터 조회
              */
-            int startRowNum = getStartRowNumForHerbLogPagination(fromExclude, toInclude, endRowNum);
+            List<HerbLogDTO> herbLogDTOList = herbLogReplica.getRange(startRowNum, endRowNum);
 
-            /*
-                3. 해당 범위의 로그 데이터 조회
-             */
-            ValueRange result = herbLogRepository.selectByRange(
-                    SheetsInfo.HERB_LOG.getSpecificRowRange(startRowNum, endRowNum)
+            return HerbLogPagination.of(
+                    HerbLogViewDTO.from(herbLogDTOList), startRowNum, endRowNum, fromExclude.plusDays(1), toInclude, herbLogDateIndex.getLastRowNum()
             );
-            // 변환 및 반환
-            List<HerbLogDTO> herbLogDTOList = herbMapper.toHerbLogDTOList(result);
-
-            return HerbLogPagination.of(HerbLogViewDTO.from(herbLogDTOList), startRowNum, endRowNum, toInclude, fromExclude);
         } catch (GeneralSecurityException | IOException e) {
             log.error("Error fetching herb log data: {}", e.getMessage());
             throw new GoogleSpreadsheetsAPIException("약재 재고 로그 정보를 불러오는 데 실패했습니다. 잠시 뒤 다시 시도해주세요.", e);
         }
     }
 
-    // 한번에 조회할 행 단위
-    int chunkSize = 500;
-
-    private int getEndRowNumForHerbLogPagination(LocalDate fromExclude, LocalDate toInclude) throws GeneralSecurityException, IOException {
-        int endRowNum;
-        // 역순으로 chunkSize 만큼 일자 조회하면서 toInclude 일자가 포함된 마지막 행 번호 계산
-        int tmpEndRowNum = herbLogRepository.getLastRowNumber();
-        for (int i = 1; ; i++) {
-
-            if (i > 1)  tmpEndRowNum = Math.max(tmpEndRowNum - chunkSize, 2);
-
-            System.out.printf("tmpEndRowNum is %d on i is %d\n", tmpEndRowNum, i);
-
-            // 로그 일자 조회
-            ValueRange loggedDateValue = herbLogRepository.selectLoggedDateByRange(tmpEndRowNum - chunkSize +1, tmpEndRowNum);
-
-            System.out.println("selected range: " + loggedDateValue.getRange());
-
-            List<LocalDate> loggedDateList = herbMapper.fromLoggedDateValueRange(loggedDateValue);
+    /**
+     * 커서 기반 약재 수정 로그 페이지 조회.<br/>
+     * 커서가 가리키는 행부터 이전 행 방향으로 한 페이지를 조회한다. 페이지 범위는 {@link HerbLogDateIndex} 로 계산하고
+     * 로그는 {@link HerbLogReplica} 에서 조회하므로, 복제본에 없는 새 로그가 있는 경우에만 스프레드시트를 조회한다.
+     * <ul>
+     *     <li>{@code rows} 지정 시: 최대 {@code rows} 개 행. 가장 이른 일자의 로그가 페이지 밖까지 이어지는 경우, 해당 일자는 다음 페이지에서 한 번에 조회한다.</li>
+     *     <li>{@code days} 지정 시: 커서 행의 일자부터 {@code days} 일 동안의 로그</li>
+     *     <li>둘 다 지정하지 않은 경우: 커서 행의 일자부터 한 달 동안의 로그</li>
+     * </ul>
+     *
+     * @param cursor 이전 페이지의 {@link HerbLogPagination#getNextCursor()}. {@code null} 인 경우 가장 최근 로그부터 조회.
+     * @param rows 페이지 크기 (행 수)
+     * @param days 페이지 크기 (일 수)
+     * @return 해당 페이지의 로그 정보를 담은 리스트.
+     * @throws IllegalArgumentException 커서가 올바르지 않거나, 로그 시트가 커서 생성 이후 줄어든 경우
+     */
+    public HerbLogPagination getHerbLogs(String cursor, Integer rows, Integer days) {
+        if (rows != null && days != null) {
+            throw new IllegalArgumentException("페이지 크기는 행 수와 일 수 중 하나만 지정할 수 있습니다.");
+        }
+        if (rows != null && (rows < 1 || rows > MAX_LOG_PAGE_ROWS)) {
+            throw new IllegalArgumentException("페이지 행 수는 1 이상 " + MAX_LOG_PAGE_ROWS + " 이하여야 합니다.");
+        }
+        if (days != null && days < 1) {
+            throw new IllegalArgumentException("페이지 일 수는 1 이상이어야 합니다.");
+        }
 
-            System.out.println("loggedDateList: " + loggedDateList);
+        try {
+            int sheetLength = herbLogDateIndex.getLastRowNum(), endRowNum = sheetLength;
+            if (cursor != null) {
+                HerbLogCursor decoded = HerbLogCursor.decode(cursor);
+                decoded.checkSheetNotShrunk(sheetLength);
+                endRowNum = decoded.getEndRowNum();
+            }
+            if (endRowNum < 2) {
+                LocalDate today = LocalDate.now();
+                return HerbLogPagination.empty(today, today);
+            }
 
-            // toInclude 일자와 fromExclude 일자 사이에 있는 로그 일자만 필터링
-            List<LocalDate> filteredLoggedDateList = loggedDateList.stream()
-                    .filter(
-                            date -> (
-                                    (date.isBefore(toInclude) || date.isEqual(toInclude)) && date.isAfter(fromExclude)
-                            )
-                    )
-                    .toList();
+            int startRowNum = rows != null
+                    ? findLogPageStartByRows(endRowNum, rows)
+                    : findLogPageStartByDays(endRowNum, days);
 
-            System.out.println("filteredLoggedDateList: " + filteredLoggedDateList);
+            List<HerbLogDTO> herbLogDTOList = herbLogReplica.getRange(startRowNum, endRowNum);
+            List<HerbLogViewDTO> viewDTOList = HerbLogViewDTO.from(herbLogDTOList);
 
-            if (!filteredLoggedDateList.isEmpty()) {
-                // toInclude 포함 이전 일자 또는 fromExclude 이후 일자 중 최신 일자 조회
-                LocalDate validToInclude = filteredLoggedDateList.stream().max(LocalDate::compareTo).get();
+            // 일자 내림차순
+            LocalDate startDate = viewDTOList.isEmpty() ? null : viewDTOList.get(viewDTOList.size() - 1).getLoggedDate(),
+                    endDate = viewDTOList.isEmpty() ? null : viewDTOList.get(0).getLoggedDate();
+            return HerbLogPagination.of(viewDTOList, startRowNum, endRowNum, startDate, endDate, sheetLength);
+        } catch (GeneralSecurityException | IOException e) {
+            log.error("Error fetching herb log data: {}", e.getMessage());
+            throw new GoogleSpreadsheetsAPIException("약재 재고 로그 정보를 불러오는 데 실패했습니다. 잠시 뒤 다시 시도해주세요.", e);
+        }
+    }
 
-                System.out.println("validToInclude: " + validToInclude);
+    /**
+     * 커서 기반 약재 수정 로그 페이지를 스프레드시트에서 직접 조회.<br/>
+     * {@link #getHerbLogs(String, Integer, Integer)} 와 같은 커서를 사용하지만, 복제본과 일자 색인을 거치지 않고
+     * {@link ReactiveHerbLogRepository} 로 시트의 마지막 행 번호와 페이지 범위를 차례로 조회한다.
+     * 호출을 기다리는 동안 스레드를 점유하지 않는다.<br/>
+     * 페이지는 최대 {@code rows} 개 행이며, 일자 경계에 맞추지 않는다.
+     *
+     * @param cursor 이전 페이지의 {@link HerbLogPagination#getNextCursor()}. {@code null} 인 경우 가장 최근 로그부터 조회.
+     * @param rows 페이지 크기 (행 수). 없는 경우 {@value DEFAULT_LOG_PAGE_ROWS}
+     * @return 해당 페이지의 로그 정보를 담은 리스트.
+     * @throws IllegalArgumentException 페이지 크기나 커서가 올바르지 않은 경우. 로그 시트가 커서 생성 이후 줄어든 경우에는 같은 예외로 종료된다.
+     */
+    public Mono<HerbLogPagination> getHerbLogsFromSheet(String cursor, Integer rows) {
+        if (rows != null && (rows < 1 || rows > MAX_LOG_PAGE_ROWS)) {
+            throw new IllegalArgumentException("페이지 행 수는 1 이상 " + MAX_LOG_PAGE_ROWS + " 이하여야 합니다.");
+        }
+        int pageRows = rows == null ? DEFAULT_LOG_PAGE_ROWS : rows;
+        HerbLogCursor decoded = cursor == null ? null : HerbLogCursor.decode(cursor);
+
+        return reactiveHerbLogRepository.getLastRowNumber()
+                .flatMap(sheetLength -> {
+                    if (decoded != null) {
+                        // 매핑 함수에서 던진 예외는 오류 신호로 전달됨
+                        decoded.checkSheetNotShrunk(sheetLength);
+                    }
+                    int endRowNum = decoded == null ? sheetLength : decoded.getEndRowNum();
+                    if (endRowNum < 2) {
+                        LocalDate today = LocalDate.now();
+                        return Mono.just(HerbLogPagination.empty(today, today));
+                    }
+                    int startRowNum = Math.max(2, endRowNum - pageRows + 1);
+
+                    return reactiveHerbLogRepository.selectByRowRange(startRowNum, endRowNum)
+                            .map(herbMapper::toHerbLogDTOListByRow)
+                            .defaultIfEmpty(List.of())
+                            .map(herbLogDTOList -> {
+                                // 비어있거나 일시를 해석할 수 없는 행 제외
+                                List<HerbLogViewDTO> viewDTOList = HerbLogViewDTO.from(herbLogDTOList.stream()
+                                        .filter(Objects::nonNull)
+                                        .filter(herbLogDTO -> herbLogDTO.getLoggedDatetime() != null)
+                                        .toList());
+
+                                // 일자 내림차순
+                                LocalDate startDate = viewDTOList.isEmpty() ? null : viewDTOList.get(viewDTOList.size() - 1).getLoggedDate(),
+                                        endDate = viewDTOList.isEmpty() ? null : viewDTOList.get(0).getLoggedDate();
+                                return HerbLogPagination.of(viewDTOList, startRowNum, endRowNum, startDate, endDate, sheetLength);
+                            });
+                })
+                // 스프레드시트를 찾을 수 없는 경우 빈 페이지
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    LocalDate today = LocalDate.now();
+                    return HerbLogPagination.empty(today, today);
+                }))
+                .onErrorMap(
+                        e -> e instanceof GeneralSecurityException || e instanceof IOException,
+                        e -> {
+                            log.error("Error fetching herb log data from sheet: {}", e.getMessage());
+                            return new GoogleSpreadsheetsAPIException("약재 재고 로그 정보를 불러오는 데 실패했습니다. 잠시 뒤 다시 시도해주세요.", e);
+                        }
+                );
+    }
 
-                int lastIndex = loggedDateList.lastIndexOf(validToInclude);
+    /**
+     * 약재 한 종류의 로그 이력 조회.<br/>
+     * 로그 복제본의 약재 이름 별 행 색인으로 해당 약재의 행만 최근 행부터 읽는다.
+     *
+     * @param name 약재 이름
+     * @param cursor 이전 응답의 nextCursor. 없는 경우 가장 최근 로그부터 조회.
+     * @param size 페이지 크기. 없는 경우 {@value DEFAULT_LOG_HISTORY_SIZE}, 최대 {@value MAX_LOG_HISTORY_SIZE}
+     * @return 최근 로그부터 정렬된 로그 이력 페이지
+     * @see HerbLogReplica#findLatestByName(String, int, int)
+     */
+    public HerbLogHistory getHerbLogHistory(String name, String cursor, Integer size) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("약재 이름을 입력해주세요.");
+        }
+        if (size != null && (size < 1 || size > MAX_LOG_HISTORY_SIZE)) {
+            throw new IllegalArgumentException("페이지 크기는 1 이상 " + MAX_LOG_HISTORY_SIZE + " 이하여야 합니다.");
+        }
+        int pageSize = size == null ? DEFAULT_LOG_HISTORY_SIZE : size;
+        HerbLogCursor decoded = cursor == null ? null : HerbLogCursor.decode(cursor);
 
-                System.out.printf("lastIndex is %d\n", lastIndex);
+        try {
+            // 다음 페이지 존재 여부 확인을 위해 한 행 더 조회
+            Map<Integer, HerbLogDTO> logMapByRowNum = herbLogReplica.findLatestByName(
+                    name, decoded == null ? Integer.MAX_VALUE : decoded.getEndRowNum(), pageSize + 1
+            );
+            int sheetLength = herbLogReplica.getLastRowNum();
+            if (decoded != null) {
+                decoded.checkSheetNotShrunk(sheetLength);
+            }
 
-                if (lastIndex != -1) {
-                    // 포함할 마지막 일자가 조회된 경우 해당 인덱스를 기준으로 endRowNum 계산
-                    System.out.println("found toInclude date in the log list");
-                    endRowNum = tmpEndRowNum -( loggedDateList.size() -1 - lastIndex );
-                    break;
-                } else if (tmpEndRowNum == 2) {
-                    System.out.println("reached the first row. stop searching");
-                    endRowNum = tmpEndRowNum;
+            List<HerbLogDTO> data = new ArrayList<>(pageSize);
+            Integer nextEndRowNum = null;
+            for (Map.Entry<Integer, HerbLogDTO> entry : logMapByRowNum.entrySet()) {
+                if (data.size() == pageSize) {
+                    nextEndRowNum = entry.getKey();
                     break;
                 }
+                data.add(entry.getValue());
             }
-            System.out.println("toInclude date not found. continue searching");
+            return HerbLogHistory.of(name, data, nextEndRowNum, sheetLength);
+        } catch (GeneralSecurityException | IOException e) {
+            log.error("Error fetching herb log history of {}: {}", name, e.getMessage());
+            throw new GoogleSpreadsheetsAPIException("약재 재고 로그 정보를 불러오는 데 실패했습니다. 잠시 뒤 다시 시도해주세요.", e);
         }
-        System.out.println("endRowNum: " + endRowNum);
-
-        return endRowNum;
     }
 
-    private int getStartRowNumForHerbLogPagination(LocalDate fromExclude, LocalDate toInclude, int endRowNum) throws GeneralSecurityException, IOException {
-        int startRowNum;
-        int tmpStartRowNum;
-        for (int i = 1; ; i++) {
-
-            tmpStartRowNum = Math.max(endRowNum - i*chunkSize +1, 2);
-
-            System.out.printf("tmpStartRowNum is %d on i is %d\n", tmpStartRowNum, i);
-
-            // 로그 일자 조회
-            ValueRange loggedDateValue = herbLogRepository.selectLoggedDateByRange(tmpStartRowNum, endRowNum);
-            System.out.println("selected range: " + loggedDateValue.getRange());
-            List<LocalDate> loggedDateList = herbMapper.fromLoggedDateValueRange(loggedDateValue);
-            System.out.println("loggedDateList: " + loggedDateList);
-            // toInclude 일자와 fromExclude 일자 사이에 있는 로그 일자만 필터링
-            List<LocalDate> filteredLoggedDateList = loggedDateList.stream()
-                    .filter(
-                            date -> (
-                                    (date.isBefore(toInclude) || date.isEqual(toInclude)) && date.isAfter(fromExclude)
-                            )
-                    )
-                    .toList();
-
-            System.out.println("filteredLoggedDateList: " + filteredLoggedDateList);
-
-            if (loggedDateList.size() != filteredLoggedDateList.size()) {
-                // 두 리스트의 개수가 다를 경우 범위 내에 포함되지 않는 일자가 존재함
-                // -> 해당 일자 내 데이터가 모두 조회되므로 startRowNum 계산
-                LocalDate validFromExclude = filteredLoggedDateList.stream().min(LocalDate::compareTo).get();
+    /**
+     * 행 수 기준 페이지의 첫 번째 행 번호 계산.<br/>
+     * 페이지의 가장 이른 일자가 페이지 앞쪽 행까지 이어지는 경우 해당 일자를 제외하여, 한 일자의 로그가 두 페이지에 나뉘지 않도록 한다.
+     * 한 일자의 로그가 페이지 크기보다 많은 경우에는 나누어 조회한다.
+     */
+    private int findLogPageStartByRows(int endRowNum, int rows) throws GeneralSecurityException, IOException {
+        int startRowNum = Math.max(2, endRowNum - rows + 1);
+        if (startRowNum == 2) {
+            return startRowNum;
+        }
 
-                System.out.println("validFromExclude: " + validFromExclude);
+        Optional<LocalDate> earliestDate = herbLogDateIndex.findLoggedDate(startRowNum);
+        if (earliestDate.isEmpty()) {
+            return startRowNum;
+        }
+        HerbLogDateIndex.RowRange dayRange = herbLogDateIndex.findRowRangeOf(earliestDate.get()).orElse(null);
+        if (dayRange != null && dayRange.getFirstRowNum() < startRowNum && dayRange.getLastRowNum() < endRowNum) {
+            return dayRange.getLastRowNum() + 1;
+        }
+        return startRowNum;
+    }
 
-                int firstIndex = loggedDateList.indexOf(validFromExclude);
-                startRowNum = tmpStartRowNum + firstIndex;
-                break;
-            } else if (tmpStartRowNum == 2) {
-                System.out.println("reached the first row. stop searching");
-                // 시작 행 번호가 2인 경우 더 이상 범위를 넓힐 수 없음 -> 전체 범위 조회
-                startRowNum = tmpStartRowNum;
-                break;
-            }
-            System.out.println("all log is in the date range. expand range");
+    /**
+     * 일 수 기준 페이지의 첫 번째 행 번호 계산. 일 수를 지정하지 않은 경우 한 달.
+     */
+    private int findLogPageStartByDays(int endRowNum, Integer days) throws GeneralSecurityException, IOException {
+        Optional<LocalDate> latestDate = herbLogDateIndex.findLoggedDate(endRowNum);
+        if (latestDate.isEmpty()) {
+            return Math.max(2, endRowNum - DEFAULT_LOG_PAGE_ROWS + 1);
         }
-        System.out.println("startRowNum: " + startRowNum);
 
-        return startRowNum;
+        LocalDate toInclude = latestDate.get(), fromExclude = days == null ? toInclude.minusMonths(1) : toInclude.minusDays(days);
+        return herbLogDateIndex.findRowRange(fromExclude, toInclude)
+                .map(rowRange -> Math.min(rowRange.getFirstRowNum(), endRowNum))
+                .orElse(endRowNum);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.example.spreadsheetdemo.herb.service;
+
+import com.example.spreadsheetdemo.common.SheetsInfo;
+import com.example.spreadsheetdemo.common.exception.GoogleSpreadsheetsAPIException;
+import com.example.spreadsheetdemo.herb.dto.HerbLowStockDTO;
+import com.example.spreadsheetdemo.herb.dto.HerbThresholdDTO;
+import com.example.spreadsheetdemo.herb.dto.HerbThresholdUpdateDTO;
+import com.example.spreadsheetdemo.herb.event.HerbThresholdChangedEvent;
+import com.example.spreadsheetdemo.herb.mapper.HerbMapper;
+import com.example.spreadsheetdemo.herb.repository.HerbThresholdRepository;
+import com.example.spreadsheetdemo.herb.stock.HerbLowStockMonitor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 약재 재고 부족 기준 수량 관리 및 재고 부족 약재 조회.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HerbStockService {
+
+    private final HerbThresholdRepository herbThresholdRepository;
+    private final HerbMapper herbMapper;
+    private final HerbLowStockMonitor herbLowStockMonitor;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 같은 이름의 기준 수량 행이 동시에 추가되지 않도록 저장을 직렬화
+    private final ReentrantLock thresholdWriteLock = new ReentrantLock();
+
+    /**
+     * 재고 부족 약재 목록 조회. 메모리에 유지된 목록을 반환하며 스프레드시트를 조회하지 않는다.
+     *
+     * @return 행 번호 오름차순으로 정렬된 재고 부족 약재 목록
+     * @see HerbLowStockMonitor
+     */
+    public List<HerbLowStockDTO> getLowStockHerbs() {
+        return herbLowStockMonitor.getLowStockHerbs();
+    }
+
+    /**
+     * 약재 별 최소 수량 목록 조회.
+     *
+     * @return 이름 오름차순으로 정렬된 최소 수량 목록
+     */
+    public List<HerbThresholdDTO> getThresholds() {
+        return herbLowStockMonitor.getThresholds();
+    }
+
+    /**
+     * 약재 별 최소 수량 저장.<br/>
+     * 이미 기준 수량 행이 있는 약재는 해당 행을 수정하고, 없는 경우 새 행을 추가한다.
+     *
+     * @param dto 저장할 약재 이름과 최소 수량
+     * @return 저장된 기준 수량
+     */
+    public HerbThresholdDTO updateThreshold(HerbThresholdUpdateDTO dto) {
+        if (dto == null || dto.getName() == null || dto.getName().isBlank()) {
+            throw new IllegalArgumentException("약재 이름을 입력해주세요.");
+        }
+        if (dto.getMinAmount() == null || dto.getMinAmount() < 0) {
+            throw new IllegalArgumentException("최소 수량은 0 이상이어야 합니다.");
+        }
+
+        thresholdWriteLock.lock();
+        try {
+            // 행 위치는 다른 경로의 수정이 있을 수 있으므로 스프레드시트에서 확인
+            Integer rowNum = herbMapper.toHerbThresholdDTOList(herbThresholdRepository.selectAll()).stream()
+                    .filter(threshold -> threshold.getName().equals(dto.getName()))
+                    .map(HerbThresholdDTO::getRowNum)
+                    .reduce((first, second) -> second)
+                    .orElse(null);
+
+            List<List<Object>> content = herbMapper.fromHerbThreshold(dto.getName(), dto.getMinAmount());
+            if (rowNum != null) {
+                herbThresholdRepository.updateByRange(SheetsInfo.HERB_THRESHOLD.getSpecificRowNum(rowNum), content);
+            } else {
+                rowNum = herbMapper.extractRowNumFromRange(herbThresholdRepository.insertThreshold(content));
+            }
+
+            HerbThresholdDTO saved = HerbThresholdDTO.builder()
+                    .rowNum(rowNum)
+                    .name(dto.getName())
+                    .minAmount(dto.getMinAmount())
+                    .build();
+            eventPublisher.publishEvent(new HerbThresholdChangedEvent(saved));
+            return saved;
+        } catch (GeneralSecurityException | IOException e) {
+            log.error("Error saving herb threshold for {}: {}", dto.getName(), e.getMessage());
+            throw new GoogleSpreadsheetsAPIException("재고 부족 기준 수량을 저장하는 데 실패했습니다. 잠시 뒤 다시 시도해주세요.", e);
+        } finally {
+            thresholdWriteLock.unlock();
+        }
+    }
+}
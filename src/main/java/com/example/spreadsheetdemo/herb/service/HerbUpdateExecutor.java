@@ -0,0 +1,49 @@
+package com.example.spreadsheetdemo.herb.service;
+
+import com.example.spreadsheetdemo.common.metrics.SheetsCallContext;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 약재 수정 병렬 처리용 스레드 풀.<br/>
+ * 모든 요청이 하나의 풀을 공유하므로, 동시에 진행되는 약재 수정 건수는 요청 수와 관계없이 {@code herb.update.concurrent.parallelism} 으로 제한된다.
+ * Google Spreadsheet API 의 분당 요청 할당량을 고려하여 설정해야 한다.
+ */
+@Slf4j
+@Component
+public class HerbUpdateExecutor {
+
+    private final ExecutorService executor;
+
+    public HerbUpdateExecutor(@Value("${herb.update.concurrent.parallelism:4}") int parallelism) {
+        AtomicInteger threadSequence = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "herb-update-" + threadSequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = Executors.newFixedThreadPool(parallelism, threadFactory);
+    }
+
+    public Future<?> submit(Runnable task) {
+        // 요청 스레드의 Google Spreadsheet API 호출 수 집계를 작업 스레드로 전달
+        return executor.submit(SheetsCallContext.propagate(task));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Herb update executor did not terminate in time. {} tasks dropped", executor.shutdownNow().size());
+        }
+    }
+}
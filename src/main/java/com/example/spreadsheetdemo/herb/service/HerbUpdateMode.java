@@ -0,0 +1,26 @@
+package com.example.spreadsheetdemo.herb.service;
+
+/**
+ * 여러 약재 정보를 한 번에 수정할 때의 처리 방식.
+ *
+ * @see HerbService#updateHerbs(java.util.List)
+ */
+public enum HerbUpdateMode {
+
+    /**
+     * 약재 별로 조회 -> 수정 -> 로그 기록을 순서대로 수행. 약재 하나당 최대 3번의 API 호출이 발생한다.
+     */
+    SEQUENTIAL,
+
+    /**
+     * 전체 약재를 한 번에 조회(batchGet) -> 수정(batchUpdate) -> 로그 기록(append) 하여,
+     * 약재 수와 관계없이 최대 3번의 API 호출로 처리한다.
+     */
+    BATCH,
+
+    /**
+     * 약재 별 조회 -> 수정 -> 로그 기록을 {@link HerbUpdateExecutor} 에서 병렬로 수행.
+     * 전체 처리 시간이 약재 수의 합이 아닌 가장 느린 약재의 처리 시간에 가까워진다.
+     */
+    CONCURRENT
+}
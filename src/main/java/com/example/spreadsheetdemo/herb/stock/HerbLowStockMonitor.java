@@ -0,0 +1,230 @@
+package com.example.spreadsheetdemo.herb.stock;
+
+import com.example.spreadsheetdemo.herb.cache.HerbSnapshotCache;
+import com.example.spreadsheetdemo.herb.domain.HerbSnapshot;
+import com.example.spreadsheetdemo.herb.dto.HerbDTO;
+import com.example.spreadsheetdemo.herb.dto.HerbLowStockDTO;
+import com.example.spreadsheetdemo.herb.dto.HerbThresholdDTO;
+import com.example.spreadsheetdemo.herb.event.HerbThresholdChangedEvent;
+import com.example.spreadsheetdemo.herb.event.HerbsChangedEvent;
+import com.example.spreadsheetdemo.herb.mapper.HerbMapper;
+import com.example.spreadsheetdemo.herb.repository.HerbThresholdRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.*;
+
+/**
+ * 재고 부족 약재 감지.<br/>
+ * 약재 별 최소 수량({@code herb_threshold} 시트)과 약재 수량을 메모리에 유지하며, 수량이 최소 수량보다 적은 약재 목록을 관리한다.
+ * 최소 수량이 지정되지 않은 약재는 기본 기준 수량을 적용한다.<br/>
+ * 시작 시 한 번 전체를 평가한 뒤에는 {@link HerbsChangedEvent}, {@link HerbThresholdChangedEvent} 로 변경된 행만 다시 평가하므로
+ * 감지 비용은 변경된 행 수에 비례한다. 다른 경로로 수정된 내용은 주기적인 재평가 시 반영된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HerbLowStockMonitor {
+
+    // 재평가 중 스냅샷 또는 기준 수량이 변경된 경우 다시 시도할 최대 횟수
+    private static final int MAX_RESEED_ATTEMPTS = 3;
+
+    private final HerbSnapshotCache herbSnapshotCache;
+    private final HerbThresholdRepository herbThresholdRepository;
+    private final HerbMapper herbMapper;
+
+    /**
+     * 약재 별 최소 수량이 없는 경우 적용할 기본 기준 수량
+     */
+    @Value("${herb.stock.default-min-amount:5}")
+    private long defaultMinAmount;
+
+    private final Map<Integer, HerbDTO> herbMapByRowNum = new HashMap<>();
+    // 같은 이름의 약재가 여러 행에 있을 수 있으므로 행 번호 집합으로 관리
+    private final Map<String, Set<Integer>> rowNumSetByName = new HashMap<>();
+    private final Map<String, HerbThresholdDTO> thresholdMapByName = new HashMap<>();
+    private final NavigableMap<Integer, HerbLowStockDTO> lowStockMapByRowNum = new TreeMap<>();
+    // 기준 수량 변경 이벤트 반영 횟수. 재평가 중 변경된 기준 수량을 덮어쓰지 않도록 확인하는 용도
+    private long thresholdVersion;
+
+    /**
+     * 재고 부족 약재 목록 조회.
+     *
+     * @return 행 번호 오름차순으로 정렬된 재고 부족 약재 목록
+     */
+    public synchronized List<HerbLowStockDTO> getLowStockHerbs() {
+        return List.copyOf(lowStockMapByRowNum.values());
+    }
+
+    public synchronized int getLowStockCount() {
+        return lowStockMapByRowNum.size();
+    }
+
+    public synchronized int getItemCount() {
+        return herbMapByRowNum.size();
+    }
+
+    /**
+     * 약재 별 최소 수량 목록 조회.
+     *
+     * @return 이름 오름차순으로 정렬된 최소 수량 목록
+     */
+    public synchronized List<HerbThresholdDTO> getThresholds() {
+        return thresholdMapByName.values().stream()
+                .sorted(Comparator.comparing(HerbThresholdDTO::getName))
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reseed();
+    }
+
+    /**
+     * 기준 수량 시트와 약재 스냅샷에서 전체 재평가.<br/>
+     * 기준 수량과 약재는 각각 따로 다시 불러오므로, 기준 수량 조회에 실패하더라도 약재 수량은 반영된다.
+     * 실패한 쪽은 기존 상태를 유지하며, 다음 주기에 다시 시도한다.
+     */
+    @Scheduled(
+            initialDelayString = "${herb.stock.reseed-interval:PT10M}",
+            fixedDelayString = "${herb.stock.reseed-interval:PT10M}"
+    )
+    public void reseed() {
+        try {
+            reseedThresholds();
+        } catch (GeneralSecurityException | IOException | RuntimeException e) {
+            log.warn("Failed to seed herb thresholds: {}. keep current thresholds.", e.getMessage());
+        }
+        try {
+            reseedHerbs();
+        } catch (GeneralSecurityException | IOException | RuntimeException e) {
+            log.warn("Failed to seed low stock herbs: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 약재 등록/수정 완료 시 변경된 행만 재평가.
+     *
+     * @param event 약재 변경 이벤트
+     */
+    @EventListener
+    public synchronized void onHerbsChanged(HerbsChangedEvent event) {
+        for (HerbDTO herb : event.getChangedHerbList()) {
+            putHerb(herb);
+        }
+    }
+
+    /**
+     * 기준 수량 변경 시 해당 이름의 약재 행만 재평가.
+     *
+     * @param event 기준 수량 변경 이벤트
+     */
+    @EventListener
+    public synchronized void onThresholdChanged(HerbThresholdChangedEvent event) {
+        HerbThresholdDTO threshold = event.getThreshold();
+        thresholdMapByName.put(threshold.getName(), threshold);
+        thresholdVersion++;
+        for (Integer rowNum : rowNumSetByName.getOrDefault(threshold.getName(), Set.of())) {
+            evaluate(rowNum);
+        }
+    }
+
+    private void reseedThresholds() throws GeneralSecurityException, IOException {
+        for (int attempt = 0; attempt < MAX_RESEED_ATTEMPTS; attempt++) {
+            long version;
+            synchronized (this) {
+                version = thresholdVersion;
+            }
+            // 스프레드시트 조회는 잠금 밖에서 수행
+            List<HerbThresholdDTO> thresholdList = herbMapper.toHerbThresholdDTOList(herbThresholdRepository.selectAll());
+            synchronized (this) {
+                // 조회 이후 이벤트로 기준 수량이 변경된 경우 이미 반영된 값을 덮어쓰지 않도록 다시 조회
+                if (version != thresholdVersion) {
+                    continue;
+                }
+                thresholdMapByName.clear();
+                // 같은 이름이 여러 행에 있는 경우 마지막 행의 값을 사용
+                for (HerbThresholdDTO threshold : thresholdList) {
+                    thresholdMapByName.put(threshold.getName(), threshold);
+                }
+                herbMapByRowNum.keySet().forEach(this::evaluate);
+                return;
+            }
+        }
+        log.debug("Herb thresholds kept changing while seeding low stock herbs. keep event-driven thresholds.");
+    }
+
+    private void reseedHerbs() throws GeneralSecurityException, IOException {
+        for (int attempt = 0; attempt < MAX_RESEED_ATTEMPTS; attempt++) {
+            // 스냅샷 조회는 스프레드시트를 조회할 수 있으므로 잠금 밖에서 수행
+            HerbSnapshot snapshot = herbSnapshotCache.getSnapshot();
+            synchronized (this) {
+                // 조회 이후 이벤트로 스냅샷이 갱신된 경우, 이미 반영된 변경 사항을 덮어쓰지 않도록 다시 조회
+                if (herbSnapshotCache.getVersion() != snapshot.getVersion()) {
+                    continue;
+                }
+                herbMapByRowNum.clear();
+                rowNumSetByName.clear();
+                lowStockMapByRowNum.clear();
+                for (HerbDTO herb : snapshot.getHerbList()) {
+                    putHerb(herb);
+                }
+                log.info("Low stock herbs seeded from snapshot version {}: {} of {} items, {} thresholds",
+                        snapshot.getVersion(), lowStockMapByRowNum.size(), herbMapByRowNum.size(), thresholdMapByName.size());
+                return;
+            }
+        }
+        log.debug("Herb snapshot kept changing while seeding low stock herbs. keep event-driven state.");
+    }
+
+    private void putHerb(HerbDTO herb) {
+        Integer rowNum = herb.getRowNum();
+        if (rowNum == null) {
+            return;
+        }
+        HerbDTO previous = herbMapByRowNum.put(rowNum, herb);
+        if (previous != null && !Objects.equals(previous.getName(), herb.getName())) {
+            Set<Integer> rowNumSet = rowNumSetByName.get(previous.getName());
+            if (rowNumSet != null) {
+                rowNumSet.remove(rowNum);
+                if (rowNumSet.isEmpty()) {
+                    rowNumSetByName.remove(previous.getName());
+                }
+            }
+        }
+        if (herb.getName() != null) {
+            rowNumSetByName.computeIfAbsent(herb.getName(), name -> new HashSet<>()).add(rowNum);
+        }
+        evaluate(rowNum);
+    }
+
+    /**
+     * 한 행의 재고 부족 여부를 평가하여 재고 부족 목록에 반영.
+     */
+    private void evaluate(Integer rowNum) {
+        HerbDTO herb = herbMapByRowNum.get(rowNum);
+        long minAmount = getMinAmount(herb == null ? null : herb.getName());
+        if (herb == null || herb.getAmount() == null || herb.getAmount() >= minAmount) {
+            lowStockMapByRowNum.remove(rowNum);
+            return;
+        }
+        lowStockMapByRowNum.put(rowNum, HerbLowStockDTO.builder()
+                .rowNum(rowNum)
+                .name(herb.getName())
+                .amount(herb.getAmount())
+                .minAmount(minAmount)
+                .build());
+    }
+
+    private long getMinAmount(String name) {
+        HerbThresholdDTO threshold = name == null ? null : thresholdMapByName.get(name);
+        return threshold == null ? defaultMinAmount : threshold.getMinAmount();
+    }
+}
@@ -0,0 +1,318 @@
+package com.example.spreadsheetdemo.herb.stream;
+
+import com.example.spreadsheetdemo.herb.dto.HerbChangeDTO;
+import com.example.spreadsheetdemo.herb.dto.HerbDTO;
+import com.example.spreadsheetdemo.herb.event.HerbsChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 약재 변경 사항을 열려 있는 재고 관리 페이지에 Server-Sent Events 로 전송.<br/>
+ * {@link HerbsChangedEvent} 의 변경된 행마다 순번을 붙여 {@value #CHANGE_EVENT_NAME} 이벤트로 전송하며,
+ * SSE 이벤트 ID 는 프로세스 시작 시각과 순번을 이은 {@code <시작 시각>-<순번>} 형식이다.
+ * 최근 변경 알림을 보관하여, 재연결한 페이지가 {@code Last-Event-ID} 이후의 알림을 빠짐없이 받을 수 있도록 한다.
+ * 보관된 알림보다 오래 끊겨 있었거나 서버가 재시작되어 시작 시각이 다른 경우에는 {@value #RESYNC_EVENT_NAME} 이벤트로 전체 새로고침을 요청한다.<br/>
+ * 구독 등록, 알림 순번 발급, 재전송 대상 계산은 모두 하나의 배포 스레드에서 수행하므로 순서가 유지되며,
+ * 약재를 수정한 요청은 전송을 기다리지 않는다.<br/>
+ * 배포 스레드는 알림을 구독자마다 최대 {@link #queueCapacity} 개까지 보관하는 대기열에 넣기만 하고,
+ * 실제 전송은 구독자 별로 별도 전송 스레드에서 수행하므로 느린 구독자가 다른 구독자의 알림을 지연시키지 않는다.
+ * 대기열이 가득 찬 구독자는 연결을 종료하며, 브라우저가 재연결하면 {@code Last-Event-ID} 이후의 알림을 재전송하거나 새로고침을 요청한다.
+ */
+@Slf4j
+@Component
+public class HerbChangeBroadcaster {
+
+    public static final String CHANGE_EVENT_NAME = "herb-changed";
+    public static final String RESYNC_EVENT_NAME = "resync";
+    public static final String CONNECTED_EVENT_NAME = "connected";
+
+    // 재시작 후 같은 순번이 다른 알림을 가리키지 않도록 이벤트 ID 에 포함하는 프로세스 시작 시각
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final long emitterTimeoutMillis;
+    private final int replaySize;
+    /**
+     * 구독자 별로 전송을 기다릴 수 있는 최대 이벤트 수. 초과하면 연결을 종료한다.
+     */
+    private final int queueCapacity;
+    private final Counter droppedCounter;
+
+    private final Map<SseEmitter, Subscription> subscriptionMap = new ConcurrentHashMap<>();
+    private final ExecutorService dispatchExecutor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "herb-change-broadcaster");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // 대기열에 전송할 이벤트가 있는 구독자 수만큼만 스레드를 사용
+    private final ExecutorService deliveryExecutor = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "herb-change-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // 아래 필드는 배포 스레드에서만 접근
+    // 재연결 시 다시 보낼 최근 변경 알림 (순번 오름차순)
+    private final Deque<HerbChangeDTO> recentChangeDeque = new ArrayDeque<>();
+    // 마지막으로 발급한 알림 순번
+    private long lastVersion;
+
+    public HerbChangeBroadcaster(
+            MeterRegistry meterRegistry,
+            @Value("${herb.stream.timeout:PT30M}") Duration emitterTimeout,
+            @Value("${herb.stream.replay-size:500}") int replaySize,
+            @Value("${herb.stream.queue-capacity:256}") int queueCapacity
+    ) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("herb.stream.queue-capacity must be positive.");
+        }
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        this.replaySize = replaySize;
+        this.queueCapacity = queueCapacity;
+        Gauge.builder("herb.stream.subscribers", subscriptionMap, Map::size)
+                .description("약재 변경 알림을 구독 중인 페이지 수")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("herb.stream.dropped")
+                .description("전송 대기열이 가득 차 연결을 종료한 구독 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 약재 변경 알림 구독.<br/>
+     * 구독 직후 현재 순번을 ID 로 가진 {@value #CONNECTED_EVENT_NAME} 이벤트를 전송하므로,
+     * 이후 연결이 끊기더라도 브라우저는 재연결 시 {@code Last-Event-ID} 로 마지막 이벤트 ID 를 전달한다.
+     *
+     * @param lastEventId 재연결한 경우 마지막으로 받은 이벤트 ID. 최초 연결인 경우 {@code null}.
+     * @return 알림을 전송할 {@link SseEmitter}
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = createEmitter(emitterTimeoutMillis);
+        emitter.onCompletion(() -> subscriptionMap.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscriptionMap.remove(emitter));
+
+        Subscription subscription = new Subscription(emitter);
+        dispatch(() -> {
+            if (lastEventId != null) {
+                replay(subscription, lastEventId);
+            }
+            subscription.offer(SseEmitter.event().name(CONNECTED_EVENT_NAME).id(eventId(lastVersion)).data(lastVersion));
+            subscriptionMap.put(emitter, subscription);
+        });
+        return emitter;
+    }
+
+    /**
+     * 약재 등록/수정 완료 시 변경된 행을 모든 구독자에게 전송.
+     *
+     * @param event 약재 변경 이벤트
+     */
+    @EventListener
+    public void onHerbsChanged(HerbsChangedEvent event) {
+        List<HerbDTO> changedHerbList = event.getChangedHerbList();
+        dispatch(() -> {
+            List<HerbChangeDTO> changeList = new ArrayList<>(changedHerbList.size());
+            for (HerbDTO herb : changedHerbList) {
+                HerbChangeDTO change = HerbChangeDTO.of(herb, ++lastVersion);
+                changeList.add(change);
+                recentChangeDeque.addLast(change);
+                if (recentChangeDeque.size() > replaySize) {
+                    recentChangeDeque.removeFirst();
+                }
+            }
+            for (Subscription subscription : subscriptionMap.values()) {
+                for (HerbChangeDTO change : changeList) {
+                    if (!subscription.offer(changeEvent(change))) {
+                        break;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * 프록시가 유휴 연결을 끊지 않도록 주기적으로 주석 전송. 전송에 실패했거나 대기열이 가득 찬 구독은 제거된다.
+     */
+    @Scheduled(
+            initialDelayString = "${herb.stream.heartbeat-interval:PT30S}",
+            fixedDelayString = "${herb.stream.heartbeat-interval:PT30S}"
+    )
+    public void heartbeat() {
+        dispatch(() -> {
+            for (Subscription subscription : subscriptionMap.values()) {
+                subscription.offer(SseEmitter.event().comment("heartbeat"));
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        dispatchExecutor.shutdownNow();
+        deliveryExecutor.shutdownNow();
+        subscriptionMap.keySet().forEach(SseEmitter::complete);
+        subscriptionMap.clear();
+    }
+
+    /**
+     * 구독마다 생성하는 {@link SseEmitter}. 테스트에서 전송 내용을 확인할 수 있도록 분리한다.
+     */
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    /**
+     * 재연결한 구독자에게 놓친 알림 재전송.
+     * 놓친 알림이 더 이상 보관되어 있지 않거나, 서버가 재시작되어 이벤트 ID 의 시작 시각이 다른 경우,
+     * 또는 놓친 알림이 전송 대기열에 모두 들어가지 않는 경우 새로고침 요청.
+     */
+    private void replay(Subscription subscription, String lastEventId) {
+        long lastReceivedVersion = parseVersion(lastEventId);
+        long oldestVersion = recentChangeDeque.isEmpty() ? lastVersion + 1 : recentChangeDeque.getFirst().getVersion();
+        if (lastReceivedVersion < 0 || lastReceivedVersion > lastVersion || lastReceivedVersion + 1 < oldestVersion
+                // 재전송할 알림과 연결 이벤트
+                || lastVersion - lastReceivedVersion + 1 > queueCapacity) {
+            subscription.offer(SseEmitter.event().name(RESYNC_EVENT_NAME).data(lastVersion));
+            return;
+        }
+        for (HerbChangeDTO change : recentChangeDeque) {
+            if (change.getVersion() > lastReceivedVersion) {
+                subscription.offer(changeEvent(change));
+            }
+        }
+    }
+
+    /**
+     * 이 프로세스가 발급한 이벤트 ID 의 순번. 다른 프로세스가 발급했거나 형식이 올바르지 않은 경우 -1 반환.
+     */
+    private long parseVersion(String eventId) {
+        int separatorIndex = eventId.lastIndexOf('-');
+        if (separatorIndex < 0 || !epoch.equals(eventId.substring(0, separatorIndex))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separatorIndex + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String eventId(long version) {
+        return epoch + "-" + version;
+    }
+
+    private SseEmitter.SseEventBuilder changeEvent(HerbChangeDTO change) {
+        return SseEmitter.event()
+                .name(CHANGE_EVENT_NAME)
+                .id(eventId(change.getVersion()))
+                .data(change, MediaType.APPLICATION_JSON);
+    }
+
+    private void dispatch(Runnable task) {
+        try {
+            dispatchExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("Herb change broadcaster is shut down.");
+        }
+    }
+
+    /**
+     * 구독자 하나의 전송 대기열.<br/>
+     * 배포 스레드가 이벤트를 넣으면 전송 스레드 하나가 대기열이 빌 때까지 순서대로 전송하므로,
+     * 구독자 별 전송 순서가 유지되고 한 구독자에 대해 동시에 두 스레드가 전송하지 않는다.<br/>
+     * 대기열이 가득 찬 경우 배포 스레드는 구독을 제거하고 표시만 하며, 연결 종료는 전송 스레드가 진행 중인 전송을 마친 뒤 수행한다.
+     * ({@link SseEmitter} 의 전송과 종료는 같은 잠금을 사용하므로, 배포 스레드가 느린 전송을 기다리지 않도록 하기 위함)
+     */
+    private final class Subscription {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> eventQueue = new ArrayBlockingQueue<>(queueCapacity);
+        // 전송 스레드가 대기열을 비우는 중인지 여부
+        private final AtomicBoolean delivering = new AtomicBoolean();
+        // 구독이 제거되어 더 이상 전송하지 않는지 여부
+        private volatile boolean dropped = false;
+        // 제거된 구독의 연결 종료 여부
+        private volatile boolean closed = false;
+
+        private Subscription(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * 전송 대기열에 이벤트 추가. 대기열이 가득 찬 경우 구독을 제거하고 {@code false} 반환.
+         */
+        private boolean offer(SseEmitter.SseEventBuilder event) {
+            if (dropped) {
+                return false;
+            }
+            if (!eventQueue.offer(event)) {
+                log.debug("Dropping herb change subscriber that fell {} events behind.", queueCapacity);
+                droppedCounter.increment();
+                drop();
+                scheduleDelivery();
+                return false;
+            }
+            scheduleDelivery();
+            return true;
+        }
+
+        private void drop() {
+            dropped = true;
+            eventQueue.clear();
+            subscriptionMap.remove(emitter);
+        }
+
+        private void scheduleDelivery() {
+            if (!delivering.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                deliveryExecutor.execute(this::deliver);
+            } catch (RejectedExecutionException e) {
+                delivering.set(false);
+            }
+        }
+
+        private void deliver() {
+            do {
+                try {
+                    SseEmitter.SseEventBuilder event;
+                    while (!dropped && (event = eventQueue.poll()) != null) {
+                        emitter.send(event);
+                    }
+                    if (dropped && !closed) {
+                        closed = true;
+                        emitter.complete();
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // 연결이 끊긴 경우. 컨테이너가 오류를 알리면서 구독이 완료된다.
+                    closed = true;
+                    drop();
+                }
+                delivering.set(false);
+                // 전송 중 표시를 해제하는 사이에 추가된 이벤트나 제거 요청은 이 스레드가 이어서 처리
+            } while ((dropped ? !closed : !eventQueue.isEmpty()) && delivering.compareAndSet(false, true));
+        }
+    }
+}
@@ -1,18 +1,71 @@
 // dashboard.js
 
 document.addEventListener('DOMContentLoaded', () => {
-    // 추후 서버에서 데이터를 가져올 때 사용할 함수 예시
     loadDashboardStats();
 });
 
 function loadDashboardStats() {
-    console.log("Dashboard loaded. Waiting for API integration...");
+    fetch('/api/herb/dashboard')
+        .then(response => {
+            if (!response.ok) {
+                throw new Error('대시보드 통계 조회 실패: ' + response.status);
+            }
+            return response.json();
+        })
+        .then(stats => {
+            setStatValue('stat-total', stats.totalItemCount);
+            setStatValue('stat-low-stock', stats.lowStockItemCount);
+            setStatValue('stat-today-inbound', stats.todayInboundCount);
+            setStatValue('stat-today-usage', stats.todayUsageCount);
+        })
+        .catch(error => console.error(error));
 
-    // 예: 재고 부족 알림이 0개일 경우 '비어있음' 메시지 표시 로직
-    const alerts = document.querySelectorAll('.alert-item');
-    const emptyMsg = document.querySelector('.alert-empty');
+    loadLowStockAlerts();
+}
 
-    if (alerts.length === 0 && emptyMsg) {
-        emptyMsg.style.display = 'block';
+function loadLowStockAlerts() {
+    fetch('/api/herb/low-stock')
+        .then(response => {
+            if (!response.ok) {
+                throw new Error('재고 부족 목록 조회 실패: ' + response.status);
+            }
+            return response.json();
+        })
+        .then(lowStockHerbs => {
+            const list = document.getElementById('stock-alert-list');
+            const emptyMsg = list.querySelector('.alert-empty');
+
+            list.querySelectorAll('.alert-item').forEach(item => item.remove());
+            lowStockHerbs
+                .slice()
+                .sort((a, b) => a.amount - b.amount)
+                .forEach(herb => list.insertBefore(createAlertItem(herb), emptyMsg));
+
+            // 재고 부족 알림이 0개일 경우 '비어있음' 메시지 표시
+            emptyMsg.style.display = lowStockHerbs.length === 0 ? 'block' : 'none';
+        })
+        .catch(error => console.error(error));
+}
+
+function createAlertItem(herb) {
+    const item = document.createElement('li');
+    item.className = 'alert-item';
+
+    const name = document.createElement('span');
+    name.className = 'alert-name';
+    name.textContent = herb.name;
+
+    const badge = document.createElement('span');
+    badge.className = 'alert-badge';
+    badge.textContent = '남은 수량: ' + herb.amount.toLocaleString() + ' / 최소 ' + herb.minAmount.toLocaleString();
+
+    item.append(name, badge);
+    return item;
+}
+
+function setStatValue(id, value) {
+    const element = document.getElementById(id);
+    if (element && value !== undefined && value !== null) {
+        element.textContent = value.toLocaleString();
     }
-}
\ No newline at end of file
+}
@@ -264,3 +264,116 @@ function closeRegisterModal() {
     document.getElementById('registerModal').classList.remove('open');
 }
 
+
+// 약재 이름 자동 완성
+const SUGGEST_DELAY_MS = 150;
+let suggestTimer = null;
+
+document.addEventListener('DOMContentLoaded', () => {
+    const searchInput = document.querySelector('.search-input');
+    if (!searchInput) return;
+
+    searchInput.addEventListener('input', () => {
+        clearTimeout(suggestTimer);
+        suggestTimer = setTimeout(() => loadSuggestions(searchInput.value), SUGGEST_DELAY_MS);
+    });
+});
+
+function loadSuggestions(keyword) {
+    const datalist = document.getElementById('herbSuggestions');
+    if (!keyword || !keyword.trim()) {
+        datalist.innerHTML = '';
+        return;
+    }
+
+    fetch('/api/herb/search?q=' + encodeURIComponent(keyword))
+        .then(response => {
+            if (!response.ok) {
+                throw new Error('약재 검색 실패: ' + response.status);
+            }
+            return response.json();
+        })
+        .then(herbList => {
+            datalist.innerHTML = '';
+            herbList.forEach(herb => {
+                const option = document.createElement('option');
+                option.value = herb.name;
+                datalist.appendChild(option);
+            });
+        })
+        .catch(error => console.error(error));
+}
+
+
+// 다른 사용자의 변경 사항 실시간 반영 (Server-Sent Events)
+const HERB_UPDATED_HIGHLIGHT_MS = 1500;
+// 행 번호 별 마지막으로 반영한 변경 알림 순번
+const appliedVersionByRowNum = new Map();
+// 알림 순번을 발급한 서버 프로세스의 시작 시각 (이벤트 ID 의 '-' 앞부분). 서버가 재시작되면 순번이 처음부터 다시 시작된다.
+let herbStreamEpoch = null;
+
+document.addEventListener('DOMContentLoaded', () => {
+    if (!document.querySelector('.herb-list') || !window.EventSource) return;
+
+    // 연결이 끊기면 브라우저가 마지막 알림 순번(Last-Event-ID)과 함께 자동으로 재연결
+    const herbStream = new EventSource('/api/herb/stream');
+    herbStream.addEventListener('connected', event => trackHerbStreamEpoch(event.lastEventId));
+    herbStream.addEventListener('herb-changed', event => {
+        trackHerbStreamEpoch(event.lastEventId);
+        applyHerbChange(JSON.parse(event.data));
+    });
+    herbStream.addEventListener('resync', () => {
+        appliedVersionByRowNum.clear();
+        if (confirm('다른 사용자의 변경 사항을 모두 반영하지 못했습니다. 목록을 새로 불러올까요?')) {
+            location.reload();
+        }
+    });
+});
+
+// 서버가 재시작되어 시작 시각이 바뀐 경우, 이전 프로세스의 순번과 비교하지 않도록 반영한 순번을 초기화
+function trackHerbStreamEpoch(eventId) {
+    const epoch = eventId.slice(0, eventId.lastIndexOf('-'));
+    if (epoch === herbStreamEpoch) return;
+    herbStreamEpoch = epoch;
+    appliedVersionByRowNum.clear();
+}
+
+// 현재 페이지에 있는 행만 갱신. 수정 중인 입력값은 덮어쓰지 않는다.
+function applyHerbChange(change) {
+    const marker = document.querySelector(`.herb-item [data-row-num="${change.rowNum}"]`);
+    if (!marker) return;
+
+    const appliedVersion = appliedVersionByRowNum.get(change.rowNum) || 0;
+    if (change.version <= appliedVersion) return;
+    appliedVersionByRowNum.set(change.rowNum, change.version);
+
+    const item = marker.closest('.herb-item');
+    const conflicts = [
+        patchField(item.querySelector('.date-input'), 'data-original-date', change.lastStoredDate || ''),
+        patchField(item.querySelector('.qty-input'), 'data-original-amount', change.amount == null ? '' : String(change.amount)),
+        patchField(item.querySelector('.memo-input'), 'data-original-memo', change.memo || '')
+    ];
+
+    const conflicted = conflicts.some(Boolean);
+    item.classList.toggle('herb-item-conflict', conflicted);
+    item.title = conflicted ? '다른 사용자가 이 약재를 변경했습니다. 수정 중인 값을 저장하면 충돌이 발생합니다.' : '';
+
+    item.classList.remove('herb-item-updated');
+    void item.offsetWidth; // 애니메이션 재시작
+    item.classList.add('herb-item-updated');
+    setTimeout(() => item.classList.remove('herb-item-updated'), HERB_UPDATED_HIGHLIGHT_MS);
+}
+
+// 입력값을 수정하지 않은 경우 새 값으로 교체하고, 원래 값도 새 값으로 바꿔 저장 시 최신 값과 비교하도록 함.
+// 수정 중인 경우 원래 값을 유지하여 저장 시 충돌로 처리되도록 하고 true 반환.
+function patchField(input, originalAttribute, newValue) {
+    const originalValue = input.getAttribute(originalAttribute) || '';
+    if (originalValue === newValue) return false;
+
+    if (input.value === originalValue || input.value === newValue) {
+        input.value = newValue;
+        input.setAttribute(originalAttribute, newValue);
+        return false;
+    }
+    return true;
+}
@@ -1,16 +1,12 @@
 // 페이징 상태 관리
-let nextCursorDate = null; // 다음 요청 시 보낼 기준 날짜 (fromExclude)
+let nextCursor = null; // 다음 요청 시 보낼 커서 (서버가 발급한 값을 그대로 전달)
 let hasNextPage = false;
 let isLoading = false;
 
 document.addEventListener('DOMContentLoaded', () => {
     // 초기 데이터 세팅
     if (typeof initialData !== 'undefined' && initialData) {
-        // HerbLogPagination 필드명에 맞춰서 매핑해야 함
-        // 서비스 로직 상: toInclude(이번 요청 기준), fromExclude(다음 요청 기준)
-        // DTO에 fromExclude 필드가 있다고 가정합니다.
-        let endDate = initialData.endDate;
-        nextCursorDate = `${endDate.year}-${endDate.monthValue}-${endDate.dayOfMonth}`;
+        nextCursor = initialData.nextCursor;
         hasNextPage = initialData.hasNextPage;
 
         updateMoreButtonState();
@@ -26,10 +22,7 @@ function toggleAccordion(headerElement) {
  * 더 불러오기
  */
 async function loadMore() {
-    console.log("loadMore executed");
-    console.log(hasNextPage);
-    console.log(nextCursorDate);
-    if (isLoading || !hasNextPage || !nextCursorDate) return;
+    if (isLoading || !hasNextPage || !nextCursor) return;
 
     isLoading = true;
     const btn = document.getElementById('btn-load-more');
@@ -39,8 +32,8 @@ async function loadMore() {
     btn.classList.add('loading');
 
     try {
-        // 날짜 기반 요청 (/api/herb/log/2025-12-23)
-        const response = await fetch(`/api/herb/log/${nextCursorDate}`);
+        // 커서 기반 요청 (/api/herb/log?cursor=...)
+        const response = await fetch(`/api/herb/log?cursor=${encodeURIComponent(nextCursor)}`);
 
         if (!response.ok) throw new Error('데이터 로드 실패');
 
@@ -50,7 +43,7 @@ async function loadMore() {
         renderLogList(paginationData.data);
 
         // 상태 업데이트
-        nextCursorDate = paginationData.endDate; // 다음 기준일 갱신
+        nextCursor = paginationData.nextCursor; // 다음 커서 갱신
         hasNextPage = paginationData.hasNextPage;
 
     } catch (error) {
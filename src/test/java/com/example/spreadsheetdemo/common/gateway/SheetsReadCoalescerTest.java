@@ -0,0 +1,153 @@
+package com.example.spreadsheetdemo.common.gateway;
+
+import com.example.spreadsheetdemo.common.SheetsInfo;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link SheetsReadCoalescer} 의 조회 병합과 쓰기 후 무효화 확인.
+ */
+class SheetsReadCoalescerTest {
+
+    private static final String RANGE = SheetsInfo.HERB.getSpecificRowNum(2);
+
+    private final SheetsReadCoalescer coalescer = new SheetsReadCoalescer(new SimpleMeterRegistry(), Duration.ofSeconds(10));
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void sharesInFlightReadWithConcurrentCaller() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ValueRange value = valueRange("당귀");
+
+        Future<ValueRange> leader = executor.submit(() -> coalescer.read(RANGE, () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return value;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<ValueRange> follower = executor.submit(() -> coalescer.read(RANGE, () -> {
+            calls.incrementAndGet();
+            return valueRange("follower");
+        }));
+        release.countDown();
+
+        assertSame(value, leader.get(5, TimeUnit.SECONDS));
+        assertSame(value, follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void doesNotShareReadThatStartedBeforeWrite() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ValueRange beforeWrite = valueRange("before");
+        ValueRange afterWrite = valueRange("after");
+
+        // 쓰기 이전에 시작된 조회가 진행 중인 동안 쓰기 완료
+        Future<ValueRange> staleRead = executor.submit(() -> coalescer.read(RANGE, () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return beforeWrite;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        coalescer.invalidate(SheetsInfo.HERB);
+
+        // 쓰기 이후의 조회는 진행 중인 조회를 기다리지 않고 새로 조회
+        ValueRange freshRead = coalescer.read(RANGE, () -> {
+            calls.incrementAndGet();
+            return afterWrite;
+        });
+        assertSame(afterWrite, freshRead);
+
+        release.countDown();
+        assertSame(beforeWrite, staleRead.get(5, TimeUnit.SECONDS));
+
+        // 늦게 완료된 쓰기 이전 결과가 재사용 시간 동안 공유되지 않음
+        ValueRange reused = coalescer.read(RANGE, () -> {
+            calls.incrementAndGet();
+            return valueRange("unexpected");
+        });
+        assertSame(afterWrite, reused);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void doesNotPublishReadCompletedAfterWrite() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        ValueRange beforeWrite = valueRange("before");
+        ValueRange afterWrite = valueRange("after");
+
+        // 조회 도중 다른 요청의 쓰기가 완료된 경우
+        ValueRange first = coalescer.read(RANGE, () -> {
+            calls.incrementAndGet();
+            coalescer.invalidate(SheetsInfo.HERB);
+            return beforeWrite;
+        });
+        ValueRange second = coalescer.read(RANGE, () -> {
+            calls.incrementAndGet();
+            return afterWrite;
+        });
+
+        assertSame(beforeWrite, first);
+        assertSame(afterWrite, second);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void keepsResultsOfOtherSheetsOnWrite() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        ValueRange value = valueRange("당귀");
+
+        coalescer.read(RANGE, () -> {
+            calls.incrementAndGet();
+            return value;
+        });
+        coalescer.invalidate(SheetsInfo.HERB_LOG);
+        ValueRange reused = coalescer.read(RANGE, () -> {
+            calls.incrementAndGet();
+            return valueRange("unexpected");
+        });
+
+        assertSame(value, reused);
+        assertEquals(1, calls.get());
+    }
+
+    private static void await(CountDownLatch latch) throws InterruptedIOException {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
+    private static ValueRange valueRange(String name) {
+        return new ValueRange().setRange(RANGE).setValues(List.of(List.of(name)));
+    }
+}
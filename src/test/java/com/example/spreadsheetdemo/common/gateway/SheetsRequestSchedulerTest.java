@@ -0,0 +1,261 @@
+package com.example.spreadsheetdemo.common.gateway;
+
+import com.example.spreadsheetdemo.common.gateway.SheetsRequestScheduler.Priority;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link SheetsRequestScheduler} 의 우선순위 별 토큰 배분과 재시도 규칙 확인.
+ */
+class SheetsRequestSchedulerTest {
+
+    @Test
+    void grantsNextTokenToWriteBeforeEarlierRead() throws Exception {
+        // 토큰 하나를 1초마다 채움
+        SheetsRequestScheduler scheduler = scheduler(60, 1, Duration.ofSeconds(10), Duration.ofSeconds(10), 1);
+        scheduler.execute(Priority.READ, true, () -> "drain");
+
+        List<Priority> completedList = new CopyOnWriteArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> read = executor.submit(() -> execute(scheduler, Priority.READ, completedList));
+            awaitWaiting(scheduler, Priority.READ);
+            Future<?> write = executor.submit(() -> execute(scheduler, Priority.WRITE, completedList));
+            awaitWaiting(scheduler, Priority.WRITE);
+
+            read.get(10, TimeUnit.SECONDS);
+            write.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(List.of(Priority.WRITE, Priority.READ), completedList);
+    }
+
+    @Test
+    void grantsNextTokenToAsyncWriteBeforeEarlierAsyncRead() throws IOException {
+        SheetsRequestScheduler scheduler = scheduler(60, 1, Duration.ofSeconds(10), Duration.ofSeconds(10), 1);
+        scheduler.execute(Priority.READ, true, () -> "drain");
+
+        List<Priority> completedList = new CopyOnWriteArrayList<>();
+        // Mono.when 은 순서대로 구독하므로 조회가 먼저 대기열에 추가됨
+        Mono.when(
+                scheduler.executeAsync(Priority.READ, true, () -> Mono.fromCallable(() -> completedList.add(Priority.READ))),
+                scheduler.executeAsync(Priority.WRITE, true, () -> Mono.fromCallable(() -> completedList.add(Priority.WRITE)))
+        ).block(Duration.ofSeconds(10));
+
+        assertEquals(List.of(Priority.WRITE, Priority.READ), completedList);
+    }
+
+    @Test
+    void removesCancelledAsyncCallWithoutSpendingToken() throws IOException {
+        SheetsRequestScheduler scheduler = scheduler(60, 1, Duration.ofSeconds(10), Duration.ofSeconds(10), 1);
+        scheduler.execute(Priority.READ, true, () -> "drain");
+        AtomicInteger cancelledCalls = new AtomicInteger();
+
+        Disposable cancelled = scheduler.executeAsync(Priority.WRITE, true, () -> Mono.fromCallable(cancelledCalls::incrementAndGet)).subscribe();
+        assertEquals(1, scheduler.getWaitingCount(Priority.WRITE));
+        cancelled.dispose();
+        assertEquals(0, scheduler.getWaitingCount(Priority.WRITE));
+
+        // 다음 토큰은 취소된 호출 대신 다음 호출이 사용
+        long startNanos = System.nanoTime();
+        assertEquals("read", scheduler.executeAsync(Priority.READ, true, () -> Mono.just("read")).block(Duration.ofSeconds(5)));
+        assertTrue(System.nanoTime() - startNanos < TimeUnit.MILLISECONDS.toNanos(1500));
+        assertEquals(0, cancelledCalls.get());
+    }
+
+    @Test
+    void waitsLongerForWriteThanForRead() throws IOException {
+        SheetsRequestScheduler scheduler = scheduler(600, 1, Duration.ofMillis(20), Duration.ofSeconds(10), 1);
+        scheduler.execute(Priority.READ, true, () -> "drain");
+
+        IOException timeout = assertThrows(IOException.class, () -> scheduler.execute(Priority.READ, true, () -> "read"));
+        assertTrue(timeout.getMessage().startsWith("Timed out"));
+        assertEquals("write", scheduler.execute(Priority.WRITE, true, () -> "write"));
+    }
+
+    @Test
+    void retriesRateLimitedCallEvenIfNotIdempotent() throws IOException {
+        SheetsRequestScheduler scheduler = scheduler(60_000, 10, Duration.ofSeconds(10), Duration.ofSeconds(10), 3);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = scheduler.execute(Priority.WRITE, false, () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw error(429);
+            }
+            return "appended";
+        });
+
+        assertEquals("appended", result);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void drainsBucketOnRateLimit() throws IOException {
+        SheetsRequestScheduler scheduler = scheduler(600, 10, Duration.ofSeconds(10), Duration.ofSeconds(10), 2);
+        AtomicInteger calls = new AtomicInteger();
+
+        scheduler.execute(Priority.READ, true, () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw error(429);
+            }
+            return "read";
+        });
+
+        // 두 번만 호출했지만 남은 토큰을 모두 버렸으므로, 재시도는 토큰이 다시 채워질 때까지 기다림
+        assertEquals(2, calls.get());
+        assertTrue(scheduler.getAvailableTokens() < 1);
+    }
+
+    @Test
+    void retriesServerErrorOnlyIfIdempotent() throws IOException {
+        SheetsRequestScheduler scheduler = scheduler(60_000, 10, Duration.ofSeconds(10), Duration.ofSeconds(10), 3);
+        AtomicInteger idempotentCalls = new AtomicInteger(), appendCalls = new AtomicInteger();
+
+        String result = scheduler.execute(Priority.WRITE, true, () -> {
+            if (idempotentCalls.incrementAndGet() == 1) {
+                throw error(503);
+            }
+            return "updated";
+        });
+        GoogleJsonResponseException e = assertThrows(GoogleJsonResponseException.class, () -> scheduler.execute(Priority.WRITE, false, () -> {
+            appendCalls.incrementAndGet();
+            throw error(503);
+        }));
+
+        assertEquals("updated", result);
+        assertEquals(2, idempotentCalls.get());
+        assertEquals(503, e.getStatusCode());
+        assertEquals(1, appendCalls.get());
+    }
+
+    @Test
+    void doesNotRetryClientError() {
+        SheetsRequestScheduler scheduler = scheduler(60_000, 10, Duration.ofSeconds(10), Duration.ofSeconds(10), 3);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(GoogleJsonResponseException.class, () -> scheduler.execute(Priority.READ, true, () -> {
+            calls.incrementAndGet();
+            throw error(400);
+        }));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        SheetsRequestScheduler scheduler = scheduler(60_000, 10, Duration.ofSeconds(10), Duration.ofSeconds(10), 3);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(GoogleJsonResponseException.class, () -> scheduler.execute(Priority.READ, true, () -> {
+            calls.incrementAndGet();
+            throw error(500);
+        }));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void requestThreadStopsWaitingForTokenAfterRequestMaxWait() throws IOException {
+        SheetsRequestScheduler scheduler = new SheetsRequestScheduler(new SimpleMeterRegistry(), 6, 1,
+                Duration.ofSeconds(30), Duration.ofSeconds(30), Duration.ofMillis(100), 1, Duration.ZERO, Duration.ZERO);
+        scheduler.execute(Priority.READ, true, () -> "drain");
+
+        long startNanos = System.nanoTime();
+        IOException timeout = inRequestThread(() -> assertThrows(IOException.class,
+                () -> scheduler.execute(Priority.WRITE, true, () -> "write")));
+
+        assertTrue(timeout.getMessage().startsWith("Timed out"));
+        assertTrue(System.nanoTime() - startNanos < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(0, scheduler.getWaitingCount(Priority.WRITE));
+    }
+
+    @Test
+    void requestThreadDoesNotBackOffPastRequestMaxWait() {
+        // 재시도 대기가 요청 스레드의 최대 대기 시간보다 긴 경우
+        SheetsRequestScheduler scheduler = new SheetsRequestScheduler(new SimpleMeterRegistry(), 60_000, 10,
+                Duration.ofSeconds(30), Duration.ofSeconds(30), Duration.ofMillis(100), 5, Duration.ofSeconds(30), Duration.ofSeconds(30));
+        AtomicInteger calls = new AtomicInteger();
+
+        long startNanos = System.nanoTime();
+        GoogleJsonResponseException e = inRequestThread(() -> assertThrows(GoogleJsonResponseException.class,
+                () -> scheduler.execute(Priority.WRITE, true, () -> {
+                    calls.incrementAndGet();
+                    throw error(429);
+                })));
+
+        assertEquals(429, e.getStatusCode());
+        assertTrue(System.nanoTime() - startNanos < TimeUnit.SECONDS.toNanos(5));
+        assertTrue(calls.get() < 5);
+        assertTrue(scheduler.getAvailableTokens() < 1);
+    }
+
+    private static SheetsRequestScheduler scheduler(int requestsPerMinute, int burst, Duration maxWait, Duration writeMaxWait, int maxAttempts) {
+        // 재시도 대기 없이 바로 재시도
+        return new SheetsRequestScheduler(new SimpleMeterRegistry(), requestsPerMinute, burst, maxWait, writeMaxWait,
+                Duration.ofSeconds(30), maxAttempts, Duration.ZERO, Duration.ZERO);
+    }
+
+    /**
+     * 요청 처리 스레드에서 수행. (요청 속성이 연결된 스레드)
+     */
+    private static <T> T inRequestThread(Supplier<T> action) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            return action.get();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private static void execute(SheetsRequestScheduler scheduler, Priority priority, List<Priority> completedList) {
+        try {
+            scheduler.execute(priority, true, () -> completedList.add(priority));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitWaiting(SheetsRequestScheduler scheduler, Priority priority) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (scheduler.getWaitingCount(priority) == 0) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException(priority + " call is not waiting for a token");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private static GoogleJsonResponseException error(int statusCode) {
+        GoogleJsonError error = new GoogleJsonError();
+        error.setCode(statusCode);
+        error.setMessage("status " + statusCode);
+        return new GoogleJsonResponseException(
+                new HttpResponseException.Builder(statusCode, "status " + statusCode, new HttpHeaders()).setMessage(error.getMessage()),
+                error
+        );
+    }
+}
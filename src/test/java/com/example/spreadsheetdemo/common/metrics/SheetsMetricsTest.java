@@ -0,0 +1,71 @@
+package com.example.spreadsheetdemo.common.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link SheetsMetrics} 의 비동기 호출 수 집계 대상 전달과 결과 별 소요 시간 기록 확인.
+ */
+class SheetsMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SheetsMetrics sheetsMetrics = new SheetsMetrics(meterRegistry);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        SheetsCallContext.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void countsAsyncCallOnCapturedRequestFromOtherThread() throws Exception {
+        AtomicInteger counter = SheetsCallContext.open();
+        Function<Context, Context> captured = SheetsCallContext.captureContext();
+        Mono<String> call = sheetsMetrics.recordAsync("herb_log", "selectByRowRange", Mono.just("value"))
+                .contextWrite(captured);
+
+        // 요청 스레드가 아닌 스레드에서 구독되어도 요청의 호출 수로 집계
+        assertEquals("value", executor.submit(() -> call.block()).get(5, TimeUnit.SECONDS));
+        assertEquals(1, counter.get());
+        assertEquals(1, timerCount("selectByRowRange", "success"));
+    }
+
+    @Test
+    void countsAsyncCallOnSubscribingThreadWithoutCapturedRequest() {
+        AtomicInteger counter = SheetsCallContext.open();
+
+        sheetsMetrics.recordAsync("herb_log", "getLastRowNumber", Mono.just(3)).block();
+
+        assertEquals(1, counter.get());
+    }
+
+    @Test
+    void recordsOutcomeOfFailedCalls() {
+        Mono<Object> failed = sheetsMetrics.recordAsync("herb_log", "selectByRowRange", Mono.error(new IllegalStateException()));
+        assertThrows(IllegalStateException.class, failed::block);
+        assertThrows(IOException.class, () -> sheetsMetrics.record("herb", "selectAll", () -> {
+            throw new IOException("connection reset");
+        }));
+
+        assertEquals(1, timerCount("selectByRowRange", "error"));
+        assertEquals(1, timerCount("selectAll", "io_error"));
+    }
+
+    private long timerCount(String operation, String outcome) {
+        return meterRegistry.get(SheetsMetrics.CALL_TIMER_NAME).tag("operation", operation).tag("outcome", outcome).timer().count();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.spreadsheetdemo.herb.dashboard;
+
+import com.example.spreadsheetdemo.herb.dto.HerbDashboardDTO;
+import com.example.spreadsheetdemo.herb.dto.HerbLogDTO;
+import com.example.spreadsheetdemo.herb.event.HerbLogsAppendedEvent;
+import com.example.spreadsheetdemo.herb.replica.HerbLogReplica;
+import com.example.spreadsheetdemo.herb.stock.HerbLowStockMonitor;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link HerbDashboardAggregator} 의 금일 로그 재집계와 추가된 로그만 반영하는 증분 집계 확인.
+ */
+class HerbDashboardAggregatorTest {
+
+    private final LocalDate today = LocalDate.now();
+    private final StubReplica replica = new StubReplica();
+    private final HerbDashboardAggregator aggregator = new HerbDashboardAggregator(new StubMonitor(12, 3), replica);
+
+    @Test
+    void seedsTodayStatsFromReplica() {
+        replica.logList.add(log(today.atTime(9, 0), 10L, 20L));
+        replica.logList.add(log(today.atTime(10, 0), 20L, 17L));
+        replica.logList.add(log(today.minusDays(1).atTime(10, 0), 5L, 10L));
+        replica.logList.add(log(today.atTime(11, 0), 17L, 17L));
+
+        aggregator.reseed();
+        HerbDashboardDTO stats = aggregator.getStats();
+
+        assertEquals(today, stats.getDate());
+        assertEquals(12, stats.getTotalItemCount());
+        assertEquals(3, stats.getLowStockItemCount());
+        assertEquals(1, stats.getTodayInboundCount());
+        assertEquals(10L, stats.getTodayInboundAmount());
+        assertEquals(1, stats.getTodayUsageCount());
+        assertEquals(3L, stats.getTodayUsageAmount());
+    }
+
+    @Test
+    void countsOnlyAppendedRowsAfterSeededRows() {
+        replica.logList.add(log(today.atTime(9, 0), 10L, 20L));
+        replica.logList.add(log(today.atTime(10, 0), 20L, 17L));
+        aggregator.reseed();
+
+        // 2, 3행은 재집계에 이미 반영됨
+        HerbLogsAppendedEvent event = new HerbLogsAppendedEvent(2, List.of(
+                log(today.atTime(9, 0), 10L, 20L),
+                log(today.atTime(10, 0), 20L, 17L),
+                log(today.atTime(12, 0), 17L, 25L),
+                log(today.minusDays(1).atTime(12, 0), 25L, 20L)
+        ));
+        aggregator.onHerbLogsAppended(event);
+        // 같은 이벤트가 다시 전달되어도 중복 집계하지 않음
+        aggregator.onHerbLogsAppended(event);
+        HerbDashboardDTO stats = aggregator.getStats();
+
+        assertEquals(2, stats.getTodayInboundCount());
+        assertEquals(18L, stats.getTodayInboundAmount());
+        assertEquals(1, stats.getTodayUsageCount());
+        assertEquals(3L, stats.getTodayUsageAmount());
+    }
+
+    @Test
+    void keepsStatsWhenReseedFails() {
+        aggregator.reseed();
+        aggregator.onHerbLogsAppended(new HerbLogsAppendedEvent(2, List.of(log(today.atTime(9, 0), 10L, 4L))));
+
+        replica.failScan = true;
+        aggregator.reseed();
+        HerbDashboardDTO stats = aggregator.getStats();
+
+        assertEquals(1, stats.getTodayUsageCount());
+        assertEquals(6L, stats.getTodayUsageAmount());
+    }
+
+    private static HerbLogDTO log(LocalDateTime loggedDatetime, Long beforeAmount, Long afterAmount) {
+        return HerbLogDTO.builder()
+                .loggedDatetime(loggedDatetime)
+                .name("당귀")
+                .beforeAmount(beforeAmount)
+                .afterAmount(afterAmount)
+                .build();
+    }
+
+    /**
+     * 고정된 약재 수와 재고 부족 약재 수를 반환하는 재고 부족 감시.
+     */
+    private static class StubMonitor extends HerbLowStockMonitor {
+
+        private final int itemCount;
+        private final int lowStockCount;
+
+        private StubMonitor(int itemCount, int lowStockCount) {
+            super(null, null, null);
+            this.itemCount = itemCount;
+            this.lowStockCount = lowStockCount;
+        }
+
+        @Override
+        public synchronized int getItemCount() {
+            return itemCount;
+        }
+
+        @Override
+        public synchronized int getLowStockCount() {
+            return lowStockCount;
+        }
+    }
+
+    /**
+     * 2행부터의 로그 목록을 메모리에 보관하는 복제본.
+     */
+    private static class StubReplica extends HerbLogReplica {
+
+        private final List<HerbLogDTO> logList = new ArrayList<>();
+        private boolean failScan = false;
+
+        private StubReplica() {
+            super(null, null, null, null);
+        }
+
+        @Override
+        public void scan(LocalDateTime fromInclude, LocalDateTime toExclude, RowVisitor visitor) throws IOException {
+            if (failScan) {
+                throw new IOException("unavailable");
+            }
+            for (int i = 0; i < logList.size(); i++) {
+                HerbLogDTO logDTO = logList.get(i);
+                LocalDateTime loggedDatetime = logDTO.getLoggedDatetime();
+                if (!loggedDatetime.isBefore(fromInclude) && loggedDatetime.isBefore(toExclude)) {
+                    visitor.visit(
+                            i + 2, loggedDatetime.atZone(ZoneId.systemDefault()).toEpochSecond(),
+                            logDTO.getName(), logDTO.getBeforeAmount(), logDTO.getAfterAmount()
+                    );
+                }
+            }
+        }
+
+        @Override
+        public int getLastRowNum() {
+            return logList.size() + 1;
+        }
+    }
+}
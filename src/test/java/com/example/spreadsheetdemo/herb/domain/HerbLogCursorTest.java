@@ -0,0 +1,61 @@
+package com.example.spreadsheetdemo.herb.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link HerbLogCursor} 의 문자열 변환과 로그 시트 축소 감지 확인.
+ */
+class HerbLogCursorTest {
+
+    @Test
+    void decodesEncodedCursor() {
+        HerbLogCursor decoded = HerbLogCursor.decode(HerbLogCursor.of(120, 500).encode());
+
+        assertEquals(120, decoded.getEndRowNum());
+        assertEquals(500, decoded.getSheetLength());
+    }
+
+    @Test
+    void encodesWithoutPadding() {
+        String token = HerbLogCursor.of(2, 2).encode();
+
+        assertEquals(-1, token.indexOf('='));
+        assertEquals(2, HerbLogCursor.decode(token).getEndRowNum());
+    }
+
+    @Test
+    void rejectsRowOutsideSheet() {
+        assertThrows(IllegalArgumentException.class, () -> HerbLogCursor.of(1, 10));
+        assertThrows(IllegalArgumentException.class, () -> HerbLogCursor.of(11, 10));
+    }
+
+    @Test
+    void rejectsMalformedToken() {
+        assertThrows(IllegalArgumentException.class, () -> HerbLogCursor.decode("%%%"));
+        assertThrows(IllegalArgumentException.class, () -> HerbLogCursor.decode(encode("v2:10:20")));
+        assertThrows(IllegalArgumentException.class, () -> HerbLogCursor.decode(encode("v1:10")));
+        assertThrows(IllegalArgumentException.class, () -> HerbLogCursor.decode(encode("v1:10:20:30")));
+        assertThrows(IllegalArgumentException.class, () -> HerbLogCursor.decode(encode("v1:ten:20")));
+        assertThrows(IllegalArgumentException.class, () -> HerbLogCursor.decode(encode("v1:30:20")));
+    }
+
+    @Test
+    void detectsShrunkSheet() {
+        HerbLogCursor cursor = HerbLogCursor.of(120, 500);
+
+        assertThrows(IllegalArgumentException.class, () -> cursor.checkSheetNotShrunk(499));
+        assertDoesNotThrow(() -> cursor.checkSheetNotShrunk(500));
+        assertDoesNotThrow(() -> cursor.checkSheetNotShrunk(800));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
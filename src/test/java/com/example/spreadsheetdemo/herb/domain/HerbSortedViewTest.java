@@ -0,0 +1,116 @@
+package com.example.spreadsheetdemo.herb.domain;
+
+import com.example.spreadsheetdemo.herb.dto.HerbDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link HerbSortedView} 의 페이지 범위, 정렬 방향, 수량 조건 경계 확인.
+ */
+class HerbSortedViewTest {
+
+    // 수량이 없는 약재와 수량이 같은 약재를 포함
+    private final List<HerbDTO> herbList = List.of(
+            herb(2, "당귀", 10L, LocalDate.of(2025, 3, 1)),
+            herb(3, "감초", null, LocalDate.of(2025, 1, 5)),
+            herb(4, "백출", 3L, null),
+            herb(5, "작약", 10L, LocalDate.of(2025, 2, 1)),
+            herb(6, "천궁", 0L, LocalDate.of(2025, 3, 1)),
+            herb(7, "황기", 25L, null),
+            herb(8, "계지", null, LocalDate.of(2024, 12, 31))
+    );
+    private final HerbSortedView view = HerbSortedView.of(HerbSnapshot.of(1L, herbList));
+
+    @Test
+    void matchesFullSortForEveryRequest() {
+        List<String> sortList = Arrays.asList(null, "rowNum", "name", "amount", "lastStoredDate");
+        List<Long[]> amountRangeList = List.of(
+                new Long[]{null, null}, new Long[]{10L, null}, new Long[]{null, 3L},
+                new Long[]{3L, 10L}, new Long[]{11L, 24L}, new Long[]{26L, null}
+        );
+        for (String sort : sortList) {
+            // 정렬 기준이 없는 경우 정렬 방향은 적용하지 않음
+            for (String direction : sort == null ? List.of("asc") : List.of("asc", "desc")) {
+                for (Long[] amountRange : amountRangeList) {
+                    for (int size = 1; size <= 4; size++) {
+                        for (int page = 1; page <= 9 / size; page++) {
+                            HerbPageRequest request = HerbPageRequest.of(page, size, sort, direction, amountRange[0], amountRange[1]);
+                            assertPageEquals(HerbPage.from(herbList, request), view.page(request), request.toString());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void returnsPartialLastPageAndEmptyPageBeyondTotal() {
+        HerbPage lastPage = view.page(HerbPageRequest.of(3, 3, "name", null, null, null));
+
+        assertEquals(List.of(7), rowNums(lastPage));
+        assertEquals(7, lastPage.getTotalElements());
+        assertEquals(3, lastPage.getTotalPages());
+        assertFalse(lastPage.isHasNextPage());
+
+        HerbPage beyondPage = view.page(HerbPageRequest.of(4, 3, "name", null, null, null));
+        assertEquals(List.of(), beyondPage.getContent());
+        assertEquals(7, beyondPage.getTotalElements());
+    }
+
+    @Test
+    void keepsHerbsWithoutValueLastInDescendingOrder() {
+        HerbPage page = view.page(HerbPageRequest.of(1, 10, "amount", "desc", null, null));
+
+        // 수량이 같은 약재는 행 번호 역순, 수량이 없는 약재는 행 번호 순
+        assertEquals(List.of(7, 5, 2, 4, 6, 3, 8), rowNums(page));
+    }
+
+    @Test
+    void includesBothAmountBounds() {
+        HerbPage page = view.page(HerbPageRequest.of(1, 2, "amount", null, 3L, 10L));
+
+        assertEquals(List.of(4, 2), rowNums(page));
+        assertEquals(3, page.getTotalElements());
+        assertTrue(page.isHasNextPage());
+    }
+
+    @Test
+    void rejectsInvalidRequest() {
+        assertThrows(IllegalArgumentException.class, () -> HerbPageRequest.of(0, null, null, null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> HerbPageRequest.of(1, HerbPageRequest.MAX_PAGE_SIZE + 1, null, null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> HerbPageRequest.of(1, 10, "memo", null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> HerbPageRequest.of(1, 10, null, "up", null, null));
+        assertThrows(IllegalArgumentException.class, () -> HerbPageRequest.of(1, 10, null, null, 10L, 3L));
+    }
+
+    private static void assertPageEquals(HerbPage expected, HerbPage actual, String message) {
+        assertEquals(rowNums(expected), rowNums(actual), message);
+        assertEquals(expected.getTotalElements(), actual.getTotalElements(), message);
+        assertEquals(expected.getTotalPages(), actual.getTotalPages(), message);
+        assertEquals(expected.isHasNextPage(), actual.isHasNextPage(), message);
+    }
+
+    private static List<Integer> rowNums(HerbPage page) {
+        List<Integer> rowNumList = new ArrayList<>();
+        page.getContent().forEach(herb -> rowNumList.add(herb.getRowNum()));
+        return rowNumList;
+    }
+
+    private static HerbDTO herb(int rowNum, String name, Long amount, LocalDate lastStoredDate) {
+        return HerbDTO.builder()
+                .rowNum(rowNum)
+                .name(name)
+                .amount(amount)
+                .lastStoredDate(lastStoredDate)
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.spreadsheetdemo.herb.index;
+
+import com.example.spreadsheetdemo.herb.dto.HerbDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link HerbNameIndex} 의 초성, n-gram 검색과 결과 순위 확인.
+ */
+class HerbNameIndexTest {
+
+    @Test
+    void ranksExactThenPrefixThenSubstring() {
+        HerbNameIndex index = HerbNameIndex.of(List.of(
+                herb(2, "백당귀"),
+                herb(3, "당귀신"),
+                herb(4, "당귀"),
+                herb(5, "토당귀"),
+                herb(6, "감초"),
+                herb(7, "당귀신초")
+        ));
+
+        // 순위와 일치 위치가 같으면 짧은 이름, 이름 순
+        assertEquals(List.of("당귀", "당귀신", "당귀신초", "백당귀", "토당귀"), names(index.search("당귀", 10)));
+    }
+
+    @Test
+    void ranksEarlierSubstringMatchFirst() {
+        HerbNameIndex index = HerbNameIndex.of(List.of(
+                herb(2, "산수유귀"),
+                herb(3, "산귀"),
+                herb(4, "백산귀")
+        ));
+
+        assertEquals(List.of("산귀", "백산귀", "산수유귀"), names(index.search("귀", 10)));
+    }
+
+    @Test
+    void searchesByChosung() {
+        HerbNameIndex index = HerbNameIndex.of(List.of(
+                herb(2, "당귀"),
+                herb(3, "대계"),
+                herb(4, "감초"),
+                herb(5, "백두구")
+        ));
+
+        // 초성이 이름 중간에서 일치하는 백두구는 부분 문자열 일치
+        assertEquals(List.of("당귀", "대계", "백두구"), names(index.search("ㄷㄱ", 10)));
+        assertEquals(List.of("백두구"), names(index.search("ㅂㄷ", 10)));
+        assertEquals(List.of("감초"), names(index.search("ㄱㅊ", 10)));
+    }
+
+    @Test
+    void searchesByMixedChosungAndSyllables() {
+        HerbNameIndex index = HerbNameIndex.of(List.of(
+                herb(2, "당귀"),
+                herb(3, "대계"),
+                herb(4, "당삼")
+        ));
+
+        assertEquals(List.of("당귀"), names(index.search("당ㄱ", 10)));
+        assertEquals(List.of("대계"), names(index.search("ㄷ계", 10)));
+    }
+
+    @Test
+    void requiresEveryBigramOfQuery() {
+        HerbNameIndex index = HerbNameIndex.of(List.of(
+                herb(2, "황기"),
+                herb(3, "기황"),
+                herb(4, "황련")
+        ));
+
+        assertEquals(List.of("황기"), names(index.search("황기", 10)));
+        assertTrue(index.search("황기련", 10).isEmpty());
+    }
+
+    @Test
+    void ignoresWhitespaceAndCase() {
+        HerbNameIndex index = HerbNameIndex.of(List.of(herb(2, "Ginseng 인삼")));
+
+        assertEquals(List.of("Ginseng 인삼"), names(index.search("gin seng", 10)));
+        assertEquals(List.of("Ginseng 인삼"), names(index.search("NG인", 10)));
+    }
+
+    @Test
+    void reindexesRenamedAndRemovedHerbs() {
+        HerbNameIndex index = HerbNameIndex.of(List.of(herb(2, "당귀"), herb(3, "감초")));
+
+        index.put(herb(2, "천궁"));
+        index.remove(3);
+
+        assertTrue(index.search("당귀", 10).isEmpty());
+        assertTrue(index.search("ㄱㅊ", 10).isEmpty());
+        assertEquals(List.of("천궁"), names(index.search("ㅊㄱ", 10)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void limitsResults() {
+        HerbNameIndex index = HerbNameIndex.of(List.of(herb(2, "당귀"), herb(3, "당삼"), herb(4, "당약")));
+
+        assertEquals(List.of("당귀", "당삼"), names(index.search("당", 2)));
+        assertTrue(index.search("당", 0).isEmpty());
+        assertTrue(index.search(" ", 10).isEmpty());
+    }
+
+    private static HerbDTO herb(int rowNum, String name) {
+        return HerbDTO.builder()
+                .rowNum(rowNum)
+                .name(name)
+                .amount(10L)
+                .build();
+    }
+
+    private static List<String> names(List<HerbDTO> herbList) {
+        return herbList.stream().map(HerbDTO::getName).toList();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.spreadsheetdemo.herb.journal;
+
+import com.example.spreadsheetdemo.herb.dto.HerbRegisterDTO;
+import com.example.spreadsheetdemo.herb.dto.HerbUpdateDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link HerbSagaJournal} 을 다시 열었을 때 종료 기록이 없는 트랜잭션과 진행 상태가 복구되는지 확인.
+ */
+class HerbSagaJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private HerbSagaJournal journal;
+
+    @AfterEach
+    void closeJournal() throws Exception {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void recoversSagasWithoutEndRecord() throws Exception {
+        journal = open();
+        HerbRegisterDTO registerDTO = HerbRegisterDTO.builder()
+                .name("당귀\t특")
+                .amount(30L)
+                .lastStoredDate(LocalDate.of(2025, 3, 1))
+                .memo(null)
+                .build();
+        HerbSagaEntry insertSaga = journal.beginInsert(registerDTO);
+        journal.herbWritten(insertSaga.getSagaId(), "herb!A10:E10");
+
+        List<HerbUpdateDTO> updateDTOList = List.of(update(2, "감초", 10L, 5L), update(3, "백출", 7L, 7L));
+        HerbSagaEntry updateSaga = journal.beginUpdate(updateDTOList);
+        journal.herbWritten(updateSaga.getSagaId(), "herb!A2:E3");
+        journal.logQueued(updateSaga.getSagaId());
+
+        HerbSagaEntry committedSaga = journal.beginInsert(registerDTO);
+        journal.end(committedSaga.getSagaId(), HerbSagaJournal.EndState.COMMITTED);
+        crash();
+
+        journal = open();
+        List<HerbSagaEntry> incompleteSagaList = journal.getIncompleteSagaList();
+
+        assertEquals(2, incompleteSagaList.size());
+        HerbSagaEntry recoveredInsert = incompleteSagaList.get(0);
+        assertEquals(insertSaga.getSagaId(), recoveredInsert.getSagaId());
+        assertEquals(HerbSagaEntry.Type.INSERT, recoveredInsert.getType());
+        assertEquals(insertSaga.getLoggedDatetime(), recoveredInsert.getLoggedDatetime());
+        assertEquals(registerDTO, recoveredInsert.getRegisterDTO());
+        assertEquals("herb!A10:E10", recoveredInsert.getHerbWrittenRange());
+        assertFalse(recoveredInsert.isLogQueued());
+
+        HerbSagaEntry recoveredUpdate = incompleteSagaList.get(1);
+        assertEquals(updateSaga.getSagaId(), recoveredUpdate.getSagaId());
+        assertEquals(updateDTOList, recoveredUpdate.getUpdateDTOList());
+        assertTrue(recoveredUpdate.isHerbWritten());
+        assertTrue(recoveredUpdate.isLogQueued());
+        // 수량이 바뀐 약재만 로그 기록 대상
+        assertEquals(1, recoveredUpdate.toLogDTOList().size());
+    }
+
+    @Test
+    void recoversSagaThatEndedBeforeHerbWrite() throws Exception {
+        journal = open();
+        HerbSagaEntry saga = journal.beginUpdate(List.of(update(2, "감초", 10L, 5L)));
+        crash();
+
+        journal = open();
+
+        HerbSagaEntry recovered = journal.getIncompleteSagaList().get(0);
+        assertEquals(saga.getSagaId(), recovered.getSagaId());
+        assertFalse(recovered.isHerbWritten());
+        assertNull(recovered.getHerbWrittenRange());
+    }
+
+    @Test
+    void discardsTruncatedRecordBeforeAppending() throws Exception {
+        journal = open();
+        HerbSagaEntry saga = journal.beginUpdate(List.of(update(2, "감초", 10L, 5L)));
+        crash();
+        // 기록 도중 종료되어 줄바꿈 없이 잘린 레코드
+        Files.writeString(journalPath(), "S\t" + saga.getSagaId() + "\tHERB_WRI", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        journal = open();
+        assertEquals(1, journal.getIncompleteSagaList().size());
+        assertFalse(journal.getIncompleteSagaList().get(0).isHerbWritten());
+        HerbSagaEntry nextSaga = journal.beginInsert(HerbRegisterDTO.builder().name("백출").amount(3L).build());
+        crash();
+
+        // 잘린 레코드 뒤에 이어 쓴 레코드도 읽을 수 있음
+        journal = open();
+        assertEquals(
+                List.of(saga.getSagaId(), nextSaga.getSagaId()),
+                journal.getIncompleteSagaList().stream().map(HerbSagaEntry::getSagaId).toList()
+        );
+    }
+
+    private HerbSagaJournal open() throws IOException {
+        HerbSagaJournal newJournal = new HerbSagaJournal();
+        ReflectionTestUtils.setField(newJournal, "journalFilePath", journalPath().toString());
+        ReflectionTestUtils.setField(newJournal, "syncTimeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(newJournal, "compactThresholdBytes", 1_048_576L);
+        newJournal.open();
+        return newJournal;
+    }
+
+    /**
+     * 기록 스레드를 종료하고 파일을 닫은 뒤 다시 열 수 있도록 한다. 종료 기록을 남기지 않은 트랜잭션은 그대로 남는다.
+     */
+    private void crash() throws Exception {
+        journal.close();
+        journal = null;
+    }
+
+    private Path journalPath() {
+        return directory.resolve("herb_saga.journal");
+    }
+
+    private static HerbUpdateDTO update(int rowNum, String name, Long originalAmount, Long newAmount) {
+        return HerbUpdateDTO.builder()
+                .rowNum(rowNum)
+                .name(name)
+                .originalAmount(originalAmount)
+                .newAmount(newAmount)
+                .originalLastStoredDate(LocalDate.of(2025, 1, 1))
+                .newLastStoredDate(LocalDate.of(2025, 3, 1))
+                .originalMemo("")
+                .newMemo("메모")
+                .build();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.spreadsheetdemo.herb.mapper;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * {@link HerbDateTimeParser} 가 기존 {@link DateTimeFormatter} 패턴을 순서대로 시도한 결과와 같은 값을 반환하는지 확인.
+ */
+class HerbDateTimeParserTest {
+
+    private static final List<String> DATE_PATTERNS = List.of("yyyy.M.d", "yyyy. M. d", "yyyy-M-d", "yyyy/M/d", "yyyyMd");
+
+    private static final List<String> DATE_SAMPLES = List.of(
+            "2024.1.5", "2024. 1. 5", "2024-01-05", "2024/1/5", "2024.12.31", "2024. 02. 29",
+            // 해당 월의 마지막 날로 조정
+            "2023.2.29", "2023.2.31", "2024-4-31",
+            // 유효하지 않은 값
+            "2024.0.5", "2024.13.1", "2024.1.0", "2024.1.32", "0000.1.1",
+            // 지원하지 않는 형식
+            "", " ", "2024", "2024.", "2024.1", "2024.1.", "2024.1-5", "2024.1. 5", "2024. 1.5", "2024 .1.5",
+            "24.1.5", "02024.1.5", "+2024.1.5", "+12024.1.5", "20240105", "2024.1.5 ", "2024.1.5a", "a2024.1.5",
+            "2024..1.5", "2024.-1.5", "2024.1.00005", "2024.０1.5", "2024.99999999999999999999.1"
+    );
+
+    private static final List<String> TIME_SAMPLES = List.of(
+            "0:0:0", "13:04:05", "9:5:7", "23:59:59", "24:0:0", "24:00:00",
+            "24:0:1", "25:0:0", "23:60:0", "23:0:60", "13:04", "13:04:05:06", "13::05", ":04:05", "13:04:", "-1:0:0"
+    );
+
+    @Test
+    void parsesEverySupportedDatePattern() {
+        LocalDate expected = LocalDate.of(2024, 1, 5);
+
+        assertEquals(expected, HerbDateTimeParser.parseDate("2024.1.5"));
+        assertEquals(expected, HerbDateTimeParser.parseDate("2024. 1. 5"));
+        assertEquals(expected, HerbDateTimeParser.parseDate("2024-01-05"));
+        assertEquals(expected, HerbDateTimeParser.parseDate("2024/1/5"));
+    }
+
+    @Test
+    void clampsDayToLastDayOfMonth() {
+        assertEquals(LocalDate.of(2023, 2, 28), HerbDateTimeParser.parseDate("2023.2.30"));
+        assertEquals(LocalDate.of(2024, 2, 29), HerbDateTimeParser.parseDate("2024.2.31"));
+        assertNull(HerbDateTimeParser.parseDate("2024.2.32"));
+    }
+
+    @Test
+    void parsesDateTimeAndMidnightOfNextDay() {
+        assertEquals(LocalDateTime.of(2024, 1, 5, 13, 4, 5), HerbDateTimeParser.parseDateTime("2024. 1. 5 13:04:05"));
+        assertEquals(LocalDateTime.of(2024, 1, 6, 0, 0, 0), HerbDateTimeParser.parseDateTime("2024.1.5 24:0:0"));
+        assertEquals(LocalDateTime.of(2025, 1, 1, 0, 0, 0), HerbDateTimeParser.parseDateTime("2024-12-31 24:00:00"));
+    }
+
+    @Test
+    void returnsNullInsteadOfThrowing() {
+        assertNull(HerbDateTimeParser.parseDate(null));
+        assertNull(HerbDateTimeParser.parseDateTime(null));
+        assertNull(HerbDateTimeParser.parseDateTime("2024.1.5"));
+        assertNull(HerbDateTimeParser.parseDateTime("2024.1.5 "));
+        assertNull(HerbDateTimeParser.parseDateTime("2024.13.5 13:04:05"));
+    }
+
+    @Test
+    void matchesFormatterPatternsForDates() {
+        for (String sample : DATE_SAMPLES) {
+            assertEquals(parseDateWithFormatters(sample), HerbDateTimeParser.parseDate(sample), "date: \"" + sample + "\"");
+        }
+    }
+
+    @Test
+    void matchesFormatterPatternsForDateTimes() {
+        for (String date : DATE_SAMPLES) {
+            for (String time : TIME_SAMPLES) {
+                String sample = date + " " + time;
+                assertEquals(parseDateTimeWithFormatters(sample), HerbDateTimeParser.parseDateTime(sample), "datetime: \"" + sample + "\"");
+            }
+        }
+    }
+
+    private static LocalDate parseDateWithFormatters(String text) {
+        for (String pattern : DATE_PATTERNS) {
+            try {
+                return LocalDate.parse(text, DateTimeFormatter.ofPattern(pattern));
+            } catch (DateTimeParseException ignored) {
+                // 다음 패턴 시도
+            }
+        }
+        return null;
+    }
+
+    private static LocalDateTime parseDateTimeWithFormatters(String text) {
+        for (String pattern : DATE_PATTERNS) {
+            try {
+                return LocalDateTime.parse(text, DateTimeFormatter.ofPattern(pattern + " H:m:s"));
+            } catch (DateTimeParseException ignored) {
+                // 다음 패턴 시도
+            }
+        }
+        return null;
+    }
+}
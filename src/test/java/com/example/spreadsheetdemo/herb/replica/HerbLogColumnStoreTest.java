@@ -0,0 +1,179 @@
+package com.example.spreadsheetdemo.herb.replica;
+
+import com.example.spreadsheetdemo.herb.dto.HerbLogDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * {@link HerbLogColumnStore} 를 커밋한 뒤 다시 열었을 때 마지막 커밋 상태로 복구되는지 확인.
+ */
+class HerbLogColumnStoreTest {
+
+    private static final String SPREADSHEET_ID = "spreadsheet";
+
+    @TempDir
+    Path directory;
+
+    private HerbLogColumnStore store;
+
+    @AfterEach
+    void closeStore() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void reopensCommittedRows() throws IOException {
+        store = open();
+        store.append(log(1, "감초", 10, 8));
+        store.append(null);
+        store.append(log(2, "당귀", 5, 7));
+        store.append(log(3, "감초", 8, 6));
+        store.commit();
+
+        store = reopen();
+
+        assertEquals(4, store.size());
+        assertEquals(log(1, "감초", 10, 8), store.get(0));
+        assertNull(store.get(1));
+        assertEquals(log(2, "당귀", 5, 7), store.get(2));
+        assertArrayEquals(new int[]{3, 0}, store.findLatestIndexesByName("감초", 3, 10));
+    }
+
+    @Test
+    void discardsUncommittedRows() throws IOException {
+        store = open();
+        store.append(log(1, "감초", 10, 8));
+        store.commit();
+        store.append(log(2, "당귀", 5, 7));
+
+        store = reopen();
+
+        assertEquals(1, store.size());
+        assertArrayEquals(new int[0], store.findLatestIndexesByName("당귀", 0, 10));
+    }
+
+    @Test
+    void truncatesTornNameDictionaryTail() throws IOException {
+        store = open();
+        store.append(log(1, "감초", 10, 8));
+        store.commit();
+        long committedLength = Files.size(dictPath());
+        appendTornEntry();
+
+        store = reopen();
+        assertEquals(committedLength, Files.size(dictPath()));
+        store.append(log(2, "당귀", 5, 7));
+        store.commit();
+
+        store = reopen();
+        assertEquals(2, store.size());
+        assertEquals(log(1, "감초", 10, 8), store.get(0));
+        assertEquals(log(2, "당귀", 5, 7), store.get(1));
+    }
+
+    @Test
+    void truncatesTornNameDictionaryTailWithoutCommittedLength() throws IOException {
+        store = open();
+        store.append(log(1, "감초", 10, 8));
+        store.commit();
+        long committedLength = Files.size(dictPath());
+        // 이름 사전 길이를 기록하지 않던 이전 형식의 메타 정보
+        Files.write(directory.resolve("store.meta"), List.of("spreadsheetId\t" + SPREADSHEET_ID, "rowCount\t1", "sorted\ttrue"), StandardCharsets.UTF_8);
+        appendTornEntry();
+
+        store = reopen();
+        assertEquals(committedLength, Files.size(dictPath()));
+        store.append(log(2, "당귀", 5, 7));
+        store.commit();
+
+        store = reopen();
+        assertEquals(log(2, "당귀", 5, 7), store.get(1));
+    }
+
+    @Test
+    void findsLatestRowsOfNameWithinRangeAndLimit() throws IOException {
+        store = open();
+        store.append(log(1, "감초", 10, 8));
+        store.append(log(2, "당귀", 5, 7));
+        store.append(null);
+        store.append(log(3, "감초", 8, 6));
+        store.append(log(4, "감초", 6, 9));
+
+        assertArrayEquals(new int[]{4, 3}, store.findLatestIndexesByName("감초", 4, 2));
+        assertArrayEquals(new int[]{3, 0}, store.findLatestIndexesByName("감초", 3, 10));
+        // 마지막 행 위치보다 큰 위치는 마지막 행까지로 조회
+        assertArrayEquals(new int[]{4, 3, 0}, store.findLatestIndexesByName("감초", Integer.MAX_VALUE, 10));
+        assertArrayEquals(new int[0], store.findLatestIndexesByName("감초", 4, 0));
+        assertArrayEquals(new int[0], store.findLatestIndexesByName("당귀", 0, 10));
+        assertArrayEquals(new int[0], store.findLatestIndexesByName("백출", 4, 10));
+
+        store.clear();
+        assertArrayEquals(new int[0], store.findLatestIndexesByName("감초", 4, 10));
+    }
+
+    @Test
+    void startsEmptyForAnotherSpreadsheet() throws IOException {
+        store = open();
+        store.append(log(1, "감초", 10, 8));
+        store.commit();
+        store.close();
+
+        store = new HerbLogColumnStore(directory, "another");
+        store.open();
+
+        assertEquals(0, store.size());
+    }
+
+    private HerbLogColumnStore open() throws IOException {
+        HerbLogColumnStore opened = new HerbLogColumnStore(directory, SPREADSHEET_ID);
+        opened.open();
+        return opened;
+    }
+
+    private HerbLogColumnStore reopen() throws IOException {
+        store.close();
+        return open();
+    }
+
+    private Path dictPath() {
+        return directory.resolve("name.dict");
+    }
+
+    /**
+     * 기록 도중 끊긴 이름 항목: 길이는 10 byte 이지만 3 byte 만 기록됨
+     */
+    private void appendTornEntry() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream dataOut = new DataOutputStream(bytes)) {
+            dataOut.writeShort(10);
+            dataOut.write(new byte[]{'a', 'b', 'c'});
+        }
+        Files.write(dictPath(), bytes.toByteArray(), StandardOpenOption.APPEND);
+    }
+
+    private static HerbLogDTO log(int day, String name, long before, long after) {
+        return HerbLogDTO.builder()
+                .loggedDatetime(LocalDateTime.of(2024, 1, day, 9, 0))
+                .name(name)
+                .beforeAmount(before)
+                .afterAmount(after)
+                .build();
+    }
+}
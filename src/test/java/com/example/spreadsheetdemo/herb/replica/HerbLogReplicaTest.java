@@ -0,0 +1,205 @@
+package com.example.spreadsheetdemo.herb.replica;
+
+import com.example.spreadsheetdemo.herb.cache.HerbDataVersion;
+import com.example.spreadsheetdemo.herb.dto.HerbLogDTO;
+import com.example.spreadsheetdemo.herb.event.HerbLogReplicaSyncedEvent;
+import com.example.spreadsheetdemo.herb.mapper.HerbMapper;
+import com.example.spreadsheetdemo.herb.repository.HerbLogRepository;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link HerbLogReplica} 가 확인 구간의 체크섬이 일치하면 새 행만 가져오고, 일치하지 않으면 전체를 다시 불러오는지 확인.
+ */
+class HerbLogReplicaTest {
+
+    private static final int VERIFY_ROWS = 2;
+
+    @TempDir
+    Path directory;
+
+    private final StubLogRepository logRepository = new StubLogRepository();
+    private final HerbDataVersion herbDataVersion = new HerbDataVersion();
+    private final List<Object> eventList = new ArrayList<>();
+    private HerbLogReplica replica;
+
+    @AfterEach
+    void closeReplica() {
+        if (replica != null) {
+            replica.close();
+        }
+    }
+
+    @Test
+    void fetchesOnlyRowsAfterVerifiedTail() throws Exception {
+        logRepository.addRows(5);
+        replica = replica();
+        assertEquals(5, replica.getAll().size());
+
+        logRepository.addRows(2);
+        replica.sync();
+
+        // 마지막 2개 행(5, 6행)부터 조회
+        assertEquals(List.of(2, 5), logRepository.requestedStartRowNumList);
+        assertEquals(logRepository.expectedLogList(), replica.getAll());
+        assertEquals(8, replica.getLastRowNum());
+        assertEquals(8, lastSyncedRowNum());
+    }
+
+    @Test
+    void reloadsAllRowsWhenVerifiedRowChanged() throws Exception {
+        logRepository.addRows(5);
+        replica = replica();
+        replica.getAll();
+
+        // 다른 경로로 마지막 행이 수정되고 새 행이 추가된 경우
+        logRepository.rowList.set(4, row(6, "수정됨", 99));
+        logRepository.addRows(1);
+        long versionBeforeSync = herbDataVersion.get(HerbDataVersion.Resource.HERB_LOG);
+        replica.sync();
+
+        assertEquals(List.of(2, 5, 2), logRepository.requestedStartRowNumList);
+        assertEquals(logRepository.expectedLogList(), replica.getAll());
+        assertEquals(7, lastSyncedRowNum());
+        assertTrue(herbDataVersion.get(HerbDataVersion.Resource.HERB_LOG) > versionBeforeSync);
+    }
+
+    @Test
+    void reloadsAllRowsWhenRowsDeleted() throws Exception {
+        logRepository.addRows(5);
+        replica = replica();
+        replica.getAll();
+
+        logRepository.rowList.remove(4);
+        logRepository.rowList.remove(3);
+        replica.sync();
+
+        assertEquals(List.of(2, 5, 2), logRepository.requestedStartRowNumList);
+        assertEquals(logRepository.expectedLogList(), replica.getAll());
+        assertEquals(4, replica.getLastRowNum());
+    }
+
+    @Test
+    void doesNotPublishSyncedEventWithoutChange() throws Exception {
+        logRepository.addRows(3);
+        replica = replica();
+        replica.getAll();
+        eventList.clear();
+        long versionBeforeSync = herbDataVersion.get(HerbDataVersion.Resource.HERB_LOG);
+
+        replica.sync();
+
+        assertEquals(List.of(), eventList);
+        assertEquals(versionBeforeSync, herbDataVersion.get(HerbDataVersion.Resource.HERB_LOG));
+    }
+
+    @Test
+    void resumesFromStoredRowsAfterRestart() throws Exception {
+        logRepository.addRows(5);
+        replica = replica();
+        replica.getAll();
+        replica.close();
+
+        logRepository.addRows(1);
+        logRepository.requestedStartRowNumList.clear();
+        replica = replica();
+
+        assertEquals(logRepository.expectedLogList(), replica.getAll());
+        assertEquals(List.of(5), logRepository.requestedStartRowNumList);
+    }
+
+    @Test
+    void findsLatestLogsByNameIncludingSyncedRows() throws Exception {
+        logRepository.addRow("감초");
+        logRepository.addRow("당귀");
+        logRepository.addRow("감초");
+        replica = replica();
+        replica.getAll();
+
+        logRepository.addRow("감초");
+        logRepository.addRow("당귀");
+        replica.sync();
+        List<HerbLogDTO> expectedLogList = logRepository.expectedLogList();
+
+        assertEquals(
+                Map.of(5, expectedLogList.get(3), 4, expectedLogList.get(2)),
+                replica.findLatestByName("감초", Integer.MAX_VALUE, 2)
+        );
+        assertEquals(List.of(4, 2), List.copyOf(replica.findLatestByName("감초", 4, 10).keySet()));
+        assertEquals(List.of(6, 3), List.copyOf(replica.findLatestByName("당귀", Integer.MAX_VALUE, 10).keySet()));
+        assertEquals(Map.of(), replica.findLatestByName("백출", Integer.MAX_VALUE, 10));
+    }
+
+    private HerbLogReplica replica() {
+        HerbLogReplica newReplica = new HerbLogReplica(logRepository, new HerbMapper(), herbDataVersion, eventList::add);
+        ReflectionTestUtils.setField(newReplica, "SPREADSHEET_ID", "spreadsheet");
+        ReflectionTestUtils.setField(newReplica, "storePath", directory.toString());
+        ReflectionTestUtils.setField(newReplica, "verifyRows", VERIFY_ROWS);
+        return newReplica;
+    }
+
+    private int lastSyncedRowNum() {
+        return ((HerbLogReplicaSyncedEvent) eventList.get(eventList.size() - 1)).getLastRowNum();
+    }
+
+    private static List<Object> row(int rowNum, String name, long afterAmount) {
+        return List.of(String.format("2025. 3. %d 9:30:15", rowNum), name, "10", Long.toString(afterAmount));
+    }
+
+    /**
+     * 메모리의 행 목록으로 로그 시트 조회에 응답하는 로그 저장소. 조회한 범위의 시작 행 번호를 기록한다.
+     */
+    private static class StubLogRepository extends HerbLogRepository {
+
+        private static final Pattern START_ROW_PATTERN = Pattern.compile("![A-Z]+(\\d+)");
+
+        // 2행부터의 로그 시트 행
+        private final List<List<Object>> rowList = new ArrayList<>();
+        private final List<Integer> requestedStartRowNumList = new ArrayList<>();
+
+        private StubLogRepository() {
+            super(null, null, null);
+        }
+
+        private void addRows(int count) {
+            for (int i = 0; i < count; i++) {
+                int rowNum = rowList.size() + 2;
+                rowList.add(row(rowNum, "약재" + rowNum, rowNum));
+            }
+        }
+
+        private void addRow(String name) {
+            int rowNum = rowList.size() + 2;
+            rowList.add(row(rowNum, name, rowNum));
+        }
+
+        private List<HerbLogDTO> expectedLogList() {
+            return new HerbMapper().toHerbLogDTOListByRow(new ValueRange().setValues(rowList));
+        }
+
+        @Override
+        public ValueRange selectByRange(String range) {
+            Matcher matcher = START_ROW_PATTERN.matcher(range);
+            if (!matcher.find()) {
+                throw new IllegalArgumentException(range);
+            }
+            int startRowNum = Integer.parseInt(matcher.group(1));
+            requestedStartRowNumList.add(startRowNum);
+            List<List<Object>> valueList = new ArrayList<>(rowList.subList(Math.min(rowList.size(), startRowNum - 2), rowList.size()));
+            return new ValueRange().setRange(range).setValues(valueList.isEmpty() ? null : valueList);
+        }
+    }
+}
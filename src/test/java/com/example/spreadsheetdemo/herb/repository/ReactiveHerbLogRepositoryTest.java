@@ -0,0 +1,106 @@
+package com.example.spreadsheetdemo.herb.repository;
+
+import com.example.spreadsheetdemo.common.gateway.ReactiveSpreadsheetGateway;
+import com.example.spreadsheetdemo.common.metrics.SheetsMetrics;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link ReactiveHerbLogRepository} 의 조회 범위와 스프레드시트를 찾을 수 없는 경우의 빈 결과 확인.
+ */
+class ReactiveHerbLogRepositoryTest {
+
+    private final StubGateway gateway = new StubGateway();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReactiveHerbLogRepository repository = new ReactiveHerbLogRepository(gateway, new SheetsMetrics(meterRegistry));
+
+    @Test
+    void selectsRowRangeOfLogSheet() {
+        ValueRange response = new ValueRange().setValues(List.of(List.of("2025. 3. 1 9:30:15", "당귀", "10", "20")));
+        gateway.response = Mono.just(response);
+
+        assertSame(response, repository.selectByRowRange(2, 5).block());
+        assertEquals(List.of("herb_log!A2:D5"), gateway.requestedRangeList);
+    }
+
+    @Test
+    void countsFirstColumnRowsForLastRowNumber() {
+        gateway.response = Mono.just(new ValueRange().setValues(List.of(List.of("header"), List.of("a"), List.of("b"))));
+        assertEquals(3, (int) repository.getLastRowNumber().block());
+
+        gateway.response = Mono.just(new ValueRange());
+        assertEquals(0, (int) repository.getLastRowNumber().block());
+
+        assertEquals(List.of("herb_log!A:A", "herb_log!A:A"), gateway.requestedRangeList);
+    }
+
+    @Test
+    void completesEmptyWhenSpreadsheetNotFound() {
+        gateway.response = Mono.error(error(404));
+
+        assertNull(repository.selectByRowRange(2, 5).block());
+        assertNull(repository.getLastRowNumber().block());
+        assertEquals(1, timerCount("selectByRowRange", "client_error"));
+        assertEquals(1, timerCount("getLastRowNumber", "client_error"));
+    }
+
+    @Test
+    void propagatesOtherErrors() {
+        GoogleJsonResponseException serverError = error(503);
+        gateway.response = Mono.error(serverError);
+
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> repository.selectByRowRange(2, 5).block());
+
+        assertSame(serverError, Exceptions.unwrap(thrown));
+        assertEquals(1, timerCount("selectByRowRange", "server_error"));
+    }
+
+    private long timerCount(String operation, String outcome) {
+        return meterRegistry.get(SheetsMetrics.CALL_TIMER_NAME).tag("operation", operation).tag("outcome", outcome).timer().count();
+    }
+
+    private static GoogleJsonResponseException error(int statusCode) {
+        GoogleJsonError error = new GoogleJsonError();
+        error.setCode(statusCode);
+        error.setMessage("status " + statusCode);
+        return new GoogleJsonResponseException(
+                new HttpResponseException.Builder(statusCode, "status " + statusCode, new HttpHeaders()).setMessage(error.getMessage()),
+                error
+        );
+    }
+
+    /**
+     * 요청받은 범위를 기록하고 지정된 결과를 반환하는 게이트웨이.
+     */
+    private static class StubGateway implements ReactiveSpreadsheetGateway {
+
+        private final List<String> requestedRangeList = new ArrayList<>();
+        private Mono<ValueRange> response;
+
+        @Override
+        public Mono<ValueRange> get(String range) {
+            requestedRangeList.add(range);
+            return response;
+        }
+
+        @Override
+        public Mono<List<ValueRange>> batchGet(List<String> ranges) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.spreadsheetdemo.herb.service;
+
+import com.example.spreadsheetdemo.herb.cache.HerbDataVersion;
+import com.example.spreadsheetdemo.herb.dto.HerbLogDTO;
+import com.example.spreadsheetdemo.herb.event.HerbLogsAppendedEvent;
+import com.example.spreadsheetdemo.herb.journal.HerbLogTail;
+import com.example.spreadsheetdemo.herb.journal.HerbSagaJournal;
+import com.example.spreadsheetdemo.herb.mapper.HerbMapper;
+import com.example.spreadsheetdemo.herb.repository.HerbLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link HerbLogAppender} 의 write-behind 묶음 기록, 재시도 시 중복 기록 방지, 포기한 트랜잭션 처리 확인.
+ */
+class HerbLogAppenderTest {
+
+    private static final LocalDateTime LOGGED_DATETIME = LocalDateTime.of(2025, 3, 1, 9, 30, 15);
+
+    private final StubLogRepository logRepository = new StubLogRepository();
+    private final RecordingJournal journal = new RecordingJournal();
+    private final HerbDataVersion herbDataVersion = new HerbDataVersion();
+    private final List<Object> eventList = new CopyOnWriteArrayList<>();
+    private HerbLogAppender appender;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (appender != null) {
+            appender.stop();
+        }
+    }
+
+    @Test
+    void flushesQueuedLogsInBatchesAndCommitsAfterLastLog() throws Exception {
+        appender = writeBehindAppender(2);
+
+        appender.append("saga-1", List.of(log("당귀"), log("감초"), log("백출")));
+        appender.stop();
+
+        assertEquals(List.of(2, 1), logRepository.insertedSizeList);
+        assertEquals(List.of("당귀", "감초", "백출"), names(logRepository.landedLogList));
+        assertEquals(List.of("saga-1"), journal.queuedSagaIdList);
+        assertEquals(Map.of("saga-1", HerbSagaJournal.EndState.COMMITTED), journal.endStateMap);
+        assertEquals(List.of(2, 4), eventList.stream().map(event -> ((HerbLogsAppendedEvent) event).getStartRowNum()).toList());
+        assertEquals(2, herbDataVersion.get(HerbDataVersion.Resource.HERB_LOG));
+    }
+
+    @Test
+    void skipsLogsThatLandedBeforeFailedResponse() throws Exception {
+        appender = writeBehindAppender(10);
+        // 첫 시도는 시트에 반영된 뒤 응답을 받지 못함
+        logRepository.failAfterLandingCount = 1;
+
+        appender.append("saga-1", List.of(log("당귀"), log("감초")));
+        appender.stop();
+
+        assertEquals(List.of(2), logRepository.insertedSizeList);
+        assertEquals(List.of("당귀", "감초"), names(logRepository.landedLogList));
+        assertEquals(Map.of("saga-1", HerbSagaJournal.EndState.COMMITTED), journal.endStateMap);
+    }
+
+    @Test
+    void retriesLogsThatDidNotLand() throws Exception {
+        appender = writeBehindAppender(10);
+        logRepository.failBeforeLandingCount = 1;
+
+        appender.append("saga-1", List.of(log("당귀"), log("감초")));
+        appender.stop();
+
+        assertEquals(List.of(2, 2), logRepository.insertedSizeList);
+        assertEquals(List.of("당귀", "감초"), names(logRepository.landedLogList));
+        assertEquals(Map.of("saga-1", HerbSagaJournal.EndState.COMMITTED), journal.endStateMap);
+    }
+
+    @Test
+    void leavesSagaOpenAfterNonRetryableFailure() throws Exception {
+        appender = writeBehindAppender(1);
+        logRepository.unexpectedFailureCount = 1;
+
+        appender.append("saga-1", List.of(log("당귀")));
+        appender.append("saga-2", List.of(log("감초")));
+        appender.stop();
+
+        // 포기한 묶음의 트랜잭션은 재시작 시 복구하도록 저널에 열린 채로 남기고, 이후 로그는 계속 기록
+        assertEquals(List.of(1, 1), logRepository.insertedSizeList);
+        assertEquals(List.of("감초"), names(logRepository.landedLogList));
+        assertEquals(Map.of("saga-2", HerbSagaJournal.EndState.COMMITTED), journal.endStateMap);
+    }
+
+    @Test
+    void rejectsLogsAfterStop() throws Exception {
+        appender = writeBehindAppender(10);
+        appender.stop();
+
+        assertThrows(IOException.class, () -> appender.append("saga-1", List.of(log("당귀"))));
+    }
+
+    @Test
+    void commitsImmediatelyWithoutWriteBehind() throws Exception {
+        appender = new HerbLogAppender(
+                logRepository, new HerbMapper(), eventList::add, journal, new StubLogTail(logRepository), herbDataVersion,
+                new SimpleMeterRegistry(), false, 10, 10, Duration.ofMillis(100), Duration.ofSeconds(1), 3
+        );
+
+        appender.append("saga-1", List.of(log("당귀")));
+
+        assertEquals(List.of("당귀"), names(logRepository.landedLogList));
+        assertEquals(List.of(), journal.queuedSagaIdList);
+        assertEquals(Map.of("saga-1", HerbSagaJournal.EndState.COMMITTED), journal.endStateMap);
+    }
+
+    private HerbLogAppender writeBehindAppender(int maxBatchSize) {
+        HerbLogAppender writeBehindAppender = new HerbLogAppender(
+                logRepository, new HerbMapper(), eventList::add, journal, new StubLogTail(logRepository), herbDataVersion,
+                new SimpleMeterRegistry(), true, 100, maxBatchSize, Duration.ofMillis(200), Duration.ofSeconds(1), 3
+        );
+        writeBehindAppender.start();
+        return writeBehindAppender;
+    }
+
+    private static HerbLogDTO log(String name) {
+        return HerbLogDTO.builder()
+                .loggedDatetime(LOGGED_DATETIME)
+                .name(name)
+                .beforeAmount(10L)
+                .afterAmount(20L)
+                .build();
+    }
+
+    private static List<String> names(List<HerbLogDTO> logList) {
+        return logList.stream().map(HerbLogDTO::getName).toList();
+    }
+
+    /**
+     * 추가된 로그를 메모리에 보관하는 로그 저장소. 설정된 횟수만큼 반영 전 또는 반영 후에 실패한다.
+     */
+    private static class StubLogRepository extends HerbLogRepository {
+
+        private final List<HerbLogDTO> landedLogList = new CopyOnWriteArrayList<>();
+        private final List<Integer> insertedSizeList = new CopyOnWriteArrayList<>();
+        private volatile int failBeforeLandingCount = 0;
+        private volatile int failAfterLandingCount = 0;
+        private volatile int unexpectedFailureCount = 0;
+
+        private StubLogRepository() {
+            super(null, null, null);
+        }
+
+        @Override
+        public String insertLog(List<List<Object>> content) throws IOException {
+            insertedSizeList.add(content.size());
+            if (unexpectedFailureCount > 0) {
+                unexpectedFailureCount--;
+                throw new IllegalStateException("unexpected");
+            }
+            if (failBeforeLandingCount > 0) {
+                failBeforeLandingCount--;
+                throw new IOException("connection reset");
+            }
+            int startRowNum = landedLogList.size() + 2;
+            for (List<Object> row : content) {
+                landedLogList.add(HerbLogDTO.builder()
+                        .loggedDatetime(LocalDateTime.parse((String) row.get(0)))
+                        .name((String) row.get(1))
+                        .beforeAmount((Long) row.get(2))
+                        .afterAmount((Long) row.get(3))
+                        .build());
+            }
+            if (failAfterLandingCount > 0) {
+                failAfterLandingCount--;
+                throw new IOException("read timed out");
+            }
+            return String.format("herb_log!A%d:D%d", startRowNum, startRowNum + content.size() - 1);
+        }
+    }
+
+    /**
+     * 로그 저장소에 이미 있는 로그를 제외하는 로그 시트 끝 조회.
+     */
+    private static class StubLogTail extends HerbLogTail {
+
+        private final StubLogRepository logRepository;
+
+        private StubLogTail(StubLogRepository logRepository) {
+            super(null, null);
+            this.logRepository = logRepository;
+        }
+
+        @Override
+        public List<HerbLogDTO> findMissingLogs(List<HerbLogDTO> logDTOList) {
+            List<HerbLogDTO> missingList = new ArrayList<>(logDTOList);
+            missingList.removeAll(logRepository.landedLogList);
+            return missingList;
+        }
+    }
+
+    /**
+     * 파일 대신 메모리에 기록하는 저널.
+     */
+    private static class RecordingJournal extends HerbSagaJournal {
+
+        private final List<String> queuedSagaIdList = new CopyOnWriteArrayList<>();
+        private final Map<String, EndState> endStateMap = new ConcurrentHashMap<>();
+
+        @Override
+        public void logQueued(String sagaId) {
+            queuedSagaIdList.add(sagaId);
+        }
+
+        @Override
+        public void end(String sagaId, EndState endState) {
+            endStateMap.put(sagaId, endState);
+        }
+    }
+}
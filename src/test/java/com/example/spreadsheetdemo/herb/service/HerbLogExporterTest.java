@@ -0,0 +1,136 @@
+package com.example.spreadsheetdemo.herb.service;
+
+import com.example.spreadsheetdemo.herb.dto.HerbLogDTO;
+import com.example.spreadsheetdemo.herb.index.HerbLogDateIndex;
+import com.example.spreadsheetdemo.herb.replica.HerbLogReplica;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link HerbLogExporter} 의 형식 별 값 이스케이프와 묶음 단위 조회 확인.
+ */
+class HerbLogExporterTest {
+
+    private static final LocalDateTime LOGGED_DATETIME = LocalDateTime.of(2025, 3, 1, 9, 30, 15);
+
+    @Test
+    void neutralizesFormulaPrefixesInCsv() throws IOException {
+        List<String> lines = csvLines(List.of("=SUM(A1)", "+1", "-1", "@cmd", "\tcmd", "당귀"));
+
+        assertEquals(List.of(
+                "loggedDatetime,name,beforeAmount,afterAmount",
+                "2025-03-01T09:30:15,'=SUM(A1),10,20",
+                "2025-03-01T09:30:15,'+1,10,20",
+                "2025-03-01T09:30:15,'-1,10,20",
+                "2025-03-01T09:30:15,'@cmd,10,20",
+                "2025-03-01T09:30:15,'\tcmd,10,20",
+                "2025-03-01T09:30:15,당귀,10,20"
+        ), lines);
+    }
+
+    @Test
+    void quotesCsvFieldAfterNeutralizingFormula() throws IOException {
+        String csv = export(HerbLogExportFormat.CSV, List.of("\rcmd", "=1,2", "당귀 \"특\"", "백출\n2"));
+
+        assertEquals("loggedDatetime,name,beforeAmount,afterAmount\n"
+                + "2025-03-01T09:30:15,\"'\rcmd\",10,20\n"
+                + "2025-03-01T09:30:15,\"'=1,2\",10,20\n"
+                + "2025-03-01T09:30:15,\"당귀 \"\"특\"\"\",10,20\n"
+                + "2025-03-01T09:30:15,\"백출\n2\",10,20\n", csv);
+    }
+
+    @Test
+    void escapesJsonStringsInNdjson() throws IOException {
+        String ndjson = export(HerbLogExportFormat.NDJSON, List.of("=당귀 \"특\"\\\n\t\u0001"));
+
+        assertEquals("{\"loggedDatetime\":\"2025-03-01T09:30:15\",\"name\":\"=당귀 \\\"특\\\"\\\\\\n\\t\\u0001\","
+                + "\"beforeAmount\":10,\"afterAmount\":20}\n", ndjson);
+    }
+
+    @Test
+    void readsRowRangeInChunksUpToLastRow() throws IOException {
+        StubReplica replica = new StubReplica(rowNum -> log("약재" + rowNum));
+        HerbLogExporter exporter = new HerbLogExporter(null, replica, 2);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        exporter.write(new HerbLogDateIndex.RowRange(2, 6), HerbLogExportFormat.NDJSON, outputStream);
+
+        assertEquals(List.of("2-3", "4-5", "6-6"), replica.requestedRangeList);
+        assertEquals(5, outputStream.toString(StandardCharsets.UTF_8).split("\n").length);
+    }
+
+    @Test
+    void writesOnlyHeaderWithoutRowRange() throws IOException {
+        StubReplica replica = new StubReplica(rowNum -> log("약재" + rowNum));
+        HerbLogExporter exporter = new HerbLogExporter(null, replica, 2);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        exporter.write(null, HerbLogExportFormat.CSV, outputStream);
+
+        assertEquals("\uFEFFloggedDatetime,name,beforeAmount,afterAmount\n", outputStream.toString(StandardCharsets.UTF_8));
+        assertEquals(List.of(), replica.requestedRangeList);
+    }
+
+    @Test
+    void rejectsNonPositiveChunkRows() {
+        assertThrows(IllegalArgumentException.class, () -> new HerbLogExporter(null, new StubReplica(rowNum -> null), 0));
+    }
+
+    /**
+     * 약재 이름마다 행 하나씩 내보낸 결과. CSV 인 경우 BOM 은 제외한다.
+     */
+    private static String export(HerbLogExportFormat format, List<String> nameList) throws IOException {
+        HerbLogExporter exporter = new HerbLogExporter(null, new StubReplica(rowNum -> log(nameList.get(rowNum - 2))), 1000);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        exporter.write(new HerbLogDateIndex.RowRange(2, nameList.size() + 1), format, outputStream);
+        String result = outputStream.toString(StandardCharsets.UTF_8);
+        return format == HerbLogExportFormat.CSV ? result.substring(1) : result;
+    }
+
+    private static List<String> csvLines(List<String> nameList) throws IOException {
+        return List.of(export(HerbLogExportFormat.CSV, nameList).split("\n"));
+    }
+
+    private static HerbLogDTO log(String name) {
+        return HerbLogDTO.builder()
+                .loggedDatetime(LOGGED_DATETIME)
+                .name(name)
+                .beforeAmount(10L)
+                .afterAmount(20L)
+                .build();
+    }
+
+    /**
+     * 행 번호로 로그를 만들어 반환하고, 요청받은 행 범위를 기록하는 복제본.
+     */
+    private static class StubReplica extends HerbLogReplica {
+
+        private final IntFunction<HerbLogDTO> logByRowNum;
+        private final List<String> requestedRangeList = new ArrayList<>();
+
+        private StubReplica(IntFunction<HerbLogDTO> logByRowNum) {
+            super(null, null, null, null);
+            this.logByRowNum = logByRowNum;
+        }
+
+        @Override
+        public List<HerbLogDTO> getRange(int startRowNum, int endRowNum) {
+            requestedRangeList.add(startRowNum + "-" + endRowNum);
+            List<HerbLogDTO> logList = new ArrayList<>();
+            for (int rowNum = startRowNum; rowNum <= endRowNum; rowNum++) {
+                logList.add(logByRowNum.apply(rowNum));
+            }
+            return logList;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.spreadsheetdemo.herb.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link HerbRowLocks} 의 행 별 직렬화, 서로 다른 행의 병렬 처리, 교착 상태 방지 확인.
+ */
+class HerbRowLocksTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void blocksSameRowUntilUnlocked() throws Exception {
+        HerbRowLocks rowLocks = new HerbRowLocks(4);
+        List<ReentrantLock> acquired = rowLocks.lock(2);
+
+        Future<?> waiting = executor.submit(() -> rowLocks.unlockAll(rowLocks.lock(2)));
+        assertThrows(TimeoutException.class, () -> waiting.get(100, TimeUnit.MILLISECONDS));
+
+        rowLocks.unlockAll(acquired);
+        waiting.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void doesNotBlockRowOfOtherStripe() throws Exception {
+        HerbRowLocks rowLocks = new HerbRowLocks(4);
+        List<ReentrantLock> acquired = rowLocks.lock(2);
+
+        executor.submit(() -> rowLocks.unlockAll(rowLocks.lock(3))).get(5, TimeUnit.SECONDS);
+
+        rowLocks.unlockAll(acquired);
+    }
+
+    @Test
+    void locksSharedStripeOnce() {
+        HerbRowLocks rowLocks = new HerbRowLocks(4);
+
+        // 2, 6, 10 행은 같은 잠금을 공유
+        List<ReentrantLock> acquired = rowLocks.lockAll(List.of(10, 2, 6, 3));
+
+        assertEquals(2, acquired.size());
+        acquired.forEach(lock -> assertEquals(1, lock.getHoldCount()));
+        rowLocks.unlockAll(acquired);
+        acquired.forEach(lock -> assertFalse(lock.isLocked()));
+    }
+
+    @Test
+    void acquiresOverlappingRowsInSameOrder() throws Exception {
+        HerbRowLocks rowLocks = new HerbRowLocks(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // 행 순서가 반대인 두 요청이 반복해서 잠금을 획득해도 교착 상태에 빠지지 않음
+        Future<?> ascending = executor.submit(() -> lockRepeatedly(rowLocks, List.of(2, 3, 4, 5), start));
+        Future<?> descending = executor.submit(() -> lockRepeatedly(rowLocks, List.of(5, 4, 3, 2), start));
+        start.countDown();
+
+        ascending.get(10, TimeUnit.SECONDS);
+        descending.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void rejectsNonPositiveStripeCount() {
+        assertThrows(IllegalArgumentException.class, () -> new HerbRowLocks(0));
+    }
+
+    private static Void lockRepeatedly(HerbRowLocks rowLocks, List<Integer> rowNums, CountDownLatch start) throws InterruptedException {
+        assertTrue(start.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 10_000; i++) {
+            rowLocks.unlockAll(rowLocks.lockAll(rowNums));
+        }
+        return null;
+    }
+}
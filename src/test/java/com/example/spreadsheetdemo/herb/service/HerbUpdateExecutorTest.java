@@ -0,0 +1,58 @@
+package com.example.spreadsheetdemo.herb.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link HerbUpdateExecutor} 의 동시 처리 건수 제한 확인.
+ */
+class HerbUpdateExecutorTest {
+
+    private final HerbUpdateExecutor executor = new HerbUpdateExecutor(2);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdown();
+    }
+
+    @Test
+    void runsAtMostParallelismTasksAtOnce() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch twoRunning = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<?>> futureList = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            futureList.add(executor.submit(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                twoRunning.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+            }));
+        }
+        assertTrue(twoRunning.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals(2, running.get());
+
+        release.countDown();
+        for (Future<?> future : futureList) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(2, maxRunning.get());
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.spreadsheetdemo.herb.stock;
+
+import com.example.spreadsheetdemo.herb.dto.HerbDTO;
+import com.example.spreadsheetdemo.herb.dto.HerbLowStockDTO;
+import com.example.spreadsheetdemo.herb.dto.HerbThresholdDTO;
+import com.example.spreadsheetdemo.herb.event.HerbThresholdChangedEvent;
+import com.example.spreadsheetdemo.herb.event.HerbsChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link HerbLowStockMonitor} 가 변경 이벤트로 바뀐 행만 다시 평가하여 기준 수량을 넘나드는 약재를 반영하는지 확인.
+ */
+class HerbLowStockMonitorTest {
+
+    private final HerbLowStockMonitor monitor = new HerbLowStockMonitor(null, null, null);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(monitor, "defaultMinAmount", 5L);
+    }
+
+    @Test
+    void tracksHerbsCrossingDefaultMinAmount() {
+        monitor.onHerbsChanged(new HerbsChangedEvent(List.of(herb(2, "당귀", 3L), herb(3, "감초", 5L), herb(4, "백출", null))));
+
+        assertEquals(List.of(lowStock(2, "당귀", 3L, 5L)), monitor.getLowStockHerbs());
+        assertEquals(3, monitor.getItemCount());
+
+        // 입고로 기준 수량 이상이 된 약재는 제외되고, 사용으로 기준 수량 미만이 된 약재는 추가됨
+        monitor.onHerbsChanged(new HerbsChangedEvent(List.of(herb(2, "당귀", 5L), herb(3, "감초", 4L))));
+
+        assertEquals(List.of(lowStock(3, "감초", 4L, 5L)), monitor.getLowStockHerbs());
+        assertEquals(1, monitor.getLowStockCount());
+    }
+
+    @Test
+    void reevaluatesEveryRowOfNameWhenThresholdChanged() {
+        monitor.onHerbsChanged(new HerbsChangedEvent(List.of(herb(2, "당귀", 8L), herb(3, "감초", 8L), herb(4, "당귀", 12L))));
+        assertEquals(List.of(), monitor.getLowStockHerbs());
+
+        monitor.onThresholdChanged(new HerbThresholdChangedEvent(threshold("당귀", 10L)));
+
+        assertEquals(List.of(lowStock(2, "당귀", 8L, 10L)), monitor.getLowStockHerbs());
+
+        monitor.onThresholdChanged(new HerbThresholdChangedEvent(threshold("당귀", 15L)));
+
+        assertEquals(List.of(lowStock(2, "당귀", 8L, 15L), lowStock(4, "당귀", 12L, 15L)), monitor.getLowStockHerbs());
+    }
+
+    @Test
+    void appliesThresholdOfNewNameAfterRename() {
+        monitor.onThresholdChanged(new HerbThresholdChangedEvent(threshold("당귀", 10L)));
+        monitor.onHerbsChanged(new HerbsChangedEvent(List.of(herb(2, "당귀", 8L))));
+        assertEquals(1, monitor.getLowStockCount());
+
+        monitor.onHerbsChanged(new HerbsChangedEvent(List.of(herb(2, "감초", 8L))));
+        assertEquals(List.of(), monitor.getLowStockHerbs());
+
+        // 이전 이름의 기준 수량이 바뀌어도 이름이 바뀐 행은 다시 평가되지 않음
+        monitor.onThresholdChanged(new HerbThresholdChangedEvent(threshold("당귀", 20L)));
+        assertEquals(List.of(), monitor.getLowStockHerbs());
+        assertEquals(1, monitor.getItemCount());
+    }
+
+    private static HerbDTO herb(int rowNum, String name, Long amount) {
+        return HerbDTO.builder().rowNum(rowNum).name(name).amount(amount).build();
+    }
+
+    private static HerbThresholdDTO threshold(String name, Long minAmount) {
+        return HerbThresholdDTO.builder().rowNum(2).name(name).minAmount(minAmount).build();
+    }
+
+    private static HerbLowStockDTO lowStock(int rowNum, String name, Long amount, Long minAmount) {
+        return HerbLowStockDTO.builder().rowNum(rowNum).name(name).amount(amount).minAmount(minAmount).build();
+    }
+}
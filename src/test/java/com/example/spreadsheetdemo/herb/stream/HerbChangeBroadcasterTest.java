@@ -0,0 +1,210 @@
+package com.example.spreadsheetdemo.herb.stream;
+
+import com.example.spreadsheetdemo.herb.dto.HerbDTO;
+import com.example.spreadsheetdemo.herb.event.HerbsChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link HerbChangeBroadcaster} 의 재연결 시 재전송/새로고침 요청과 느린 구독자 분리 확인.
+ */
+class HerbChangeBroadcasterTest {
+
+    private final List<RecordingEmitter> emitterList = new CopyOnWriteArrayList<>();
+    private HerbChangeBroadcaster broadcaster;
+
+    @AfterEach
+    void tearDown() {
+        emitterList.forEach(emitter -> emitter.release.countDown());
+        if (broadcaster != null) {
+            broadcaster.close();
+        }
+    }
+
+    @Test
+    void replaysChangesAfterLastEventId() throws Exception {
+        broadcaster = broadcaster(500, 256);
+        RecordingEmitter first = subscribe(null);
+        awaitEvents(first, 1);
+        String epoch = epochOf(first.idList().get(0));
+
+        publish(1, 2, 3);
+        RecordingEmitter reconnected = subscribe(epoch + "-1");
+
+        awaitEvents(reconnected, 3);
+        assertEquals(List.of("herb-changed", "herb-changed", "connected"), reconnected.nameList());
+        assertEquals(List.of(epoch + "-2", epoch + "-3", epoch + "-3"), reconnected.idList());
+    }
+
+    @Test
+    void requestsResyncForLastEventIdOfOtherProcess() throws Exception {
+        broadcaster = broadcaster(500, 256);
+        publish(1);
+
+        RecordingEmitter reconnected = subscribe("otherepoch-1");
+
+        awaitEvents(reconnected, 2);
+        assertEquals(List.of("resync", "connected"), reconnected.nameList());
+    }
+
+    @Test
+    void requestsResyncWhenMissedChangesAreNoLongerKept() throws Exception {
+        broadcaster = broadcaster(2, 256);
+        RecordingEmitter first = subscribe(null);
+        awaitEvents(first, 1);
+        String epoch = epochOf(first.idList().get(0));
+
+        publish(1, 2, 3, 4);
+        RecordingEmitter expired = subscribe(epoch + "-1");
+        RecordingEmitter recent = subscribe(epoch + "-2");
+
+        awaitEvents(expired, 2);
+        awaitEvents(recent, 3);
+        assertEquals(List.of("resync", "connected"), expired.nameList());
+        assertEquals(List.of("herb-changed", "herb-changed", "connected"), recent.nameList());
+    }
+
+    @Test
+    void dropsSlowSubscriberWithoutDelayingOthers() throws Exception {
+        broadcaster = broadcaster(500, 2);
+        RecordingEmitter slow = subscribe(null);
+        awaitEvents(slow, 1);
+        RecordingEmitter fast = subscribe(null);
+        awaitEvents(fast, 1);
+
+        // 느린 구독자는 첫 알림 전송이 끝나지 않은 채로 대기열이 가득 참
+        slow.blockSend();
+        for (int rowNum = 1; rowNum <= 4; rowNum++) {
+            publish(rowNum);
+            awaitEvents(fast, rowNum + 1);
+        }
+
+        // 연결 종료는 진행 중인 전송이 끝난 뒤 전송 스레드에서 수행
+        assertEquals(2, slow.eventList.size());
+        assertFalse(slow.completed);
+        slow.release.countDown();
+        await(() -> slow.completed);
+        assertEquals(2, slow.eventList.size());
+        assertFalse(fast.completed);
+    }
+
+    private HerbChangeBroadcaster broadcaster(int replaySize, int queueCapacity) {
+        return new HerbChangeBroadcaster(new SimpleMeterRegistry(), Duration.ofMinutes(30), replaySize, queueCapacity) {
+            @Override
+            SseEmitter createEmitter(long timeoutMillis) {
+                RecordingEmitter emitter = new RecordingEmitter(timeoutMillis);
+                emitterList.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private RecordingEmitter subscribe(String lastEventId) {
+        return (RecordingEmitter) broadcaster.subscribe(lastEventId);
+    }
+
+    private void publish(int... rowNums) {
+        List<HerbDTO> herbList = new ArrayList<>();
+        for (int rowNum : rowNums) {
+            herbList.add(HerbDTO.builder().rowNum(rowNum).name("약재" + rowNum).amount(10L).build());
+        }
+        broadcaster.onHerbsChanged(new HerbsChangedEvent(herbList));
+    }
+
+    private static String epochOf(String eventId) {
+        return eventId.substring(0, eventId.lastIndexOf('-'));
+    }
+
+    private static void awaitEvents(RecordingEmitter emitter, int count) throws InterruptedException {
+        await(() -> emitter.eventList.size() >= count);
+        assertEquals(count, emitter.eventList.size());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out");
+            Thread.sleep(10);
+        }
+        // 조건을 만족한 뒤 추가로 전송되는 이벤트가 없는지 확인할 수 있도록 잠시 대기
+        Thread.sleep(50);
+    }
+
+    /**
+     * 전송한 이벤트의 텍스트를 기록하는 {@link SseEmitter}. 차단 상태에서는 전송이 해제될 때까지 반환하지 않는다.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> eventList = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile boolean blocking = false;
+        private volatile boolean completed = false;
+
+        private RecordingEmitter(long timeoutMillis) {
+            super(timeoutMillis);
+        }
+
+        private void blockSend() {
+            blocking = true;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            eventList.add(builder.build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .filter(String.class::isInstance)
+                    .map(String.class::cast)
+                    .collect(Collectors.joining()));
+            if (blocking) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        private List<String> nameList() {
+            return fieldList("event:");
+        }
+
+        private List<String> idList() {
+            return fieldList("id:");
+        }
+
+        private List<String> fieldList(String prefix) {
+            List<String> valueList = new ArrayList<>();
+            for (String event : eventList) {
+                for (String line : event.split("\n")) {
+                    if (line.startsWith(prefix)) {
+                        valueList.add(line.substring(prefix.length()).trim());
+                    }
+                }
+            }
+            return valueList;
+        }
+    }
+}